@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol;
+
+import com.hazelcast.client.impl.protocol.codec.MapGetCodec;
+import com.hazelcast.client.impl.protocol.codec.MapPutCodec;
+import com.hazelcast.client.impl.protocol.util.SafeBuffer;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the encoding and decoding of {@link ClientMessage}s by the generated codecs, for the map put and get
+ * requests and responses.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ClientMessageCodecBenchmark {
+
+    private static final String MAP_NAME = "map";
+    private static final long THREAD_ID = 1;
+    private static final long TTL = -1;
+    private static final int VALUE_LENGTH = 100;
+
+    private InternalSerializationService serializationService;
+    private Data key;
+    private Data value;
+    private byte[] putRequest;
+    private byte[] getResponse;
+
+    @Setup
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        key = serializationService.toData("key");
+        value = serializationService.toData(new byte[VALUE_LENGTH]);
+        putRequest = MapPutCodec.encodeRequest(MAP_NAME, key, value, THREAD_ID, TTL).buffer().byteArray();
+        getResponse = MapGetCodec.encodeResponse(value).buffer().byteArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.dispose();
+    }
+
+    @Benchmark
+    public ClientMessage encodePutRequest() {
+        return MapPutCodec.encodeRequest(MAP_NAME, key, value, THREAD_ID, TTL);
+    }
+
+    @Benchmark
+    public MapPutCodec.RequestParameters decodePutRequest() {
+        return MapPutCodec.decodeRequest(ClientMessage.createForDecode(new SafeBuffer(putRequest), 0));
+    }
+
+    @Benchmark
+    public ClientMessage encodeGetResponse() {
+        return MapGetCodec.encodeResponse(value);
+    }
+
+    @Benchmark
+    public MapGetCodec.ResponseParameters decodeGetResponse() {
+        return MapGetCodec.decodeResponse(ClientMessage.createForDecode(new SafeBuffer(getResponse), 0));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.internal.serialization.InputOutputFactory;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.BufferObjectDataInput;
+import com.hazelcast.nio.BufferObjectDataOutput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link ByteArrayObjectDataOutput} with the {@link UnsafeObjectDataOutput} (and their input counterparts)
+ * when writing and reading a mix of primitives, strings and byte arrays.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ObjectDataOutputBenchmark {
+
+    private static final int INITIAL_SIZE = 1024;
+    private static final int BYTE_ARRAY_LENGTH = 100;
+    private static final int INT_VALUE = 42;
+    private static final double DOUBLE_VALUE = 3.14;
+
+    @Param({"byteArray", "unsafe"})
+    private String type;
+
+    private InternalSerializationService serializationService;
+    private BufferObjectDataOutput out;
+    private InputOutputFactory factory;
+    private byte[] bytes;
+    private byte[] written;
+    private String string;
+
+    @Setup
+    public void setUp() throws IOException {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        factory = "unsafe".equals(type)
+                ? new UnsafeInputOutputFactory()
+                : new ByteArrayInputOutputFactory(ByteOrder.BIG_ENDIAN);
+        out = factory.createOutput(INITIAL_SIZE, serializationService);
+        bytes = new byte[BYTE_ARRAY_LENGTH];
+        string = "some string value of a moderate length";
+        written = write();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        out.close();
+        serializationService.dispose();
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        out.clear();
+        out.writeInt(INT_VALUE);
+        out.writeLong(INT_VALUE);
+        out.writeDouble(DOUBLE_VALUE);
+        out.writeBoolean(true);
+        out.writeUTF(string);
+        out.writeByteArray(bytes);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public long read() throws IOException {
+        BufferObjectDataInput in = factory.createInput(written, serializationService);
+        long result = in.readInt();
+        result += in.readLong();
+        result += (long) in.readDouble();
+        result += in.readBoolean() ? 1 : 0;
+        result += in.readUTF().length();
+        result += in.readByteArray().length;
+        return result;
+    }
+}
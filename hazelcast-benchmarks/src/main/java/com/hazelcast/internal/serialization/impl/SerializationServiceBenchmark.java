@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DataSerializableFactory;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the serialization and deserialization of some typical values by the {@link SerializationServiceV1}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SerializationServiceBenchmark {
+
+    private static final int FACTORY_ID = 1;
+    private static final int BYTE_ARRAY_LENGTH = 1000;
+    private static final int AGE = 42;
+
+    private InternalSerializationService serializationService;
+    private String string;
+    private Long longValue;
+    private byte[] byteArray;
+    private Person person;
+    private Data stringData;
+    private Data longData;
+    private Data byteArrayData;
+    private Data personData;
+
+    @Setup
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder()
+                .addDataSerializableFactory(FACTORY_ID, new PersonFactory())
+                .build();
+
+        string = "some string value of a moderate length";
+        longValue = System.nanoTime();
+        byteArray = new byte[BYTE_ARRAY_LENGTH];
+        person = new Person("John", "Doe", AGE);
+
+        stringData = serializationService.toData(string);
+        longData = serializationService.toData(longValue);
+        byteArrayData = serializationService.toData(byteArray);
+        personData = serializationService.toData(person);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.dispose();
+    }
+
+    @Benchmark
+    public Data toDataString() {
+        return serializationService.toData(string);
+    }
+
+    @Benchmark
+    public Data toDataLong() {
+        return serializationService.toData(longValue);
+    }
+
+    @Benchmark
+    public Data toDataByteArray() {
+        return serializationService.toData(byteArray);
+    }
+
+    @Benchmark
+    public Data toDataIdentifiedDataSerializable() {
+        return serializationService.toData(person);
+    }
+
+    @Benchmark
+    public Object toObjectString() {
+        return serializationService.toObject(stringData);
+    }
+
+    @Benchmark
+    public Object toObjectLong() {
+        return serializationService.toObject(longData);
+    }
+
+    @Benchmark
+    public Object toObjectByteArray() {
+        return serializationService.toObject(byteArrayData);
+    }
+
+    @Benchmark
+    public Object toObjectIdentifiedDataSerializable() {
+        return serializationService.toObject(personData);
+    }
+
+    private static final class PersonFactory implements DataSerializableFactory {
+        @Override
+        public IdentifiedDataSerializable create(int typeId) {
+            return new Person();
+        }
+    }
+
+    private static final class Person implements IdentifiedDataSerializable {
+        private String firstName;
+        private String lastName;
+        private int age;
+
+        Person() {
+        }
+
+        Person(String firstName, String lastName, int age) {
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.age = age;
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getId() {
+            return 1;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeUTF(firstName);
+            out.writeUTF(lastName);
+            out.writeInt(age);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            firstName = in.readUTF();
+            lastName = in.readUTF();
+            age = in.readInt();
+        }
+    }
+}
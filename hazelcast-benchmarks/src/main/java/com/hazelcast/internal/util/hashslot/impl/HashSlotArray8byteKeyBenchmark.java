@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.hashslot.impl;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.impl.HeapMemoryManager;
+import com.hazelcast.internal.util.hashslot.HashSlotArray8byteKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the lookup, insertion and removal of keys in a {@link HashSlotArray8byteKeyImpl} backed by the
+ * {@link HeapMemoryManager}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HashSlotArray8byteKeyBenchmark {
+
+    private static final int MEMORY_SIZE = 0x4000000;
+    private static final int VALUE_LENGTH = 8;
+    private static final int KEY_COUNT = 0x100000;
+
+    private HeapMemoryManager memoryManager;
+    private MemoryAccessor mem;
+    private HashSlotArray8byteKey hsa;
+    private long key;
+
+    @Setup
+    public void setUp() {
+        memoryManager = new HeapMemoryManager(MEMORY_SIZE);
+        mem = memoryManager.getAccessor();
+        hsa = new HashSlotArray8byteKeyImpl(0L, memoryManager, VALUE_LENGTH);
+        hsa.gotoNew();
+        // keys start at 1, so the value never equals the unassigned sentinel
+        for (long k = 1; k <= KEY_COUNT; k++) {
+            mem.putLong(hsa.ensure(k), k);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        hsa.dispose();
+        memoryManager.dispose();
+    }
+
+    @Benchmark
+    public long get() {
+        return hsa.get(nextKey());
+    }
+
+    @Benchmark
+    public boolean ensureAndRemove() {
+        // the keys beyond KEY_COUNT are not in the array, so every call inserts and removes a new key
+        long newKey = KEY_COUNT + nextKey();
+        mem.putLong(hsa.ensure(newKey), newKey);
+        return hsa.remove(newKey);
+    }
+
+    private long nextKey() {
+        key = key % KEY_COUNT + 1;
+        return key;
+    }
+}
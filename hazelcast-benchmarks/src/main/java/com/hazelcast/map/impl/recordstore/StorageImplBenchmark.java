@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.ObjectRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordFactory;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.partition.strategy.DefaultPartitioningStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the put and get of records in the {@link StorageImpl} of a record store, for the BINARY and OBJECT
+ * in-memory formats.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StorageImplBenchmark {
+
+    private static final int KEY_COUNT = 100000;
+    private static final int VALUE_LENGTH = 100;
+
+    @Param({"BINARY", "OBJECT"})
+    private InMemoryFormat inMemoryFormat;
+
+    private InternalSerializationService serializationService;
+    private RecordFactory recordFactory;
+    private StorageImpl<Record> storage;
+    private Data[] keys;
+    private Object value;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        MapConfig mapConfig = new MapConfig().setInMemoryFormat(inMemoryFormat);
+        recordFactory = inMemoryFormat == InMemoryFormat.OBJECT
+                ? new ObjectRecordFactory(mapConfig, serializationService)
+                : new DataRecordFactory(mapConfig, serializationService, new DefaultPartitioningStrategy());
+        storage = new StorageImpl<Record>(recordFactory, inMemoryFormat, serializationService);
+
+        value = new byte[VALUE_LENGTH];
+        keys = new Data[KEY_COUNT];
+        for (int k = 0; k < KEY_COUNT; k++) {
+            keys[k] = serializationService.toData(k);
+            storage.put(keys[k], recordFactory.newRecord(value));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        storage.clear();
+        serializationService.dispose();
+    }
+
+    @Benchmark
+    public Record get() {
+        return storage.get(nextKey());
+    }
+
+    @Benchmark
+    public void put() {
+        storage.put(nextKey(), recordFactory.newRecord(value));
+    }
+
+    private Data nextKey() {
+        index = (index + 1) % KEY_COUNT;
+        return keys[index];
+    }
+}
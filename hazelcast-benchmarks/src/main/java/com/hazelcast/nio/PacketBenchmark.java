@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the framing of a {@link Packet}: writing it to and reading it from a ByteBuffer, like the socket writer
+ * and reader do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PacketBenchmark {
+
+    private static final int BUFFER_SIZE = 128 * 1024;
+
+    @Param({"100", "1000", "10000"})
+    private int payloadSize;
+
+    private byte[] payload;
+    private ByteBuffer buffer;
+    private ByteBuffer written;
+
+    @Setup
+    public void setUp() {
+        payload = new byte[payloadSize];
+        buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        written = ByteBuffer.allocate(BUFFER_SIZE);
+        new Packet(payload, 1).writeTo(written);
+        written.flip();
+    }
+
+    @Benchmark
+    public boolean writeTo() {
+        // a Packet can be written only once, just like a packet sent by the connection
+        buffer.clear();
+        return new Packet(payload, 1).setFlag(Packet.FLAG_OP).writeTo(buffer);
+    }
+
+    @Benchmark
+    public Packet readFrom() {
+        written.rewind();
+        Packet result = new Packet();
+        result.readFrom(written);
+        return result;
+    }
+}
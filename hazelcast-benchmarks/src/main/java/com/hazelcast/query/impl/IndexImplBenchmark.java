@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.impl.getters.Extractors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
+
+/**
+ * Measures the equality and range lookups on an {@link IndexImpl}, ordered and unordered, filled with a number of
+ * entries with distinct integer values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IndexImplBenchmark {
+
+    private static final int ENTRY_COUNT = 100000;
+    private static final int RANGE = 10;
+
+    @Param({"true", "false"})
+    private boolean ordered;
+
+    private InternalSerializationService serializationService;
+    private IndexImpl index;
+    private int lookup;
+
+    @Setup
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        index = new IndexImpl(THIS_ATTRIBUTE_NAME.value(), ordered, serializationService, Extractors.empty());
+        for (int k = 0; k < ENTRY_COUNT; k++) {
+            QueryEntry entry = new QueryEntry(serializationService, serializationService.toData(k), k, Extractors.empty());
+            index.saveEntryIndex(entry, null);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.dispose();
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> getRecords() {
+        return index.getRecords(nextValue());
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> getSubRecordsBetween() {
+        int from = nextValue();
+        return index.getSubRecordsBetween(from, from + RANGE);
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> getSubRecordsGreater() {
+        return index.getSubRecords(ComparisonType.GREATER, ENTRY_COUNT - RANGE);
+    }
+
+    private int nextValue() {
+        // no need for atomicity; the lookup only needs to move around the index
+        lookup = (lookup + 1) % ENTRY_COUNT;
+        return lookup;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.partition.InternalPartitionService;
+import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.spi.AbstractOperation;
+import com.hazelcast.spi.OperationService;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the round trip of a partition operation through the {@link ClassicOperationExecutor}, for a partition
+ * owned by the calling member and for a partition owned by another member.
+ *
+ * The cluster runs in the benchmark JVM on the mock network of the {@link TestHazelcastInstanceFactory}, so the remote
+ * case includes the serialization and the thread hops of a remote call, but no real network IO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ClassicOperationExecutorBenchmark {
+
+    private static final int CLUSTER_SIZE = 2;
+
+    private TestHazelcastInstanceFactory factory;
+    private OperationService operationService;
+    private int localPartitionId = -1;
+    private int remotePartitionId = -1;
+
+    @Setup
+    public void setUp() {
+        factory = new TestHazelcastInstanceFactory(CLUSTER_SIZE);
+        HazelcastInstance[] instances = factory.newInstances();
+        HazelcastTestSupport.warmUpPartitions(instances);
+
+        HazelcastInstance hz = instances[0];
+        operationService = HazelcastTestSupport.getOperationService(hz);
+        InternalPartitionService partitionService = HazelcastTestSupport.getPartitionService(hz);
+        for (int k = 0; k < partitionService.getPartitionCount(); k++) {
+            if (partitionService.getPartition(k).isLocal()) {
+                localPartitionId = localPartitionId == -1 ? k : localPartitionId;
+            } else {
+                remotePartitionId = remotePartitionId == -1 ? k : remotePartitionId;
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.terminateAll();
+    }
+
+    @Benchmark
+    public Object localPartition() {
+        return invoke(localPartitionId);
+    }
+
+    @Benchmark
+    public Object remotePartition() {
+        return invoke(remotePartitionId);
+    }
+
+    private Object invoke(int partitionId) {
+        InternalCompletableFuture<Object> future = operationService.invokeOnPartition(null, new DummyOperation(), partitionId);
+        return future.join();
+    }
+
+    /**
+     * Does nothing but returning a response; public since it is created reflectively when it is received by a remote
+     * member.
+     */
+    public static class DummyOperation extends AbstractOperation {
+        @Override
+        public void run() throws Exception {
+        }
+
+        @Override
+        public Object getResponse() {
+            return Boolean.TRUE;
+        }
+    }
+}
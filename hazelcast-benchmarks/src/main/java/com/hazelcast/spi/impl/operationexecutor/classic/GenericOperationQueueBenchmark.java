@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of the generic operation queues: the single {@link DefaultOperationQueue} shared by all
+ * generic threads, and the {@link WorkStealingOperationQueue}.
+ *
+ * A fixed number of producer threads, comparable to the IO threads, add small tasks as fast as the queue accepts
+ * them. The benchmark threads, comparable to the generic operation threads, take and run them; set their number with
+ * the JMH '-t' option, e.g. '-t 8' till '-t 64'.
+ *
+ * The producers keep running for the whole trial, so a consumer never waits forever at the end of an iteration. They
+ * don't share any counter with the consumers; they bound the number of pending tasks by the size of the queue itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(16)
+public class GenericOperationQueueBenchmark {
+
+    private static final int PRODUCER_COUNT = 4;
+    // the maximum number of pending tasks; prevents the queues from growing without bound
+    private static final int MAX_PENDING = 100000;
+    // the number of tasks a producer adds before it checks the number of pending tasks again
+    private static final int PENDING_CHECK_INTERVAL = 1024;
+
+    private static final Runnable TASK = new Runnable() {
+        @Override
+        public void run() {
+        }
+    };
+
+    @Param({"shared", "workStealing"})
+    public String queueType;
+
+    private DefaultOperationQueue sharedQueue;
+    private WorkStealingOperationQueue workStealingQueue;
+    private Producer[] producers;
+
+    @Setup
+    public void setUp(BenchmarkParams params) {
+        OperationQueueProducer queue;
+        if ("workStealing".equals(queueType)) {
+            workStealingQueue = new WorkStealingOperationQueue(params.getThreads());
+            queue = workStealingQueue;
+        } else {
+            sharedQueue = new DefaultOperationQueue();
+            queue = sharedQueue;
+        }
+
+        producers = new Producer[PRODUCER_COUNT];
+        for (int k = 0; k < producers.length; k++) {
+            producers[k] = new Producer(queue);
+            producers[k].start();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        for (Producer producer : producers) {
+            producer.stop = true;
+            producer.join();
+        }
+    }
+
+    @Benchmark
+    public Object takeAndRun(Consumer consumer) throws InterruptedException {
+        Object task = consumer.queue.take();
+        ((Runnable) task).run();
+        return task;
+    }
+
+    /**
+     * The queue a benchmark thread takes its tasks from.
+     */
+    @State(Scope.Thread)
+    public static class Consumer {
+
+        private OperationQueue queue;
+
+        @Setup
+        public void setUp(GenericOperationQueueBenchmark benchmark, ThreadParams threadParams) {
+            queue = benchmark.workStealingQueue == null
+                    ? benchmark.sharedQueue
+                    : benchmark.workStealingQueue.getThreadQueue(threadParams.getThreadIndex());
+        }
+    }
+
+    private static final class Producer extends Thread {
+        private final OperationQueueProducer queue;
+        private volatile boolean stop;
+
+        Producer(OperationQueueProducer queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            while (!stop) {
+                for (int k = 0; k < PENDING_CHECK_INTERVAL; k++) {
+                    queue.add(TASK);
+                }
+
+                while (!stop && queue.normalSize() > MAX_PENDING) {
+                    Thread.yield();
+                }
+            }
+        }
+    }
+}
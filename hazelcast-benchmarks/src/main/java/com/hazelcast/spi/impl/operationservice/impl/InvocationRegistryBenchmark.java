@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.properties.GroupProperty.BACKPRESSURE_ENABLED;
+import static com.hazelcast.spi.OperationAccessor.setCallId;
+
+/**
+ * Compares the register/deregister throughput of the striped {@link InvocationRegistry} with a ConcurrentHashMap keyed
+ * by a boxed callId, which is what the InvocationRegistry used before.
+ *
+ * Every benchmark thread repeatedly registers and deregisters its own invocation; the lookup of the invocation, as done
+ * when a response comes in, is included. The registries contend with the number of benchmark threads, so run it with
+ * several thread counts, e.g. '-t 32', '-t 64' and '-t 128'.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(32)
+public class InvocationRegistryBenchmark {
+
+    private static final int CONCURRENCY_LEVEL = 64;
+
+    @Param({"striped", "concurrentHashMap"})
+    public String registryType;
+
+    private TestHazelcastInstanceFactory factory;
+    private OperationServiceImpl operationService;
+    private Registry registry;
+
+    @Setup
+    public void setUp() {
+        Config config = new Config();
+        config.setProperty(BACKPRESSURE_ENABLED.getName(), "false");
+        factory = new TestHazelcastInstanceFactory(1);
+        HazelcastInstance hz = factory.newHazelcastInstance(config);
+
+        NodeEngineImpl nodeEngine = HazelcastTestSupport.getNodeEngineImpl(hz);
+        operationService = (OperationServiceImpl) nodeEngine.getOperationService();
+        if ("striped".equals(registryType)) {
+            ILogger logger = nodeEngine.getLogger(InvocationRegistry.class);
+            BackpressureRegulator backpressureRegulator = new BackpressureRegulator(nodeEngine.getGroupProperties(), logger);
+            registry = new StripedRegistry(
+                    new InvocationRegistry(nodeEngine, logger, backpressureRegulator, CONCURRENCY_LEVEL));
+        } else {
+            registry = new ConcurrentHashMapRegistry();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.terminateAll();
+    }
+
+    @Benchmark
+    public Invocation registerAndDeregister(Caller caller) {
+        Invocation invocation = caller.invocation;
+        registry.register(invocation);
+        Invocation found = registry.get(invocation.op.getCallId());
+        registry.deregister(invocation);
+        return found;
+    }
+
+    /**
+     * The invocation of a benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Caller {
+
+        private Invocation invocation;
+
+        @Setup
+        public void setUp(InvocationRegistryBenchmark benchmark) {
+            invocation = new PartitionInvocation(benchmark.operationService, new DummyBackupAwareOperation(), 0, 0, 0, false);
+            invocation.remote = true;
+        }
+    }
+
+    private interface Registry {
+        void register(Invocation invocation);
+
+        Invocation get(long callId);
+
+        void deregister(Invocation invocation);
+    }
+
+    private static final class ConcurrentHashMapRegistry implements Registry {
+        private static final int INITIAL_CAPACITY = 1000;
+        private static final float LOAD_FACTOR = 0.75f;
+
+        private final AtomicLong sequence = new AtomicLong();
+        private final ConcurrentMap<Long, Invocation> invocations
+                = new ConcurrentHashMap<Long, Invocation>(INITIAL_CAPACITY, LOAD_FACTOR, CONCURRENCY_LEVEL);
+
+        @Override
+        public void register(Invocation invocation) {
+            long callId = sequence.incrementAndGet();
+            setCallId(invocation.op, callId);
+            invocations.put(callId, invocation);
+        }
+
+        @Override
+        public Invocation get(long callId) {
+            return invocations.get(callId);
+        }
+
+        @Override
+        public void deregister(Invocation invocation) {
+            invocations.remove(invocation.op.getCallId());
+            setCallId(invocation.op, 0);
+        }
+    }
+
+    private static final class StripedRegistry implements Registry {
+        private final InvocationRegistry invocationRegistry;
+
+        StripedRegistry(InvocationRegistry invocationRegistry) {
+            this.invocationRegistry = invocationRegistry;
+        }
+
+        @Override
+        public void register(Invocation invocation) {
+            invocationRegistry.register(invocation);
+        }
+
+        @Override
+        public Invocation get(long callId) {
+            return invocationRegistry.get(callId);
+        }
+
+        @Override
+        public void deregister(Invocation invocation) {
+            invocationRegistry.deregister(invocation);
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package com.hazelcast.client.impl.protocol.util;
 
 import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.serialization.impl.HeapDataSlice;
 import com.hazelcast.nio.Bits;
 import com.hazelcast.nio.serialization.Data;
 
@@ -103,6 +104,14 @@ public class MessageFlyweight {
     }
 
     public MessageFlyweight set(Data data) {
+        if (data instanceof HeapDataSlice) {
+            HeapDataSlice slice = (HeapDataSlice) data;
+            final int length = slice.totalSize();
+            set(length);
+            buffer.putBytes(index + offset, slice.buffer(), slice.offset(), length);
+            index += length;
+            return this;
+        }
         final byte[] bytes = data.toByteArray();
         set(bytes);
         return this;
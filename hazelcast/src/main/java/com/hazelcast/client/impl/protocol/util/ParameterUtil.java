@@ -32,11 +32,11 @@ public final class ParameterUtil {
     }
 
     public static int calculateDataSize(Data data) {
-        return calculateDataSize(data.toByteArray());
+        return Bits.INT_SIZE_IN_BYTES + data.totalSize();
     }
 
     public static int calculateDataSize(Map.Entry<Data, Data> entry) {
-        return calculateDataSize(entry.getKey().toByteArray()) + calculateDataSize(entry.getValue().toByteArray());
+        return calculateDataSize(entry.getKey()) + calculateDataSize(entry.getValue());
     }
 
     public static int calculateDataSize(byte[] bytes) {
@@ -47,11 +47,11 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.internal.properties.GroupProperty.SOCKET_ACCEPT_BACKLOG;
 import static com.hazelcast.util.AddressUtil.fixScopeIdAndGetInetAddress;
 
 class DefaultAddressPicker implements AddressPicker {
 
-    private static final int SOCKET_BACKLOG_LENGTH = 100;
     private static final int SOCKET_TIMEOUT_MILLIS = (int) TimeUnit.SECONDS.toMillis(1);
 
     private final Node node;
@@ -123,7 +123,7 @@ class DefaultAddressPicker implements AddressPicker {
                     inetSocketAddress = new InetSocketAddress(bindAddressDef.inetAddress, port);
                 }
                 logger.finest("Trying to bind inet socket address:" + inetSocketAddress);
-                serverSocket.bind(inetSocketAddress, SOCKET_BACKLOG_LENGTH);
+                serverSocket.bind(inetSocketAddress, node.getGroupProperties().getInteger(SOCKET_ACCEPT_BACKLOG));
                 logger.finest("Bind successful to inet socket address:" + inetSocketAddress);
                 break;
             } catch (Exception e) {
@@ -17,6 +17,7 @@
 package com.hazelcast.instance;
 
 import com.hazelcast.cluster.Joiner;
+import com.hazelcast.internal.properties.GroupProperty;
 import com.hazelcast.nio.ConnectionManager;
 import com.hazelcast.nio.NodeIOService;
 import com.hazelcast.nio.tcp.IOThreadingModel;
@@ -26,6 +27,8 @@ import com.hazelcast.nio.tcp.spinning.SpinningIOThreadingModel;
 
 import java.nio.channels.ServerSocketChannel;
 
+import static com.hazelcast.internal.util.affinity.ThreadAffinity.newThreadAffinity;
+
 public class DefaultNodeContext implements NodeContext {
 
     @Override
@@ -65,11 +68,14 @@ public class DefaultNodeContext implements NodeContext {
                     node.nodeEngine.getMetricsRegistry(),
                     node.getHazelcastThreadGroup());
         } else {
-            return new NonBlockingIOThreadingModel(
+            NonBlockingIOThreadingModel threadingModel = new NonBlockingIOThreadingModel(
                     ioService,
                     node.loggingService,
                     node.nodeEngine.getMetricsRegistry(),
                     node.getHazelcastThreadGroup());
+            threadingModel.setThreadAffinity(newThreadAffinity(node.getGroupProperties(), GroupProperty.IO_THREAD_AFFINITY,
+                    node.getLogger(NonBlockingIOThreadingModel.class)));
+            return threadingModel;
         }
     }
 }
@@ -52,7 +52,12 @@ import com.hazelcast.wan.impl.WanReplicationServiceImpl;
 import java.util.Collections;
 import java.util.Map;
 
+import static com.hazelcast.internal.properties.GroupProperty.SERIALIZATION_BUFFER_POOL_MAX_RETAINED_KB;
+import static com.hazelcast.internal.properties.GroupProperty.SERIALIZATION_BUFFER_POOL_TRIM_DELAY_SECONDS;
+import static com.hazelcast.internal.properties.GroupProperty.SERIALIZATION_STRING_DICTIONARY;
+import static com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder.parseStringDictionary;
 import static com.hazelcast.map.impl.MapServiceConstructor.getDefaultMapServiceConstructor;
+import static com.hazelcast.memory.MemoryUnit.KILOBYTES;
 
 public class DefaultNodeExtension implements NodeExtension {
 
@@ -120,6 +125,9 @@ public class DefaultNodeExtension implements NodeExtension {
                     ? config.getSerializationConfig() : new SerializationConfig();
 
             byte version = (byte) node.groupProperties.getInteger(GroupProperty.SERIALIZATION_VERSION);
+            int bufferPoolMaxRetainedKb = node.groupProperties.getInteger(SERIALIZATION_BUFFER_POOL_MAX_RETAINED_KB);
+            long bufferPoolTrimDelayMillis = node.groupProperties.getMillis(SERIALIZATION_BUFFER_POOL_TRIM_DELAY_SECONDS);
+            String stringDictionary = node.groupProperties.getString(SERIALIZATION_STRING_DICTIONARY);
 
             ss = (InternalSerializationService) builder.setClassLoader(configClassLoader)
                     .setConfig(serializationConfig)
@@ -127,6 +135,9 @@ public class DefaultNodeExtension implements NodeExtension {
                     .setPartitioningStrategy(partitioningStrategy)
                     .setHazelcastInstance(hazelcastInstance)
                     .setVersion(version)
+                    .setBufferPoolMaxRetainedSize((int) KILOBYTES.toBytes(bufferPoolMaxRetainedKb))
+                    .setBufferPoolTrimDelayMillis(bufferPoolTrimDelayMillis)
+                    .setStringDictionary(parseStringDictionary(stringDictionary))
                     .build();
         } catch (Exception e) {
             throw ExceptionUtil.rethrow(e);
@@ -19,6 +19,7 @@ package com.hazelcast.internal.cluster.impl;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.GroupConfig;
 import com.hazelcast.config.PartitionGroupConfig;
+import com.hazelcast.internal.properties.GroupProperties;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
@@ -26,10 +27,15 @@ import com.hazelcast.util.EmptyStatement;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static com.hazelcast.internal.properties.GroupProperty.APPLICATION_VALIDATION_TOKEN;
 import static com.hazelcast.internal.properties.GroupProperty.PARTITION_COUNT;
+import static com.hazelcast.internal.properties.GroupProperty.SERIALIZATION_STRING_DICTIONARY;
+import static com.hazelcast.internal.properties.GroupProperty.SERIALIZATION_VERSION;
+import static com.hazelcast.internal.serialization.InternalSerializationService.VERSION_2;
+import static com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder.parseStringDictionary;
 
 /**
  * Contains enough information about Hazelcast Config, to do a validation check so that clusters with different configurations
@@ -64,6 +70,9 @@ public final class ConfigCheck implements IdentifiedDataSerializable {
         // Copying all properties relevant for checking
         properties.put(PARTITION_COUNT.getName(), config.getProperty(PARTITION_COUNT.getName()));
         properties.put(APPLICATION_VALIDATION_TOKEN.getName(), config.getProperty(APPLICATION_VALIDATION_TOKEN.getName()));
+        GroupProperties groupProperties = new GroupProperties(config);
+        properties.put(SERIALIZATION_VERSION.getName(), groupProperties.getString(SERIALIZATION_VERSION));
+        properties.put(SERIALIZATION_STRING_DICTIONARY.getName(), groupProperties.getString(SERIALIZATION_STRING_DICTIONARY));
 
         // Copying group-config settings
         GroupConfig groupConfig = config.getGroupConfig();
@@ -103,6 +112,8 @@ public final class ConfigCheck implements IdentifiedDataSerializable {
         verifyPartitionGroup(found);
         verifyPartitionCount(found);
         verifyApplicationValidationToken(found);
+        verifySerializationVersion(found);
+        verifyStringDictionary(found);
         return true;
     }
 
@@ -128,6 +139,34 @@ public final class ConfigCheck implements IdentifiedDataSerializable {
         }
     }
 
+    private void verifySerializationVersion(ConfigCheck found) {
+        // normally a member with another serialization version is already rejected when it connects
+        String expectedVersion = properties.get(SERIALIZATION_VERSION.getName());
+        String foundVersion = found.properties.get(SERIALIZATION_VERSION.getName());
+        if (foundVersion != null && !equals(expectedVersion, foundVersion)) {
+            throw new ConfigMismatchException("Incompatible '" + SERIALIZATION_VERSION + "'! expected: "
+                    + expectedVersion + ", found: " + foundVersion);
+        }
+    }
+
+    private void verifyStringDictionary(ConfigCheck found) {
+        // only the compact encoding of version 2 uses the dictionary
+        String version = properties.get(SERIALIZATION_VERSION.getName());
+        if (version == null || Byte.parseByte(version) < VERSION_2) {
+            return;
+        }
+
+        // a member that doesn't send the dictionary has none configured
+        String expectedDictionary = properties.get(SERIALIZATION_STRING_DICTIONARY.getName());
+        String foundDictionary = found.properties.get(SERIALIZATION_STRING_DICTIONARY.getName());
+        List<String> expectedNames = parseStringDictionary(expectedDictionary);
+        List<String> foundNames = parseStringDictionary(foundDictionary);
+        if (!expectedNames.equals(foundNames)) {
+            throw new ConfigMismatchException("Incompatible '" + SERIALIZATION_STRING_DICTIONARY + "'! expected: "
+                    + expectedNames + ", found: " + foundNames);
+        }
+    }
+
     private void verifyPartitionCount(ConfigCheck found) {
         String expectedPartitionCount = properties.get(PARTITION_COUNT.getName());
         String foundPartitionCount = found.properties.get(PARTITION_COUNT.getName());
@@ -203,6 +203,14 @@ public final class MulticastService implements Runnable {
                             + ", Sender -> " + datagramPacketReceive.getAddress());
                     return null;
                 }
+                // the encoding of the join message depends on the serialization version
+                final byte serializationVersion = input.readByte();
+                if (serializationVersion != node.getSerializationService().getVersion()) {
+                    logger.warning("Received a JoinRequest with a different serialization version! This -> "
+                            + node.getSerializationService().getVersion() + ", Incoming -> " + serializationVersion
+                            + ", Sender -> " + datagramPacketReceive.getAddress());
+                    return null;
+                }
                 try {
                     return input.readObject();
                 } finally {
@@ -230,6 +238,7 @@ public final class MulticastService implements Runnable {
         synchronized (sendLock) {
             try {
                 out.writeByte(Packet.VERSION);
+                out.writeByte(node.getSerializationService().getVersion());
                 out.writeObject(joinMessage);
                 datagramPacketSend.setData(out.toByteArray());
                 multicastSocket.send(datagramPacketSend);
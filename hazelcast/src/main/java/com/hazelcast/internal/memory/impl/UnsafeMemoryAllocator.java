@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+
+/**
+ * {@link MemoryAllocator} that allocates the blocks from the native heap of the process with {@link sun.misc.Unsafe}.
+ * <p/>
+ * Every block is a separate {@code malloc}; there is no pooling, so this allocator is best suited for blocks of
+ * moderate size that live long, e.g. the records of a map. The allocated memory can be accessed with an address based
+ * {@link com.hazelcast.internal.memory.MemoryAccessor}, e.g.
+ * {@link com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry#AMEM}.
+ */
+public final class UnsafeMemoryAllocator implements MemoryAllocator {
+
+    public static final UnsafeMemoryAllocator INSTANCE = UNSAFE_AVAILABLE ? new UnsafeMemoryAllocator() : null;
+
+    private UnsafeMemoryAllocator() {
+    }
+
+    @Override
+    public long allocate(long size) {
+        long address = allocate0(size);
+        UNSAFE.setMemory(address, size, (byte) 0);
+        return address;
+    }
+
+    @Override
+    public long reallocate(long address, long currentSize, long newSize) {
+        long newAddress;
+        try {
+            newAddress = UNSAFE.reallocateMemory(address, newSize);
+        } catch (OutOfMemoryError e) {
+            throw new NativeOutOfMemoryError("Not enough native memory to reallocate " + newSize + " bytes", e);
+        }
+        if (newSize > currentSize) {
+            UNSAFE.setMemory(newAddress + currentSize, newSize - currentSize, (byte) 0);
+        }
+        return newAddress;
+    }
+
+    @Override
+    public void free(long address, long size) {
+        UNSAFE.freeMemory(address);
+    }
+
+    @Override
+    public void dispose() {
+        // the blocks are owned by the callers, there is nothing to release here.
+    }
+
+    private static long allocate0(long size) {
+        try {
+            return UNSAFE.allocateMemory(size);
+        } catch (OutOfMemoryError e) {
+            throw new NativeOutOfMemoryError("Not enough native memory to allocate " + size + " bytes", e);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static java.lang.Long.numberOfLeadingZeros;
+
+/**
+ * A lock-free histogram for latencies in microseconds, in the style of the HdrHistogram.
+ *
+ * The values are counted in log-linear buckets: every power of two range is split in a fixed number of sub-buckets.
+ * So the relative error of a recorded value is bounded (about 3%) no matter its magnitude, while the number of
+ * buckets stays small. Recording a value is a single atomic increment, so it can be done concurrently by any
+ * number of threads.
+ *
+ * A LatencyHistogram can be registered in the {@link MetricsRegistry} as a histogram probe, either by annotating a
+ * field or method of type LatencyHistogram with {@link Probe}, or using a {@link HistogramProbeFunction}. Reading the
+ * histogram while it is being recorded to, gives an approximation of the distribution at that moment.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The highest value that can be recorded; higher values are recorded as this value. 2^36 microseconds is about
+     * 19 hours.
+     */
+    public static final long MAX_VALUE = 0xFFFFFFFFFL;
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int LONG_BITS = 64;
+    private static final double PERCENT = 100d;
+    private static final double P50 = 50;
+    private static final double P90 = 90;
+    private static final double P99 = 99;
+    private static final double P999 = 99.9;
+
+    private final AtomicLongArray counts = new AtomicLongArray(bucketIndex(MAX_VALUE) + 1);
+
+    /**
+     * Records a duration in nanoseconds.
+     *
+     * @param durationNanos the duration in nanoseconds.
+     */
+    public void recordNanos(long durationNanos) {
+        record(TimeUnit.NANOSECONDS.toMicros(durationNanos));
+    }
+
+    /**
+     * Records a value in microseconds. Negative values are recorded as 0, and values larger than {@link #MAX_VALUE}
+     * as {@link #MAX_VALUE}.
+     *
+     * @param valueMicros the value to record.
+     */
+    public void record(long valueMicros) {
+        counts.incrementAndGet(bucketIndex(valueMicros));
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return the number of recorded values.
+     */
+    public long getCount() {
+        long count = 0;
+        for (int k = 0; k < counts.length(); k++) {
+            count += counts.get(k);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the largest recorded value, rounded up to the highest value of its bucket.
+     *
+     * @return the largest recorded value, or 0 if nothing has been recorded.
+     */
+    public long getMaxValue() {
+        for (int k = counts.length() - 1; k >= 0; k--) {
+            if (counts.get(k) > 0) {
+                return highestValue(k);
+            }
+        }
+        return 0;
+    }
+
+    public long getP50() {
+        return getValueAtPercentile(P50);
+    }
+
+    public long getP90() {
+        return getValueAtPercentile(P90);
+    }
+
+    public long getP99() {
+        return getValueAtPercentile(P99);
+    }
+
+    public long getP999() {
+        return getValueAtPercentile(P999);
+    }
+
+    /**
+     * Returns the value below which the given percentage of the recorded values fall. The value is rounded up to the
+     * highest value of the bucket it is in.
+     *
+     * @param percentile the percentile, between 0 and 100.
+     * @return the value at the percentile, or 0 if nothing has been recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] snapshot = new long[counts.length()];
+        long total = 0;
+        for (int k = 0; k < snapshot.length; k++) {
+            snapshot[k] = counts.get(k);
+            total += snapshot[k];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long threshold = Math.max(1, (long) Math.ceil(Math.min(percentile, PERCENT) / PERCENT * total));
+        long seen = 0;
+        for (int k = 0; k < snapshot.length; k++) {
+            seen += snapshot[k];
+            if (seen >= threshold) {
+                return highestValue(k);
+            }
+        }
+        return getMaxValue();
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return value < 0 ? 0 : (int) value;
+        }
+        if (value > MAX_VALUE) {
+            value = MAX_VALUE;
+        }
+
+        // the shift keeps the SUB_BUCKET_BITS most significant bits of the value
+        int shift = LONG_BITS - numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift);
+        return shift * SUB_BUCKET_HALF_COUNT + subBucket;
+    }
+
+    static long highestValue(int bucketIndex) {
+        if (bucketIndex < SUB_BUCKET_COUNT) {
+            return bucketIndex;
+        }
+
+        int offset = bucketIndex - SUB_BUCKET_COUNT;
+        int shift = offset / SUB_BUCKET_HALF_COUNT + 1;
+        long subBucket = SUB_BUCKET_HALF_COUNT + offset % SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{"
+                + "count=" + getCount()
+                + ", p50=" + getP50()
+                + ", p99=" + getP99()
+                + ", p999=" + getP999()
+                + ", max=" + getMaxValue()
+                + '}';
+    }
+}
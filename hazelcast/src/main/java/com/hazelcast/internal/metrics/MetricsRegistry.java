@@ -131,6 +131,18 @@ public interface MetricsRegistry {
      */
     <S> void register(S source, String name, ProbeLevel level, DoubleProbeFunction<S> probe);
 
+    /**
+     * Registers a histogram probe.
+     *
+     * If a probe for the given name exists, it will be overwritten.
+     *
+     * @param name  the name of the probe
+     * @param level the ProbeLevel
+     * @param probe the probe
+     * @throws NullPointerException if source, name, level or probe is null.
+     */
+    <S> void register(S source, String name, ProbeLevel level, HistogramProbeFunction<S> probe);
+
     /**
      * Deregisters all probes for a given source object.
      *
@@ -18,6 +18,8 @@ package com.hazelcast.internal.metrics.impl;
 
 import com.hazelcast.internal.metrics.DoubleGauge;
 import com.hazelcast.internal.metrics.DoubleProbeFunction;
+import com.hazelcast.internal.metrics.HistogramProbeFunction;
+import com.hazelcast.internal.metrics.LatencyHistogram;
 import com.hazelcast.internal.metrics.LongProbeFunction;
 import com.hazelcast.internal.metrics.ProbeFunction;
 
@@ -50,6 +52,10 @@ class DoubleGaugeImpl extends AbstractGauge implements DoubleGauge {
             if (function instanceof LongProbeFunction) {
                 LongProbeFunction longFunction = (LongProbeFunction) function;
                 return longFunction.get(source);
+            } else if (function instanceof HistogramProbeFunction) {
+                HistogramProbeFunction histogramFunction = (HistogramProbeFunction) function;
+                LatencyHistogram histogram = histogramFunction.get(source);
+                return histogram == null ? DEFAULT_VALUE : histogram.getCount();
             } else {
                 DoubleProbeFunction doubleFunction = (DoubleProbeFunction) function;
                 return doubleFunction.get(source);
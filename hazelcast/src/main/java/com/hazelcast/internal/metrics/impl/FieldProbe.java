@@ -17,6 +17,8 @@
 package com.hazelcast.internal.metrics.impl;
 
 import com.hazelcast.internal.metrics.DoubleProbeFunction;
+import com.hazelcast.internal.metrics.HistogramProbeFunction;
+import com.hazelcast.internal.metrics.LatencyHistogram;
 import com.hazelcast.internal.metrics.LongProbeFunction;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.metrics.ProbeFunction;
@@ -31,6 +33,7 @@ import static com.hazelcast.internal.metrics.impl.ProbeUtils.TYPE_COLLECTION;
 import static com.hazelcast.internal.metrics.impl.ProbeUtils.TYPE_COUNTER;
 import static com.hazelcast.internal.metrics.impl.ProbeUtils.TYPE_DOUBLE_NUMBER;
 import static com.hazelcast.internal.metrics.impl.ProbeUtils.TYPE_DOUBLE_PRIMITIVE;
+import static com.hazelcast.internal.metrics.impl.ProbeUtils.TYPE_HISTOGRAM;
 import static com.hazelcast.internal.metrics.impl.ProbeUtils.TYPE_LONG_NUMBER;
 import static com.hazelcast.internal.metrics.impl.ProbeUtils.TYPE_MAP;
 import static com.hazelcast.internal.metrics.impl.ProbeUtils.TYPE_PRIMITIVE_LONG;
@@ -75,7 +78,9 @@ abstract class FieldProbe implements ProbeFunction {
             throw new IllegalArgumentException(format("@Probe field '%s' is of an unhandled type", field));
         }
 
-        if (isDouble(type)) {
+        if (type == TYPE_HISTOGRAM) {
+            return new HistogramFieldProbe<S>(field, probe, type);
+        } else if (isDouble(type)) {
             return new DoubleFieldProbe<S>(field, probe, type);
         } else {
             return new LongFieldProbe<S>(field, probe, type);
@@ -133,4 +138,16 @@ abstract class FieldProbe implements ProbeFunction {
             }
         }
     }
+
+    static class HistogramFieldProbe<S> extends FieldProbe implements HistogramProbeFunction<S> {
+
+        public HistogramFieldProbe(Field field, Probe probe, int type) {
+            super(field, probe, type);
+        }
+
+        @Override
+        public LatencyHistogram get(S source) throws Exception {
+            return (LatencyHistogram) field.get(source);
+        }
+    }
 }
@@ -17,6 +17,8 @@
 package com.hazelcast.internal.metrics.impl;
 
 import com.hazelcast.internal.metrics.DoubleProbeFunction;
+import com.hazelcast.internal.metrics.HistogramProbeFunction;
+import com.hazelcast.internal.metrics.LatencyHistogram;
 import com.hazelcast.internal.metrics.LongProbeFunction;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.metrics.ProbeFunction;
@@ -31,6 +33,7 @@ import static com.hazelcast.internal.metrics.impl.ProbeUtils.TYPE_COLLECTION;
 import static com.hazelcast.internal.metrics.impl.ProbeUtils.TYPE_COUNTER;
 import static com.hazelcast.internal.metrics.impl.ProbeUtils.TYPE_DOUBLE_NUMBER;
 import static com.hazelcast.internal.metrics.impl.ProbeUtils.TYPE_DOUBLE_PRIMITIVE;
+import static com.hazelcast.internal.metrics.impl.ProbeUtils.TYPE_HISTOGRAM;
 import static com.hazelcast.internal.metrics.impl.ProbeUtils.TYPE_LONG_NUMBER;
 import static com.hazelcast.internal.metrics.impl.ProbeUtils.TYPE_MAP;
 import static com.hazelcast.internal.metrics.impl.ProbeUtils.TYPE_PRIMITIVE_LONG;
@@ -83,7 +86,9 @@ abstract class MethodProbe implements ProbeFunction {
                     method.getDeclaringClass().getName(), method.getName()));
         }
 
-        if (isDouble(type)) {
+        if (type == TYPE_HISTOGRAM) {
+            return new HistogramMethodProbe<S>(method, probe, type);
+        } else if (isDouble(type)) {
             return new DoubleMethodProbe<S>(method, probe, type);
         } else {
             return new LongMethodProbe<S>(method, probe, type);
@@ -140,4 +145,16 @@ abstract class MethodProbe implements ProbeFunction {
             }
         }
     }
+
+    static class HistogramMethodProbe<S> extends MethodProbe implements HistogramProbeFunction<S> {
+
+        public HistogramMethodProbe(Method method, Probe probe, int type) {
+            super(method, probe, type);
+        }
+
+        @Override
+        public LatencyHistogram get(S source) throws Exception {
+            return (LatencyHistogram) method.invoke(source, EMPTY_ARGS);
+        }
+    }
 }
@@ -18,6 +18,8 @@ package com.hazelcast.internal.metrics.impl;
 
 import com.hazelcast.internal.metrics.DoubleGauge;
 import com.hazelcast.internal.metrics.DoubleProbeFunction;
+import com.hazelcast.internal.metrics.HistogramProbeFunction;
+import com.hazelcast.internal.metrics.LatencyHistogram;
 import com.hazelcast.internal.metrics.LongProbeFunction;
 import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.ProbeFunction;
@@ -145,6 +147,16 @@ public class MetricsRegistryImpl implements MetricsRegistry {
         registerInternal(source, name, level, function);
     }
 
+    @Override
+    public <S> void register(S source, String name, ProbeLevel level, HistogramProbeFunction<S> function) {
+        checkNotNull(source, "source can't be null");
+        checkNotNull(name, "name can't be null");
+        checkNotNull(function, "function can't be null");
+        checkNotNull(level, "level can't be null");
+
+        registerInternal(source, name, level, function);
+    }
+
     public ProbeInstance getProbeInstance(String name) {
         checkNotNull(name, "name can't be null");
 
@@ -276,6 +288,14 @@ public class MetricsRegistryImpl implements MetricsRegistry {
             if (function instanceof LongProbeFunction) {
                 LongProbeFunction longFunction = (LongProbeFunction) function;
                 renderer.renderLong(name, longFunction.get(source));
+            } else if (function instanceof HistogramProbeFunction) {
+                HistogramProbeFunction histogramFunction = (HistogramProbeFunction) function;
+                LatencyHistogram histogram = histogramFunction.get(source);
+                if (histogram == null) {
+                    renderer.renderNoValue(name);
+                } else {
+                    renderer.renderHistogram(name, histogram);
+                }
             } else {
                 DoubleProbeFunction doubleFunction = (DoubleProbeFunction) function;
                 renderer.renderDouble(name, doubleFunction.get(source));
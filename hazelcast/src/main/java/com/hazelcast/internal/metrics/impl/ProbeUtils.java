@@ -16,6 +16,7 @@
 
 package com.hazelcast.internal.metrics.impl;
 
+import com.hazelcast.internal.metrics.LatencyHistogram;
 import com.hazelcast.internal.util.counters.Counter;
 
 import java.util.ArrayList;
@@ -43,6 +44,8 @@ final class ProbeUtils {
     static final int TYPE_COUNTER = 7;
     static final int TYPE_SEMAPHORE = 8;
 
+    static final int TYPE_HISTOGRAM = 9;
+
     private static final Map<Class<?>, Integer> TYPES = new HashMap<Class<?>, Integer>();
 
     static {
@@ -69,6 +72,8 @@ final class ProbeUtils {
         TYPES.put(Counter.class, TYPE_COUNTER);
 
         TYPES.put(Semaphore.class, TYPE_SEMAPHORE);
+
+        TYPES.put(LatencyHistogram.class, TYPE_HISTOGRAM);
     }
 
     private ProbeUtils() {
@@ -88,6 +93,8 @@ final class ProbeUtils {
      * TYPE_COLLECTION = 5        Collection
      * TYPE_MAP = 6               Map
      * TYPE_COUNTER = 7           Counter
+     * TYPE_SEMAPHORE = 8         Semaphore
+     * TYPE_HISTOGRAM = 9         LatencyHistogram
      *
      * @param classType the class object type.
      * @return the accessible object probe type.
@@ -16,6 +16,8 @@
 
 package com.hazelcast.internal.metrics.renderers;
 
+import com.hazelcast.internal.metrics.LatencyHistogram;
+
 /**
  * With the ProbeRenderer the content of the {@link com.hazelcast.internal.metrics.MetricsRegistry} can be rendered.
  */
@@ -25,6 +27,8 @@ public interface ProbeRenderer {
 
     void renderDouble(String name, double value);
 
+    void renderHistogram(String name, LatencyHistogram histogram);
+
     void renderException(String name, Exception e);
 
     void renderNoValue(String name);
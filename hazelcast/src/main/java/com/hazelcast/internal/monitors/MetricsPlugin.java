@@ -16,6 +16,7 @@
 
 package com.hazelcast.internal.monitors;
 
+import com.hazelcast.internal.metrics.LatencyHistogram;
 import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.renderers.ProbeRenderer;
 import com.hazelcast.internal.properties.HazelcastProperties;
@@ -92,6 +93,18 @@ public class MetricsPlugin extends PerformanceMonitorPlugin {
             writer.writeKeyValueEntry(name, value);
         }
 
+        @Override
+        public void renderHistogram(String name, LatencyHistogram histogram) {
+            writer.startSection(name);
+            writer.writeKeyValueEntry("count", histogram.getCount());
+            writer.writeKeyValueEntry("p50(us)", histogram.getP50());
+            writer.writeKeyValueEntry("p90(us)", histogram.getP90());
+            writer.writeKeyValueEntry("p99(us)", histogram.getP99());
+            writer.writeKeyValueEntry("p999(us)", histogram.getP999());
+            writer.writeKeyValueEntry("max(us)", histogram.getMaxValue());
+            writer.endSection();
+        }
+
         @Override
         public void renderException(String name, Exception e) {
             writer.writeKeyValueEntry(name, e.getClass().getName() + ':' + e.getMessage());
@@ -25,7 +25,9 @@ import com.hazelcast.map.QueryResultSizeExceededException;
 import com.hazelcast.map.impl.query.QueryResultSizeLimiter;
 import com.hazelcast.query.TruePredicate;
 import com.hazelcast.query.impl.predicates.QueryOptimizerFactory;
+import com.hazelcast.spi.impl.operationexecutor.classic.ClassicOperationExecutor;
 
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -70,6 +72,31 @@ public final class GroupProperty {
     public static final HazelcastProperty PARTITION_OPERATION_THREAD_COUNT
             = new HazelcastProperty("hazelcast.operation.thread.count", -1);
 
+    /**
+     * The type of queue used by the partition operation threads.
+     * <p/>
+     * Valid Values:
+     * <ul>
+     * <li>BLOCKING - a blocking queue; the partition operation thread blocks when there is no work</li>
+     * <li>MPSC - bounded lock-free ring buffers with a separate lane for urgent operations; the partition operation
+     * thread spins, yields and finally parks when there is no work</li>
+     * </ul>
+     * <p/>
+     * The case of the value is ignored.
+     */
+    public static final HazelcastProperty PARTITION_OPERATION_QUEUE_TYPE
+            = new HazelcastProperty("hazelcast.operation.partition.queue.type",
+            ClassicOperationExecutor.PartitionQueueType.BLOCKING.name());
+
+    /**
+     * The capacity of the ring buffer of a partition operation thread when the MPSC queue type is used.
+     * The capacity is rounded up to the next power of two.
+     * <p/>
+     * If the ring buffer is full, operations are not rejected but put in an overflow queue.
+     */
+    public static final HazelcastProperty PARTITION_OPERATION_QUEUE_CAPACITY
+            = new HazelcastProperty("hazelcast.operation.partition.queue.capacity", 65536);
+
     /**
      * The number of generic operation handler threads per Member.
      * <p/>
@@ -78,6 +105,50 @@ public final class GroupProperty {
     public static final HazelcastProperty GENERIC_OPERATION_THREAD_COUNT
             = new HazelcastProperty("hazelcast.operation.generic.thread.count", -1);
 
+    /**
+     * The type of queue used by the generic operation threads.
+     * <p/>
+     * Valid Values:
+     * <ul>
+     * <li>SHARED - a single blocking queue shared by all generic operation threads</li>
+     * <li>WORK_STEALING - a queue per generic operation thread; a thread without work steals work from the
+     * other threads</li>
+     * </ul>
+     * <p/>
+     * The case of the value is ignored.
+     */
+    public static final HazelcastProperty GENERIC_OPERATION_QUEUE_TYPE
+            = new HazelcastProperty("hazelcast.operation.generic.queue.type",
+            ClassicOperationExecutor.GenericQueueType.SHARED.name());
+
+    /**
+     * The CPUs the partition operation threads are pinned to, as a comma separated list of CPUs, CPU ranges and NUMA
+     * nodes, e.g. '0-3,8' or 'node:1'. The threads are assigned to the CPUs in round robin order.
+     * <p/>
+     * Pinning is only supported on Linux; see {@link com.hazelcast.internal.util.affinity.ThreadAffinity}. By default
+     * the threads are not pinned.
+     */
+    public static final HazelcastProperty PARTITION_OPERATION_THREAD_AFFINITY
+            = new HazelcastProperty("hazelcast.operation.partition.thread.affinity", "");
+
+    /**
+     * Co-locates every partition operation thread with the IO threads that receive most of the packets for its
+     * partitions: a partition operation thread is rebound to the CPUs of the NUMA node of these IO threads, every
+     * {@link #IO_BALANCER_INTERVAL_SECONDS}. So it follows the connections when they are migrated by the IO balancer.
+     * <p/>
+     * This requires the IO threads to be pinned using {@link #IO_THREAD_AFFINITY}. It overrides
+     * {@link #PARTITION_OPERATION_THREAD_AFFINITY} once a partition operation thread is co-located.
+     */
+    public static final HazelcastProperty PARTITION_OPERATION_THREAD_AFFINITY_COLOCATE
+            = new HazelcastProperty("hazelcast.operation.partition.thread.affinity.colocate", false);
+
+    /**
+     * The CPUs the generic operation threads are pinned to. See {@link #PARTITION_OPERATION_THREAD_AFFINITY} for the
+     * format. By default the threads are not pinned.
+     */
+    public static final HazelcastProperty GENERIC_OPERATION_THREAD_AFFINITY
+            = new HazelcastProperty("hazelcast.operation.generic.thread.affinity", "");
+
     /**
      * The number of threads that the client engine has available for processing requests that are not partition specific.
      * Most of the requests, such as map.put and map.get, are partition specific and will use a partition-operation-thread, but
@@ -112,6 +183,17 @@ public final class GroupProperty {
     public static final HazelcastProperty PERFORMANCE_METRICS_LEVEL
             = new HazelcastProperty("hazelcast.performance.metric.level", ProbeLevel.MANDATORY.name());
 
+    /**
+     * Enables the latency histograms per operation class: one for the time an operation takes to run and one for the
+     * time an invocation of the operation takes from start to completion. The histograms are registered in the
+     * metrics registry under 'operation.latency[classname]' and 'operation.invocations.latency[classname]', so they
+     * are rendered by the {@link com.hazelcast.internal.monitors.MetricsPlugin}.
+     * <p/>
+     * Recording the histograms is cheap, but not free; so it is disabled by default.
+     */
+    public static final HazelcastProperty PERFORMANCE_LATENCY_HISTOGRAMS_ENABLED
+            = new HazelcastProperty("hazelcast.performance.latency.histograms.enabled", false);
+
     /**
      * The number of threads doing socket input and the number of threads doing socket output.
      * <p/>
@@ -135,6 +217,19 @@ public final class GroupProperty {
     public static final HazelcastProperty IO_OUTPUT_THREAD_COUNT
             = new HazelcastProperty("hazelcast.io.output.thread.count", IO_THREAD_COUNT);
 
+    /**
+     * The number of threads accepting incoming connections.
+     * <p/>
+     * With a single acceptor thread, the accepted sockets are configured on the async executor. With multiple acceptor
+     * threads, all acceptors wait for incoming connections on the same server socket, and each acceptor configures the
+     * sockets it accepted itself. So when a lot of connections come in at once, e.g. thousands of clients reconnecting
+     * after a rolling restart, the work is spread over the acceptors and doesn't flood the async executor.
+     * <p/>
+     * The default is 1.
+     */
+    public static final HazelcastProperty IO_ACCEPTOR_THREAD_COUNT
+            = new HazelcastProperty("hazelcast.io.acceptor.thread.count", 1);
+
     /**
      * The interval in seconds between {@link com.hazelcast.nio.tcp.nonblocking.iobalancer.IOBalancer IOBalancer}
      * executions. The shorter intervals will catch I/O Imbalance faster, but they will cause higher overhead.
@@ -147,6 +242,13 @@ public final class GroupProperty {
     public static final HazelcastProperty IO_BALANCER_INTERVAL_SECONDS
             = new HazelcastProperty("hazelcast.io.balancer.interval.seconds", 20, SECONDS);
 
+    /**
+     * The CPUs the socket input and output threads are pinned to. See {@link #PARTITION_OPERATION_THREAD_AFFINITY} for
+     * the format. By default the threads are not pinned.
+     */
+    public static final HazelcastProperty IO_THREAD_AFFINITY
+            = new HazelcastProperty("hazelcast.io.thread.affinity", "");
+
     @SuppressWarnings("checkstyle:constantname")
     public static final HazelcastProperty PREFER_IPv4_STACK
             = new HazelcastProperty("hazelcast.prefer.ipv4.stack", true);
@@ -207,6 +309,65 @@ public final class GroupProperty {
     public static final HazelcastProperty SOCKET_BUFFER_DIRECT
             = new HazelcastProperty("hazelcast.socket.buffer.direct", false);
 
+    /**
+     * If the socket buffers of the non-blocking IO threading model are taken from a pool of direct buffers shared by all
+     * connections, instead of every connection having its own buffers.
+     * <p/>
+     * A connection only borrows a buffer from the pool while it is reading or writing data, so the memory used for
+     * socket buffers depends on the number of busy connections instead of the total number of connections. This is
+     * useful with many mostly idle connections, e.g. thousands of clients.
+     * <p/>
+     * The pooled buffers are always direct, independent of {@link #SOCKET_BUFFER_DIRECT}.
+     */
+    public static final HazelcastProperty SOCKET_BUFFER_POOLED
+            = new HazelcastProperty("hazelcast.socket.buffer.pooled", false);
+
+    /**
+     * The minimum payload size in bytes of a packet to be written to a member connection using a gathering write.
+     * <p/>
+     * Normally the payload of a packet is copied into the socket output buffer before it is written to the socket, so a
+     * large payload is copied in chunks of the buffer size and needs a write per chunk. With a gathering write, the
+     * payload is handed to the socket as is, together with the content of the output buffer, in a single write. This
+     * saves a copy and system calls for large packets, e.g. large map values.
+     * <p/>
+     * The default is -1, which disables the gathering writes.
+     */
+    public static final HazelcastProperty SOCKET_GATHERING_WRITE_THRESHOLD
+            = new HazelcastProperty("hazelcast.socket.gathering.write.threshold", -1);
+
+    /**
+     * The minimum payload size in bytes of a packet to be compressed before it is written to a member connection.
+     * <p/>
+     * Compression trades CPU for bandwidth, so it pays off on bandwidth bound links, e.g. between racks or data centers,
+     * during migrations or bulk operations. Smaller packets are sent uncompressed, since there is little to gain. A packet
+     * is also sent uncompressed when the compressed form isn't smaller. Packets can always be received compressed,
+     * independent of this setting; every compressed packet tells which codec was used.
+     * <p/>
+     * Compressed packets aren't written using gathering writes, see {@link #SOCKET_GATHERING_WRITE_THRESHOLD}.
+     * <p/>
+     * The default is -1, which disables the compression.
+     */
+    public static final HazelcastProperty SOCKET_COMPRESSION_THRESHOLD
+            = new HazelcastProperty("hazelcast.socket.compression.threshold", -1);
+
+    /**
+     * The codec used to compress packets, see {@link #SOCKET_COMPRESSION_THRESHOLD}. Either 'lz4', a fast codec with
+     * a moderate compression ratio, or 'deflate', which compresses better at a higher CPU cost.
+     */
+    public static final HazelcastProperty SOCKET_COMPRESSION_CODEC
+            = new HazelcastProperty("hazelcast.socket.compression.codec", "lz4");
+
+
+    /**
+     * The maximum length of the queue of incoming connections that haven't been accepted yet. If the queue is full,
+     * new connections are refused, or ignored until the queue has room again, depending on the operating system. A
+     * larger backlog helps to absorb bursts of incoming connections, e.g. many clients reconnecting at the same time.
+     * The operating system can cap the backlog, e.g. to net.core.somaxconn on Linux.
+     * <p/>
+     * The default is 100.
+     */
+    public static final HazelcastProperty SOCKET_ACCEPT_BACKLOG
+            = new HazelcastProperty("hazelcast.socket.accept.backlog", 100);
 
     /**
      * Overrides receive buffer size for connections opened by clients.
@@ -520,6 +681,42 @@ public final class GroupProperty {
     public static final HazelcastProperty BACKPRESSURE_MAX_CONCURRENT_INVOCATIONS_PER_PARTITION
             = new HazelcastProperty("hazelcast.backpressure.max.concurrent.invocations.per.partition", 100);
 
+    /**
+     * Enables the adaptive backpressure. Only has effect when {@link #BACKPRESSURE_ENABLED backpressure is enabled}.
+     * <p/>
+     * With adaptive backpressure, the partition operation threads track how long operations wait in their queue (the
+     * sojourn time), and every response carries the sojourn time of the operation it belongs to. A caller uses these
+     * sojourn times to detect a member that has been overloaded for a while, in the style of the CoDel queue management
+     * algorithm: as soon as the sojourn times of a member stay above {@link #BACKPRESSURE_ADAPTIVE_TARGET_MILLIS} for
+     * {@link #BACKPRESSURE_ADAPTIVE_INTERVAL_MILLIS}, invocations to that member are rejected with a
+     * {@link com.hazelcast.core.HazelcastOverloadException} at an increasing rate, till the sojourn times drop below
+     * the target again. This keeps the latency bounded when a single member runs hot, instead of waiting for the number
+     * of concurrent invocations to run into its limit.
+     * <p/>
+     * Urgent operations are never rejected.
+     */
+    public static final HazelcastProperty BACKPRESSURE_ADAPTIVE_ENABLED
+            = new HazelcastProperty("hazelcast.backpressure.adaptive.enabled", false);
+
+    /**
+     * The acceptable sojourn time of an operation in the queue of a partition operation thread, when using adaptive
+     * backpressure. See {@link #BACKPRESSURE_ADAPTIVE_ENABLED}.
+     * <p/>
+     * The value needs to be larger than 0.
+     */
+    public static final HazelcastProperty BACKPRESSURE_ADAPTIVE_TARGET_MILLIS
+            = new HazelcastProperty("hazelcast.backpressure.adaptive.target.millis", 5, MILLISECONDS);
+
+    /**
+     * The period the sojourn times of a member need to stay above the target before invocations to that member are
+     * rejected, when using adaptive backpressure. It also controls the rate of the rejections: the n-th rejection
+     * follows the previous one after interval/sqrt(n). See {@link #BACKPRESSURE_ADAPTIVE_ENABLED}.
+     * <p/>
+     * The value needs to be larger than 0.
+     */
+    public static final HazelcastProperty BACKPRESSURE_ADAPTIVE_INTERVAL_MILLIS
+            = new HazelcastProperty("hazelcast.backpressure.adaptive.interval.millis", 100, MILLISECONDS);
+
     /**
      * Run Query Evaluations for multiple partitions in parallel.
      * <p/>
@@ -616,6 +813,128 @@ public final class GroupProperty {
             = new HazelcastProperty("hazelcast.serialization.version",
             BuildInfoProvider.getBuildInfo().getSerializationVersion());
 
+    /**
+     * The names, e.g. of the most used maps, that serialization version 2 writes as a reference into a dictionary instead
+     * of in full; separated by commas.
+     * <p/>
+     * The names of the services and executors are always in the dictionary. The configured names must be the same on
+     * all members, a member with different names can't join the cluster. The dictionary is not used by version 1.
+     */
+    public static final HazelcastProperty SERIALIZATION_STRING_DICTIONARY
+            = new HazelcastProperty("hazelcast.serialization.string.dictionary", "");
+
+    /**
+     * The maximum size in kilobytes of a serialization buffer that is retained by the per thread buffer pools.
+     * <p/>
+     * A buffer that grew to serialize a large object is kept at its grown size, as long as large objects keep being
+     * serialized by the same thread; so it doesn't need to grow again for every large object. Buffers that grew beyond
+     * this size are trimmed as soon as they are returned to the pool. A value of 0 disables the retaining of grown
+     * buffers.
+     */
+    public static final HazelcastProperty SERIALIZATION_BUFFER_POOL_MAX_RETAINED_KB
+            = new HazelcastProperty("hazelcast.serialization.bufferpool.max.retained.kb", 1024);
+
+    /**
+     * The time a grown serialization buffer is retained by a buffer pool after the last large object was serialized,
+     * see {@link #SERIALIZATION_BUFFER_POOL_MAX_RETAINED_KB}. The buffer is trimmed when it is returned to the pool
+     * after this period.
+     */
+    public static final HazelcastProperty SERIALIZATION_BUFFER_POOL_TRIM_DELAY_SECONDS
+            = new HazelcastProperty("hazelcast.serialization.bufferpool.trim.delay.seconds", 60, SECONDS);
+
+    /**
+     * The names of the services, e.g. hz:impl:mapService, whose operations are batched when sent to another member;
+     * separated by commas.
+     * <p/>
+     * Operation packets for the same member are coalesced in a single packet, which reduces the per packet overhead when
+     * many small operations are sent. The receiving member splits the batch again, so each operation still ends up on its
+     * own partition operation thread. Urgent operations are never batched.
+     * <p/>
+     * All members in the cluster need to support batching. By default no operations are batched.
+     */
+    public static final HazelcastProperty OPERATION_BATCHING_SERVICES
+            = new HazelcastProperty("hazelcast.operation.batching.services", "");
+
+    /**
+     * The maximum time an operation is kept in a batch before the batch is sent.
+     */
+    public static final HazelcastProperty OPERATION_BATCHING_WINDOW_MICROS
+            = new HazelcastProperty("hazelcast.operation.batching.window.micros", 100, MICROSECONDS);
+
+    /**
+     * The number of bytes after which a batch is sent, without waiting for the batching window to end.
+     */
+    public static final HazelcastProperty OPERATION_BATCHING_MAX_SIZE
+            = new HazelcastProperty("hazelcast.operation.batching.max.size", 65536);
+
+    /**
+     * Processes the normal and backup responses of operations directly on the IO thread that received them, instead of
+     * handing them over to the response thread.
+     * <p/>
+     * This removes a thread hop from every remote invocation, which reduces the latency of small responses. Responses
+     * that could lead to a retry of the invocation are still processed by the response thread. Enabling this moves the
+     * deserialization of the responses to the IO threads; so it is less suitable when the responses are large.
+     */
+    public static final HazelcastProperty OPERATION_RESPONSE_INLINE
+            = new HazelcastProperty("hazelcast.operation.response.inline", false);
+
+    /**
+     * The CPUs the response thread is pinned to. See {@link #PARTITION_OPERATION_THREAD_AFFINITY} for the format. By
+     * default the thread is not pinned.
+     */
+    public static final HazelcastProperty OPERATION_RESPONSE_THREAD_AFFINITY
+            = new HazelcastProperty("hazelcast.operation.response.thread.affinity", "");
+
+    /**
+     * Keeps the keys, values and metadata of the entries of maps with {@link com.hazelcast.config.InMemoryFormat#BINARY}
+     * format off-heap, in memory allocated from the native heap of the process.
+     * <p/>
+     * This takes the entries out of the reach of the garbage collector, which helps with large maps. The entries are
+     * copied to the heap when they are read, and iterating over the entries, e.g. by a query without an index, copies
+     * all of them. The cost of the map is the off-heap memory used by its entries. The off-heap storage needs
+     * {@code sun.misc.Unsafe}; without it the entries are kept on-heap.
+     */
+    public static final HazelcastProperty MAP_OFF_HEAP_STORAGE_ENABLED
+            = new HazelcastProperty("hazelcast.map.off.heap.storage.enabled", false);
+
+    /**
+     * The time a partition spends on reclaiming expired map entries in one run of the expiration task, which runs every
+     * second. The entries that could not be reclaimed within this budget are reclaimed by the next runs, so a large
+     * number of entries that expire at the same time does not stall the partition thread.
+     */
+    public static final HazelcastProperty MAP_EXPIRY_SLICE_BUDGET_MICROS
+            = new HazelcastProperty("hazelcast.map.expiry.slice.budget.micros", 500, MICROSECONDS);
+
+    /**
+     * The maximum number of key batches that the member that loads the keys of a map from its
+     * {@link com.hazelcast.core.MapLoader} sends to the partitions before they are acknowledged. The key loading waits
+     * while this many batches are in flight, so a slow cluster slows down the key loading instead of piling up batches;
+     * every batch holds up to {@link #MAP_LOAD_CHUNK_SIZE} keys. The values are loaded by the {@code hz:map-load} executor
+     * of every member, whose pool size is configured by an {@link com.hazelcast.config.ExecutorConfig} of that name.
+     */
+    public static final HazelcastProperty MAP_LOAD_MAX_IN_FLIGHT_BATCHES
+            = new HazelcastProperty("hazelcast.map.load.max.inflight.batches", 256);
+
+    /**
+     * The number of groups the write-behind entries of a map are split into on every store run. The groups are stored
+     * concurrently by the {@code hz:map-store} executor, which is shared by all maps of the member and whose pool size is
+     * configured by an {@link com.hazelcast.config.ExecutorConfig} of that name. An entry is grouped by its partition,
+     * so the entries of a key are stored in order, and keys with the same partition key end up in the same
+     * {@link com.hazelcast.core.MapStore#storeAll} calls. The default of {@code 1} stores the entries of a map by a
+     * single thread. With more than one group, the {@link com.hazelcast.core.MapStore} must be thread-safe.
+     */
+    public static final HazelcastProperty MAP_WRITE_BEHIND_STORE_WORKERS
+            = new HazelcastProperty("hazelcast.map.write.behind.store.workers", 1);
+
+    /**
+     * The target latency of a {@link com.hazelcast.core.MapStore#storeAll} or
+     * {@link com.hazelcast.core.MapStore#deleteAll} call of a write-behind map with a write batch size bigger than
+     * {@code 1}. The number of entries per call is halved when a call takes longer and grows back, up to the configured
+     * write batch size, while the calls take less than half of it. {@code 0} keeps the configured write batch size.
+     */
+    public static final HazelcastProperty MAP_WRITE_BEHIND_BATCH_TARGET_LATENCY_MILLIS
+            = new HazelcastProperty("hazelcast.map.write.behind.batch.target.latency.millis", 0, MILLISECONDS);
+
     private GroupProperty() {
     }
 }
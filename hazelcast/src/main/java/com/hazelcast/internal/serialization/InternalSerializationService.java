@@ -22,6 +22,7 @@ import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.nio.Disposable;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.ClassDefinition;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.PortableReader;
 import com.hazelcast.spi.serialization.SerializationService;
@@ -33,6 +34,12 @@ public interface InternalSerializationService extends SerializationService, Disp
 
     byte VERSION_1 = 1;
 
+    /**
+     * Version 1 with a compact encoding: the length of a UTF string is written as a var int, names can be written as a
+     * reference into the {@link StringDictionary} and some longs of the operation header are written as var longs.
+     */
+    byte VERSION_2 = 2;
+
     byte[] toBytes(Object obj);
 
     byte[] toBytes(Object obj, PartitioningStrategy strategy);
@@ -55,9 +62,24 @@ public interface InternalSerializationService extends SerializationService, Disp
 
     PortableContext getPortableContext();
 
+    /**
+     * Returns the field layout declared by the {@link com.hazelcast.nio.serialization.QueryableDataSerializable} class
+     * with the given factory and class id.
+     *
+     * @param factoryId the factory id.
+     * @param classId   the class id.
+     * @return the field layout, or null if the class doesn't declare one.
+     */
+    ClassDefinition getFieldLayout(int factoryId, int classId);
+
     ClassLoader getClassLoader();
 
     ByteOrder getByteOrder();
 
     byte getVersion();
+
+    /**
+     * @return the string dictionary of the compact encoding, or null if the version doesn't use the compact encoding.
+     */
+    StringDictionary getStringDictionary();
 }
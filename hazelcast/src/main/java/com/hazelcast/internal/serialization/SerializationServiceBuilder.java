@@ -26,6 +26,7 @@ import com.hazelcast.nio.serialization.PortableFactory;
 import com.hazelcast.spi.serialization.SerializationService;
 
 import java.nio.ByteOrder;
+import java.util.Collection;
 
 public interface SerializationServiceBuilder {
 
@@ -63,5 +64,11 @@ public interface SerializationServiceBuilder {
 
     SerializationServiceBuilder setInitialOutputBufferSize(int initialOutputBufferSize);
 
+    SerializationServiceBuilder setBufferPoolMaxRetainedSize(int bufferPoolMaxRetainedSize);
+
+    SerializationServiceBuilder setBufferPoolTrimDelayMillis(long bufferPoolTrimDelayMillis);
+
+    SerializationServiceBuilder setStringDictionary(Collection<String> names);
+
     <T extends SerializationService> T build();
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization;
+
+/**
+ * The strings that serialization version {@link InternalSerializationService#VERSION_2} writes as a reference to their
+ * index when they are written as a name, see {@link com.hazelcast.nio.BufferObjectDataOutput#writeName(String)}.
+ *
+ * A reference is only understood by a member with the same dictionary.
+ */
+public interface StringDictionary {
+
+    /**
+     * @return the index of the string, or -1 if it isn't in this dictionary.
+     */
+    int indexOf(String s);
+
+    /**
+     * @return the string at the index.
+     * @throws IllegalArgumentException if there is no string at the index.
+     */
+    String get(int index);
+
+    int size();
+}
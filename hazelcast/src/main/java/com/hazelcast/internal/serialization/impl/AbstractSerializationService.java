@@ -21,6 +21,7 @@ import com.hazelcast.core.ManagedContext;
 import com.hazelcast.core.PartitioningStrategy;
 import com.hazelcast.internal.serialization.InputOutputFactory;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.StringDictionary;
 import com.hazelcast.internal.serialization.impl.bufferpool.BufferPool;
 import com.hazelcast.internal.serialization.impl.bufferpool.BufferPoolFactory;
 import com.hazelcast.internal.serialization.impl.bufferpool.BufferPoolThreadLocal;
@@ -30,6 +31,7 @@ import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.Packet;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.DataSerializable;
 import com.hazelcast.nio.serialization.HazelcastSerializationException;
@@ -82,15 +84,17 @@ public abstract class AbstractSerializationService implements InternalSerializat
     private final int outputBufferSize;
     private volatile boolean active = true;
     private final byte version;
+    private final StringDictionary stringDictionary;
 
     private ILogger logger = Logger.getLogger(InternalSerializationService.class);
 
     AbstractSerializationService(InputOutputFactory inputOutputFactory, byte version, ClassLoader classLoader,
                                  ManagedContext managedContext, PartitioningStrategy globalPartitionStrategy,
                                  int initialOutputBufferSize,
-                                 BufferPoolFactory bufferPoolFactory) {
+                                 BufferPoolFactory bufferPoolFactory, StringDictionary stringDictionary) {
         this.inputOutputFactory = inputOutputFactory;
         this.version = version;
+        this.stringDictionary = version >= VERSION_2 ? stringDictionary : null;
         this.classLoader = classLoader;
         this.managedContext = managedContext;
         this.globalPartitioningStrategy = globalPartitionStrategy;
@@ -157,7 +161,7 @@ public abstract class AbstractSerializationService implements InternalSerializat
         }
 
         BufferPool pool = bufferPoolThreadLocal.get();
-        BufferObjectDataInput in = pool.takeInputBuffer(data);
+        BufferObjectDataInput in = takeInputBuffer(pool, data);
         try {
             final int typeId = data.getType();
             final SerializerAdapter serializer = serializerFor(typeId);
@@ -180,6 +184,15 @@ public abstract class AbstractSerializationService implements InternalSerializat
         }
     }
 
+    private static BufferObjectDataInput takeInputBuffer(BufferPool pool, Data data) {
+        BufferObjectDataInput in = pool.takeInputBuffer(data);
+        if (data instanceof Packet && in instanceof ByteArrayObjectDataInput) {
+            // the payload of a packet is never modified, so large Data in it, like the value of a put, can be sliced
+            ((ByteArrayObjectDataInput) in).sliceData = true;
+        }
+        return in;
+    }
+
     private static HazelcastSerializationException newHazelcastSerializationException(int typeId) {
         return new HazelcastSerializationException("There is no suitable de-serializer for type " + typeId + ". "
                 + "This exception is likely to be caused by differences in the serialization configuration between members "
@@ -233,6 +246,11 @@ public abstract class AbstractSerializationService implements InternalSerializat
 
     @Override
     public final BufferObjectDataInput createObjectDataInput(Data data) {
+        if (data instanceof HeapDataSlice) {
+            BufferObjectDataInput in = inputOutputFactory.createInput((byte[]) null, this);
+            ((HeapDataSlice) data).init(in);
+            return in;
+        }
         return inputOutputFactory.createInput(data, this);
     }
 
@@ -246,6 +264,10 @@ public abstract class AbstractSerializationService implements InternalSerializat
         return inputOutputFactory.createOutput(outputBufferSize, this);
     }
 
+    public final BufferPoolThreadLocal getBufferPoolThreadLocal() {
+        return bufferPoolThreadLocal;
+    }
+
     public final ClassLoader getClassLoader() {
         return classLoader;
     }
@@ -264,6 +286,11 @@ public abstract class AbstractSerializationService implements InternalSerializat
         return version;
     }
 
+    @Override
+    public StringDictionary getStringDictionary() {
+        return stringDictionary;
+    }
+
     public void dispose() {
         active = false;
         for (SerializerAdapter serializer : typeMap.values()) {
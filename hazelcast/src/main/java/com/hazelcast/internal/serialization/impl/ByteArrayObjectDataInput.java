@@ -17,6 +17,7 @@
 package com.hazelcast.internal.serialization.impl;
 
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.StringDictionary;
 import com.hazelcast.nio.Bits;
 import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.serialization.Data;
@@ -34,6 +35,12 @@ import static com.hazelcast.nio.Bits.SHORT_SIZE_IN_BYTES;
 
 class ByteArrayObjectDataInput extends InputStream implements BufferObjectDataInput {
 
+    /**
+     * The minimum size of a Data to be read as a {@link HeapDataSlice}. Smaller Data is always copied; the copy is cheap
+     * compared to the cost of the slice.
+     */
+    static final int MIN_SLICE_LENGTH = 1024;
+
     byte[] data;
 
     int size;
@@ -44,8 +51,19 @@ class ByteArrayObjectDataInput extends InputStream implements BufferObjectDataIn
 
     final InternalSerializationService service;
 
+    /**
+     * The dictionary of the compact encoding of serialization version 2, or null if the compact encoding isn't used.
+     */
+    final StringDictionary dictionary;
+
     char[] charBuffer;
 
+    /**
+     * If set, a large Data is read as a {@link HeapDataSlice} of the data instead of being copied. This can only be
+     * set if the data is never modified, e.g. the payload of a {@link com.hazelcast.nio.Packet}.
+     */
+    boolean sliceData;
+
     private final boolean bigEndian;
 
     ByteArrayObjectDataInput(byte[] data, InternalSerializationService service, ByteOrder byteOrder) {
@@ -56,15 +74,24 @@ class ByteArrayObjectDataInput extends InputStream implements BufferObjectDataIn
         this.data = data;
         this.size = data != null ? data.length : 0;
         this.service = service;
+        this.dictionary = service != null ? service.getStringDictionary() : null;
         this.pos = offset;
         this.bigEndian = byteOrder == ByteOrder.BIG_ENDIAN;
     }
 
     @Override
     public void init(byte[] data, int offset) {
+        init(data, offset, data != null ? data.length : 0);
+    }
+
+    /**
+     * Initializes this input to read the data from the offset up to the limit.
+     */
+    void init(byte[] data, int offset, int limit) {
         this.data = data;
-        this.size = data != null ? data.length : 0;
+        this.size = limit;
         this.pos = offset;
+        this.sliceData = false;
     }
 
     @Override
@@ -73,6 +100,7 @@ class ByteArrayObjectDataInput extends InputStream implements BufferObjectDataIn
         this.pos = 0;
         this.size = 0;
         this.mark = 0;
+        this.sliceData = false;
         if (charBuffer != null && charBuffer.length > UTF_BUFFER_SIZE * 8) {
             this.charBuffer = new char[UTF_BUFFER_SIZE * 8];
         }
@@ -576,10 +604,61 @@ class ByteArrayObjectDataInput extends InputStream implements BufferObjectDataIn
      */
     @Override
     public final String readUTF() throws IOException {
-        int charCount = readInt();
+        int charCount = dictionary != null ? readVarInt() - 1 : readInt();
         if (charCount == NULL_ARRAY_LENGTH) {
             return null;
         }
+        return readUtf8Chars(charCount);
+    }
+
+    @Override
+    public final String readName() throws IOException {
+        if (dictionary == null) {
+            return readUTF();
+        }
+        int header = readVarInt();
+        if (header == 0) {
+            return null;
+        }
+        if ((header & 1) != 0) {
+            int index = header >>> 1;
+            if (index >= dictionary.size()) {
+                throw new IOException("Unknown string dictionary index: " + index);
+            }
+            return dictionary.get(index);
+        }
+        return readUtf8Chars((header >>> 1) - 1);
+    }
+
+    @Override
+    public final long readCompactLong() throws IOException {
+        if (dictionary == null) {
+            return readLong();
+        }
+        long zigzag = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = readByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new IOException("Malformed var long");
+    }
+
+    final int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed var int");
+    }
+
+    private String readUtf8Chars(int charCount) throws IOException {
         if (charBuffer == null || charCount > charBuffer.length) {
             charBuffer = new char[charCount];
         }
@@ -602,11 +681,37 @@ class ByteArrayObjectDataInput extends InputStream implements BufferObjectDataIn
 
     @Override
     public final Data readData() throws IOException {
+        if (sliceData) {
+            return readDataSlice();
+        }
         byte[] bytes = readByteArray();
         Data data = bytes == null ? null : new HeapData(bytes);
         return data;
     }
 
+    /**
+     * Reads a Data as a {@link HeapDataSlice} if it is large and takes up at least 3/4 of the buffer. The bound on the
+     * part of the buffer that isn't the Data limits the memory that is retained uselessly by the slice; it also means
+     * that at most one slice is made of a buffer.
+     */
+    private Data readDataSlice() throws IOException {
+        int len = readInt();
+        if (len == NULL_ARRAY_LENGTH) {
+            return null;
+        }
+
+        if (len >= MIN_SLICE_LENGTH && len >= size - (size >> 2)) {
+            checkAvailable(pos, len);
+            Data slice = new HeapDataSlice(data, pos, len);
+            pos += len;
+            return slice;
+        }
+
+        byte[] bytes = new byte[len];
+        readFully(bytes);
+        return new HeapData(bytes);
+    }
+
     @Override
     public final long skip(long n) {
         if (n <= 0 || n >= Integer.MAX_VALUE) {
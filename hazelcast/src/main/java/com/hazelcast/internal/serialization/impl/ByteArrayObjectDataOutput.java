@@ -17,6 +17,7 @@
 package com.hazelcast.internal.serialization.impl;
 
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.StringDictionary;
 import com.hazelcast.nio.Bits;
 import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
@@ -33,6 +34,12 @@ import static com.hazelcast.nio.Bits.SHORT_SIZE_IN_BYTES;
 
 class ByteArrayObjectDataOutput extends OutputStream implements BufferObjectDataOutput {
 
+    // a cleared buffer is shrunk to this factor of the initial size
+    static final int CLEARED_SIZE_FACTOR = 8;
+
+    static final int MAX_VAR_INT_SIZE = 5;
+    static final int MAX_VAR_LONG_SIZE = 10;
+
     final int initialSize;
 
     byte[] buffer;
@@ -41,12 +48,18 @@ class ByteArrayObjectDataOutput extends OutputStream implements BufferObjectData
 
     final InternalSerializationService service;
 
+    /**
+     * The dictionary of the compact encoding of serialization version 2, or null if the compact encoding isn't used.
+     */
+    final StringDictionary dictionary;
+
     private final boolean isBigEndian;
 
     ByteArrayObjectDataOutput(int size, InternalSerializationService service, ByteOrder byteOrder) {
         this.initialSize = size;
         this.buffer = new byte[size];
         this.service = service;
+        this.dictionary = service != null ? service.getStringDictionary() : null;
         isBigEndian = byteOrder == ByteOrder.BIG_ENDIAN;
     }
 
@@ -247,7 +260,61 @@ class ByteArrayObjectDataOutput extends OutputStream implements BufferObjectData
     @Override
     public void writeUTF(final String str) throws IOException {
         int len = (str != null) ? str.length() : NULL_ARRAY_LENGTH;
-        writeInt(len);
+        if (dictionary != null) {
+            // 0 is reserved for null
+            writeVarInt(len + 1);
+        } else {
+            writeInt(len);
+        }
+        writeUtf8Chars(str, len);
+    }
+
+    @Override
+    public void writeName(String name) throws IOException {
+        if (dictionary == null) {
+            writeUTF(name);
+            return;
+        }
+        if (name == null) {
+            writeVarInt(0);
+            return;
+        }
+        // an odd header is a reference into the dictionary, an even one is followed by the characters of the name
+        int index = dictionary.indexOf(name);
+        if (index >= 0) {
+            writeVarInt((index << 1) | 1);
+        } else {
+            int len = name.length();
+            writeVarInt((len + 1) << 1);
+            writeUtf8Chars(name, len);
+        }
+    }
+
+    @Override
+    public void writeCompactLong(long v) throws IOException {
+        if (dictionary == null) {
+            writeLong(v);
+            return;
+        }
+        long zigzag = (v << 1) ^ (v >> 63);
+        ensureAvailable(MAX_VAR_LONG_SIZE);
+        while ((zigzag & ~0x7FL) != 0) {
+            buffer[pos++] = (byte) ((zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        buffer[pos++] = (byte) zigzag;
+    }
+
+    final void writeVarInt(int v) {
+        ensureAvailable(MAX_VAR_INT_SIZE);
+        while ((v & ~0x7F) != 0) {
+            buffer[pos++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        buffer[pos++] = (byte) v;
+    }
+
+    private void writeUtf8Chars(String str, int len) {
         if (len > 0) {
             ensureAvailable(len * 3);
             for (int i = 0; i < len; i++) {
@@ -373,6 +440,12 @@ class ByteArrayObjectDataOutput extends OutputStream implements BufferObjectData
 
     @Override
     public void writeData(Data data) throws IOException {
+        if (data instanceof HeapDataSlice) {
+            HeapDataSlice slice = (HeapDataSlice) data;
+            writeInt(slice.totalSize());
+            write(slice.buffer(), slice.offset(), slice.totalSize());
+            return;
+        }
         byte[] payload = data != null ? data.toByteArray() : null;
         writeByteArray(payload);
     }
@@ -411,8 +484,8 @@ class ByteArrayObjectDataOutput extends OutputStream implements BufferObjectData
     @Override
     public void clear() {
         pos = 0;
-        if (buffer != null && buffer.length > initialSize * 8) {
-            buffer = new byte[initialSize * 8];
+        if (buffer != null && buffer.length > initialSize * CLEARED_SIZE_FACTOR) {
+            buffer = new byte[initialSize * CLEARED_SIZE_FACTOR];
         }
     }
 
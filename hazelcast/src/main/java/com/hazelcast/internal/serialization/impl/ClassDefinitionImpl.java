@@ -31,6 +31,7 @@ public class ClassDefinitionImpl implements ClassDefinition {
     private int classId;
     private int version = -1;
     private final Map<String, FieldDefinition> fieldDefinitionsMap = new LinkedHashMap<String, FieldDefinition>();
+    private volatile PortableSchema schema;
 
     public ClassDefinitionImpl(int factoryId, int classId, int version) {
         this.factoryId = factoryId;
@@ -40,6 +41,17 @@ public class ClassDefinitionImpl implements ClassDefinition {
 
     public void addFieldDef(FieldDefinitionImpl fd) {
         fieldDefinitionsMap.put(fd.getName(), fd);
+        schema = null;
+    }
+
+    PortableSchema getSchema() {
+        PortableSchema schema = this.schema;
+        if (schema == null) {
+            // racy creation is fine; the schemas are equal
+            schema = new PortableSchema(this);
+            this.schema = schema;
+        }
+        return schema;
     }
 
     @Override
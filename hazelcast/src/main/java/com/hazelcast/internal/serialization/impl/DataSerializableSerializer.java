@@ -22,10 +22,14 @@ import com.hazelcast.logging.Logger;
 import com.hazelcast.nio.ClassLoaderUtil;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.ClassDefinition;
 import com.hazelcast.nio.serialization.DataSerializable;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
 import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.FieldDefinition;
+import com.hazelcast.nio.serialization.FieldType;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.QueryableDataSerializable;
 import com.hazelcast.nio.serialization.StreamSerializer;
 import com.hazelcast.util.ExceptionUtil;
 import com.hazelcast.util.ServiceLoader;
@@ -34,8 +38,11 @@ import com.hazelcast.util.collection.Int2ObjectHashMap;
 import java.io.IOException;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_DATA_SERIALIZABLE;
+import static com.hazelcast.nio.Bits.combineToLong;
 
 /**
  * The {@link StreamSerializer} that handles:
@@ -53,7 +60,11 @@ final class DataSerializableSerializer implements StreamSerializer<DataSerializa
 
     private static final String FACTORY_ID = "com.hazelcast.DataSerializerHook";
 
+    // marks the classes without a field layout in the layout cache
+    private static final ClassDefinition NO_FIELD_LAYOUT = new ClassDefinitionImpl(0, 0, 0);
+
     private final Int2ObjectHashMap<DataSerializableFactory> factories = new Int2ObjectHashMap<DataSerializableFactory>();
+    private final ConcurrentMap<Long, ClassDefinition> fieldLayouts = new ConcurrentHashMap<Long, ClassDefinition>();
 
     DataSerializableSerializer(Map<Integer, ? extends DataSerializableFactory> dataSerializableFactories,
                                ClassLoader classLoader) {
@@ -161,8 +172,66 @@ final class DataSerializableSerializer implements StreamSerializer<DataSerializa
         obj.writeData(out);
     }
 
+    /**
+     * Returns the field layout of the {@link QueryableDataSerializable} class with the given factory and class id. The
+     * layout is requested once from an instance created by the factory, and cached.
+     *
+     * @param factoryId the factory id.
+     * @param classId   the class id.
+     * @return the field layout, or null if the class is unknown or doesn't declare a field layout.
+     * @throws HazelcastSerializationException if the layout contains an unsupported field type.
+     */
+    ClassDefinition getFieldLayout(int factoryId, int classId) {
+        Long key = combineToLong(factoryId, classId);
+        ClassDefinition layout = fieldLayouts.get(key);
+        if (layout == null) {
+            layout = createFieldLayout(factoryId, classId);
+            fieldLayouts.putIfAbsent(key, layout);
+        }
+        return layout == NO_FIELD_LAYOUT ? null : layout;
+    }
+
+    private ClassDefinition createFieldLayout(int factoryId, int classId) {
+        DataSerializableFactory factory = factories.get(factoryId);
+        DataSerializable ds = factory == null ? null : factory.create(classId);
+        if (!(ds instanceof QueryableDataSerializable)) {
+            return NO_FIELD_LAYOUT;
+        }
+
+        ClassDefinition layout = ((QueryableDataSerializable) ds).getFieldLayout();
+        if (layout == null) {
+            return NO_FIELD_LAYOUT;
+        }
+        for (int k = 0; k < layout.getFieldCount(); k++) {
+            FieldDefinition field = layout.getField(k);
+            if (!isSupportedInFieldLayout(field.getType())) {
+                throw new HazelcastSerializationException("Unsupported type " + field.getType() + " of field '"
+                        + field.getName() + "' in the field layout of " + ds.getClass().getName());
+            }
+        }
+        return layout;
+    }
+
+    private static boolean isSupportedInFieldLayout(FieldType type) {
+        switch (type) {
+            case BYTE:
+            case BOOLEAN:
+            case CHAR:
+            case SHORT:
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+            case UTF:
+                return true;
+            default:
+                return false;
+        }
+    }
+
     @Override
     public void destroy() {
         factories.clear();
+        fieldLayouts.clear();
     }
 }
@@ -37,14 +37,17 @@ public class DefaultPortableReader implements PortableReader {
     protected final ClassDefinition cd;
     protected final PortableSerializer serializer;
     private final BufferObjectDataInput in;
+    private final PortableSchema schema;
     private final int finalPosition;
     private final int offset;
+    private int nextFieldIndex;
     private boolean raw;
 
     public DefaultPortableReader(PortableSerializer serializer, BufferObjectDataInput in, ClassDefinition cd) {
         this.in = in;
         this.serializer = serializer;
         this.cd = cd;
+        this.schema = PortableSchema.of(cd);
         int fieldCount;
         try {
             // final position after portable is read
@@ -257,7 +260,7 @@ public class DefaultPortableReader implements PortableReader {
     public Portable readPortable(String fieldName) throws IOException {
         final int currentPos = in.position();
         try {
-            FieldDefinition fd = cd.getField(fieldName);
+            FieldDefinition fd = getField(fieldName);
             if (fd == null) {
                 throw throwUnknownFieldException(fieldName);
             }
@@ -287,7 +290,7 @@ public class DefaultPortableReader implements PortableReader {
     public Portable[] readPortableArray(String fieldName) throws IOException {
         final int currentPos = in.position();
         try {
-            FieldDefinition fd = cd.getField(fieldName);
+            FieldDefinition fd = getField(fieldName);
             if (fd == null) {
                 throw throwUnknownFieldException(fieldName);
             }
@@ -342,7 +345,7 @@ public class DefaultPortableReader implements PortableReader {
         if (raw) {
             throw new HazelcastSerializationException("Cannot read Portable fields after getRawDataInput() is called!");
         }
-        FieldDefinition fd = cd.getField(fieldName);
+        FieldDefinition fd = getField(fieldName);
         if (fd == null) {
             return readNestedPosition(fieldName, type);
         }
@@ -386,11 +389,24 @@ public class DefaultPortableReader implements PortableReader {
         throw throwUnknownFieldException(fieldName);
     }
 
+    /**
+     * Returns the definition of the field with the given name, or null if there is no such field. The lookup is cheap
+     * if the fields are read in the order they were written.
+     */
+    private FieldDefinition getField(String fieldName) {
+        int index = schema.indexOf(fieldName, nextFieldIndex);
+        if (index < 0) {
+            return null;
+        }
+        nextFieldIndex = index + 1;
+        return schema.getField(index);
+    }
+
     private int readPosition(FieldDefinition fd) throws IOException {
-        int pos = in.readInt(offset + fd.getIndex() * Bits.INT_SIZE_IN_BYTES);
-        short len = in.readShort(pos);
-        // name + len + type
-        return pos + Bits.SHORT_SIZE_IN_BYTES + len + 1;
+        int index = fd.getIndex();
+        int pos = in.readInt(offset + index * Bits.INT_SIZE_IN_BYTES);
+        // skips the len + name + type of the field, their size is known from the class definition
+        return pos + schema.getValueOffset(index);
     }
 
     @Override
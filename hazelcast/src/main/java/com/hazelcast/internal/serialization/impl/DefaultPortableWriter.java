@@ -26,8 +26,6 @@ import com.hazelcast.nio.serialization.Portable;
 import com.hazelcast.nio.serialization.PortableWriter;
 
 import java.io.IOException;
-import java.util.HashSet;
-import java.util.Set;
 
 import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
 import static com.hazelcast.nio.Bits.NULL_ARRAY_LENGTH;
@@ -39,7 +37,9 @@ public class DefaultPortableWriter implements PortableWriter {
     private final BufferObjectDataOutput out;
     private final int begin;
     private final int offset;
-    private final Set<String> writtenFields;
+    private final PortableSchema schema;
+    private final boolean[] writtenFields;
+    private int nextFieldIndex;
     private boolean raw;
 
     public DefaultPortableWriter(PortableSerializer serializer, BufferObjectDataOutput out, ClassDefinition cd)
@@ -47,7 +47,8 @@ public class DefaultPortableWriter implements PortableWriter {
         this.serializer = serializer;
         this.out = out;
         this.cd = cd;
-        this.writtenFields = new HashSet<String>(cd.getFieldCount());
+        this.schema = PortableSchema.of(cd);
+        this.writtenFields = new boolean[cd.getFieldCount()];
         this.begin = out.position();
 
         // room for final offset
@@ -236,22 +237,23 @@ public class DefaultPortableWriter implements PortableWriter {
         if (raw) {
             throw new HazelcastSerializationException("Cannot write Portable fields after getRawDataOutput() is called!");
         }
-        FieldDefinition fd = cd.getField(fieldName);
-        if (fd == null) {
+        int index = schema.indexOf(fieldName, nextFieldIndex);
+        if (index < 0) {
             throw new HazelcastSerializationException("Invalid field name: '" + fieldName
                     + "' for ClassDefinition {id: " + cd.getClassId() + ", version: " + cd.getVersion() + "}");
         }
-        if (writtenFields.add(fieldName)) {
-            int pos = out.position();
-            int index = fd.getIndex();
-            out.writeInt(offset + index * INT_SIZE_IN_BYTES, pos);
-            out.writeShort(fieldName.length());
-            out.writeBytes(fieldName);
-            out.writeByte(fieldType.getId());
-        } else {
+        if (writtenFields[index]) {
             throw new HazelcastSerializationException("Field '" + fieldName + "' has already been written!");
         }
-        return fd;
+        writtenFields[index] = true;
+        nextFieldIndex = index + 1;
+
+        int pos = out.position();
+        out.writeInt(offset + index * INT_SIZE_IN_BYTES, pos);
+        out.writeShort(fieldName.length());
+        out.write(schema.getEncodedName(index));
+        out.writeByte(fieldType.getId());
+        return schema.getField(index);
     }
 
     @Override
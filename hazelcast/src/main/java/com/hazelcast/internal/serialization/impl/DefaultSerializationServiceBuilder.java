@@ -25,6 +25,7 @@ import com.hazelcast.core.PartitioningStrategy;
 import com.hazelcast.instance.BuildInfoProvider;
 import com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry;
 import com.hazelcast.internal.properties.GroupProperty;
+import com.hazelcast.internal.properties.HazelcastProperty;
 import com.hazelcast.internal.serialization.InputOutputFactory;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.SerializationServiceBuilder;
@@ -38,11 +39,19 @@ import com.hazelcast.nio.serialization.Serializer;
 import com.hazelcast.nio.serialization.SerializerHook;
 
 import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import static com.hazelcast.internal.serialization.impl.ByteArrayObjectDataOutput.CLEARED_SIZE_FACTOR;
+import static com.hazelcast.memory.MemoryUnit.KILOBYTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
 public class DefaultSerializationServiceBuilder
         implements SerializationServiceBuilder {
 
@@ -79,13 +88,19 @@ public class DefaultSerializationServiceBuilder
 
     protected int initialOutputBufferSize = DEFAULT_OUT_BUFFER_SIZE;
 
+    protected int bufferPoolMaxRetainedSize = -1;
+
+    protected long bufferPoolTrimDelayMillis = -1;
+
+    protected Collection<String> stringDictionary;
+
     protected PartitioningStrategy partitioningStrategy;
 
     protected HazelcastInstance hazelcastInstance;
 
     @Override
     public SerializationServiceBuilder setVersion(byte version) {
-        byte maxVersion = BuildInfoProvider.getBuildInfo().getSerializationVersion();
+        byte maxVersion = maxSupportedVersion();
         if (version > maxVersion) {
             throw new IllegalArgumentException(
                     "Configured serialization version is higher than the max supported version :" + maxVersion);
@@ -205,9 +220,35 @@ public class DefaultSerializationServiceBuilder
         return this;
     }
 
+    @Override
+    public SerializationServiceBuilder setBufferPoolMaxRetainedSize(int bufferPoolMaxRetainedSize) {
+        if (bufferPoolMaxRetainedSize < 0) {
+            throw new IllegalArgumentException("Buffer pool max retained size can't be negative!");
+        }
+        this.bufferPoolMaxRetainedSize = bufferPoolMaxRetainedSize;
+        return this;
+    }
+
+    @Override
+    public SerializationServiceBuilder setBufferPoolTrimDelayMillis(long bufferPoolTrimDelayMillis) {
+        if (bufferPoolTrimDelayMillis < 0) {
+            throw new IllegalArgumentException("Buffer pool trim delay can't be negative!");
+        }
+        this.bufferPoolTrimDelayMillis = bufferPoolTrimDelayMillis;
+        return this;
+    }
+
+    @Override
+    public SerializationServiceBuilder setStringDictionary(Collection<String> names) {
+        this.stringDictionary = names;
+        return this;
+    }
+
     @Override
     public InternalSerializationService build() {
         initVersions();
+        initBufferPool();
+        initStringDictionary();
         if (config != null) {
             addConfigDataSerializableFactories(dataSerializableFactories, config, classLoader);
             addConfigPortableFactories(portableFactories, config, classLoader);
@@ -246,7 +287,7 @@ public class DefaultSerializationServiceBuilder
         if (version < 0) {
             String defaultVal = GroupProperty.SERIALIZATION_VERSION.getDefaultValue();
             byte versionCandidate = Byte.parseByte(System.getProperty(GroupProperty.SERIALIZATION_VERSION.getName(), defaultVal));
-            byte maxVersion = Byte.parseByte(defaultVal);
+            byte maxVersion = maxSupportedVersion();
             if (versionCandidate > maxVersion) {
                 throw new IllegalArgumentException(
                         "Configured serialization version is higher than the max supported version :" + maxVersion);
@@ -258,13 +299,61 @@ public class DefaultSerializationServiceBuilder
         }
     }
 
+    private void initBufferPool() {
+        if (bufferPoolMaxRetainedSize < 0) {
+            HazelcastProperty property = GroupProperty.SERIALIZATION_BUFFER_POOL_MAX_RETAINED_KB;
+            int maxRetainedKb = Integer.parseInt(System.getProperty(property.getName(), property.getDefaultValue()));
+            bufferPoolMaxRetainedSize = (int) KILOBYTES.toBytes(maxRetainedKb);
+        }
+        if (bufferPoolTrimDelayMillis < 0) {
+            HazelcastProperty property = GroupProperty.SERIALIZATION_BUFFER_POOL_TRIM_DELAY_SECONDS;
+            long trimDelaySeconds = Long.parseLong(System.getProperty(property.getName(), property.getDefaultValue()));
+            bufferPoolTrimDelayMillis = SECONDS.toMillis(trimDelaySeconds);
+        }
+    }
+
+    private void initStringDictionary() {
+        if (stringDictionary == null) {
+            HazelcastProperty property = GroupProperty.SERIALIZATION_STRING_DICTIONARY;
+            stringDictionary = parseStringDictionary(System.getProperty(property.getName(), property.getDefaultValue()));
+        }
+    }
+
+    /**
+     * Parses the names of the {@link GroupProperty#SERIALIZATION_STRING_DICTIONARY} property.
+     *
+     * @param value the names separated by commas; can be null.
+     * @return the names, in their configured order.
+     */
+    public static List<String> parseStringDictionary(String value) {
+        if (value == null) {
+            return Collections.emptyList();
+        }
+
+        List<String> result = new ArrayList<String>();
+        for (String name : value.split(",")) {
+            name = name.trim();
+            if (name.length() > 0) {
+                result.add(name);
+            }
+        }
+        return result;
+    }
+
+    private static byte maxSupportedVersion() {
+        return (byte) Math.max(BuildInfoProvider.getBuildInfo().getSerializationVersion(),
+                InternalSerializationService.VERSION_2);
+    }
+
     protected InternalSerializationService createSerializationService(InputOutputFactory inputOutputFactory) {
         switch (version) {
+            // version 2 is version 1 with the compact encoding of the inputs and outputs
             case 1:
+            case 2:
                 SerializationServiceV1 serializationServiceV1 = new SerializationServiceV1(inputOutputFactory, version,
                         portableVersion, classLoader, dataSerializableFactories, portableFactories, managedContext,
-                        partitioningStrategy, initialOutputBufferSize, new BufferPoolFactoryImpl(), enableCompression,
-                        enableSharedObject);
+                        partitioningStrategy, initialOutputBufferSize, createBufferPoolFactory(), enableCompression,
+                        enableSharedObject, new StringDictionaryImpl(stringDictionary));
                 serializationServiceV1.registerClassDefinitions(classDefinitions, checkClassDefErrors);
                 return serializationServiceV1;
 
@@ -275,6 +364,12 @@ public class DefaultSerializationServiceBuilder
         }
     }
 
+    private BufferPoolFactoryImpl createBufferPoolFactory() {
+        // payloads that don't fit in a cleared buffer have grown the buffer
+        int largePayloadSize = initialOutputBufferSize * CLEARED_SIZE_FACTOR;
+        return new BufferPoolFactoryImpl(largePayloadSize, bufferPoolMaxRetainedSize, bufferPoolTrimDelayMillis);
+    }
+
     private void registerSerializerHooks(InternalSerializationService ss) {
         SerializerHookLoader serializerHookLoader = new SerializerHookLoader(config, classLoader);
         Map<Class, Object> serializers = serializerHookLoader.getSerializers();
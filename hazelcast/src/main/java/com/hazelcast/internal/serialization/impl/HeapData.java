@@ -102,14 +102,16 @@ public class HeapData implements Data {
         if (this == o) {
             return true;
         }
-        if (o == null) {
-            return false;
+        if (o instanceof HeapDataSlice) {
+            // prevents a copy of the content of the slice
+            return o.equals(this);
         }
         if (!(o instanceof Data)) {
             return false;
         }
 
         Data data = (Data) o;
+
         if (getType() != data.getType()) {
             return false;
         }
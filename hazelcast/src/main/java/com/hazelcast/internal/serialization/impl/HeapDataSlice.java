@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.nio.Bits;
+import com.hazelcast.nio.BufferObjectDataInput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.HashUtil;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import static com.hazelcast.internal.serialization.impl.HeapData.DATA_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.HEAP_DATA_OVERHEAD;
+import static com.hazelcast.internal.serialization.impl.HeapData.PARTITION_HASH_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.TYPE_OFFSET;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+
+/**
+ * A {@link Data} implementation that is a view on a part of a larger byte array, e.g. the payload of a
+ * {@link com.hazelcast.nio.Packet}. This prevents copying the content of a large Data, like the value of a put, out of
+ * the packet it was received with; the Data can be stored as is.
+ *
+ * The buffer is shared, so it must never be modified. Since the whole buffer is retained as long as the slice is
+ * referenced, slices are only made if the Data takes up most of the buffer; see {@link ByteArrayObjectDataInput#readData()}.
+ *
+ * The {@link #toByteArray()} method returns a copy of the content, so users of a Data that care about the copy should
+ * check for a HeapDataSlice and use the {@link #buffer()} from the {@link #offset()} instead.
+ */
+@SuppressFBWarnings("EI_EXPOSE_REP")
+public final class HeapDataSlice implements Data {
+
+    // array (12: array header, 4: length)
+    private static final int ARRAY_HEADER_SIZE_IN_BYTES = 16;
+
+    private final byte[] buffer;
+    private final int offset;
+    private final int length;
+
+    public HeapDataSlice(byte[] buffer, int offset, int length) {
+        if (length < HEAP_DATA_OVERHEAD) {
+            throw new IllegalArgumentException(
+                    "Data slice should contain more than " + HEAP_DATA_OVERHEAD + " bytes! -> " + length);
+        }
+        if (offset < 0 || offset + length > buffer.length) {
+            throw new IndexOutOfBoundsException("Slice [" + offset + ", " + (offset + length)
+                    + ") is out of bounds of buffer with length " + buffer.length);
+        }
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Returns the buffer this slice is a view on. The content of the slice starts at {@link #offset()} and is
+     * {@link #totalSize()} bytes long. The buffer must not be modified.
+     *
+     * @return the buffer.
+     */
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    /**
+     * Returns the offset of the content of this slice in the {@link #buffer()}.
+     *
+     * @return the offset.
+     */
+    public int offset() {
+        return offset;
+    }
+
+    /**
+     * Initializes the given input to read the content of this slice, like it would read the content of a
+     * {@link HeapData}, without copying the content.
+     *
+     * @param in the input to initialize.
+     */
+    public void init(BufferObjectDataInput in) {
+        if (in instanceof ByteArrayObjectDataInput) {
+            ((ByteArrayObjectDataInput) in).init(buffer, offset + DATA_OFFSET, offset + length);
+        } else {
+            in.init(toByteArray(), DATA_OFFSET);
+        }
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[length];
+        System.arraycopy(buffer, offset, bytes, 0, length);
+        return bytes;
+    }
+
+    @Override
+    public int getType() {
+        return Bits.readIntB(buffer, offset + TYPE_OFFSET);
+    }
+
+    @Override
+    public int totalSize() {
+        return length;
+    }
+
+    @Override
+    public int dataSize() {
+        return length - HEAP_DATA_OVERHEAD;
+    }
+
+    @Override
+    public int getHeapCost() {
+        // the complete buffer is retained by this slice; reference and fields assuming compressed oops
+        int objectRef = INT_SIZE_IN_BYTES;
+        return objectRef + 2 * INT_SIZE_IN_BYTES + ARRAY_HEADER_SIZE_IN_BYTES + buffer.length;
+    }
+
+    @Override
+    public int getPartitionHash() {
+        if (hasPartitionHash()) {
+            return Bits.readIntB(buffer, offset + PARTITION_HASH_OFFSET);
+        }
+        return hashCode();
+    }
+
+    @Override
+    public boolean hasPartitionHash() {
+        return Bits.readIntB(buffer, offset + PARTITION_HASH_OFFSET) != 0;
+    }
+
+    @Override
+    public long hash64() {
+        return HashUtil.MurmurHash3_x64_64(buffer, offset + DATA_OFFSET, dataSize());
+    }
+
+    @Override
+    public boolean isPortable() {
+        return SerializationConstants.CONSTANT_TYPE_PORTABLE == getType();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Data)) {
+            return false;
+        }
+
+        Data data = (Data) o;
+        if (getType() != data.getType() || dataSize() != data.dataSize()) {
+            return false;
+        }
+
+        if (data instanceof HeapDataSlice) {
+            HeapDataSlice that = (HeapDataSlice) data;
+            return equals(buffer, offset, that.buffer, that.offset, length);
+        }
+        return equals(buffer, offset, data.toByteArray(), 0, length);
+    }
+
+    // Compares the content after the header, in reverse order like HeapData does.
+    private static boolean equals(byte[] data1, int offset1, byte[] data2, int offset2, int length) {
+        if (data1 == data2 && offset1 == offset2) {
+            return true;
+        }
+        for (int i = length - 1; i >= DATA_OFFSET; i--) {
+            if (data1[offset1 + i] != data2[offset2 + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return HashUtil.MurmurHash3_x86_32(buffer, offset + DATA_OFFSET, dataSize());
+    }
+
+    @Override
+    public String toString() {
+        return "HeapDataSlice{"
+                + "type=" + getType()
+                + ", hashCode=" + hashCode()
+                + ", partitionHash=" + getPartitionHash()
+                + ", offset=" + offset
+                + ", totalSize=" + totalSize()
+                + ", dataSize=" + dataSize()
+                + ", heapCost=" + getHeapCost()
+                + '}';
+    }
+}
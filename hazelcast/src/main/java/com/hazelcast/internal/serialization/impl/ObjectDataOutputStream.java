@@ -252,6 +252,12 @@ public class ObjectDataOutputStream extends OutputStream implements ObjectDataOu
 
     @Override
     public void writeData(Data data) throws IOException {
+        if (data instanceof HeapDataSlice) {
+            HeapDataSlice slice = (HeapDataSlice) data;
+            writeInt(slice.totalSize());
+            write(slice.buffer(), slice.offset(), slice.totalSize());
+            return;
+        }
         byte[] payload = data != null ? data.toByteArray() : null;
         writeByteArray(payload);
     }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.nio.serialization.ClassDefinition;
+import com.hazelcast.nio.serialization.FieldDefinition;
+
+import static com.hazelcast.nio.Bits.BYTE_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.SHORT_SIZE_IN_BYTES;
+
+/**
+ * A {@link ClassDefinition} compiled for the {@link DefaultPortableReader} and {@link DefaultPortableWriter}.
+ *
+ * A Portable normally reads and writes its fields in the same order, which is the order of the field indexes in its
+ * ClassDefinition since the ClassDefinition is built by writing the Portable. So the reader and writer keep track of
+ * the index of the next field, and the schema checks if the requested field is that field before it falls back to the
+ * lookup by name. The schema also contains the encoded names of the fields and the offset of the value of a field
+ * relative to its position in the stream, so these don't need to be computed or read for every field.
+ *
+ * The schema is created once for a ClassDefinitionImpl, see {@link #of(ClassDefinition)}.
+ */
+final class PortableSchema {
+
+    private final ClassDefinition cd;
+    private final FieldDefinition[] fields;
+    private final String[] names;
+    private final byte[][] encodedNames;
+    private final int[] valueOffsets;
+
+    PortableSchema(ClassDefinition cd) {
+        this.cd = cd;
+        int fieldCount = cd.getFieldCount();
+        this.fields = new FieldDefinition[fieldCount];
+        this.names = new String[fieldCount];
+        this.encodedNames = new byte[fieldCount][];
+        this.valueOffsets = new int[fieldCount];
+        for (int index = 0; index < fieldCount; index++) {
+            FieldDefinition fd = cd.getField(index);
+            String name = fd.getName();
+            fields[index] = fd;
+            names[index] = name;
+            encodedNames[index] = encode(name);
+            // the field starts with the length of the name, the name and the type
+            valueOffsets[index] = SHORT_SIZE_IN_BYTES + name.length() + BYTE_SIZE_IN_BYTES;
+        }
+    }
+
+    /**
+     * Returns the schema of the given ClassDefinition. The schema of a ClassDefinitionImpl is created only once.
+     *
+     * @param cd the ClassDefinition.
+     * @return the schema.
+     */
+    static PortableSchema of(ClassDefinition cd) {
+        if (cd instanceof ClassDefinitionImpl) {
+            return ((ClassDefinitionImpl) cd).getSchema();
+        }
+        return new PortableSchema(cd);
+    }
+
+    /**
+     * Returns the index of the field with the given name.
+     *
+     * @param fieldName     the name of the field.
+     * @param expectedIndex the index of the field that is expected to be requested.
+     * @return the index, or -1 if there is no field with the given name.
+     */
+    int indexOf(String fieldName, int expectedIndex) {
+        if (expectedIndex < names.length) {
+            String name = names[expectedIndex];
+            if (name == fieldName || name.equals(fieldName)) {
+                return expectedIndex;
+            }
+        }
+
+        FieldDefinition fd = cd.getField(fieldName);
+        return fd == null ? -1 : fd.getIndex();
+    }
+
+    FieldDefinition getField(int index) {
+        return fields[index];
+    }
+
+    /**
+     * Returns the name of the field, encoded like {@link java.io.DataOutput#writeBytes(String)} does.
+     */
+    byte[] getEncodedName(int index) {
+        return encodedNames[index];
+    }
+
+    /**
+     * Returns the offset of the value of a field relative to the position of the field in the stream.
+     */
+    int getValueOffset(int index) {
+        return valueOffsets[index];
+    }
+
+    private static byte[] encode(String name) {
+        byte[] bytes = new byte[name.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) name.charAt(i);
+        }
+        return bytes;
+    }
+}
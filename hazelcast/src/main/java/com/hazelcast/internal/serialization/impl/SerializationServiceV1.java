@@ -20,6 +20,7 @@ import com.hazelcast.core.ManagedContext;
 import com.hazelcast.core.PartitioningStrategy;
 import com.hazelcast.internal.serialization.InputOutputFactory;
 import com.hazelcast.internal.serialization.PortableContext;
+import com.hazelcast.internal.serialization.StringDictionary;
 import com.hazelcast.internal.serialization.impl.ConstantSerializers.BooleanSerializer;
 import com.hazelcast.internal.serialization.impl.ConstantSerializers.ByteSerializer;
 import com.hazelcast.internal.serialization.impl.ConstantSerializers.StringArraySerializer;
@@ -76,14 +77,15 @@ public class SerializationServiceV1 extends AbstractSerializationService {
 
     private final PortableContextImpl portableContext;
     private final PortableSerializer portableSerializer;
+    private final DataSerializableSerializer dataSerializer;
 
     SerializationServiceV1(InputOutputFactory inputOutputFactory, byte version, int portableVersion, ClassLoader classLoader,
             Map<Integer, ? extends DataSerializableFactory> dataSerializableFactories,
             Map<Integer, ? extends PortableFactory> portableFactories, ManagedContext managedContext,
             PartitioningStrategy globalPartitionStrategy, int initialOutputBufferSize, BufferPoolFactory bufferPoolFactory,
-            boolean enableCompression, boolean enableSharedObject) {
+            boolean enableCompression, boolean enableSharedObject, StringDictionary stringDictionary) {
         super(inputOutputFactory, version, classLoader, managedContext, globalPartitionStrategy, initialOutputBufferSize,
-                bufferPoolFactory);
+                bufferPoolFactory, stringDictionary);
 
         PortableHookLoader loader = new PortableHookLoader(portableFactories, classLoader);
         portableContext = new PortableContextImpl(this, portableVersion);
@@ -91,8 +93,8 @@ public class SerializationServiceV1 extends AbstractSerializationService {
             portableContext.registerClassDefinition(cd);
         }
 
-        dataSerializerAdapter = createSerializerAdapter(
-                new DataSerializableSerializer(dataSerializableFactories, classLoader), this);
+        dataSerializer = new DataSerializableSerializer(dataSerializableFactories, classLoader);
+        dataSerializerAdapter = createSerializerAdapter(dataSerializer, this);
         portableSerializer = new PortableSerializer(portableContext, loader.getFactories());
         portableSerializerAdapter = createSerializerAdapter(portableSerializer, this);
 
@@ -115,6 +117,11 @@ public class SerializationServiceV1 extends AbstractSerializationService {
         return portableContext;
     }
 
+    @Override
+    public ClassDefinition getFieldLayout(int factoryId, int classId) {
+        return dataSerializer.getFieldLayout(factoryId, classId);
+    }
+
     private void registerConstantSerializers() {
         registerConstant(null, nullSerializerAdapter);
         registerConstant(DataSerializable.class, dataSerializerAdapter);
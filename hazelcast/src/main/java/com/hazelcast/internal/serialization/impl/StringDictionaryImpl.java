@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.internal.serialization.StringDictionary;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The default {@link StringDictionary}.
+ *
+ * The dictionary starts with the names of the services and the executors, followed by the configured names, e.g. the
+ * names of the most used maps. A reference is only understood by a member with the same dictionary, so the built-in
+ * names can only be appended to, and the configured names must be the same on all members; this is verified when a
+ * member joins.
+ */
+public final class StringDictionaryImpl implements StringDictionary {
+
+    private static final String[] BUILT_IN = {
+            "default",
+            "hz:core:clientEngine",
+            "hz:core:clusterService",
+            "hz:core:partitionService",
+            "hz:core:proxyService",
+            "hz:core:txManagerService",
+            "hz:core:wanReplicationService",
+            "hz:impl:atomicLongService",
+            "hz:impl:atomicReferenceService",
+            "hz:impl:cacheService",
+            "hz:impl:countDownLatchService",
+            "hz:impl:executorService",
+            "hz:impl:idGeneratorService",
+            "hz:impl:listService",
+            "hz:impl:lockService",
+            "hz:impl:mapReduceService",
+            "hz:impl:mapService",
+            "hz:impl:multiMapService",
+            "hz:impl:queueService",
+            "hz:impl:quorumService",
+            "hz:impl:reliableTopicService",
+            "hz:impl:replicatedMapService",
+            "hz:impl:ringbufferService",
+            "hz:impl:semaphoreService",
+            "hz:impl:setService",
+            "hz:impl:topicService",
+            "hz:impl:xaService",
+            "hz:system",
+            "hz:async",
+            "hz:scheduled",
+            "hz:client",
+            "hz:query",
+            "hz:io",
+            "hz:map-load",
+            "hz:map-loadAllKeys",
+    };
+
+    private final String[] strings;
+    private final Map<String, Integer> indexes;
+
+    /**
+     * Creates a dictionary of the built-in names followed by the given names. Names that are already in the dictionary
+     * are skipped.
+     *
+     * @param names the configured names.
+     */
+    public StringDictionaryImpl(Collection<String> names) {
+        List<String> list = new ArrayList<String>(BUILT_IN.length + names.size());
+        Map<String, Integer> map = new HashMap<String, Integer>();
+        for (String s : BUILT_IN) {
+            add(s, list, map);
+        }
+        for (String s : names) {
+            add(s, list, map);
+        }
+        this.strings = list.toArray(new String[list.size()]);
+        this.indexes = map;
+    }
+
+    private static void add(String s, List<String> list, Map<String, Integer> map) {
+        if (s == null || map.containsKey(s)) {
+            return;
+        }
+        map.put(s, list.size());
+        list.add(s);
+    }
+
+    @Override
+    public int indexOf(String s) {
+        Integer index = indexes.get(s);
+        return index != null ? index : -1;
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= strings.length) {
+            throw new IllegalArgumentException("No string in the dictionary at index: " + index);
+        }
+        return strings[index];
+    }
+
+    @Override
+    public int size() {
+        return strings.length;
+    }
+}
@@ -23,8 +23,32 @@ import com.hazelcast.internal.serialization.InternalSerializationService;
  */
 public class BufferPoolFactoryImpl implements BufferPoolFactory {
 
+    private final int largePayloadSize;
+    private final int maxRetainedSize;
+    private final long trimDelayMillis;
+
+    /**
+     * Creates a factory for pools that don't retain grown output buffers.
+     */
+    public BufferPoolFactoryImpl() {
+        this(0, 0, 0);
+    }
+
+    /**
+     * Creates a factory for pools that retain grown output buffers, see {@link BufferPoolImpl}.
+     *
+     * @param largePayloadSize the payload size in bytes above which an output buffer has grown.
+     * @param maxRetainedSize  the maximum payload size in bytes of a retained output buffer; 0 disables the retaining.
+     * @param trimDelayMillis  the time a grown output buffer is retained after the last large payload.
+     */
+    public BufferPoolFactoryImpl(int largePayloadSize, int maxRetainedSize, long trimDelayMillis) {
+        this.largePayloadSize = largePayloadSize;
+        this.maxRetainedSize = maxRetainedSize;
+        this.trimDelayMillis = trimDelayMillis;
+    }
+
     @Override
     public BufferPool create(InternalSerializationService serializationService) {
-        return new BufferPoolImpl(serializationService);
+        return new BufferPoolImpl(serializationService, largePayloadSize, maxRetainedSize, trimDelayMillis);
     }
 }
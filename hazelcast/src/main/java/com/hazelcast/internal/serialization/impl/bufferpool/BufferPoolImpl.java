@@ -18,38 +18,97 @@ package com.hazelcast.internal.serialization.impl.bufferpool;
 
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.serialization.impl.HeapDataSlice;
+import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.Clock;
 
 import java.io.Closeable;
 import java.util.ArrayDeque;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 import static com.hazelcast.nio.IOUtil.closeResource;
 
 /**
  * Default {BufferPool} implementation.
  *
  * This class is designed to that a subclass can be made. This is done for the Enterprise version.
+ *
+ * <h1>Retaining grown output buffers</h1>
+ * An output buffer that grew to serialize a large payload is normally shrunk when it is returned, so the next large
+ * payload needs to grow the buffer again. The pool distinguishes two size classes of payloads: payloads up to the
+ * large payload size, which fit in a cleared buffer, and larger payloads. A buffer that served a large payload is
+ * retained at its grown size, as long as large payloads keep being serialized. Once no large payload has been seen for
+ * the trim delay, the buffer is trimmed when it is returned. Payloads larger than the max retained size always lead to
+ * a trimmed buffer. The trimming is done by the owning thread when it uses the pool; so a thread that stops
+ * serializing keeps at most a buffer for the max retained size.
+ *
+ * <h1>Returning buffers from other threads</h1>
+ * A pool is owned by the thread that takes its buffers and isn't thread-safe. Buffers can be returned by other threads
+ * though, e.g. when a buffer is released in an async callback. These buffers are put on a concurrent
+ * queue, and moved into the pool by the owning thread the next time it takes a buffer.
  */
 public class BufferPoolImpl implements BufferPool {
     static final int MAX_POOLED_ITEMS = 3;
+    // the outputs and inputs returned by other threads, until the owner moves them into the pool
+    static final int MAX_FOREIGN_ITEMS = 2 * MAX_POOLED_ITEMS;
 
     protected final InternalSerializationService serializationService;
 
     // accessible for testing.
     final Queue<BufferObjectDataOutput> outputQueue = new ArrayDeque<BufferObjectDataOutput>(MAX_POOLED_ITEMS);
     final Queue<BufferObjectDataInput> inputQueue = new ArrayDeque<BufferObjectDataInput>(MAX_POOLED_ITEMS);
+    final Queue<BufferObjectDataOutput> foreignOutputQueue = new ConcurrentLinkedQueue<BufferObjectDataOutput>();
+    final Queue<BufferObjectDataInput> foreignInputQueue = new ConcurrentLinkedQueue<BufferObjectDataInput>();
+
+    private final int largePayloadSize;
+    private final int maxRetainedSize;
+    private final long trimDelayMillis;
+    private final AtomicInteger foreignCount = new AtomicInteger();
+
+    private final SwCounter taken = newSwCounter();
+    private final SwCounter created = newSwCounter();
+    private final SwCounter trimmed = newSwCounter();
+    private final SwCounter foreignReturned = newSwCounter();
+    // the thread taking the buffers, set on the first take
+    private volatile Thread owner;
+    // only written by the owner
+    private volatile long peakPayloadSize;
+    private volatile long retainedSize;
+    private long lastLargePayloadMillis;
 
     public BufferPoolImpl(InternalSerializationService serializationService) {
+        this(serializationService, 0, 0, 0);
+    }
+
+    /**
+     * @param serializationService the SerializationService that creates the buffers.
+     * @param largePayloadSize     the payload size in bytes above which an output buffer has grown.
+     * @param maxRetainedSize      the maximum payload size in bytes of a retained output buffer; 0 disables the
+     *                             retaining of grown output buffers.
+     * @param trimDelayMillis      the time a grown output buffer is retained after the last large payload.
+     */
+    public BufferPoolImpl(InternalSerializationService serializationService, int largePayloadSize, int maxRetainedSize,
+                          long trimDelayMillis) {
         this.serializationService = serializationService;
+        this.largePayloadSize = largePayloadSize;
+        this.maxRetainedSize = maxRetainedSize;
+        this.trimDelayMillis = trimDelayMillis;
     }
 
     @Override
     public BufferObjectDataOutput takeOutputBuffer() {
+        claimOwnership();
+        moveForeignBuffers();
+        taken.inc();
         BufferObjectDataOutput out = outputQueue.poll();
         if (out == null) {
+            created.inc();
             out = serializationService.createObjectDataOutput();
         }
         return out;
@@ -61,18 +120,29 @@ public class BufferPoolImpl implements BufferPool {
             return;
         }
 
-        out.clear();
+        if (isForeignThread()) {
+            offerForeign(foreignOutputQueue, out);
+            return;
+        }
 
-        offerOrClose(outputQueue, out);
+        recycle(out);
     }
 
     @Override
     public BufferObjectDataInput takeInputBuffer(Data data) {
+        claimOwnership();
+        moveForeignBuffers();
+        taken.inc();
         BufferObjectDataInput in = inputQueue.poll();
         if (in == null) {
+            created.inc();
             in = serializationService.createObjectDataInput((byte[]) null);
         }
-        in.init(data.toByteArray(), HeapData.DATA_OFFSET);
+        if (data instanceof HeapDataSlice) {
+            ((HeapDataSlice) data).init(in);
+        } else {
+            in.init(data.toByteArray(), HeapData.DATA_OFFSET);
+        }
         return in;
     }
 
@@ -82,11 +152,155 @@ public class BufferPoolImpl implements BufferPool {
             return;
         }
 
+        if (isForeignThread()) {
+            offerForeign(foreignInputQueue, in);
+            return;
+        }
+
+        recycle(in);
+    }
+
+    /**
+     * Returns the number of buffers taken from this pool.
+     */
+    public long getTaken() {
+        return taken.get();
+    }
+
+    /**
+     * Returns the number of buffers created because the pool was empty.
+     */
+    public long getCreated() {
+        return created.get();
+    }
+
+    /**
+     * Returns the number of grown output buffers that were trimmed.
+     */
+    public long getTrimmed() {
+        return trimmed.get();
+    }
+
+    /**
+     * Returns the number of buffers returned by other threads than the owner of this pool.
+     */
+    public long getForeignReturned() {
+        return foreignReturned.get();
+    }
+
+    /**
+     * Returns the largest payload in bytes written to an output buffer of this pool.
+     */
+    public long getPeakPayloadSize() {
+        return peakPayloadSize;
+    }
+
+    /**
+     * Returns the largest payload in bytes of the currently retained grown output buffers; so the retained buffers are
+     * at least this size.
+     */
+    public long getRetainedSize() {
+        return retainedSize;
+    }
+
+    private void recycle(BufferObjectDataOutput out) {
+        int payloadSize = out.position();
+        if (payloadSize > peakPayloadSize) {
+            peakPayloadSize = payloadSize;
+        }
+
+        if (retain(payloadSize)) {
+            // keeps the grown buffer, unlike clear
+            out.position(0);
+        } else {
+            out.clear();
+        }
+
+        offerOrClose(outputQueue, out);
+    }
+
+    private void recycle(BufferObjectDataInput in) {
         in.clear();
 
         offerOrClose(inputQueue, in);
     }
 
+    private boolean retain(int payloadSize) {
+        if (maxRetainedSize == 0) {
+            return false;
+        }
+
+        if (payloadSize > maxRetainedSize) {
+            trim(payloadSize > largePayloadSize);
+            return false;
+        }
+
+        if (payloadSize > largePayloadSize) {
+            lastLargePayloadMillis = Clock.currentTimeMillis();
+            if (payloadSize > retainedSize) {
+                retainedSize = payloadSize;
+            }
+            return true;
+        }
+
+        if (retainedSize == 0) {
+            // no grown buffers retained
+            return false;
+        }
+
+        if (Clock.currentTimeMillis() - lastLargePayloadMillis > trimDelayMillis) {
+            trim(true);
+            return false;
+        }
+        return true;
+    }
+
+    private void trim(boolean grown) {
+        retainedSize = 0;
+        if (grown) {
+            trimmed.inc();
+        }
+    }
+
+    private void claimOwnership() {
+        if (owner == null) {
+            owner = Thread.currentThread();
+        }
+    }
+
+    private boolean isForeignThread() {
+        Thread owner = this.owner;
+        return owner != null && owner != Thread.currentThread();
+    }
+
+    private void moveForeignBuffers() {
+        if (foreignCount.get() == 0) {
+            return;
+        }
+
+        for (BufferObjectDataOutput out = foreignOutputQueue.poll(); out != null; out = foreignOutputQueue.poll()) {
+            foreignCount.decrementAndGet();
+            foreignReturned.inc();
+            recycle(out);
+        }
+        for (BufferObjectDataInput in = foreignInputQueue.poll(); in != null; in = foreignInputQueue.poll()) {
+            foreignCount.decrementAndGet();
+            foreignReturned.inc();
+            recycle(in);
+        }
+    }
+
+    private <C extends Closeable> void offerForeign(Queue<C> queue, C item) {
+        // bounded, since the owner only moves the buffers when it takes a buffer
+        if (foreignCount.incrementAndGet() > MAX_FOREIGN_ITEMS) {
+            foreignCount.decrementAndGet();
+            closeResource(item);
+            return;
+        }
+
+        queue.offer(item);
+    }
+
     private static <C extends Closeable> void offerOrClose(Queue<C> queue, C item) {
         if (queue.size() == MAX_POOLED_ITEMS) {
             closeResource(item);
@@ -17,11 +17,14 @@
 package com.hazelcast.internal.serialization.impl.bufferpool;
 
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
+import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.util.ConcurrentReferenceHashMap;
 
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import static com.hazelcast.util.ConcurrentReferenceHashMap.ReferenceType.STRONG;
@@ -76,9 +79,15 @@ import static com.hazelcast.util.ConcurrentReferenceHashMap.ReferenceType.WEAK;
  * The Performance of using a ThreadLocal in combination with a WeakReference is almost the same as using a ThreadLocal without
  * WeakReference. There is an extra pointer indirection and some additional pressure on the gc system since it needs to deal with
  * the WeakReferences, but the number of threads is limited.
+ *
+ * <h1>Metrics</h1>
+ * The probes of the BufferPoolThreadLocal aggregate the statistics of all the {@link BufferPoolImpl} instances it
+ * created.
  */
 public final class BufferPoolThreadLocal {
 
+    private static final double PERCENTAGE = 100d;
+
     private final ThreadLocal<WeakReference<BufferPool>> threadLocal = new ThreadLocal<WeakReference<BufferPool>>();
     private final InternalSerializationService serializationService;
     private final BufferPoolFactory bufferPoolFactory;
@@ -109,4 +118,88 @@ public final class BufferPoolThreadLocal {
     public void clear() {
         strongReferences.clear();
     }
+
+    @Probe(name = "poolCount")
+    int poolCount() {
+        return strongReferences.size();
+    }
+
+    @Probe(name = "taken")
+    long taken() {
+        long taken = 0;
+        for (BufferPoolImpl pool : pools()) {
+            taken += pool.getTaken();
+        }
+        return taken;
+    }
+
+    @Probe(name = "created")
+    long created() {
+        long created = 0;
+        for (BufferPoolImpl pool : pools()) {
+            created += pool.getCreated();
+        }
+        return created;
+    }
+
+    /**
+     * The percentage of the taken buffers that came from a pool instead of being created.
+     */
+    @Probe(name = "hitPercentage")
+    double hitPercentage() {
+        long taken = 0;
+        long created = 0;
+        for (BufferPoolImpl pool : pools()) {
+            // read in this order, so created never exceeds taken
+            created += pool.getCreated();
+            taken += pool.getTaken();
+        }
+        return taken == 0 ? 0 : (taken - created) * PERCENTAGE / taken;
+    }
+
+    @Probe(name = "trimmed")
+    long trimmed() {
+        long trimmed = 0;
+        for (BufferPoolImpl pool : pools()) {
+            trimmed += pool.getTrimmed();
+        }
+        return trimmed;
+    }
+
+    @Probe(name = "foreignReturned")
+    long foreignReturned() {
+        long foreignReturned = 0;
+        for (BufferPoolImpl pool : pools()) {
+            foreignReturned += pool.getForeignReturned();
+        }
+        return foreignReturned;
+    }
+
+    @Probe(name = "peakPayloadSize")
+    long peakPayloadSize() {
+        long peakPayloadSize = 0;
+        for (BufferPoolImpl pool : pools()) {
+            peakPayloadSize = Math.max(peakPayloadSize, pool.getPeakPayloadSize());
+        }
+        return peakPayloadSize;
+    }
+
+    @Probe(name = "retainedBytes")
+    long retainedBytes() {
+        long retainedBytes = 0;
+        for (BufferPoolImpl pool : pools()) {
+            retainedBytes += pool.getRetainedSize();
+        }
+        return retainedBytes;
+    }
+
+    private List<BufferPoolImpl> pools() {
+        List<BufferPoolImpl> pools = new ArrayList<BufferPoolImpl>(strongReferences.size());
+        for (BufferPool pool : strongReferences.values()) {
+            if (pool instanceof BufferPoolImpl) {
+                pools.add((BufferPoolImpl) pool);
+            }
+        }
+        return pools;
+    }
 }
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.affinity;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.SwCounter;
+import com.hazelcast.logging.ILogger;
+
+import java.util.BitSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+import static com.hazelcast.util.EmptyStatement.ignore;
+
+/**
+ * Co-locates a thread with the pinned threads that dispatch most of the work to it.
+ *
+ * It is used to co-locate a partition operation thread with the IO threads that receive the packets for its
+ * partitions. The dispatching thread {@link #recordDispatch() records} every packet it hands over, counted by the CPU
+ * it is pinned to using a {@link ThreadAffinity}; dispatches by threads that are not pinned are ignored. The owning
+ * thread periodically {@link #colocateIfNeeded(long) checks} the counts of the last interval and decides to move to
+ * the CPUs of the NUMA node that dispatched most; so it shares the caches and the memory controller with the IO threads
+ * that feed it. When the {@link com.hazelcast.nio.tcp.nonblocking.iobalancer.IOBalancer} migrates connections between the IO
+ * threads, the thread follows in the next interval.
+ *
+ * Rebinding a thread can be expensive, e.g. the {@link TasksetCpuBinder} starts a process, so the owning thread only
+ * publishes the NUMA node it should move to; the rebinding is done on the given executor.
+ *
+ * {@link #recordDispatch()} is thread-safe; {@link #colocateIfNeeded(long)} should only be called by the owning thread.
+ */
+public final class AffinityColocator {
+
+    @Probe(name = "colocations")
+    private final SwCounter colocations = newSwCounter();
+
+    private final CpuTopology topology;
+    private final ThreadAffinity affinity;
+    private final Executor rebindExecutor;
+    private final ILogger logger;
+    private final long intervalNanos;
+    private final AtomicLongArray dispatchCounts;
+    private final long[] lastDispatchCounts;
+    private final long[] nodeCounts;
+    private final AtomicBoolean rebindScheduled = new AtomicBoolean();
+    private final Runnable rebindTask = new RebindTask();
+    private long nextCheckNanos;
+    // the handle and the name of the owning thread; set by the owning thread before the first rebind is scheduled
+    private volatile Object threadHandle;
+    private volatile String threadName;
+    // the NUMA node the owning thread decided to move to
+    private volatile int targetNode = -1;
+    @Probe(name = "numaNode")
+    private volatile int node = -1;
+
+    /**
+     * Creates an AffinityColocator for the CPU topology of this machine.
+     *
+     * @param interval       the interval between the checks.
+     * @param intervalUnit   the unit of the interval.
+     * @param rebindExecutor the executor that rebinds the owning thread.
+     * @param logger         the logger.
+     */
+    public AffinityColocator(long interval, TimeUnit intervalUnit, Executor rebindExecutor, ILogger logger) {
+        this(ThreadAffinity.getDefaultTopology(), new TasksetCpuBinder(), interval, intervalUnit, rebindExecutor, logger);
+    }
+
+    AffinityColocator(CpuTopology topology, CpuBinder binder, long interval, TimeUnit intervalUnit,
+                      Executor rebindExecutor, ILogger logger) {
+        this.topology = topology;
+        this.affinity = new ThreadAffinity("colocation", topology.getCpus(), binder, logger);
+        this.rebindExecutor = rebindExecutor;
+        this.logger = logger;
+        this.intervalNanos = intervalUnit.toNanos(interval);
+
+        BitSet cpus = topology.getCpus();
+        int maxNode = 0;
+        for (int cpu = cpus.nextSetBit(0); cpu >= 0; cpu = cpus.nextSetBit(cpu + 1)) {
+            maxNode = Math.max(maxNode, topology.getNumaNode(cpu));
+        }
+        this.dispatchCounts = new AtomicLongArray(cpus.length());
+        this.lastDispatchCounts = new long[cpus.length()];
+        this.nodeCounts = new long[maxNode + 1];
+        this.nextCheckNanos = System.nanoTime() + intervalNanos;
+    }
+
+    /**
+     * Records the dispatch of a task by the calling thread. Does nothing if the calling thread isn't pinned.
+     */
+    public void recordDispatch() {
+        int cpu = ThreadAffinity.getCurrentCpu();
+        if (cpu >= 0 && cpu < dispatchCounts.length()) {
+            dispatchCounts.incrementAndGet(cpu);
+        }
+    }
+
+    /**
+     * Returns the NUMA node the owning thread is co-located on.
+     *
+     * @return the NUMA node, or -1 if the thread hasn't been co-located yet.
+     */
+    public int getNumaNode() {
+        return node;
+    }
+
+    /**
+     * Decides to co-locate the calling thread with the NUMA node that dispatched most in the last interval, if the
+     * interval has passed. The calling thread is rebound on the rebind executor.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}.
+     */
+    public void colocateIfNeeded(long nowNanos) {
+        if (nowNanos - nextCheckNanos < 0) {
+            return;
+        }
+        nextCheckNanos = nowNanos + intervalNanos;
+
+        int busiestNode = findBusiestNode();
+        if (busiestNode < 0 || busiestNode == targetNode) {
+            return;
+        }
+
+        if (threadHandle == null) {
+            // resolving the handle is cheap, but it is only needed once a thread is co-located
+            threadHandle = affinity.getCurrentThreadHandle();
+            threadName = Thread.currentThread().getName();
+            if (threadHandle == null) {
+                return;
+            }
+        }
+
+        targetNode = busiestNode;
+        if (rebindScheduled.compareAndSet(false, true)) {
+            try {
+                rebindExecutor.execute(rebindTask);
+            } catch (RejectedExecutionException e) {
+                // the executor is shut down
+                ignore(e);
+                rebindScheduled.set(false);
+            }
+        }
+    }
+
+    private int findBusiestNode() {
+        for (int k = 0; k < nodeCounts.length; k++) {
+            nodeCounts[k] = 0;
+        }
+        for (int cpu = 0; cpu < lastDispatchCounts.length; cpu++) {
+            long count = dispatchCounts.get(cpu);
+            long delta = count - lastDispatchCounts[cpu];
+            lastDispatchCounts[cpu] = count;
+            int cpuNode = topology.getNumaNode(cpu);
+            if (delta > 0 && cpuNode >= 0) {
+                nodeCounts[cpuNode] += delta;
+            }
+        }
+
+        int busiestNode = -1;
+        long busiestCount = 0;
+        for (int k = 0; k < nodeCounts.length; k++) {
+            if (nodeCounts[k] > busiestCount) {
+                busiestCount = nodeCounts[k];
+                busiestNode = k;
+            }
+        }
+        return busiestNode;
+    }
+
+    /**
+     * Rebinds the owning thread to the CPUs of the NUMA node it decided to move to.
+     */
+    private final class RebindTask implements Runnable {
+
+        @Override
+        public void run() {
+            // cleared before reading the target node, so a later decision schedules a new run
+            rebindScheduled.set(false);
+            synchronized (this) {
+                int target = targetNode;
+                if (target == node) {
+                    return;
+                }
+
+                BitSet cpus = topology.getCpusOfNode(target);
+                if (affinity.bindThread(threadHandle, threadName, cpus)) {
+                    if (logger.isFinestEnabled()) {
+                        logger.finest("Co-located " + threadName + " with NUMA node " + target
+                                + ", CPUs " + CpuTopology.toCpuList(cpus));
+                    }
+                    node = target;
+                    colocations.inc();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.affinity;
+
+import java.util.BitSet;
+
+/**
+ * Binds a thread to a set of CPUs; either the calling thread, or another thread using its handle.
+ */
+interface CpuBinder {
+
+    /**
+     * Binds the calling thread to the given CPUs.
+     *
+     * @param cpus the CPUs to bind to.
+     * @return true if the thread was bound, false if the binding isn't supported.
+     * @throws Exception if the binding failed.
+     */
+    boolean bindCurrentThread(BitSet cpus) throws Exception;
+
+    /**
+     * Returns the handle of the calling thread, which other threads can pass to {@link #bindThread(Object, BitSet)}.
+     *
+     * @return the handle, or null if the binding isn't supported.
+     * @throws Exception if the handle can't be resolved.
+     */
+    Object getCurrentThreadHandle() throws Exception;
+
+    /**
+     * Binds the thread with the given handle to the given CPUs.
+     *
+     * @param threadHandle the handle of the thread, as returned by {@link #getCurrentThreadHandle()}.
+     * @param cpus         the CPUs to bind to.
+     * @return true if the thread was bound, false if the binding isn't supported.
+     * @throws Exception if the binding failed.
+     */
+    boolean bindThread(Object threadHandle, BitSet cpus) throws Exception;
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.affinity;
+
+import com.hazelcast.nio.IOUtil;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The CPU topology of the machine: the online CPUs and the NUMA node each CPU belongs to.
+ *
+ * On Linux the topology is read from sysfs: the online CPUs from '/sys/devices/system/cpu/online' and the NUMA nodes
+ * from '/sys/devices/system/node/node&lt;N&gt;/cpulist'. If the kernel doesn't expose NUMA nodes, the physical package
+ * (socket) of a CPU is used as its node; it is read from sysfs or, if not available, from '/proc/cpuinfo'. On other
+ * operating systems all {@link Runtime#availableProcessors() available processors} are assumed to be in node 0.
+ *
+ * CPU lists use the format of the Linux kernel, e.g. '0-3,8,10-11'.
+ */
+public final class CpuTopology {
+
+    private static final File SYS_DIR = new File("/sys/devices/system");
+    private static final File CPU_INFO = new File("/proc/cpuinfo");
+
+    private final BitSet cpus;
+    private final Map<Integer, Integer> nodeByCpu;
+
+    CpuTopology(BitSet cpus, Map<Integer, Integer> nodeByCpu) {
+        this.cpus = cpus;
+        this.nodeByCpu = nodeByCpu;
+    }
+
+    /**
+     * Discovers the CPU topology of this machine.
+     *
+     * @return the discovered CpuTopology.
+     */
+    public static CpuTopology discover() {
+        return discover(SYS_DIR, CPU_INFO);
+    }
+
+    static CpuTopology discover(File sysDir, File cpuInfo) {
+        Map<Integer, Integer> packageByCpu = readCpuInfo(cpuInfo);
+        BitSet cpus = readCpus(sysDir, packageByCpu);
+
+        Map<Integer, Integer> nodeByCpu = readNumaNodes(sysDir);
+        for (int cpu = cpus.nextSetBit(0); cpu >= 0; cpu = cpus.nextSetBit(cpu + 1)) {
+            if (nodeByCpu.containsKey(cpu)) {
+                continue;
+            }
+            String physicalPackageId = readLine(new File(sysDir, "cpu/cpu" + cpu + "/topology/physical_package_id"));
+            if (physicalPackageId != null) {
+                nodeByCpu.put(cpu, Integer.parseInt(physicalPackageId));
+            } else {
+                Integer physicalId = packageByCpu.get(cpu);
+                nodeByCpu.put(cpu, physicalId == null ? 0 : physicalId);
+            }
+        }
+        return new CpuTopology(cpus, nodeByCpu);
+    }
+
+    private static BitSet readCpus(File sysDir, Map<Integer, Integer> packageByCpu) {
+        String online = readLine(new File(sysDir, "cpu/online"));
+        if (online != null) {
+            return parseCpuList(online);
+        }
+
+        BitSet cpus = new BitSet();
+        if (!packageByCpu.isEmpty()) {
+            for (Integer cpu : packageByCpu.keySet()) {
+                cpus.set(cpu);
+            }
+        } else {
+            cpus.set(0, Runtime.getRuntime().availableProcessors());
+        }
+        return cpus;
+    }
+
+    private static Map<Integer, Integer> readNumaNodes(File sysDir) {
+        Map<Integer, Integer> nodeByCpu = new HashMap<Integer, Integer>();
+        File[] nodeDirs = new File(sysDir, "node").listFiles();
+        if (nodeDirs == null) {
+            return nodeByCpu;
+        }
+
+        for (File nodeDir : nodeDirs) {
+            String name = nodeDir.getName();
+            if (!name.matches("node\\d+")) {
+                continue;
+            }
+            String cpuList = readLine(new File(nodeDir, "cpulist"));
+            if (cpuList == null) {
+                continue;
+            }
+            int node = Integer.parseInt(name.substring("node".length()));
+            BitSet cpus = parseCpuList(cpuList);
+            for (int cpu = cpus.nextSetBit(0); cpu >= 0; cpu = cpus.nextSetBit(cpu + 1)) {
+                nodeByCpu.put(cpu, node);
+            }
+        }
+        return nodeByCpu;
+    }
+
+    /**
+     * Reads the 'processor' and 'physical id' entries of /proc/cpuinfo. A processor without a physical id is mapped
+     * to package 0.
+     */
+    private static Map<Integer, Integer> readCpuInfo(File cpuInfo) {
+        Map<Integer, Integer> packageByCpu = new HashMap<Integer, Integer>();
+        if (!cpuInfo.isFile()) {
+            return packageByCpu;
+        }
+
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(cpuInfo), "UTF-8"));
+            int processor = -1;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                int separator = line.indexOf(':');
+                if (separator < 0) {
+                    continue;
+                }
+                String key = line.substring(0, separator).trim();
+                String value = line.substring(separator + 1).trim();
+                if ("processor".equals(key)) {
+                    processor = Integer.parseInt(value);
+                    packageByCpu.put(processor, 0);
+                } else if ("physical id".equals(key) && processor >= 0) {
+                    packageByCpu.put(processor, Integer.parseInt(value));
+                }
+            }
+        } catch (IOException ignored) {
+            packageByCpu.clear();
+        } catch (NumberFormatException ignored) {
+            packageByCpu.clear();
+        } finally {
+            IOUtil.closeResource(reader);
+        }
+        return packageByCpu;
+    }
+
+    private static String readLine(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+            String line = reader.readLine();
+            return line == null || line.trim().isEmpty() ? null : line.trim();
+        } catch (IOException ignored) {
+            return null;
+        } finally {
+            IOUtil.closeResource(reader);
+        }
+    }
+
+    /**
+     * Returns the online CPUs.
+     *
+     * @return a copy of the set of online CPUs.
+     */
+    public BitSet getCpus() {
+        return (BitSet) cpus.clone();
+    }
+
+    /**
+     * Returns the NUMA node of a CPU.
+     *
+     * @param cpu the CPU.
+     * @return the NUMA node, or -1 if the CPU isn't online.
+     */
+    public int getNumaNode(int cpu) {
+        Integer node = nodeByCpu.get(cpu);
+        return node == null ? -1 : node;
+    }
+
+    /**
+     * Returns the online CPUs of a NUMA node.
+     *
+     * @param node the NUMA node.
+     * @return the CPUs of the node; empty if the node doesn't exist.
+     */
+    public BitSet getCpusOfNode(int node) {
+        BitSet result = new BitSet();
+        for (Map.Entry<Integer, Integer> entry : nodeByCpu.entrySet()) {
+            if (entry.getValue() == node) {
+                result.set(entry.getKey());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Parses a CPU list in the format of the Linux kernel, e.g. '0-3,8,10-11'.
+     *
+     * @param cpuList the CPU list.
+     * @return the set of CPUs.
+     * @throws IllegalArgumentException if the CPU list is malformed.
+     */
+    public static BitSet parseCpuList(String cpuList) {
+        BitSet cpus = new BitSet();
+        for (String item : cpuList.split(",")) {
+            item = item.trim();
+            if (item.isEmpty()) {
+                continue;
+            }
+            try {
+                int dash = item.indexOf('-');
+                if (dash < 0) {
+                    cpus.set(Integer.parseInt(item));
+                    continue;
+                }
+                int from = Integer.parseInt(item.substring(0, dash).trim());
+                int to = Integer.parseInt(item.substring(dash + 1).trim());
+                if (from > to) {
+                    throw new IllegalArgumentException("Malformed CPU list '" + cpuList + "': " + item);
+                }
+                cpus.set(from, to + 1);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Malformed CPU list '" + cpuList + "': " + item, e);
+            }
+        }
+        return cpus;
+    }
+
+    /**
+     * Formats a set of CPUs as a CPU list in the format of the Linux kernel, e.g. '0-3,8,10-11'.
+     *
+     * @param cpus the set of CPUs.
+     * @return the CPU list.
+     */
+    public static String toCpuList(BitSet cpus) {
+        StringBuilder sb = new StringBuilder();
+        int from = cpus.nextSetBit(0);
+        while (from >= 0) {
+            int to = cpus.nextClearBit(from) - 1;
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(from);
+            if (to > from) {
+                sb.append('-').append(to);
+            }
+            from = cpus.nextSetBit(to + 1);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "CpuTopology{cpus=" + toCpuList(cpus) + ", nodes=" + nodeByCpu + '}';
+    }
+}
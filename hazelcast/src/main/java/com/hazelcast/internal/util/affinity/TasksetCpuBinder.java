@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.affinity;
+
+import com.hazelcast.nio.IOUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.BitSet;
+
+/**
+ * A {@link CpuBinder} that binds a thread by running the 'taskset' utility of Linux on its thread id, which is also
+ * the handle of the thread.
+ *
+ * Java doesn't provide the native thread id, so it is read from '/proc/thread-self/stat'; '/proc/thread-self' is provided
+ * by Linux 3.17 and up. Starting a process is expensive, but it is only done when a thread starts or when a partition
+ * thread is co-located, which is done by a background thread; so it doesn't need native code or an additional library.
+ */
+final class TasksetCpuBinder implements CpuBinder {
+
+    private static final File THREAD_SELF = new File("/proc/thread-self");
+    private static final int BUFFER_SIZE = 256;
+
+    @Override
+    public boolean bindCurrentThread(BitSet cpus) throws Exception {
+        String tid = getCurrentThreadHandle();
+        return tid != null && bindThread(tid, cpus);
+    }
+
+    @Override
+    public String getCurrentThreadHandle() throws IOException {
+        if (!THREAD_SELF.exists()) {
+            return null;
+        }
+
+        // the stat file starts with the tid; the link itself isn't resolved, since the JVM caches canonical paths and
+        // could return the tid of another thread
+        String stat = readFully(new FileInputStream(new File(THREAD_SELF, "stat")));
+        int end = stat.indexOf(' ');
+        return end > 0 ? stat.substring(0, end) : null;
+    }
+
+    @Override
+    public boolean bindThread(Object threadHandle, BitSet cpus) throws Exception {
+        String tid = (String) threadHandle;
+        Process process = new ProcessBuilder("taskset", "-p", "-c", CpuTopology.toCpuList(cpus), tid)
+                .redirectErrorStream(true)
+                .start();
+        String output = readFully(process.getInputStream());
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IOException("taskset failed with exit code " + exitCode + ": " + output.trim());
+        }
+        return true;
+    }
+
+    private static String readFully(InputStream in) throws IOException {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                out.write(buffer, 0, read);
+            }
+            return out.toString("UTF-8");
+        } finally {
+            IOUtil.closeResource(in);
+        }
+    }
+}
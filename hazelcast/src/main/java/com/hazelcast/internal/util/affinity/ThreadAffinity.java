@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.affinity;
+
+import com.hazelcast.internal.properties.HazelcastProperties;
+import com.hazelcast.internal.properties.HazelcastProperty;
+import com.hazelcast.logging.ILogger;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The CPU affinity of a group of threads, e.g. the IO threads or the partition operation threads.
+ *
+ * The affinity is configured as a comma separated list of CPUs, CPU ranges and NUMA nodes, e.g. '0-3,8' or
+ * 'node:1'. Every thread of the group {@link #pinCurrentThread() pins itself} when it starts; the threads are assigned
+ * to the CPUs in round robin order, so with at least as many CPUs as threads, every thread gets a CPU of its own. CPUs
+ * that are not online are ignored.
+ *
+ * Pinning is best effort: if the operating system doesn't support it, a warning is logged once and the threads run
+ * unpinned. See {@link CpuTopology} for how the CPUs and NUMA nodes are discovered.
+ */
+public final class ThreadAffinity {
+
+    /**
+     * A ThreadAffinity that doesn't pin any thread.
+     */
+    public static final ThreadAffinity NONE = new ThreadAffinity("none", new BitSet(), null, null);
+
+    private static final String NODE_PREFIX = "node:";
+
+    private static final ThreadLocal<Integer> CURRENT_CPU = new ThreadLocal<Integer>();
+
+    private final String name;
+    private final BitSet cpus;
+    private final CpuBinder binder;
+    private final ILogger logger;
+    private final AtomicInteger nextIndex = new AtomicInteger();
+    private final AtomicBoolean failureLogged = new AtomicBoolean();
+
+    ThreadAffinity(String name, BitSet cpus, CpuBinder binder, ILogger logger) {
+        this.name = name;
+        this.cpus = cpus;
+        this.binder = binder;
+        this.logger = logger;
+    }
+
+    /**
+     * Creates the ThreadAffinity configured by the given property.
+     *
+     * @param properties the properties.
+     * @param property   the property containing the affinity, e.g. '0-3,8' or 'node:1'.
+     * @param logger     the logger.
+     * @return the created ThreadAffinity, or {@link #NONE} if the property isn't set.
+     * @throws IllegalArgumentException if the affinity is malformed.
+     */
+    public static ThreadAffinity newThreadAffinity(HazelcastProperties properties, HazelcastProperty property,
+                                                   ILogger logger) {
+        String affinity = properties.getString(property);
+        if (affinity == null || affinity.trim().isEmpty()) {
+            return NONE;
+        }
+        return newThreadAffinity(property.getName(), affinity, getDefaultTopology(), new TasksetCpuBinder(), logger);
+    }
+
+    static ThreadAffinity newThreadAffinity(String name, String affinity, CpuTopology topology, CpuBinder binder,
+                                            ILogger logger) {
+        BitSet cpus = parseAffinity(affinity, topology);
+        BitSet online = topology.getCpus();
+        BitSet offline = (BitSet) cpus.clone();
+        offline.andNot(online);
+        if (!offline.isEmpty()) {
+            logger.warning("Ignoring CPUs " + CpuTopology.toCpuList(offline) + " of '" + name + "', they are not online. "
+                    + "The online CPUs are " + CpuTopology.toCpuList(online) + ".");
+            cpus.and(online);
+        }
+
+        if (cpus.isEmpty()) {
+            logger.warning("No online CPUs in '" + name + "'=" + affinity + ", the threads will not be pinned.");
+            return NONE;
+        }
+        logger.info("Threads of '" + name + "' are pinned to CPUs " + CpuTopology.toCpuList(cpus));
+        return new ThreadAffinity(name, cpus, binder, logger);
+    }
+
+    private static BitSet parseAffinity(String affinity, CpuTopology topology) {
+        BitSet cpus = new BitSet();
+        for (String item : affinity.split(",")) {
+            item = item.trim();
+            if (!item.startsWith(NODE_PREFIX)) {
+                cpus.or(CpuTopology.parseCpuList(item));
+                continue;
+            }
+
+            try {
+                int node = Integer.parseInt(item.substring(NODE_PREFIX.length()).trim());
+                cpus.or(topology.getCpusOfNode(node));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Malformed NUMA node in affinity '" + affinity + "': " + item, e);
+            }
+        }
+        return cpus;
+    }
+
+    /**
+     * Returns the CPU the calling thread has been pinned to by {@link #pinCurrentThread()}.
+     *
+     * @return the CPU, or -1 if the calling thread isn't pinned.
+     */
+    public static int getCurrentCpu() {
+        Integer cpu = CURRENT_CPU.get();
+        return cpu == null ? -1 : cpu;
+    }
+
+    /**
+     * Checks if this ThreadAffinity pins threads.
+     *
+     * @return true if threads are pinned, false otherwise.
+     */
+    public boolean isEnabled() {
+        return !cpus.isEmpty();
+    }
+
+    /**
+     * Returns the CPUs of this ThreadAffinity.
+     *
+     * @return a copy of the CPUs; empty if this ThreadAffinity is disabled.
+     */
+    public BitSet getCpus() {
+        return (BitSet) cpus.clone();
+    }
+
+    static CpuTopology getDefaultTopology() {
+        return TopologyHolder.TOPOLOGY;
+    }
+
+    /**
+     * Pins the calling thread to the next CPU of this ThreadAffinity. Does nothing if this ThreadAffinity is disabled.
+     *
+     * @return the CPU the calling thread is pinned to, or -1 if it isn't pinned.
+     */
+    public int pinCurrentThread() {
+        if (!isEnabled()) {
+            return -1;
+        }
+
+        int index = (nextIndex.getAndIncrement() & Integer.MAX_VALUE) % cpus.cardinality();
+        int cpu = cpus.nextSetBit(0);
+        for (int k = 0; k < index; k++) {
+            cpu = cpus.nextSetBit(cpu + 1);
+        }
+
+        BitSet target = new BitSet();
+        target.set(cpu);
+        if (!bindCurrentThread(target)) {
+            return -1;
+        }
+        CURRENT_CPU.set(cpu);
+        if (logger.isFinestEnabled()) {
+            logger.finest("Pinned " + Thread.currentThread().getName() + " to CPU " + cpu);
+        }
+        return cpu;
+    }
+
+    /**
+     * Binds the calling thread to the given CPUs. A failure is logged only once per ThreadAffinity.
+     *
+     * @param target the CPUs to bind to.
+     * @return true if bound, false otherwise.
+     */
+    boolean bindCurrentThread(BitSet target) {
+        try {
+            if (binder.bindCurrentThread(target)) {
+                return true;
+            }
+            logNotSupported();
+        } catch (Exception e) {
+            logBindFailure(Thread.currentThread().getName(), target, e);
+        }
+        return false;
+    }
+
+    /**
+     * Returns the handle of the calling thread, so another thread can bind it using
+     * {@link #bindThread(Object, String, BitSet)}. A failure is logged only once per ThreadAffinity.
+     *
+     * @return the handle, or null if it can't be resolved.
+     */
+    Object getCurrentThreadHandle() {
+        try {
+            Object threadHandle = binder.getCurrentThreadHandle();
+            if (threadHandle == null) {
+                logNotSupported();
+            }
+            return threadHandle;
+        } catch (Exception e) {
+            logBindFailure(Thread.currentThread().getName(), null, e);
+            return null;
+        }
+    }
+
+    /**
+     * Binds the thread with the given handle to the given CPUs. A failure is logged only once per ThreadAffinity.
+     *
+     * @param threadHandle the handle of the thread.
+     * @param threadName   the name of the thread, for logging.
+     * @param target       the CPUs to bind to.
+     * @return true if bound, false otherwise.
+     */
+    boolean bindThread(Object threadHandle, String threadName, BitSet target) {
+        try {
+            if (binder.bindThread(threadHandle, target)) {
+                return true;
+            }
+            logNotSupported();
+        } catch (Exception e) {
+            logBindFailure(threadName, target, e);
+        }
+        return false;
+    }
+
+    private void logNotSupported() {
+        if (failureLogged.compareAndSet(false, true)) {
+            logger.warning("Thread affinity of '" + name + "' is not supported on this platform; "
+                    + "the threads will not be pinned.");
+        }
+    }
+
+    private void logBindFailure(String threadName, BitSet target, Exception e) {
+        if (failureLogged.compareAndSet(false, true)) {
+            String cpus = target == null ? "" : " to CPUs " + CpuTopology.toCpuList(target);
+            logger.warning("Failed to pin " + threadName + cpus + " for '" + name + "'; the threads will not be pinned.", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ThreadAffinity{" + name + "=" + CpuTopology.toCpuList(cpus) + '}';
+    }
+
+    /**
+     * The topology is discovered once, when it is first needed.
+     */
+    private static final class TopologyHolder {
+        private static final CpuTopology TOPOLOGY = CpuTopology.discover();
+    }
+}
@@ -44,7 +44,11 @@ public final class ExpirationTimeSetter {
         statistics.setExpirationTime(expirationTime);
     }
 
-    private static long calculateExpirationTime(Record record, long maxIdleMillis) {
+    /**
+     * Returns the time at which the record expires by ttl or by max-idle, whichever is earlier,
+     * or {@link Long#MAX_VALUE} if the record does not expire.
+     */
+    public static long calculateExpirationTime(Record record, long maxIdleMillis) {
         // 1. Calculate TTL expiration time.
         final long ttl = checkedTime(record.getTtl());
         final long ttlExpirationTime = sumForExpiration(ttl, getLifeStartTime(record));
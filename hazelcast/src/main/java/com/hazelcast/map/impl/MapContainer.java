@@ -21,6 +21,10 @@ import com.hazelcast.config.PartitioningStrategyConfig;
 import com.hazelcast.config.WanReplicationRef;
 import com.hazelcast.core.IFunction;
 import com.hazelcast.core.PartitioningStrategy;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.memory.impl.MemoryManagerBean;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryAllocator;
+import com.hazelcast.internal.properties.GroupProperty;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.map.impl.eviction.EvictionChecker;
 import com.hazelcast.map.impl.eviction.Evictor;
@@ -30,6 +34,7 @@ import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.query.QueryEntryFactory;
 import com.hazelcast.map.impl.record.DataRecordFactory;
 import com.hazelcast.map.impl.record.ObjectRecordFactory;
+import com.hazelcast.map.impl.record.OffHeapRecordFactory;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.map.merge.MapMergePolicy;
 import com.hazelcast.nio.ClassLoaderUtil;
@@ -49,6 +54,8 @@ import com.hazelcast.wan.WanReplicationService;
 
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.AMEM;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.AMEM_AVAILABLE;
 import static com.hazelcast.map.impl.SizeEstimators.createNearCacheSizeEstimator;
 import static com.hazelcast.map.impl.eviction.policies.MapEvictionPolicies.getMapEvictionPolicy;
 import static com.hazelcast.map.impl.mapstore.MapStoreContextFactory.createMapStoreContext;
@@ -77,6 +84,11 @@ public class MapContainer {
         }
     };
     protected final ConstructorFunction<Void, RecordFactory> recordFactoryConstructor;
+    /**
+     * The memory manager of the off-heap storage, see {@link GroupProperty#MAP_OFF_HEAP_STORAGE_ENABLED}; null if the
+     * records are kept on-heap.
+     */
+    protected final MemoryManager offHeapMemoryManager;
     protected final boolean memberNearCacheInvalidationEnabled;
     /**
      * Holds number of registered {@link com.hazelcast.map.impl.nearcache.InvalidationListener} from clients.
@@ -103,6 +115,7 @@ public class MapContainer {
         this.partitioningStrategy = createPartitioningStrategy();
         this.quorumName = mapConfig.getQuorumName();
         this.serializationService = nodeEngine.getSerializationService();
+        this.offHeapMemoryManager = createOffHeapMemoryManager(nodeEngine);
         this.recordFactoryConstructor = createRecordFactoryConstructor(serializationService);
         this.queryEntryFactory = new QueryEntryFactory(mapConfig.getCacheDeserializedValues());
         initWanReplication(nodeEngine);
@@ -125,6 +138,14 @@ public class MapContainer {
         return new EvictorImpl(evictionChecker, evictionPolicy, partitionService);
     }
 
+    private static MemoryManager createOffHeapMemoryManager(NodeEngine nodeEngine) {
+        if (!nodeEngine.getGroupProperties().getBoolean(GroupProperty.MAP_OFF_HEAP_STORAGE_ENABLED)
+                || !AMEM_AVAILABLE || UnsafeMemoryAllocator.INSTANCE == null) {
+            return null;
+        }
+        return new MemoryManagerBean(UnsafeMemoryAllocator.INSTANCE, AMEM);
+    }
+
     // overridden in different context.
     ConstructorFunction<Void, RecordFactory> createRecordFactoryConstructor(final SerializationService serializationService) {
         return new ConstructorFunction<Void, RecordFactory>() {
@@ -132,6 +153,10 @@ public class MapContainer {
             public RecordFactory createNew(Void notUsedArg) {
                 switch (mapConfig.getInMemoryFormat()) {
                     case BINARY:
+                        if (offHeapMemoryManager != null) {
+                            return new OffHeapRecordFactory(mapConfig, serializationService, partitioningStrategy,
+                                    offHeapMemoryManager);
+                        }
                         return new DataRecordFactory(mapConfig, serializationService, partitioningStrategy);
                     case OBJECT:
                         return new ObjectRecordFactory(mapConfig, serializationService);
@@ -29,6 +29,11 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import static com.hazelcast.nio.IOUtil.readCompactData;
+import static com.hazelcast.nio.IOUtil.readVarInt;
+import static com.hazelcast.nio.IOUtil.writeCompactData;
+import static com.hazelcast.nio.IOUtil.writeVarInt;
+
 /**
  * MapEntries is a collection of {@link java.util.Map.Entry} instances.
  */
@@ -91,25 +96,25 @@ public final class MapEntries implements IdentifiedDataSerializable, Iterable<Ma
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         int size = entries == null ? 0 : entries.size();
-        out.writeInt(size);
+        writeVarInt(out, size);
 
         if (size > 0) {
             for (Map.Entry<Data, Data> o : entries) {
-                out.writeData(o.getKey());
-                out.writeData(o.getValue());
+                writeCompactData(out, o.getKey());
+                writeCompactData(out, o.getValue());
             }
         }
     }
 
     @Override
     public void readData(ObjectDataInput in) throws IOException {
-        int size = in.readInt();
+        int size = readVarInt(in);
 
         entries = new ArrayList<Map.Entry<Data, Data>>(size);
 
         for (int i = 0; i < size; i++) {
-            Data key = in.readData();
-            Data value = in.readData();
+            Data key = readCompactData(in);
+            Data value = readCompactData(in);
             Map.Entry<Data, Data> entry = new AbstractMap.SimpleImmutableEntry<Data, Data>(key, value);
             entries.add(entry);
         }
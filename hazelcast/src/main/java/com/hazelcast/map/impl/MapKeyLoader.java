@@ -21,6 +21,7 @@ import com.hazelcast.core.IFunction;
 import com.hazelcast.core.MapLoader;
 import com.hazelcast.core.Member;
 import com.hazelcast.internal.cluster.ClusterService;
+import com.hazelcast.map.impl.mapstore.MapLoadStats;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.operation.LoadStatusOperation;
 import com.hazelcast.map.impl.operation.LoadStatusOperationFactory;
@@ -36,33 +37,33 @@ import com.hazelcast.spi.OperationService;
 import com.hazelcast.spi.impl.AbstractCompletableFuture;
 import com.hazelcast.spi.partition.IPartition;
 import com.hazelcast.spi.partition.IPartitionService;
-import com.hazelcast.util.FutureUtil;
 import com.hazelcast.util.StateMachine;
 import com.hazelcast.util.scheduler.CoalescingDelayedTrigger;
 
 import java.io.Closeable;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import static com.hazelcast.logging.Logger.getLogger;
 import static com.hazelcast.map.impl.MapKeyLoaderUtil.assignRole;
-import static com.hazelcast.map.impl.MapKeyLoaderUtil.toBatches;
 import static com.hazelcast.map.impl.MapKeyLoaderUtil.toPartition;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 import static com.hazelcast.nio.IOUtil.closeResource;
 import static com.hazelcast.spi.ExecutionService.MAP_LOAD_ALL_KEYS_EXECUTOR;
+import static com.hazelcast.util.CollectionUtil.addToValueList;
 import static com.hazelcast.util.IterableUtil.limit;
 import static com.hazelcast.util.IterableUtil.map;
+import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
@@ -83,12 +84,14 @@ public class MapKeyLoader {
 
     private int maxSizePerNode;
     private int maxBatch;
+    private int maxInFlightBatches = Integer.MAX_VALUE;
     private int mapNamePartition;
     private int partitionId;
     private boolean hasBackup;
 
     private LoadFinishedFuture loadFinished = new LoadFinishedFuture(true);
     private MapOperationProvider operationProvider;
+    private MapLoadStats loadStats;
 
     /**
      * Role of this MapKeyLoader
@@ -290,12 +293,21 @@ public class MapKeyLoader {
             }
 
             Iterator<Entry<Integer, Data>> partitionsAndKeys = map(dataKeys, toPartition(partitionService));
-            Iterator<Map<Integer, List<Data>>> batches = toBatches(partitionsAndKeys, maxBatch);
-
-            List<Future> futures = new ArrayList<Future>();
-            while (batches.hasNext()) {
-                Map<Integer, List<Data>> batch = batches.next();
-                futures.addAll(sendBatch(batch, replaceExistingValues));
+            InFlightBatches inFlight = new InFlightBatches(maxInFlightBatches);
+
+            // a batch is sent as soon as its partition has maxBatch keys, so the keys are distributed while they are
+            // still being loaded; the in-flight window stops the loading when the receivers fall behind.
+            Map<Integer, List<Data>> batches = new HashMap<Integer, List<Data>>();
+            while (partitionsAndKeys.hasNext()) {
+                Entry<Integer, Data> entry = partitionsAndKeys.next();
+                List<Data> batch = addToValueList(batches, entry.getKey(), entry.getValue());
+                if (batch.size() >= maxBatch) {
+                    batches.remove(entry.getKey());
+                    sendBatch(inFlight, entry.getKey(), batch, replaceExistingValues);
+                }
+            }
+            for (Entry<Integer, List<Data>> e : batches.entrySet()) {
+                sendBatch(inFlight, e.getKey(), e.getValue(), replaceExistingValues);
             }
 
             // This acts as a barrier to prevent re-ordering of key distribution operations (LoadAllOperation)
@@ -303,7 +315,7 @@ public class MapKeyLoader {
             // Re-ordering of in-flight operations can happen during a partition migration. We are waiting here
             // for all LoadAllOperation(s) to be ACKed by receivers and only then we send them the LoadStatusOperation
             // See https://github.com/hazelcast/hazelcast/issues/4024 for additional details
-            FutureUtil.waitWithDeadline(futures, KEY_DISTRIBUTION_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+            inFlight.awaitAll();
 
         } catch (Exception caught) {
             loadError = caught;
@@ -316,19 +328,16 @@ public class MapKeyLoader {
         }
     }
 
-    private List<Future> sendBatch(Map<Integer, List<Data>> batch, boolean replaceExistingValues) {
-        Set<Entry<Integer, List<Data>>> entries = batch.entrySet();
-        List<Future> futures = new ArrayList<Future>(entries.size());
-        for (Entry<Integer, List<Data>> e : entries) {
-            int partitionId = e.getKey();
-            List<Data> keys = e.getValue();
+    private void sendBatch(InFlightBatches inFlight, int partitionId, List<Data> keys, boolean replaceExistingValues)
+            throws InterruptedException, TimeoutException {
+        inFlight.acquire();
 
-            MapOperation op = operationProvider.createLoadAllOperation(mapName, keys, replaceExistingValues);
-
-            InternalCompletableFuture<Object> future = opService.invokeOnPartition(SERVICE_NAME, op, partitionId);
-            futures.add(future);
+        MapOperation op = operationProvider.createLoadAllOperation(mapName, keys, replaceExistingValues);
+        InternalCompletableFuture<Object> future = opService.invokeOnPartition(SERVICE_NAME, op, partitionId);
+        if (loadStats != null) {
+            loadStats.onKeyBatchSent(keys.size());
         }
-        return futures;
+        future.andThen(inFlight);
     }
 
     private void sendLoadCompleted(int clusterSize, Throwable exception) throws Exception {
@@ -359,6 +368,14 @@ public class MapKeyLoader {
         this.maxBatch = maxBatch;
     }
 
+    public void setMaxInFlightBatches(int maxInFlightBatches) {
+        this.maxInFlightBatches = maxInFlightBatches;
+    }
+
+    public void setMapLoadStats(MapLoadStats loadStats) {
+        this.loadStats = loadStats;
+    }
+
     public void setMaxSize(int maxSize) {
         this.maxSizePerNode = maxSize;
     }
@@ -387,6 +404,59 @@ public class MapKeyLoader {
         };
     }
 
+    /**
+     * Window of the key batches that were sent but not acknowledged yet.
+     */
+    private final class InFlightBatches implements ExecutionCallback<Object> {
+
+        private final int maxInFlight;
+        private final Semaphore permits;
+
+        private InFlightBatches(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+            this.permits = new Semaphore(maxInFlight);
+        }
+
+        /**
+         * Waits until a batch can be sent.
+         */
+        void acquire() throws InterruptedException, TimeoutException {
+            if (!permits.tryAcquire(KEY_DISTRIBUTION_TIMEOUT_MINUTES, MINUTES)) {
+                throw new TimeoutException("Key batches of map " + mapName + " were not acknowledged within "
+                        + KEY_DISTRIBUTION_TIMEOUT_MINUTES + " minutes");
+            }
+        }
+
+        /**
+         * Waits until all sent batches are acknowledged.
+         */
+        void awaitAll() throws InterruptedException, TimeoutException {
+            if (!permits.tryAcquire(maxInFlight, KEY_DISTRIBUTION_TIMEOUT_MINUTES, MINUTES)) {
+                throw new TimeoutException("Key batches of map " + mapName + " were not acknowledged within "
+                        + KEY_DISTRIBUTION_TIMEOUT_MINUTES + " minutes");
+            }
+        }
+
+        @Override
+        public void onResponse(Object response) {
+            onAcknowledged();
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            // as before the window, a batch that could not be sent is logged but does not fail the loading.
+            getLogger(MapKeyLoader.class).warning("Could not send key batch of map " + mapName, t);
+            onAcknowledged();
+        }
+
+        private void onAcknowledged() {
+            if (loadStats != null) {
+                loadStats.onKeyBatchAcknowledged();
+            }
+            permits.release();
+        }
+    }
+
     private static final class LoadFinishedFuture extends AbstractCompletableFuture<Boolean>
             implements ExecutionCallback<Boolean> {
 
@@ -25,6 +25,10 @@ import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
 
+import static com.hazelcast.nio.IOUtil.readCompactData;
+import static com.hazelcast.nio.IOUtil.readVarInt;
+import static com.hazelcast.nio.IOUtil.writeDataCollection;
+
 public class MapKeySet implements IdentifiedDataSerializable {
 
     private Set<Data> keySet;
@@ -42,19 +46,15 @@ public class MapKeySet implements IdentifiedDataSerializable {
 
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
-        int size = keySet.size();
-        out.writeInt(size);
-        for (Data o : keySet) {
-            out.writeData(o);
-        }
+        writeDataCollection(out, keySet);
     }
 
     @Override
     public void readData(ObjectDataInput in) throws IOException {
-        int size = in.readInt();
+        int size = readVarInt(in);
         keySet = new HashSet<Data>(size);
         for (int i = 0; i < size; i++) {
-            Data data = in.readData();
+            Data data = readCompactData(in);
             keySet.add(data);
         }
     }
@@ -18,9 +18,11 @@ package com.hazelcast.map.impl;
 
 import com.hazelcast.concurrent.lock.LockService;
 import com.hazelcast.concurrent.lock.LockStoreInfo;
+import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.spi.ManagedService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.ObjectNamespace;
+import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.util.ConstructorFunction;
 
 import java.util.Properties;
@@ -47,6 +49,8 @@ public class MapManagedService implements ManagedService {
         }
         mapServiceContext.initPartitionsContainers();
         mapServiceContext.getExpirationManager().start();
+        MetricsRegistry metricsRegistry = ((NodeEngineImpl) nodeEngine).getMetricsRegistry();
+        metricsRegistry.scanAndRegister(mapServiceContext.getMapLoadStats(), "map.load");
     }
 
     @Override
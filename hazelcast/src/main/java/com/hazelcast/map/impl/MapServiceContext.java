@@ -19,6 +19,7 @@ package com.hazelcast.map.impl;
 import com.hazelcast.core.PartitioningStrategy;
 import com.hazelcast.map.impl.event.MapEventPublisher;
 import com.hazelcast.map.impl.eviction.ExpirationManager;
+import com.hazelcast.map.impl.mapstore.MapLoadStats;
 import com.hazelcast.map.impl.nearcache.NearCacheProvider;
 import com.hazelcast.map.impl.operation.MapOperationProvider;
 import com.hazelcast.map.impl.query.MapQueryEngine;
@@ -107,6 +108,8 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
 
     ExpirationManager getExpirationManager();
 
+    MapLoadStats getMapLoadStats();
+
     void setService(MapService mapService);
 
     NodeEngine getNodeEngine();
@@ -25,6 +25,7 @@ import com.hazelcast.map.impl.event.MapEventPublisher;
 import com.hazelcast.map.impl.event.MapEventPublisherImpl;
 import com.hazelcast.map.impl.eviction.ExpirationManager;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
+import com.hazelcast.map.impl.mapstore.MapLoadStats;
 import com.hazelcast.map.impl.nearcache.NearCacheProvider;
 import com.hazelcast.map.impl.operation.BasePutOperation;
 import com.hazelcast.map.impl.operation.BaseRemoveOperation;
@@ -96,6 +97,7 @@ class MapServiceContextImpl implements MapServiceContext {
      */
     protected final AtomicInteger writeBehindQueueItemCounter = new AtomicInteger(0);
     protected final ExpirationManager expirationManager;
+    protected final MapLoadStats mapLoadStats = new MapLoadStats();
     protected final NearCacheProvider nearCacheProvider;
     protected final LocalMapStatsProvider localMapStatsProvider;
     protected final MergePolicyProvider mergePolicyProvider;
@@ -307,6 +309,11 @@ class MapServiceContextImpl implements MapServiceContext {
         return expirationManager;
     }
 
+    @Override
+    public MapLoadStats getMapLoadStats() {
+        return mapLoadStats;
+    }
+
     @Override
     public NodeEngine getNodeEngine() {
         return nodeEngine;
@@ -25,6 +25,10 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 
+import static com.hazelcast.nio.IOUtil.readCompactData;
+import static com.hazelcast.nio.IOUtil.readVarInt;
+import static com.hazelcast.nio.IOUtil.writeDataCollection;
+
 public class MapValueCollection implements IdentifiedDataSerializable {
 
     private Collection<Data> values;
@@ -42,19 +46,15 @@ public class MapValueCollection implements IdentifiedDataSerializable {
 
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
-        int size = values.size();
-        out.writeInt(size);
-        for (Data o : values) {
-            out.writeData(o);
-        }
+        writeDataCollection(out, values);
     }
 
     @Override
     public void readData(ObjectDataInput in) throws IOException {
-        int size = in.readInt();
+        int size = readVarInt(in);
         values = new ArrayList<Data>(size);
         for (int i = 0; i < size; i++) {
-            Data data = in.readData();
+            Data data = readCompactData(in);
             values.add(data);
         }
     }
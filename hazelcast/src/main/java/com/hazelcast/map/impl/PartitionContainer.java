@@ -66,15 +66,6 @@ public class PartitionContainer {
 
     volatile long lastCleanupTime;
 
-    /**
-     * Used when sorting partition containers in {@link com.hazelcast.map.impl.eviction.ExpirationManager}
-     * A non-volatile copy of lastCleanupTime is used with two reasons.
-     * <p/>
-     * 1. We need an un-modified field during sorting.
-     * 2. Decrease number of volatile reads.
-     */
-    long lastCleanupTimeCopy;
-
     public PartitionContainer(final MapService mapService, final int partitionId) {
         this.mapService = mapService;
         this.partitionId = partitionId;
@@ -93,6 +84,8 @@ public class PartitionContainer {
         MapKeyLoader keyLoader = new MapKeyLoader(name, opService, ps, nodeEngine.getClusterService(),
                 execService, mapContainer.toData());
         keyLoader.setMaxBatch(groupProperties.getInteger(GroupProperty.MAP_LOAD_CHUNK_SIZE));
+        keyLoader.setMaxInFlightBatches(groupProperties.getInteger(GroupProperty.MAP_LOAD_MAX_IN_FLIGHT_BATCHES));
+        keyLoader.setMapLoadStats(serviceContext.getMapLoadStats());
         keyLoader.setMaxSize(getMaxSizePerNode(mapConfig.getMaxSizeConfig()));
         keyLoader.setHasBackup(mapConfig.getTotalBackupCount() > 0);
         keyLoader.setMapOperationProvider(serviceContext.getMapOperationProvider(name));
@@ -170,12 +163,4 @@ public class PartitionContainer {
         this.lastCleanupTime = lastCleanupTime;
     }
 
-    public long getLastCleanupTimeCopy() {
-        return lastCleanupTimeCopy;
-    }
-
-    public void setLastCleanupTimeCopy(long lastCleanupTimeCopy) {
-        this.lastCleanupTimeCopy = lastCleanupTimeCopy;
-    }
-
 }
@@ -16,6 +16,10 @@
 
 package com.hazelcast.map.impl.eviction;
 
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.properties.GroupProperty;
+import com.hazelcast.internal.util.counters.MwCounter;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.operation.ClearExpiredOperation;
@@ -23,29 +27,31 @@ import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.OperationService;
-import com.hazelcast.spi.impl.operationservice.InternalOperationService;
+import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.partition.IPartition;
 import com.hazelcast.util.Clock;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
-// TODO refactor
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
 
 /**
  * Manages expiration operations.
+ * <p/>
+ * Every record store keeps the keys of its entries that can expire in a time bucketed expiry index. Once a second, a
+ * {@link ClearExpiredOperation} is sent to the partitions that have a due bucket; it reclaims the expired entries of
+ * the due buckets until the slice budget, {@link GroupProperty#MAP_EXPIRY_SLICE_BUDGET_MICROS}, is used up. A
+ * partition with more expired entries than fit into one slice continues in the next run.
  *
  * @since 3.3
  */
 public class ExpirationManager {
 
-    private static final long INITIAL_DELAY = 5;
+    private static final long INITIAL_DELAY = 1;
 
-    private static final long PERIOD = 5;
+    private static final long PERIOD = 1;
 
     private static final TimeUnit UNIT = TimeUnit.SECONDS;
 
@@ -53,152 +59,127 @@ public class ExpirationManager {
 
     private final MapServiceContext mapServiceContext;
 
+    private final long sliceBudgetNanos;
+
+    @Probe(name = "sliceCount")
+    private final MwCounter sliceCount = newMwCounter();
+
+    @Probe(name = "reclaimedCount")
+    private final MwCounter reclaimedCount = newMwCounter();
+
+    @Probe(name = "budgetExhaustedCount")
+    private final MwCounter budgetExhaustedCount = newMwCounter();
+
     public ExpirationManager(MapServiceContext mapServiceContext, NodeEngine nodeEngine) {
         this.nodeEngine = nodeEngine;
         this.mapServiceContext = mapServiceContext;
+        this.sliceBudgetNanos = nodeEngine.getGroupProperties().getNanos(GroupProperty.MAP_EXPIRY_SLICE_BUDGET_MICROS);
     }
 
     public void start() {
+        MetricsRegistry metricsRegistry = ((NodeEngineImpl) nodeEngine).getMetricsRegistry();
+        metricsRegistry.scanAndRegister(this, "map.expiration");
         nodeEngine.getExecutionService()
                 .scheduleWithRepetition(new ClearExpiredRecordsTask(), INITIAL_DELAY, PERIOD, UNIT);
     }
 
     /**
-     * Periodically clears expired entries.(ttl & idle)
-     * This task provides per partition expiration operation logic. (not per map, not per record store).
-     * Fires cleanup operations at most partition operation thread count or some factor of it in one round.
+     * Records the outcome of a {@link ClearExpiredOperation}.
+     *
+     * @param reclaimed the number of reclaimed entries.
+     * @param exhausted {@code true} if the slice ran out of budget before all due entries were checked.
      */
-    private class ClearExpiredRecordsTask implements Runnable {
+    public void onSliceCompleted(int reclaimed, boolean exhausted) {
+        sliceCount.inc();
+        reclaimedCount.inc(reclaimed);
+        if (exhausted) {
+            budgetExhaustedCount.inc();
+        }
+    }
 
-        private static final int EXPIRATION_PERCENTAGE = 10;
+    /**
+     * @return the number of keys of the local partitions that wait for expiration, including the keys of removed
+     * entries that were not skipped yet.
+     */
+    @Probe(name = "pendingCount")
+    public long getPendingCount() {
+        long pending = 0;
+        for (RecordStore recordStore : localRecordStores()) {
+            pending += recordStore.getExpiryIndexSize();
+        }
+        return pending;
+    }
 
-        private static final long MIN_MILLIS_DIFF_BETWEEN_TWO_RUNS = 1000;
+    /**
+     * @return how many millis the reclaim of the most behind partition lags behind, {@code 0} if no partition has a
+     * bucket that is due for longer than a run period.
+     */
+    @Probe(name = "lagMillis")
+    public long getLagMillis() {
+        long now = Clock.currentTimeMillis();
+        long lag = 0;
+        for (RecordStore recordStore : localRecordStores()) {
+            lag = Math.max(lag, now - recordStore.getNextExpiryDueTime());
+        }
+        return Math.max(0, lag - UNIT.toMillis(PERIOD));
+    }
 
-        private final Comparator<PartitionContainer> partitionContainerComparator = new Comparator<PartitionContainer>() {
-            @Override
-            public int compare(PartitionContainer o1, PartitionContainer o2) {
-                final long s1 = o1.getLastCleanupTimeCopy();
-                final long s2 = o2.getLastCleanupTimeCopy();
-                return (s1 < s2) ? -1 : ((s1 == s2) ? 0 : 1);
-            }
-        };
+    private List<RecordStore> localRecordStores() {
+        List<RecordStore> recordStores = new ArrayList<RecordStore>();
+        int partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            recordStores.addAll(mapServiceContext.getPartitionContainer(partitionId).getMaps().values());
+        }
+        return recordStores;
+    }
+
+    /**
+     * Periodically clears expired entries.(ttl & idle)
+     * This task provides per partition expiration operation logic. (not per map, not per record store).
+     * Fires one cleanup operation to every partition that has a due expiry bucket and no running cleanup; every
+     * operation is bounded by the slice budget, so the partition threads are not stalled.
+     */
+    private class ClearExpiredRecordsTask implements Runnable {
 
         @Override
         public void run() {
             final long now = Clock.currentTimeMillis();
             final NodeEngine nodeEngine = ExpirationManager.this.nodeEngine;
+            final OperationService operationService = nodeEngine.getOperationService();
             final int partitionCount = nodeEngine.getPartitionService().getPartitionCount();
-            List<PartitionContainer> partitionContainers = Collections.emptyList();
-            boolean createLazy = true;
-            int currentlyRunningCleanupOperationsCount = 0;
             for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
                 IPartition partition = nodeEngine.getPartitionService().getPartition(partitionId, false);
                 if (partition.isOwnerOrBackup(nodeEngine.getThisAddress())) {
                     final PartitionContainer partitionContainer = mapServiceContext.getPartitionContainer(partitionId);
-                    if (isContainerEmpty(partitionContainer)) {
-                        continue;
-                    }
-                    if (hasRunningCleanup(partitionContainer)) {
-                        currentlyRunningCleanupOperationsCount++;
-                        continue;
-                    }
-                    if (currentlyRunningCleanupOperationsCount > getMaxCleanupOperationCountInOneRound()
-                            || notInProcessableTimeWindow(partitionContainer, now)
-                            || notHaveAnyExpirableRecord(partitionContainer)) {
+                    if (partitionContainer.hasRunningCleanup() || !hasDueExpiration(partitionContainer, now)) {
                         continue;
                     }
-
-                    if (createLazy) {
-                        partitionContainers = new ArrayList<PartitionContainer>();
-                        createLazy = false;
-                    }
-                    partitionContainers.add(partitionContainer);
-                }
-            }
-            if (partitionContainers.isEmpty()) {
-                return;
-            }
-
-            sortPartitionContainers(partitionContainers);
-            sendCleanupOperations(partitionContainers);
-        }
-
-        private void sortPartitionContainers(List<PartitionContainer> partitionContainers) {
-            updateLastCleanupTimesBeforeSorting(partitionContainers);
-            Collections.sort(partitionContainers, partitionContainerComparator);
-        }
-
-
-        private void sendCleanupOperations(List<PartitionContainer> partitionContainers) {
-            final int maxCleanupOperationCountInOneRound = getMaxCleanupOperationCountInOneRound();
-            final int start = 0;
-            int end = maxCleanupOperationCountInOneRound;
-            if (end > partitionContainers.size()) {
-                end = partitionContainers.size();
-            }
-            final List<PartitionContainer> partitionIds = partitionContainers.subList(start, end);
-            for (PartitionContainer container : partitionIds) {
-                // mark partition container as has on going expiration operation.
-                container.setHasRunningCleanup(true);
-                OperationService operationService = ExpirationManager.this.nodeEngine.getOperationService();
-                operationService.executeOperation(createExpirationOperation(EXPIRATION_PERCENTAGE,
-                        container.getPartitionId()));
-            }
-        }
-
-        private boolean expirable(RecordStore recordStore) {
-            return recordStore.isExpirable();
-        }
-
-        private boolean hasRunningCleanup(PartitionContainer partitionContainer) {
-            return partitionContainer.hasRunningCleanup();
-        }
-
-        private boolean notInProcessableTimeWindow(PartitionContainer partitionContainer, long now) {
-            return now - partitionContainer.getLastCleanupTime() < MIN_MILLIS_DIFF_BETWEEN_TWO_RUNS;
-        }
-
-        private int getMaxCleanupOperationCountInOneRound() {
-            final int times = 3;
-            InternalOperationService opService
-                    = (InternalOperationService) ExpirationManager.this.nodeEngine.getOperationService();
-            return times * opService.getPartitionOperationThreadCount();
-        }
-
-        private boolean isContainerEmpty(PartitionContainer container) {
-            long size = 0L;
-            final ConcurrentMap<String, RecordStore> maps = container.getMaps();
-            for (RecordStore store : maps.values()) {
-                size += store.size();
-                if (size > 0L) {
-                    return false;
+                    // mark partition container as has on going expiration operation.
+                    partitionContainer.setHasRunningCleanup(true);
+                    operationService.executeOperation(createExpirationOperation(partitionId));
                 }
             }
-            return true;
         }
 
         /**
-         * Here we check if that partition has any expirable record or not,
-         * if no expirable record exists in that partition no need to fire an expiration operation.
+         * Here we check if that partition has an expiry bucket that is due,
+         * if not no need to fire an expiration operation.
          *
          * @param partitionContainer corresponding partition container.
-         * @return <code>true</code> if no expirable record in that partition <code>false</code> otherwise.
+         * @return <code>true</code> if a record store of that partition has a due bucket, <code>false</code> otherwise.
          */
-        private boolean notHaveAnyExpirableRecord(PartitionContainer partitionContainer) {
-            boolean notExist = true;
-            final ConcurrentMap<String, RecordStore> maps = partitionContainer.getMaps();
-            for (RecordStore store : maps.values()) {
-                if (expirable(store)) {
-                    notExist = false;
-                    break;
+        private boolean hasDueExpiration(PartitionContainer partitionContainer, long now) {
+            for (RecordStore store : partitionContainer.getMaps().values()) {
+                if (store.getNextExpiryDueTime() <= now) {
+                    return true;
                 }
             }
-            return notExist;
+            return false;
         }
     }
 
-    private Operation createExpirationOperation(int expirationPercentage, int partitionId) {
-        final ClearExpiredOperation clearExpiredOperation = new ClearExpiredOperation(expirationPercentage);
+    private Operation createExpirationOperation(int partitionId) {
+        final ClearExpiredOperation clearExpiredOperation = new ClearExpiredOperation(sliceBudgetNanos);
         clearExpiredOperation
                 .setNodeEngine(nodeEngine)
                 .setCallerUuid(nodeEngine.getLocalMember().getUuid())
@@ -207,16 +188,4 @@ public class ExpirationManager {
                 .setService(mapServiceContext.getService());
         return clearExpiredOperation;
     }
-
-
-    /**
-     * Sets last clean-up time before sorting.
-     *
-     * @param partitionContainers partition containers.
-     */
-    private void updateLastCleanupTimesBeforeSorting(List<PartitionContainer> partitionContainers) {
-        for (PartitionContainer partitionContainer : partitionContainers) {
-            partitionContainer.setLastCleanupTimeCopy(partitionContainer.getLastCleanupTime());
-        }
-    }
 }
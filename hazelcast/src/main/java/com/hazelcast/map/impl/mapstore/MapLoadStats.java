@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Progress and throughput of the loading of maps from their {@link com.hazelcast.core.MapLoader}s on this member, for
+ * all maps together.
+ * <p/>
+ * The key distribution counters are updated by the member that loads the keys of a map and sends them to the
+ * partitions; the value loading counters by every member that calls {@link com.hazelcast.core.MapLoader#loadAll} for
+ * its partitions.
+ */
+public class MapLoadStats {
+
+    @Probe(name = "keysDistributedCount")
+    private final MwCounter keysDistributedCount = newMwCounter();
+
+    @Probe(name = "keyBatchesInFlight")
+    private final MwCounter keyBatchesInFlight = newMwCounter();
+
+    @Probe(name = "loadAllCount")
+    private final MwCounter loadAllCount = newMwCounter();
+
+    @Probe(name = "loadAllPending")
+    private final MwCounter loadAllPending = newMwCounter();
+
+    @Probe(name = "loadedEntryCount")
+    private final MwCounter loadedEntryCount = newMwCounter();
+
+    private final MwCounter loadAllTimeNanos = newMwCounter();
+
+    private long lastSampleNanos = System.nanoTime();
+    private long lastSampleEntryCount;
+
+    /**
+     * Records that a batch of keys was sent to a partition and waits for its acknowledgement.
+     */
+    public void onKeyBatchSent(int keyCount) {
+        keysDistributedCount.inc(keyCount);
+        keyBatchesInFlight.inc();
+    }
+
+    public void onKeyBatchAcknowledged() {
+        keyBatchesInFlight.inc(-1);
+    }
+
+    /**
+     * Records that a {@link com.hazelcast.core.MapLoader#loadAll} call was queued for the loader pool.
+     */
+    public void onLoadAllSubmitted() {
+        loadAllPending.inc();
+    }
+
+    /**
+     * Records a {@link com.hazelcast.core.MapLoader#loadAll} call that finished or was skipped.
+     *
+     * @param entryCount    the number of loaded entries.
+     * @param durationNanos the time the call took.
+     */
+    public void onLoadAllCompleted(int entryCount, long durationNanos) {
+        loadAllPending.inc(-1);
+        loadAllCount.inc();
+        loadedEntryCount.inc(entryCount);
+        loadAllTimeNanos.inc(durationNanos);
+    }
+
+    /**
+     * @return the time spent in {@link com.hazelcast.core.MapLoader#loadAll} calls, summed over the loader threads.
+     */
+    @Probe(name = "loadAllTimeMillis")
+    public long getLoadAllTimeMillis() {
+        return NANOSECONDS.toMillis(loadAllTimeNanos.get());
+    }
+
+    /**
+     * @return the number of entries loaded per second since the previous call of this method.
+     */
+    @Probe(name = "loadedEntriesPerSecond")
+    public synchronized long getLoadedEntriesPerSecond() {
+        long now = System.nanoTime();
+        long entryCount = loadedEntryCount.get();
+        long elapsedNanos = now - lastSampleNanos;
+        long loaded = entryCount - lastSampleEntryCount;
+        lastSampleNanos = now;
+        lastSampleEntryCount = entryCount;
+        return elapsedNanos <= 0 ? 0 : loaded * SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    public long getKeysDistributedCount() {
+        return keysDistributedCount.get();
+    }
+
+    public long getKeyBatchesInFlight() {
+        return keyBatchesInFlight.get();
+    }
+
+    public long getLoadAllCount() {
+        return loadAllCount.get();
+    }
+
+    public long getLoadAllPending() {
+        return loadAllPending.get();
+    }
+
+    public long getLoadedEntryCount() {
+        return loadedEntryCount.get();
+    }
+}
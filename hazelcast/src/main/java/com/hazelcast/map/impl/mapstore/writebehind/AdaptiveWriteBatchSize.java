@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+/**
+ * Number of entries passed to one {@link com.hazelcast.core.MapStore#storeAll} or
+ * {@link com.hazelcast.core.MapStore#deleteAll} call, adapted to the measured latency of the calls.
+ * <p/>
+ * The size starts at the configured write batch size, which is also its upper bound. It is halved when a call takes
+ * longer than the target latency and grows by an eighth of the configured size when a batch of at least half the
+ * current size takes less than half of the target latency. Without a target latency the size stays fixed.
+ */
+final class AdaptiveWriteBatchSize {
+
+    static final int MIN_BATCH_SIZE = 16;
+
+    private static final int GROWTH_DIVISOR = 8;
+
+    private final int maxBatchSize;
+    private final int minBatchSize;
+    private final int step;
+    private final long targetLatencyNanos;
+
+    private volatile int batchSize;
+
+    AdaptiveWriteBatchSize(int maxBatchSize, long targetLatencyNanos) {
+        this.maxBatchSize = maxBatchSize;
+        this.minBatchSize = Math.min(MIN_BATCH_SIZE, maxBatchSize);
+        this.step = Math.max(1, maxBatchSize / GROWTH_DIVISOR);
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.batchSize = maxBatchSize;
+    }
+
+    int get() {
+        return batchSize;
+    }
+
+    /**
+     * Adapts the batch size to a finished batch call.
+     *
+     * @param size         the number of entries of the call.
+     * @param latencyNanos the time the call took.
+     */
+    synchronized void onBatchStored(int size, long latencyNanos) {
+        if (targetLatencyNanos <= 0) {
+            return;
+        }
+        if (latencyNanos > targetLatencyNanos) {
+            batchSize = Math.max(minBatchSize, batchSize / 2);
+        } else if (latencyNanos < targetLatencyNanos / 2 && size >= batchSize / 2) {
+            batchSize = Math.min(maxBatchSize, batchSize + step);
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package com.hazelcast.map.impl.mapstore.writebehind;
 
+import com.hazelcast.internal.properties.GroupProperties;
+import com.hazelcast.internal.properties.GroupProperty;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.mapstore.writebehind.entry.DelayedEntry;
 import com.hazelcast.nio.serialization.Data;
@@ -53,9 +55,18 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
 
     private final List<StoreListener> storeListeners;
 
-    DefaultWriteBehindProcessor(MapStoreContext mapStoreContext) {
+    private final AdaptiveWriteBatchSize batchSize;
+
+    private final WriteBehindStats stats;
+
+    DefaultWriteBehindProcessor(MapStoreContext mapStoreContext, WriteBehindStats stats) {
         super(mapStoreContext);
         this.storeListeners = new ArrayList<StoreListener>(2);
+        GroupProperties groupProperties = mapStoreContext.getMapServiceContext().getNodeEngine().getGroupProperties();
+        long targetLatencyNanos = groupProperties.getNanos(GroupProperty.MAP_WRITE_BEHIND_BATCH_TARGET_LATENCY_MILLIS);
+        this.batchSize = new AdaptiveWriteBatchSize(writeBatchSize, targetLatencyNanos);
+        this.stats = stats;
+        stats.setWriteBatchSize(writeBatchSize);
     }
 
     @Override
@@ -203,6 +214,7 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
                 final Object value = toObject(entry.getValue());
                 boolean result = operationType.processSingle(key, value, mapStore);
                 callAfterStoreListeners(entry);
+                stats.onEntryStored();
                 return result;
             }
 
@@ -242,8 +254,11 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
             public boolean run() throws Exception {
                 callBeforeStoreListeners(batchMap.values());
                 final Map map = convertToObject(batchMap);
+                final long startNanos = System.nanoTime();
                 final boolean result = operationType.processBatch(map, mapStore);
+                final long latencyNanos = System.nanoTime() - startNanos;
                 callAfterStoreListeners(batchMap.values());
+                onBatchStored(map.size(), latencyNanos);
                 return result;
             }
 
@@ -259,6 +274,12 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
         });
     }
 
+    private void onBatchStored(int size, long latencyNanos) {
+        stats.onBatchStored(size, latencyNanos);
+        batchSize.onBatchStored(size, latencyNanos);
+        stats.setWriteBatchSize(batchSize.get());
+    }
+
     private void callBeforeStoreListeners(DelayedEntry entry) {
         for (StoreListener listener : storeListeners) {
             listener.beforeStore(StoreEvent.createStoreEvent(entry));
@@ -330,28 +351,31 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
     }
 
     /**
-     * Store chunk by chunk using write batch size {@link #writeBatchSize}
+     * Store chunk by chunk. The chunk size starts at {@link #writeBatchSize} and is adapted to the latency of the
+     * store calls, see {@link AdaptiveWriteBatchSize}.
      *
      * @param sortedDelayedEntries entries to be stored.
      * @return not-stored entries per partition.
      */
     private Map<Integer, List<DelayedEntry>> doStoreUsingBatchSize(List<DelayedEntry> sortedDelayedEntries) {
         final Map<Integer, List<DelayedEntry>> failsPerPartition = new HashMap<Integer, List<DelayedEntry>>();
-        int page = 0;
-        List<DelayedEntry> delayedEntryList;
-        while ((delayedEntryList = getBatchChunk(sortedDelayedEntries, writeBatchSize, page++)) != null) {
-            final Map<Integer, List<DelayedEntry>> fails = processInternal(delayedEntryList);
+        final int size = sortedDelayedEntries.size();
+        int from = 0;
+        while (from < size) {
+            final int to = Math.min(from + batchSize.get(), size);
+            final Map<Integer, List<DelayedEntry>> fails = processInternal(sortedDelayedEntries.subList(from, to));
             final Set<Map.Entry<Integer, List<DelayedEntry>>> entries = fails.entrySet();
             for (Map.Entry<Integer, List<DelayedEntry>> entry : entries) {
                 final Integer partitionId = entry.getKey();
                 final List<DelayedEntry> tmpFailList = entry.getValue();
                 List<DelayedEntry> failList = failsPerPartition.get(partitionId);
-                if (failList == null || failList.isEmpty()) {
-                    failsPerPartition.put(partitionId, tmpFailList);
-                    failList = failsPerPartition.get(partitionId);
+                if (failList == null) {
+                    failList = new ArrayList<DelayedEntry>(tmpFailList.size());
+                    failsPerPartition.put(partitionId, failList);
                 }
                 failList.addAll(tmpFailList);
             }
+            from = to;
         }
         return failsPerPartition;
     }
@@ -379,6 +403,7 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
                 // in front of the relevant partition-write-behind-queues and will indefinitely retry to
                 // store them.
                 List failureList = task.failureList();
+                stats.onEntriesFailed(failureList.size());
                 logger.severe("Number of entries which could not be stored is = [" + failureList.size() + "]"
                         + ", Hazelcast will indefinitely retry to store them", exception);
                 return failureList;
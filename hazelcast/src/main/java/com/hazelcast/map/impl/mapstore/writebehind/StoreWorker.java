@@ -25,15 +25,21 @@ import com.hazelcast.map.impl.mapstore.MapDataStore;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.mapstore.writebehind.entry.DelayedEntry;
 import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.spi.ExecutionService;
 import com.hazelcast.spi.partition.IPartition;
 import com.hazelcast.spi.partition.IPartitionService;
 import com.hazelcast.util.Clock;
+import com.hazelcast.util.ExceptionUtil;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
+import static com.hazelcast.spi.ExecutionService.MAP_STORE_EXECUTOR;
 import static com.hazelcast.util.CollectionUtil.isEmpty;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -42,7 +48,10 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * That thread uses this runnable task to process write-behind-queues. This task collects entries from
  * write behind queues and passes them to {@link #writeBehindProcessor}.
  * <p/>
- * Only one {@link StoreWorker} task is created for a map on a member.
+ * Only one {@link StoreWorker} task is created for a map on a member. With
+ * {@link GroupProperty#MAP_WRITE_BEHIND_STORE_WORKERS} bigger than {@code 1}, the collected entries are grouped by
+ * their partitions and the groups are passed to {@link #writeBehindProcessor} concurrently by the member-wide
+ * {@link ExecutionService#MAP_STORE_EXECUTOR}.
  */
 public class StoreWorker implements Runnable {
 
@@ -53,6 +62,9 @@ public class StoreWorker implements Runnable {
     private final long backupDelayMillis;
     private final long writeDelayMillis;
     private final int partitionCount;
+    private final int storeWorkerCount;
+    private final ExecutionService executionService;
+    private final WriteBehindStats stats;
 
     /**
      * Entries are fetched from write-behind-queues according to highestStoreTime. If an entry
@@ -62,7 +74,7 @@ public class StoreWorker implements Runnable {
      */
     private long lastHighestStoreTime;
 
-    public StoreWorker(MapStoreContext mapStoreContext, WriteBehindProcessor writeBehindProcessor) {
+    public StoreWorker(MapStoreContext mapStoreContext, WriteBehindProcessor writeBehindProcessor, WriteBehindStats stats) {
         this.mapName = mapStoreContext.getMapName();
         this.mapServiceContext = mapStoreContext.getMapServiceContext();
         this.partitionService = mapServiceContext.getNodeEngine().getPartitionService();
@@ -71,6 +83,9 @@ public class StoreWorker implements Runnable {
         this.lastHighestStoreTime = Clock.currentTimeMillis();
         this.writeDelayMillis = SECONDS.toMillis(getWriteDelaySeconds(mapStoreContext));
         this.partitionCount = partitionService.getPartitionCount();
+        this.storeWorkerCount = getStoreWorkerCount();
+        this.executionService = mapServiceContext.getNodeEngine().getExecutionService();
+        this.stats = stats;
     }
 
 
@@ -86,12 +101,14 @@ public class StoreWorker implements Runnable {
 
         List<DelayedEntry> ownersList = null;
         List<DelayedEntry> backupsList = null;
+        long queueDepth = 0;
 
         for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
             RecordStore recordStore = getRecordStoreOrNull(mapName, partitionId);
             if (!hasEntryInWriteBehindQueue(recordStore)) {
                 continue;
             }
+            queueDepth += getWriteBehindQueue(recordStore).size();
 
             boolean localPartition = isPartitionLocal(partitionId);
 
@@ -104,8 +121,11 @@ public class StoreWorker implements Runnable {
             }
         }
 
+        stats.setQueueDepth(queueDepth);
+        stats.setLagMillis(isEmpty(ownersList) ? 0 : calculateLagMillis(ownersList, now));
+
         if (!isEmpty(ownersList)) {
-            Map<Integer, List<DelayedEntry>> failuresPerPartition = writeBehindProcessor.process(ownersList);
+            Map<Integer, List<DelayedEntry>> failuresPerPartition = store(ownersList);
             removeFinishedStoreOperationsFromQueues(mapName, ownersList);
             reAddFailedStoreOperationsToQueues(mapName, failuresPerPartition);
         }
@@ -118,6 +138,74 @@ public class StoreWorker implements Runnable {
 
     }
 
+    /**
+     * Passes the entries to {@link #writeBehindProcessor}, split into {@link #storeWorkerCount} groups by their
+     * partitions which are processed concurrently.
+     *
+     * @return failed store operations per partition.
+     */
+    private Map<Integer, List<DelayedEntry>> store(List<DelayedEntry> entries) {
+        if (storeWorkerCount <= 1) {
+            return writeBehindProcessor.process(entries);
+        }
+
+        List<Future<Map<Integer, List<DelayedEntry>>>> futures = new ArrayList<Future<Map<Integer, List<DelayedEntry>>>>();
+        for (final List<DelayedEntry> group : groupByPartition(entries)) {
+            if (group.isEmpty()) {
+                continue;
+            }
+            futures.add(executionService.submit(MAP_STORE_EXECUTOR, new Callable<Map<Integer, List<DelayedEntry>>>() {
+                @Override
+                public Map<Integer, List<DelayedEntry>> call() throws Exception {
+                    return writeBehindProcessor.process(group);
+                }
+            }));
+        }
+        return getFailures(futures);
+    }
+
+    private List<List<DelayedEntry>> groupByPartition(List<DelayedEntry> entries) {
+        List<List<DelayedEntry>> groups = new ArrayList<List<DelayedEntry>>(storeWorkerCount);
+        for (int i = 0; i < storeWorkerCount; i++) {
+            groups.add(new ArrayList<DelayedEntry>());
+        }
+        for (DelayedEntry entry : entries) {
+            groups.get(entry.getPartitionId() % storeWorkerCount).add(entry);
+        }
+        return groups;
+    }
+
+    /**
+     * Waits for all groups and merges their failures; the groups have disjoint partitions, so the failures of a
+     * partition come from a single group.
+     */
+    private static Map<Integer, List<DelayedEntry>> getFailures(List<Future<Map<Integer, List<DelayedEntry>>>> futures) {
+        Map<Integer, List<DelayedEntry>> failuresPerPartition = new HashMap<Integer, List<DelayedEntry>>();
+        Throwable error = null;
+        for (Future<Map<Integer, List<DelayedEntry>>> future : futures) {
+            try {
+                failuresPerPartition.putAll(future.get());
+            } catch (Throwable t) {
+                error = error == null ? t : error;
+            }
+        }
+        if (error != null) {
+            throw ExceptionUtil.rethrow(error);
+        }
+        return failuresPerPartition;
+    }
+
+    /**
+     * @return how long the oldest of the entries is waiting past its store time.
+     */
+    private static long calculateLagMillis(List<DelayedEntry> entries, long now) {
+        long oldestStoreTime = Long.MAX_VALUE;
+        for (DelayedEntry entry : entries) {
+            oldestStoreTime = Math.min(oldestStoreTime, entry.getStoreTime());
+        }
+        return Math.max(0, now - oldestStoreTime);
+    }
+
     private static List<DelayedEntry> initListIfNull(List<DelayedEntry> list, int capacity) {
         if (list == null) {
             list = new ArrayList<DelayedEntry>(capacity);
@@ -232,6 +320,11 @@ public class StoreWorker implements Runnable {
         writeBehindProcessor.callAfterStoreListeners(delayedEntries);
     }
 
+    private int getStoreWorkerCount() {
+        GroupProperties groupProperties = mapServiceContext.getNodeEngine().getGroupProperties();
+        return groupProperties.getInteger(GroupProperty.MAP_WRITE_BEHIND_STORE_WORKERS);
+    }
+
     private long getReplicaWaitTimeMillis() {
         GroupProperties groupProperties = mapServiceContext.getNodeEngine().getGroupProperties();
         return groupProperties.getMillis(GroupProperty.MAP_REPLICA_SCHEDULED_TASK_DELAY_SECONDS);
@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl.mapstore.writebehind;
 
+import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
@@ -27,6 +28,7 @@ import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.spi.ExecutionService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.TaskScheduler;
+import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.util.executor.ExecutorType;
 
 import java.util.concurrent.TimeUnit;
@@ -52,10 +54,12 @@ public class WriteBehindManager implements MapStoreManager {
 
     private final MapStoreContext mapStoreContext;
 
+    private final WriteBehindStats stats = new WriteBehindStats();
+
     public WriteBehindManager(MapStoreContext mapStoreContext) {
         this.mapStoreContext = mapStoreContext;
         this.writeBehindProcessor = newWriteBehindProcessor(mapStoreContext);
-        this.storeWorker = new StoreWorker(mapStoreContext, writeBehindProcessor);
+        this.storeWorker = new StoreWorker(mapStoreContext, writeBehindProcessor, stats);
         this.executorName = EXECUTOR_NAME_PREFIX + mapStoreContext.getMapName();
         final MapServiceContext mapServiceContext = mapStoreContext.getMapServiceContext();
         this.taskScheduler = getTaskScheduler(mapServiceContext);
@@ -63,6 +67,9 @@ public class WriteBehindManager implements MapStoreManager {
 
     @Override
     public void start() {
+        NodeEngine nodeEngine = mapStoreContext.getMapServiceContext().getNodeEngine();
+        MetricsRegistry metricsRegistry = ((NodeEngineImpl) nodeEngine).getMetricsRegistry();
+        metricsRegistry.scanAndRegister(stats, "map.writeBehind[" + mapStoreContext.getMapName() + "]");
         taskScheduler.scheduleWithRepetition(storeWorker, 1, 1, TimeUnit.SECONDS);
     }
 
@@ -71,6 +78,12 @@ public class WriteBehindManager implements MapStoreManager {
         final MapServiceContext mapServiceContext = mapStoreContext.getMapServiceContext();
         NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
         nodeEngine.getExecutionService().shutdownExecutor(executorName);
+        MetricsRegistry metricsRegistry = ((NodeEngineImpl) nodeEngine).getMetricsRegistry();
+        metricsRegistry.deregister(stats);
+    }
+
+    public WriteBehindStats getStats() {
+        return stats;
     }
 
     //todo get this via constructor function.
@@ -80,7 +93,7 @@ public class WriteBehindManager implements MapStoreManager {
     }
 
     private WriteBehindProcessor newWriteBehindProcessor(final MapStoreContext mapStoreContext) {
-        WriteBehindProcessor writeBehindProcessor = createWriteBehindProcessor(mapStoreContext);
+        WriteBehindProcessor writeBehindProcessor = createWriteBehindProcessor(mapStoreContext, stats);
         StoreListener<DelayedEntry> storeListener = new InternalStoreListener(mapStoreContext);
         writeBehindProcessor.addStoreListener(storeListener);
         return writeBehindProcessor;
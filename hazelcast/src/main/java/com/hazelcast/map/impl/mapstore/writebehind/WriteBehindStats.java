@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Write-behind statistics of a map on this member.
+ * <p/>
+ * The queue depth and the lag are sampled by the {@link StoreWorker} of the map on every run; the counters are
+ * updated by the {@link WriteBehindProcessor} for every store call.
+ */
+public class WriteBehindStats {
+
+    @Probe(name = "storeAllCount")
+    private final MwCounter storeAllCount = newMwCounter();
+
+    @Probe(name = "storedEntryCount")
+    private final MwCounter storedEntryCount = newMwCounter();
+
+    @Probe(name = "failedEntryCount")
+    private final MwCounter failedEntryCount = newMwCounter();
+
+    private final MwCounter storeAllTimeNanos = newMwCounter();
+
+    private volatile long queueDepth;
+    private volatile long lagMillis;
+    private volatile int writeBatchSize;
+
+    /**
+     * Records a {@link com.hazelcast.core.MapStore#storeAll} or {@link com.hazelcast.core.MapStore#deleteAll} call.
+     */
+    void onBatchStored(int entryCount, long durationNanos) {
+        storeAllCount.inc();
+        storedEntryCount.inc(entryCount);
+        storeAllTimeNanos.inc(durationNanos);
+    }
+
+    void onEntryStored() {
+        storedEntryCount.inc();
+    }
+
+    void onEntriesFailed(int entryCount) {
+        failedEntryCount.inc(entryCount);
+    }
+
+    void setQueueDepth(long queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
+    void setLagMillis(long lagMillis) {
+        this.lagMillis = lagMillis;
+    }
+
+    void setWriteBatchSize(int writeBatchSize) {
+        this.writeBatchSize = writeBatchSize;
+    }
+
+    /**
+     * @return the number of entries in the write-behind queues of the partitions of this member, including backups.
+     */
+    @Probe(name = "queueDepth")
+    public long getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * @return how long the oldest entry of the last store run was waiting past its store time.
+     */
+    @Probe(name = "lagMillis")
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    /**
+     * @return the current number of entries per {@link com.hazelcast.core.MapStore#storeAll} call.
+     */
+    @Probe(name = "writeBatchSize")
+    public int getWriteBatchSize() {
+        return writeBatchSize;
+    }
+
+    @Probe(name = "storeAllTimeMillis")
+    public long getStoreAllTimeMillis() {
+        return NANOSECONDS.toMillis(storeAllTimeNanos.get());
+    }
+
+    public long getStoreAllCount() {
+        return storeAllCount.get();
+    }
+
+    public long getStoredEntryCount() {
+        return storedEntryCount.get();
+    }
+
+    public long getFailedEntryCount() {
+        return failedEntryCount.get();
+    }
+}
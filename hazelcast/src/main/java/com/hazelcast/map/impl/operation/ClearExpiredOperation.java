@@ -33,14 +33,17 @@ import java.io.IOException;
 import java.util.concurrent.ConcurrentMap;
 
 /**
- * Clear expired records.
+ * Clear expired records: reclaims the expired entries of the due expiry buckets of the partition,
+ * until the slice budget is used up.
  */
 public class ClearExpiredOperation extends AbstractOperation implements PartitionAwareOperation, MutatingOperation {
 
-    private int expirationPercentage;
+    private long sliceBudgetNanos;
+    private int reclaimedCount;
+    private boolean budgetExhausted;
 
-    public ClearExpiredOperation(int expirationPercentage) {
-        this.expirationPercentage = expirationPercentage;
+    public ClearExpiredOperation(long sliceBudgetNanos) {
+        this.sliceBudgetNanos = sliceBudgetNanos;
     }
 
     @Override
@@ -55,10 +58,20 @@ public class ClearExpiredOperation extends AbstractOperation implements Partitio
         final PartitionContainer partitionContainer = mapServiceContext.getPartitionContainer(getPartitionId());
         final ConcurrentMap<String, RecordStore> recordStores = partitionContainer.getMaps();
         final boolean backup = !isOwner();
+        final long deadlineNanos = System.nanoTime() + sliceBudgetNanos;
+        final long now = Clock.currentTimeMillis();
         for (final RecordStore recordStore : recordStores.values()) {
-            if (recordStore.size() > 0 && recordStore.isExpirable()) {
-                recordStore.evictExpiredEntries(expirationPercentage, backup);
-                recordStore.disposeDeferredBlocks();
+            if (recordStore.getNextExpiryDueTime() > now) {
+                continue;
+            }
+            if (System.nanoTime() - deadlineNanos >= 0) {
+                budgetExhausted = true;
+                break;
+            }
+            reclaimedCount += recordStore.evictExpiredEntries(deadlineNanos, backup);
+            recordStore.disposeDeferredBlocks();
+            if (recordStore.getNextExpiryDueTime() <= now) {
+                budgetExhausted = true;
             }
         }
     }
@@ -76,6 +89,7 @@ public class ClearExpiredOperation extends AbstractOperation implements Partitio
         final PartitionContainer partitionContainer = mapServiceContext.getPartitionContainer(getPartitionId());
         partitionContainer.setHasRunningCleanup(false);
         partitionContainer.setLastCleanupTime(Clock.currentTimeMillis());
+        mapServiceContext.getExpirationManager().onSliceCompleted(reclaimedCount, budgetExhausted);
     }
 
     @Override
@@ -97,6 +111,6 @@ public class ClearExpiredOperation extends AbstractOperation implements Partitio
     protected void toString(StringBuilder sb) {
         super.toString(sb);
 
-        sb.append(", expirationPercentage=").append(expirationPercentage);
+        sb.append(", sliceBudgetNanos=").append(sliceBudgetNanos);
     }
 }
@@ -30,6 +30,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import static com.hazelcast.nio.IOUtil.readDataList;
+import static com.hazelcast.nio.IOUtil.writeDataCollection;
+
 public class GetAllOperation extends MapOperation implements ReadonlyOperation, PartitionAwareOperation {
 
     private List<Data> keys = new ArrayList<Data>();
@@ -64,25 +67,12 @@ public class GetAllOperation extends MapOperation implements ReadonlyOperation,
     @Override
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         super.writeInternal(out);
-        if (keys == null) {
-            out.writeInt(-1);
-        } else {
-            out.writeInt(keys.size());
-            for (Data key : keys) {
-                out.writeData(key);
-            }
-        }
+        writeDataCollection(out, keys);
     }
 
     @Override
     protected void readInternal(ObjectDataInput in) throws IOException {
         super.readInternal(in);
-        int size = in.readInt();
-        if (size > -1) {
-            for (int i = 0; i < size; i++) {
-                Data data = in.readData();
-                keys.add(data);
-            }
-        }
+        keys = readDataList(in);
     }
 }
@@ -26,6 +26,8 @@ import com.hazelcast.spi.PartitionAwareOperation;
 import java.io.IOException;
 
 import static com.hazelcast.map.impl.recordstore.RecordStore.DEFAULT_TTL;
+import static com.hazelcast.nio.IOUtil.readName;
+import static com.hazelcast.nio.IOUtil.writeName;
 
 public abstract class KeyBasedMapOperation extends MapOperation implements PartitionAwareOperation, NamedOperation {
 
@@ -99,7 +101,7 @@ public abstract class KeyBasedMapOperation extends MapOperation implements Parti
 
     @Override
     protected void writeInternal(ObjectDataOutput out) throws IOException {
-        out.writeUTF(name);
+        writeName(out, name);
         out.writeData(dataKey);
         out.writeLong(threadId);
         out.writeData(dataValue);
@@ -108,7 +110,7 @@ public abstract class KeyBasedMapOperation extends MapOperation implements Parti
 
     @Override
     protected void readInternal(ObjectDataInput in) throws IOException {
-        name = in.readUTF();
+        name = readName(in);
         dataKey = in.readData();
         threadId = in.readLong();
         dataValue = in.readData();
@@ -29,6 +29,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
+import static com.hazelcast.nio.IOUtil.readDataList;
+import static com.hazelcast.nio.IOUtil.writeDataCollection;
+
 /**
  * Triggers map store load of all given keys.
  */
@@ -75,25 +78,14 @@ public class LoadAllOperation extends MapOperation implements PartitionAwareOper
     @Override
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         super.writeInternal(out);
-        final int size = keys.size();
-        out.writeInt(size);
-        for (Data key : keys) {
-            out.writeData(key);
-        }
+        writeDataCollection(out, keys);
         out.writeBoolean(replaceExistingValues);
     }
 
     @Override
     protected void readInternal(ObjectDataInput in) throws IOException {
         super.readInternal(in);
-        final int size = in.readInt();
-        if (size > 0) {
-            keys = new ArrayList<Data>(size);
-        }
-        for (int i = 0; i < size; i++) {
-            Data data = in.readData();
-            keys.add(data);
-        }
+        keys = readDataList(in);
         replaceExistingValues = in.readBoolean();
     }
 }
@@ -26,6 +26,9 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import static com.hazelcast.nio.IOUtil.readDataList;
+import static com.hazelcast.nio.IOUtil.writeDataCollection;
+
 public class MapGetAllOperationFactory implements OperationFactory {
 
     private String name;
@@ -47,19 +50,12 @@ public class MapGetAllOperationFactory implements OperationFactory {
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeUTF(name);
-        out.writeInt(keys.size());
-        for (Data key : keys) {
-            out.writeData(key);
-        }
+        writeDataCollection(out, keys);
     }
 
     @Override
     public void readData(ObjectDataInput in) throws IOException {
         name = in.readUTF();
-        int size = in.readInt();
-        for (int i = 0; i < size; i++) {
-            Data data = in.readData();
-            keys.add(data);
-        }
+        keys = readDataList(in);
     }
 }
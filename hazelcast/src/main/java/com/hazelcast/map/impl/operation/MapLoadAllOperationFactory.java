@@ -23,10 +23,12 @@ import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.OperationFactory;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import static com.hazelcast.nio.IOUtil.readDataList;
+import static com.hazelcast.nio.IOUtil.writeDataCollection;
+
 /**
  * Operation factory for load all operations.
  */
@@ -54,25 +56,14 @@ public class MapLoadAllOperationFactory implements OperationFactory {
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeUTF(name);
-        final int size = keys.size();
-        out.writeInt(size);
-        for (Data key : keys) {
-            out.writeData(key);
-        }
+        writeDataCollection(out, keys);
         out.writeBoolean(replaceExistingValues);
     }
 
     @Override
     public void readData(ObjectDataInput in) throws IOException {
         name = in.readUTF();
-        final int size = in.readInt();
-        if (size > 0) {
-            keys = new ArrayList<Data>(size);
-        }
-        for (int i = 0; i < size; i++) {
-            Data data = in.readData();
-            keys.add(data);
-        }
+        keys = readDataList(in);
         replaceExistingValues = in.readBoolean();
     }
 }
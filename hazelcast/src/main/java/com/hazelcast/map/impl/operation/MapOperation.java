@@ -68,6 +68,11 @@ public abstract class MapOperation extends AbstractNamedOperation {
         mapEventPublisher = mapServiceContext.getMapEventPublisher();
 
         innerBeforeRun();
+
+        if (recordStore != null) {
+            // the previous operation of this partition is done with the records it removed
+            recordStore.disposeDeferredBlocks();
+        }
     }
 
     public void innerBeforeRun() throws Exception {
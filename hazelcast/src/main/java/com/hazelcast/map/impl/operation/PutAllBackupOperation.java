@@ -34,6 +34,11 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import static com.hazelcast.nio.IOUtil.readCompactData;
+import static com.hazelcast.nio.IOUtil.readVarInt;
+import static com.hazelcast.nio.IOUtil.writeCompactData;
+import static com.hazelcast.nio.IOUtil.writeVarInt;
+
 public class PutAllBackupOperation extends MapOperation implements PartitionAwareOperation, BackupOperation,
         MutatingOperation {
 
@@ -76,11 +81,11 @@ public class PutAllBackupOperation extends MapOperation implements PartitionAwar
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         super.writeInternal(out);
         final int size = entries.size();
-        out.writeInt(size);
+        writeVarInt(out, size);
         for (int i = 0; i < size; i++) {
             final Map.Entry<Data, Data> entry = entries.get(i);
-            out.writeData(entry.getKey());
-            out.writeData(entry.getValue());
+            writeCompactData(out, entry.getKey());
+            writeCompactData(out, entry.getValue());
             recordInfos.get(i).writeData(out);
         }
     }
@@ -88,12 +93,12 @@ public class PutAllBackupOperation extends MapOperation implements PartitionAwar
     @Override
     protected void readInternal(ObjectDataInput in) throws IOException {
         super.readInternal(in);
-        final int size = in.readInt();
+        final int size = readVarInt(in);
         entries = new ArrayList<Map.Entry<Data, Data>>(size);
         recordInfos = new ArrayList<RecordInfo>(size);
         for (int i = 0; i < size; i++) {
-            Data key = in.readData();
-            Data value = in.readData();
+            Data key = readCompactData(in);
+            Data value = readCompactData(in);
             Map.Entry entry = new AbstractMap.SimpleImmutableEntry<Data, Data>(key, value);
             entries.add(entry);
             final RecordInfo recordInfo = new RecordInfo();
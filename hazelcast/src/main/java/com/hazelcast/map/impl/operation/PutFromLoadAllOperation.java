@@ -34,6 +34,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import static com.hazelcast.nio.IOUtil.readDataList;
+import static com.hazelcast.nio.IOUtil.writeDataCollection;
 import static com.hazelcast.util.CollectionUtil.isEmpty;
 import static com.hazelcast.util.Preconditions.checkFalse;
 
@@ -148,27 +150,12 @@ public class PutFromLoadAllOperation extends MapOperation implements PartitionAw
     @Override
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         super.writeInternal(out);
-        final List<Data> keyValueSequence = this.keyValueSequence;
-        final int size = keyValueSequence.size();
-        out.writeInt(size);
-        for (Data data : keyValueSequence) {
-            out.writeData(data);
-        }
+        writeDataCollection(out, keyValueSequence);
     }
 
     @Override
     protected void readInternal(ObjectDataInput in) throws IOException {
         super.readInternal(in);
-        final int size = in.readInt();
-        if (size < 1) {
-            keyValueSequence = Collections.emptyList();
-        } else {
-            final List<Data> tmpKeyValueSequence = new ArrayList<Data>(size);
-            for (int i = 0; i < size; i++) {
-                final Data data = in.readData();
-                tmpKeyValueSequence.add(data);
-            }
-            keyValueSequence = tmpKeyValueSequence;
-        }
+        keyValueSequence = readDataList(in);
     }
 }
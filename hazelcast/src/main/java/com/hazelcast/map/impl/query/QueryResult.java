@@ -31,6 +31,11 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
 
+import static com.hazelcast.nio.IOUtil.readCompactData;
+import static com.hazelcast.nio.IOUtil.readVarInt;
+import static com.hazelcast.nio.IOUtil.writeCompactData;
+import static com.hazelcast.nio.IOUtil.writeVarInt;
+
 /**
  * Contains the result of a query evaluation.
  *
@@ -149,10 +154,11 @@ public class QueryResult implements IdentifiedDataSerializable, Iterable<QueryRe
         out.writeByte(iterationType.getId());
 
         int resultSize = rows.size();
-        out.writeInt(resultSize);
+        writeVarInt(out, resultSize);
         if (resultSize > 0) {
             for (QueryResultRow row : rows) {
-                row.writeData(out);
+                writeCompactData(out, row.getKey());
+                writeCompactData(out, row.getValue());
             }
         }
     }
@@ -169,12 +175,10 @@ public class QueryResult implements IdentifiedDataSerializable, Iterable<QueryRe
 
         iterationType = IterationType.getById(in.readByte());
 
-        int resultSize = in.readInt();
+        int resultSize = readVarInt(in);
         if (resultSize > 0) {
             for (int i = 0; i < resultSize; i++) {
-                QueryResultRow row = new QueryResultRow();
-                row.readData(in);
-                rows.add(row);
+                rows.add(new QueryResultRow(readCompactData(in), readCompactData(in)));
             }
         }
     }
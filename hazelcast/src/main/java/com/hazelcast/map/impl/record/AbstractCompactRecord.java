@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.nio.serialization.Data;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import static com.hazelcast.map.impl.record.RecordStatistics.EMPTY_STATS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Base of the records that are used when statistics are disabled. Compared to {@link AbstractRecord}, which keeps six
+ * long fields, the metadata of a compact record takes 28 bytes instead of 48:
+ * <ul>
+ * <li>the creation time is kept as a long and is the epoch of the record; the last access and the last update times
+ * are kept as int deltas from it,</li>
+ * <li>the version, the hits and the ttl are kept as ints.</li>
+ * </ul>
+ * The sign bit of the int fields is used as a flag: a non-negative delta or ttl is in milliseconds, a negative one is
+ * in seconds, rounded up. So the times and the ttl keep millisecond precision up to ~24 days after the creation of the
+ * record and second precision after that; rounding up makes an entry expire a bit late rather than early.
+ * The version wraps around after 2^32 updates and the hits saturate at {@link Integer#MAX_VALUE}.
+ *
+ * @param <V> the type of the value of the record
+ */
+abstract class AbstractCompactRecord<V> implements Record<V> {
+
+    /**
+     * Stored for a time of {@code 0}, which means the time was not set yet.
+     */
+    static final int UNSET = Integer.MIN_VALUE;
+
+    /**
+     * Stored for a ttl of {@link Long#MAX_VALUE}.
+     */
+    static final int ETERNAL = Integer.MIN_VALUE;
+
+    private static final long UNSIGNED_INT_MASK = 0xFFFFFFFFL;
+
+    protected Data key;
+    protected long creationTime;
+    protected int version;
+    protected int ttl;
+
+    protected volatile int lastAccessTime = UNSET;
+    protected volatile int lastUpdateTime = UNSET;
+
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "Record can be accessed by only its own partition thread.")
+    protected volatile int hits;
+
+    AbstractCompactRecord() {
+    }
+
+    @Override
+    public final long getVersion() {
+        return version & UNSIGNED_INT_MASK;
+    }
+
+    @Override
+    public final void setVersion(long version) {
+        this.version = (int) version;
+    }
+
+    @Override
+    public long getTtl() {
+        return decodeTtl(ttl);
+    }
+
+    @Override
+    public void setTtl(long ttl) {
+        this.ttl = encodeTtl(ttl);
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return decodeTime(lastAccessTime, creationTime);
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        this.lastAccessTime = encodeTime(lastAccessTime, creationTime);
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return decodeTime(lastUpdateTime, creationTime);
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdateTime) {
+        this.lastUpdateTime = encodeTime(lastUpdateTime, creationTime);
+    }
+
+    @Override
+    public long getCreationTime() {
+        return creationTime;
+    }
+
+    /**
+     * Sets the creation time and re-encodes the last access and the last update times relative to it.
+     */
+    @Override
+    public void setCreationTime(long creationTime) {
+        long lastAccess = getLastAccessTime();
+        long lastUpdate = getLastUpdateTime();
+        this.creationTime = creationTime;
+        this.lastAccessTime = encodeTime(lastAccess, creationTime);
+        this.lastUpdateTime = encodeTime(lastUpdate, creationTime);
+    }
+
+    @Override
+    public long getHits() {
+        return hits;
+    }
+
+    @Override
+    public void setHits(long hits) {
+        this.hits = (int) Math.min(hits, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public long getCost() {
+        final int objectReferenceInBytes = 4;
+        final int numberOfInts = 5;
+        long size = (Long.SIZE + numberOfInts * Integer.SIZE) / Byte.SIZE;
+        // add key size.
+        size += objectReferenceInBytes;
+        return size;
+    }
+
+    @Override
+    public void onUpdate(long now) {
+        onAccess(now);
+
+        version++;
+        lastUpdateTime = encodeTime(now, creationTime);
+    }
+
+    @Override
+    public Object getCachedValueUnsafe() {
+        return Record.NOT_CACHED;
+    }
+
+    @Override
+    public void onAccess(long now) {
+        if (hits < Integer.MAX_VALUE) {
+            hits++;
+        }
+        lastAccessTime = encodeTime(now, creationTime);
+    }
+
+    @Override
+    public void onStore() {
+
+    }
+
+    @Override
+    public RecordStatistics getStatistics() {
+        return EMPTY_STATS;
+    }
+
+    @Override
+    public void setStatistics(RecordStatistics stats) {
+
+    }
+
+    @Override
+    public boolean casCachedValue(Object expectedValue, Object newValue) {
+        return true;
+    }
+
+    @Override
+    public Data getKey() {
+        return key;
+    }
+
+    @Override
+    public void setKey(Data key) {
+        this.key = key;
+    }
+
+    @Override
+    public final long getSequence() {
+        return -1L;
+    }
+
+    @Override
+    public final void setSequence(long sequence) {
+    }
+
+    static int encodeTime(long time, long epoch) {
+        if (time == 0L) {
+            return UNSET;
+        }
+        // a time before the creation time is kept as the creation time.
+        long delta = Math.max(time - epoch, 0L);
+        if (delta <= Integer.MAX_VALUE) {
+            return (int) delta;
+        }
+        return -toSecondsRoundedUp(delta);
+    }
+
+    static long decodeTime(int encoded, long epoch) {
+        if (encoded == UNSET) {
+            return 0L;
+        }
+        if (encoded >= 0) {
+            return epoch + encoded;
+        }
+        return epoch + SECONDS.toMillis(-(long) encoded);
+    }
+
+    static int encodeTtl(long ttl) {
+        if (ttl == Long.MAX_VALUE) {
+            return ETERNAL;
+        }
+        // zero and negative ttl both mean the entry does not expire by ttl.
+        if (ttl <= 0L) {
+            return 0;
+        }
+        if (ttl <= Integer.MAX_VALUE) {
+            return (int) ttl;
+        }
+        int seconds = toSecondsRoundedUp(ttl);
+        return seconds == Integer.MAX_VALUE ? ETERNAL : -seconds;
+    }
+
+    static long decodeTtl(int encoded) {
+        if (encoded == ETERNAL) {
+            return Long.MAX_VALUE;
+        }
+        if (encoded >= 0) {
+            return encoded;
+        }
+        return SECONDS.toMillis(-(long) encoded);
+    }
+
+    private static int toSecondsRoundedUp(long millis) {
+        long seconds = MILLISECONDS.toSeconds(millis);
+        if (SECONDS.toMillis(seconds) < millis) {
+            seconds++;
+        }
+        return (int) Math.min(seconds, Integer.MAX_VALUE);
+    }
+}
@@ -156,6 +156,7 @@ public abstract class AbstractRecord<V> implements Record<V> {
         return key;
     }
 
+    @Override
     public void setKey(Data key) {
         this.key = key;
     }
@@ -44,9 +44,9 @@ public class DataRecordFactory implements RecordFactory<Data> {
         final Data data = serializationService.toData(value, partitionStrategy);
         switch (cacheDeserializedValues) {
             case NEVER:
-                return statisticsEnabled ? new DataRecordWithStats(data) : new DataRecord(data);
+                return statisticsEnabled ? new DataRecordWithStats(data) : new CompactDataRecord(data);
             default:
-                return statisticsEnabled ? new CachedDataRecordWithStats(data) : new CachedDataRecord(data);
+                return statisticsEnabled ? new CachedDataRecordWithStats(data) : new CachedCompactDataRecord(data);
         }
     }
 
@@ -35,7 +35,7 @@ public class ObjectRecordFactory implements RecordFactory<Object> {
         assert value != null : "value can not be null";
 
         Object objectValue = serializationService.toObject(value);
-        return statisticsEnabled ? new ObjectRecordWithStats(objectValue) : new ObjectRecord(objectValue);
+        return statisticsEnabled ? new ObjectRecordWithStats(objectValue) : new CompactObjectRecord(objectValue);
     }
 
     @Override
@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.Clock;
+
+import java.io.IOException;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.map.impl.record.RecordStatistics.EMPTY_STATS;
+
+/**
+ * A {@link Record} whose key, value and metadata are kept off-heap. This object is only a flyweight over the address
+ * of the record block; all reads and writes go to the block, so any number of flyweights can be created for the same
+ * record. The key and the value are copied to the heap when they are read.
+ * <p/>
+ * Layout of the record block:
+ * <pre>
+ *     0: address of the key block
+ *     8: address of the value block
+ *    16: address of the next record whose key has the same hash, used by the storage
+ *    24: version
+ *    32: ttl
+ *    40: creation time
+ *    48: last access time
+ *    56: last update time
+ *    64: hits
+ *    72: last stored time
+ *    80: expiration time
+ * </pre>
+ * The key and the value blocks hold the size of the serialized data as an int, followed by the bytes of the data.
+ */
+public final class OffHeapRecord implements Record<Data> {
+
+    /**
+     * Size of a record block.
+     */
+    public static final int SIZE = 88;
+
+    static final int KEY_OFFSET = 0;
+    static final int VALUE_OFFSET = 8;
+    static final int NEXT_OFFSET = 16;
+    static final int VERSION_OFFSET = 24;
+    static final int TTL_OFFSET = 32;
+    static final int CREATION_TIME_OFFSET = 40;
+    static final int LAST_ACCESS_TIME_OFFSET = 48;
+    static final int LAST_UPDATE_TIME_OFFSET = 56;
+    static final int HITS_OFFSET = 64;
+    static final int LAST_STORED_TIME_OFFSET = 72;
+    static final int EXPIRATION_TIME_OFFSET = 80;
+
+    private final OffHeapRecordFactory factory;
+    private final MemoryAccessor mem;
+    private final long address;
+
+    // the key never changes, so it is copied to the heap only once.
+    private Data key;
+
+    OffHeapRecord(OffHeapRecordFactory factory, long address) {
+        this.factory = factory;
+        this.mem = factory.getMemoryAccessor();
+        this.address = address;
+    }
+
+    public long getAddress() {
+        return address;
+    }
+
+    @Override
+    public Data getKey() {
+        if (key == null) {
+            long keyAddress = mem.getLong(address + KEY_OFFSET);
+            if (keyAddress != NULL_ADDRESS) {
+                key = factory.readData(keyAddress);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Writes the key to the record block, unless the record already has a key.
+     */
+    @Override
+    public void setKey(Data key) {
+        factory.setKey(address, key);
+    }
+
+    @Override
+    public Data getValue() {
+        return factory.readData(mem.getLong(address + VALUE_OFFSET));
+    }
+
+    @Override
+    public void setValue(Data value) {
+        long oldValueAddress = mem.getLong(address + VALUE_OFFSET);
+        mem.putLong(address + VALUE_OFFSET, factory.writeData(value));
+        factory.freeData(oldValueAddress);
+    }
+
+    @Override
+    public RecordStatistics getStatistics() {
+        return factory.isStatisticsEnabled() ? new Statistics() : EMPTY_STATS;
+    }
+
+    @Override
+    public void setStatistics(RecordStatistics stats) {
+        if (!factory.isStatisticsEnabled() || stats == null) {
+            return;
+        }
+        mem.putLong(address + LAST_STORED_TIME_OFFSET, stats.getLastStoredTime());
+        mem.putLong(address + EXPIRATION_TIME_OFFSET, stats.getExpirationTime());
+    }
+
+    @Override
+    public void onAccess(long now) {
+        setHits(getHits() + 1);
+        setLastAccessTime(now);
+    }
+
+    @Override
+    public void onUpdate(long now) {
+        onAccess(now);
+
+        setVersion(getVersion() + 1);
+        setLastUpdateTime(now);
+    }
+
+    @Override
+    public void onStore() {
+        if (factory.isStatisticsEnabled()) {
+            mem.putLong(address + LAST_STORED_TIME_OFFSET, Clock.currentTimeMillis());
+        }
+    }
+
+    /**
+     * @return the off-heap size of the record block, the key block and the value block.
+     */
+    @Override
+    public long getCost() {
+        return SIZE + factory.dataBlockSize(mem.getLong(address + KEY_OFFSET))
+                + factory.dataBlockSize(mem.getLong(address + VALUE_OFFSET));
+    }
+
+    @Override
+    public long getVersion() {
+        return mem.getLong(address + VERSION_OFFSET);
+    }
+
+    @Override
+    public void setVersion(long version) {
+        mem.putLong(address + VERSION_OFFSET, version);
+    }
+
+    @Override
+    public Object getCachedValueUnsafe() {
+        return Record.NOT_CACHED;
+    }
+
+    @Override
+    public boolean casCachedValue(Object expectedValue, Object newValue) {
+        return true;
+    }
+
+    @Override
+    public long getTtl() {
+        return mem.getLong(address + TTL_OFFSET);
+    }
+
+    @Override
+    public void setTtl(long ttl) {
+        mem.putLong(address + TTL_OFFSET, ttl);
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return mem.getLong(address + LAST_ACCESS_TIME_OFFSET);
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        mem.putLong(address + LAST_ACCESS_TIME_OFFSET, lastAccessTime);
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return mem.getLong(address + LAST_UPDATE_TIME_OFFSET);
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdatedTime) {
+        mem.putLong(address + LAST_UPDATE_TIME_OFFSET, lastUpdatedTime);
+    }
+
+    @Override
+    public long getCreationTime() {
+        return mem.getLong(address + CREATION_TIME_OFFSET);
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        mem.putLong(address + CREATION_TIME_OFFSET, creationTime);
+    }
+
+    @Override
+    public long getHits() {
+        return mem.getLong(address + HITS_OFFSET);
+    }
+
+    @Override
+    public void setHits(long hits) {
+        mem.putLong(address + HITS_OFFSET, hits);
+    }
+
+    @Override
+    public long getSequence() {
+        return -1L;
+    }
+
+    @Override
+    public void setSequence(long sequence) {
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof OffHeapRecord && ((OffHeapRecord) o).address == address;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (address ^ (address >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapRecord{address=" + address + '}';
+    }
+
+    /**
+     * The statistics of the record, read from and written to the record block.
+     */
+    private final class Statistics implements RecordStatistics {
+
+        @Override
+        public long getExpirationTime() {
+            return mem.getLong(address + EXPIRATION_TIME_OFFSET);
+        }
+
+        @Override
+        public void setExpirationTime(long expirationTime) {
+            mem.putLong(address + EXPIRATION_TIME_OFFSET, expirationTime);
+        }
+
+        @Override
+        public void store() {
+            onStore();
+        }
+
+        @Override
+        public long getLastStoredTime() {
+            return mem.getLong(address + LAST_STORED_TIME_OFFSET);
+        }
+
+        @Override
+        public void setLastStoredTime(long lastStoredTime) {
+            mem.putLong(address + LAST_STORED_TIME_OFFSET, lastStoredTime);
+        }
+
+        @Override
+        public long getMemoryCost() {
+            // the statistics are part of the record block.
+            return 0;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeLong(getLastStoredTime());
+            out.writeLong(getExpirationTime());
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            setLastStoredTime(in.readLong());
+            setExpirationTime(in.readLong());
+        }
+    }
+}
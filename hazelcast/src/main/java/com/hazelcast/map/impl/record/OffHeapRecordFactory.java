@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.PartitioningStrategy;
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.map.impl.record.OffHeapRecord.CREATION_TIME_OFFSET;
+import static com.hazelcast.map.impl.record.OffHeapRecord.EXPIRATION_TIME_OFFSET;
+import static com.hazelcast.map.impl.record.OffHeapRecord.HITS_OFFSET;
+import static com.hazelcast.map.impl.record.OffHeapRecord.KEY_OFFSET;
+import static com.hazelcast.map.impl.record.OffHeapRecord.LAST_ACCESS_TIME_OFFSET;
+import static com.hazelcast.map.impl.record.OffHeapRecord.LAST_STORED_TIME_OFFSET;
+import static com.hazelcast.map.impl.record.OffHeapRecord.LAST_UPDATE_TIME_OFFSET;
+import static com.hazelcast.map.impl.record.OffHeapRecord.NEXT_OFFSET;
+import static com.hazelcast.map.impl.record.OffHeapRecord.SIZE;
+import static com.hazelcast.map.impl.record.OffHeapRecord.TTL_OFFSET;
+import static com.hazelcast.map.impl.record.OffHeapRecord.VALUE_OFFSET;
+import static com.hazelcast.map.impl.record.OffHeapRecord.VERSION_OFFSET;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+
+/**
+ * Creates {@link OffHeapRecord}s for a map with {@link com.hazelcast.config.InMemoryFormat#BINARY} format whose records
+ * are kept off-heap, see {@link com.hazelcast.map.impl.recordstore.OffHeapStorage}.
+ * <p/>
+ * The blocks of removed records and replaced values are not freed immediately, because a flyweight of the record may
+ * still be used by the running operation or the block may be read by a thread that iterates over the records. They are
+ * freed when {@link #disposeDeferredBlocks()} is called.
+ */
+public class OffHeapRecordFactory implements RecordFactory<Data> {
+
+    private static final int INITIAL_DEFERRED_CAPACITY = 16;
+
+    private final SerializationService serializationService;
+    private final PartitioningStrategy partitionStrategy;
+    private final boolean statisticsEnabled;
+    private final MemoryManager memoryManager;
+    private final MemoryAllocator malloc;
+    private final MemoryAccessor mem;
+
+    // pairs of address and size of the blocks to free
+    private long[] deferredBlocks = new long[INITIAL_DEFERRED_CAPACITY];
+    private int deferredCount;
+
+    public OffHeapRecordFactory(MapConfig config, SerializationService serializationService,
+                                PartitioningStrategy partitionStrategy, MemoryManager memoryManager) {
+        this.serializationService = serializationService;
+        this.partitionStrategy = partitionStrategy;
+        this.statisticsEnabled = config.isStatisticsEnabled();
+        this.memoryManager = memoryManager;
+        this.malloc = memoryManager.getAllocator();
+        this.mem = memoryManager.getAccessor();
+    }
+
+    @Override
+    public Record<Data> newRecord(Object value) {
+        assert value != null : "value can not be null";
+
+        Data data = serializationService.toData(value, partitionStrategy);
+        long address = malloc.allocate(SIZE);
+        mem.putLong(address + VALUE_OFFSET, writeData(data));
+        return new OffHeapRecord(this, address);
+    }
+
+    @Override
+    public void setValue(Record<Data> record, Object value) {
+        assert value != null : "value can not be null";
+
+        final Data v;
+        if (value instanceof Data) {
+            v = (Data) value;
+        } else {
+            v = serializationService.toData(value, partitionStrategy);
+        }
+        record.setValue(v);
+    }
+
+    @Override
+    public boolean isEquals(Object value1, Object value2) {
+        if (value1 == null && value2 == null) {
+            return true;
+        }
+        if (value1 == null) {
+            return false;
+        }
+        if (value2 == null) {
+            return false;
+        }
+
+        return serializationService.toData(value1).equals(serializationService.toData(value2));
+    }
+
+    /**
+     * @return a flyweight over the record block at the address.
+     */
+    public OffHeapRecord getRecord(long address) {
+        return new OffHeapRecord(this, address);
+    }
+
+    /**
+     * Copies the record at the address to the heap. Changes of the copy are not written back to the record.
+     */
+    public Record<Data> toHeapRecord(long address) {
+        AbstractRecord<Data> record;
+        if (statisticsEnabled) {
+            DataRecordWithStats withStats = new DataRecordWithStats(readData(mem.getLong(address + VALUE_OFFSET)));
+            withStats.getStatistics().setLastStoredTime(mem.getLong(address + LAST_STORED_TIME_OFFSET));
+            withStats.getStatistics().setExpirationTime(mem.getLong(address + EXPIRATION_TIME_OFFSET));
+            record = withStats;
+        } else {
+            record = new DataRecord(readData(mem.getLong(address + VALUE_OFFSET)));
+        }
+        record.setKey(readData(mem.getLong(address + KEY_OFFSET)));
+        record.setVersion(mem.getLong(address + VERSION_OFFSET));
+        record.setTtl(mem.getLong(address + TTL_OFFSET));
+        record.setCreationTime(mem.getLong(address + CREATION_TIME_OFFSET));
+        record.setLastAccessTime(mem.getLong(address + LAST_ACCESS_TIME_OFFSET));
+        record.setLastUpdateTime(mem.getLong(address + LAST_UPDATE_TIME_OFFSET));
+        record.setHits(mem.getLong(address + HITS_OFFSET));
+        return record;
+    }
+
+    /**
+     * Writes the key to the record at the address, unless the record already has a key.
+     */
+    public void setKey(long address, Data key) {
+        if (mem.getLong(address + KEY_OFFSET) == NULL_ADDRESS) {
+            mem.putLong(address + KEY_OFFSET, writeData(key));
+        }
+    }
+
+    /**
+     * @return {@code true} if the record at the address has the given key.
+     */
+    public boolean hasKey(long address, Data key) {
+        long keyAddress = mem.getLong(address + KEY_OFFSET);
+        if (keyAddress == NULL_ADDRESS) {
+            return false;
+        }
+        byte[] bytes = key.toByteArray();
+        int size = bytes == null ? 0 : bytes.length;
+        if (mem.getInt(keyAddress) != size) {
+            return false;
+        }
+        long bytesAddress = keyAddress + INT_SIZE_IN_BYTES;
+        for (int i = 0; i < size; i++) {
+            if (mem.getByte(bytesAddress + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the address of the next record in the same chain of the storage.
+     */
+    public long getNext(long address) {
+        return mem.getLong(address + NEXT_OFFSET);
+    }
+
+    public void setNext(long address, long next) {
+        mem.putLong(address + NEXT_OFFSET, next);
+    }
+
+    /**
+     * Frees the blocks of the record at the address, see {@link #disposeDeferredBlocks()}.
+     */
+    public void freeRecord(long address) {
+        freeData(mem.getLong(address + KEY_OFFSET));
+        freeData(mem.getLong(address + VALUE_OFFSET));
+        defer(address, SIZE);
+    }
+
+    /**
+     * Frees the blocks of the removed records and replaced values.
+     */
+    public synchronized void disposeDeferredBlocks() {
+        for (int i = 0; i < deferredCount; i += 2) {
+            malloc.free(deferredBlocks[i], deferredBlocks[i + 1]);
+        }
+        deferredCount = 0;
+        if (deferredBlocks.length > INITIAL_DEFERRED_CAPACITY) {
+            deferredBlocks = new long[INITIAL_DEFERRED_CAPACITY];
+        }
+    }
+
+    public MemoryManager getMemoryManager() {
+        return memoryManager;
+    }
+
+    MemoryAccessor getMemoryAccessor() {
+        return mem;
+    }
+
+    boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    long writeData(Data data) {
+        byte[] bytes = data.toByteArray();
+        int size = bytes == null ? 0 : bytes.length;
+        long address = malloc.allocate(INT_SIZE_IN_BYTES + size);
+        mem.putInt(address, size);
+        if (size > 0) {
+            mem.copyFromByteArray(bytes, 0, address + INT_SIZE_IN_BYTES, size);
+        }
+        return address;
+    }
+
+    Data readData(long address) {
+        int size = mem.getInt(address);
+        if (size == 0) {
+            return new HeapData();
+        }
+        byte[] bytes = new byte[size];
+        mem.copyToByteArray(address + INT_SIZE_IN_BYTES, bytes, 0, size);
+        return new HeapData(bytes);
+    }
+
+    long dataBlockSize(long address) {
+        return address == NULL_ADDRESS ? 0 : INT_SIZE_IN_BYTES + mem.getInt(address);
+    }
+
+    void freeData(long address) {
+        if (address != NULL_ADDRESS) {
+            defer(address, dataBlockSize(address));
+        }
+    }
+
+    private synchronized void defer(long address, long size) {
+        if (deferredCount == deferredBlocks.length) {
+            long[] grown = new long[deferredBlocks.length * 2];
+            System.arraycopy(deferredBlocks, 0, grown, 0, deferredCount);
+            deferredBlocks = grown;
+        }
+        deferredBlocks[deferredCount++] = address;
+        deferredBlocks[deferredCount++] = size;
+    }
+}
@@ -30,6 +30,8 @@ public interface Record<V> {
 
     Data getKey();
 
+    void setKey(Data key);
+
     V getValue();
 
     void setValue(V value);
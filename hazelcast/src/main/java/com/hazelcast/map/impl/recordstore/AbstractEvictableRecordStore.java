@@ -35,11 +35,13 @@ import java.util.NoSuchElementException;
 
 import static com.hazelcast.core.EntryEventType.EVICTED;
 import static com.hazelcast.core.EntryEventType.EXPIRED;
+import static com.hazelcast.map.impl.ExpirationTimeSetter.calculateExpirationTime;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.calculateExpirationWithDelay;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.calculateMaxIdleMillis;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.getIdlenessStartTime;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.getLifeStartTime;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.setExpirationTime;
+import static com.hazelcast.map.impl.ExpirationTimeSetter.updateExpiryTime;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 
 
@@ -48,16 +50,26 @@ import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
  */
 abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
 
+    /**
+     * Width of the time buckets of the {@link ExpiryIndex}; matches the period of the expiration task.
+     */
+    static final long EXPIRY_BUCKET_MILLIS = 1000;
+
+    /**
+     * The deadline of a slice is checked after this many checked entries.
+     */
+    private static final int DEADLINE_CHECK_INTERVAL = 64;
+
     protected final long expiryDelayMillis;
     protected final Evictor evictor;
     protected final EventService eventService;
     protected final MapEventPublisher mapEventPublisher;
     protected final Address thisAddress;
     /**
-     * Iterates over a pre-set entry count/percentage in one round.
-     * Used in expiration logic for traversing entries. Initializes lazily.
+     * Keys of the entries that can expire, by the time they expire at.
+     * Used in expiration logic for reclaiming expired entries in slices.
      */
-    protected Iterator<Record> expirationIterator;
+    protected final ExpiryIndex expiryIndex = new ExpiryIndex(EXPIRY_BUCKET_MILLIS);
     protected volatile boolean hasEntryWithCustomTTL;
 
     protected AbstractEvictableRecordStore(MapContainer mapContainer, int partitionId) {
@@ -82,23 +94,31 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
     }
 
     @Override
-    public void evictExpiredEntries(int percentage, boolean backup) {
+    public int evictExpiredEntries(long deadlineNanos, boolean backup) {
+        if (!isRecordStoreExpirable()) {
+            expiryIndex.clear();
+            return 0;
+        }
         final long now = getNow();
-        final int size = size();
-        final int maxIterationCount = getMaxIterationCount(size, percentage);
-        final int maxRetry = 3;
-        int loop = 0;
         int evictedEntryCount = 0;
-        while (true) {
-            evictedEntryCount += evictExpiredEntriesInternal(maxIterationCount, now, backup);
-            if (evictedEntryCount >= maxIterationCount) {
-                break;
+        int checkedEntryCount = 0;
+        Data key;
+        while ((key = expiryIndex.pollDue(now)) != null) {
+            Record record = storage.get(key);
+            if (record != null) {
+                if (getOrNullIfExpired(record, now, backup) == null) {
+                    evictedEntryCount++;
+                } else {
+                    // not expired yet or locked, the expiration time of the record decides when to check it again.
+                    long expirationTime = getExpirationTime(record, false);
+                    expiryIndex.add(key, Math.max(expirationTime, now + EXPIRY_BUCKET_MILLIS));
+                }
             }
-            loop++;
-            if (loop > maxRetry) {
+            if (++checkedEntryCount % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() - deadlineNanos >= 0) {
                 break;
             }
         }
+        return evictedEntryCount;
     }
 
     @Override
@@ -106,45 +126,62 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         return isRecordStoreExpirable();
     }
 
+    @Override
+    public long getNextExpiryDueTime() {
+        return expiryIndex.getNextDueTime();
+    }
+
+    @Override
+    public int getExpiryIndexSize() {
+        return expiryIndex.size();
+    }
+
     /**
-     * Intended to put an upper bound to iterations. Used in evictions.
-     *
-     * @param size       of iterate-able.
-     * @param percentage percentage of size.
-     * @return 100 If calculated iteration count is less than 100, otherwise returns calculated iteration count.
+     * Adds the key to the expiry index if the record can expire. Should be called after a new record is stored.
      */
-    private int getMaxIterationCount(int size, int percentage) {
-        final int defaultMaxIterationCount = 100;
-        final float oneHundred = 100F;
-        float maxIterationCount = size * (percentage / oneHundred);
-        if (maxIterationCount <= defaultMaxIterationCount) {
-            return defaultMaxIterationCount;
-        }
-        return Math.round(maxIterationCount);
+    protected void indexExpiration(Data key, Record record) {
+        expiryIndex.add(key, getExpirationTime(record, false));
     }
 
-    private int evictExpiredEntriesInternal(int maxIterationCount, long now, boolean backup) {
-        int evictedCount = 0;
-        int checkedEntryCount = 0;
-        initExpirationIterator();
-        while (expirationIterator.hasNext()) {
-            if (checkedEntryCount >= maxIterationCount) {
-                break;
-            }
-            checkedEntryCount++;
-            Record record = expirationIterator.next();
-            record = getOrNullIfExpired(record, now, backup);
-            if (record == null) {
-                evictedCount++;
-            }
+    /**
+     * Moves the key in the expiry index after the expiration time of its stored record changed.
+     */
+    protected void reindexExpiration(Data key, Record record, long oldExpirationTime) {
+        expiryIndex.update(key, oldExpirationTime, getExpirationTime(record, false));
+    }
+
+    /**
+     * Removes the key of the record from the expiry index. Should be called before the record is removed.
+     */
+    protected void unindexExpiration(Record record) {
+        if (record != null) {
+            expiryIndex.remove(record.getKey(), getExpirationTime(record, false));
         }
-        return evictedCount;
     }
 
-    private void initExpirationIterator() {
-        if (expirationIterator == null || !expirationIterator.hasNext()) {
-            expirationIterator = storage.values().iterator();
+    @Override
+    protected void updateRecord(Data key, Record record, Object value, long now) {
+        long oldExpirationTime = getExpirationTime(record, false);
+        super.updateRecord(key, record, value, now);
+        reindexExpiration(key, record, oldExpirationTime);
+    }
+
+    /**
+     * Sets the ttl of a stored record and moves its key in the expiry index.
+     */
+    protected void updateRecordTtl(Data key, Record record, long ttl) {
+        long oldExpirationTime = getExpirationTime(record, false);
+        updateExpiryTime(record, ttl, mapContainer.getMapConfig());
+        reindexExpiration(key, record, oldExpirationTime);
+    }
+
+    protected long getExpirationTime(Record record, boolean backup) {
+        long maxIdleMillis = calculateMaxIdleMillis(mapContainer.getMapConfig());
+        long expirationTime = calculateExpirationTime(record, maxIdleMillis);
+        if (expirationTime == Long.MAX_VALUE) {
+            return expirationTime;
         }
+        return calculateExpirationWithDelay(expirationTime, expiryDelayMillis, backup);
     }
 
     @Override
@@ -252,10 +289,12 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
     }
 
     protected void accessRecord(Record record, long now) {
+        long oldExpirationTime = getExpirationTime(record, false);
         record.onAccess(now);
 
         long maxIdleMillis = calculateMaxIdleMillis(mapContainer.getMapConfig());
         setExpirationTime(record, maxIdleMillis);
+        reindexExpiration(record.getKey(), record, oldExpirationTime);
     }
 
     protected void mergeRecordExpiration(Record record, EntryView mergingEntry) {
@@ -27,6 +27,7 @@ import com.hazelcast.map.impl.SizeEstimator;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.mapstore.MapStoreManager;
+import com.hazelcast.map.impl.record.OffHeapRecordFactory;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.map.impl.record.Records;
@@ -101,6 +102,9 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
 
     @Override
     public Storage createStorage(RecordFactory recordFactory, InMemoryFormat memoryFormat) {
+        if (recordFactory instanceof OffHeapRecordFactory) {
+            return new OffHeapStorage((OffHeapRecordFactory) recordFactory, serializationService);
+        }
         return new StorageImpl(recordFactory, memoryFormat, serializationService);
     }
 
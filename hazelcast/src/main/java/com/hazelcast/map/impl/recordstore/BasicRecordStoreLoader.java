@@ -22,6 +22,7 @@ import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
+import com.hazelcast.map.impl.mapstore.MapLoadStats;
 import com.hazelcast.map.impl.operation.MapOperation;
 import com.hazelcast.map.impl.operation.MapOperationProvider;
 import com.hazelcast.nio.serialization.Data;
@@ -29,7 +30,6 @@ import com.hazelcast.spi.ExecutionService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.OperationAccessor;
-import com.hazelcast.spi.OperationResponseHandler;
 import com.hazelcast.spi.OperationService;
 import com.hazelcast.util.ExceptionUtil;
 
@@ -37,24 +37,21 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.hazelcast.spi.ExecutionService.MAP_LOADER_EXECUTOR;
 
 /**
  * Responsible for loading keys from configured map store.
+ * <p/>
+ * The keys are split into chunks of {@link GroupProperty#MAP_LOAD_CHUNK_SIZE} and every chunk is loaded by its own
+ * task, so the chunks are loaded concurrently by the threads of the {@code hz:map-load} executor.
  */
 class BasicRecordStoreLoader implements RecordStoreLoader {
 
-    private final AtomicBoolean loaded;
-
     private final ILogger logger;
 
     private final String name;
@@ -67,6 +64,8 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
 
     private final int partitionId;
 
+    private final MapLoadStats loadStats;
+
     BasicRecordStoreLoader(RecordStore recordStore) {
         this.recordStore = recordStore;
         final MapContainer mapContainer = recordStore.getMapContainer();
@@ -75,13 +74,22 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
         this.partitionId = recordStore.getPartitionId();
         this.mapDataStore = recordStore.getMapDataStore();
         this.logger = mapServiceContext.getNodeEngine().getLogger(getClass());
-        this.loaded = new AtomicBoolean(false);
+        this.loadStats = mapServiceContext.getMapLoadStats();
     }
 
     @Override
-    public Future<?> loadValues(List<Data> keys, boolean replaceExistingValues) {
-        final Callable task = new GivenKeysLoaderTask(keys, replaceExistingValues);
-        return executeTask(MAP_LOADER_EXECUTOR, task);
+    public Collection<Future> loadValues(List<Data> keys, boolean replaceExistingValues) {
+        final int loadBatchSize = getLoadBatchSize();
+        final List<Future> futures = new ArrayList<Future>(keys.size() / loadBatchSize + 1);
+        for (int from = 0; from < keys.size(); from += loadBatchSize) {
+            final int to = Math.min(from + loadBatchSize, keys.size());
+            // copied, because the chunks are filtered concurrently.
+            final List<Data> chunk = new ArrayList<Data>(keys.subList(from, to));
+            final Callable task = new GivenKeysLoaderTask(chunk, replaceExistingValues);
+            loadStats.onLoadAllSubmitted();
+            futures.add(executeTask(MAP_LOADER_EXECUTOR, task));
+        }
+        return futures;
     }
 
     private Future<?> executeTask(String executorName, Callable task) {
@@ -109,12 +117,21 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
 
         @Override
         public Object call() throws Exception {
-            loadValuesInternal(keys, replaceExistingValues);
+            final long startNanos = System.nanoTime();
+            int loadedCount = 0;
+            try {
+                loadedCount = loadValuesInternal(keys, replaceExistingValues);
+            } finally {
+                loadStats.onLoadAllCompleted(loadedCount, System.nanoTime() - startNanos);
+            }
             return null;
         }
     }
 
-    private void loadValuesInternal(List<Data> keys, boolean replaceExistingValues) throws Exception {
+    /**
+     * @return the number of loaded entries.
+     */
+    private int loadValuesInternal(List<Data> keys, boolean replaceExistingValues) throws Exception {
 
         if (!replaceExistingValues) {
             removeExistingKeys(keys);
@@ -122,46 +139,15 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
         removeUnloadableKeys(keys);
 
         if (keys.isEmpty()) {
-            loaded.set(true);
-            return;
-        }
-
-        List<Future> futures = doBatchLoad(keys);
-        for (Future future : futures) {
-            future.get();
+            return 0;
         }
-    }
 
-    private List<Future> doBatchLoad(List<Data> keys) {
-        final Queue<List<Data>> batchChunks = createBatchChunks(keys);
-        final int size = batchChunks.size();
-        final AtomicInteger finishedBatchCounter = new AtomicInteger(size);
-        List<Future> futures = new ArrayList<Future>();
-
-        while (!batchChunks.isEmpty()) {
-            final List<Data> chunk = batchChunks.poll();
-            final List<Data> keyValueSequence = loadAndGet(chunk);
-            if (keyValueSequence.isEmpty()) {
-                if (finishedBatchCounter.decrementAndGet() == 0) {
-                    loaded.set(true);
-                }
-                continue;
-            }
-            futures.add(sendOperation(keyValueSequence, finishedBatchCounter));
+        final List<Data> keyValueSequence = loadAndGet(keys);
+        if (keyValueSequence.isEmpty()) {
+            return 0;
         }
-
-        return futures;
-    }
-
-    private Queue<List<Data>> createBatchChunks(List<Data> keys) {
-        final Queue<List<Data>> chunks = new LinkedList<List<Data>>();
-        final int loadBatchSize = getLoadBatchSize();
-        int page = 0;
-        List<Data> tmpKeys;
-        while ((tmpKeys = getBatchChunk(keys, loadBatchSize, page++)) != null) {
-            chunks.add(tmpKeys);
-        }
-        return chunks;
+        sendOperation(keyValueSequence).get();
+        return keyValueSequence.size() / 2;
     }
 
     private List<Data> loadAndGet(List<Data> keys) {
@@ -191,51 +177,17 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
         return keyValueSequence;
     }
 
-    /**
-     * Used to partition the list to chunks.
-     *
-     * @param list        to be paged.
-     * @param batchSize   batch operation size.
-     * @param chunkNumber batch chunk number.
-     * @return sub-list of list if any or null.
-     */
-    private List<Data> getBatchChunk(List<Data> list, int batchSize, int chunkNumber) {
-        if (list == null || list.isEmpty()) {
-            return null;
-        }
-        final int start = chunkNumber * batchSize;
-        final int end = Math.min(start + batchSize, list.size());
-        if (start >= end) {
-            return null;
-        }
-        return list.subList(start, end);
-    }
-
-    private Future<?> sendOperation(List<Data> keyValueSequence, AtomicInteger finishedBatchCounter) {
+    private Future<?> sendOperation(List<Data> keyValueSequence) {
         OperationService operationService = mapServiceContext.getNodeEngine().getOperationService();
-        final Operation operation = createOperation(keyValueSequence, finishedBatchCounter);
-        //operationService.executeOperation(operation);
+        final Operation operation = createOperation(keyValueSequence);
         return operationService.invokeOnPartition(MapService.SERVICE_NAME, operation, partitionId);
     }
 
-    private Operation createOperation(List<Data> keyValueSequence, final AtomicInteger finishedBatchCounter) {
+    private Operation createOperation(List<Data> keyValueSequence) {
         final NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
         MapOperationProvider operationProvider = mapServiceContext.getMapOperationProvider(name);
         MapOperation operation = operationProvider.createPutFromLoadAllOperation(name, keyValueSequence);
         operation.setNodeEngine(nodeEngine);
-        operation.setOperationResponseHandler(new OperationResponseHandler() {
-            @Override
-            public void sendResponse(Operation op, Object obj) {
-                if (finishedBatchCounter.decrementAndGet() == 0) {
-                    loaded.set(true);
-                }
-            }
-
-            @Override
-            public boolean isLocal() {
-                return true;
-            }
-        });
         operation.setPartitionId(partitionId);
         OperationAccessor.setCallerAddress(operation, nodeEngine.getThisAddress());
         operation.setCallerUuid(nodeEngine.getLocalMember().getUuid());
@@ -104,8 +104,8 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
     @Override
     public void loadAllFromStore(List<Data> keys, boolean replaceExistingValues) {
         if (!keys.isEmpty()) {
-            Future f = recordStoreLoader.loadValues(keys, replaceExistingValues);
-            loadingFutures.add(f);
+            Collection<Future> futures = recordStoreLoader.loadValues(keys, replaceExistingValues);
+            loadingFutures.addAll(futures);
         }
 
         keyLoader.trackLoading(false, null);
@@ -192,6 +192,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
     public void putRecord(Data key, Record record) {
         markRecordStoreExpirable(record.getTtl());
         storage.put(key, record);
+        indexExpiration(key, record);
     }
 
     @Override
@@ -208,6 +209,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (record == null) {
             record = createRecord(value, ttl, now);
             storage.put(key, record);
+            indexExpiration(key, record);
         } else {
             updateRecord(key, record, value, now);
         }
@@ -261,8 +263,12 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
                 storage.clear();
             }
             storage.destroy();
+            expiryIndex.clear();
         } else {
             storage.clear();
+            expiryIndex.clear();
+            // no map operation of the partition is running, so none of them uses a removed record
+            storage.disposeDeferredBlocks();
         }
     }
 
@@ -350,6 +356,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (value != null) {
             record = createRecord(value, DEFAULT_TTL, getNow());
             storage.put(key, record);
+            indexExpiration(key, record);
             if (!backup) {
                 saveIndex(record, null);
             }
@@ -410,6 +417,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         Iterator<Record> iterator = recordsToRemove.iterator();
         while (iterator.hasNext()) {
             Record record = iterator.next();
+            unindexExpiration(record);
             storage.removeRecord(record);
             iterator.remove();
         }
@@ -444,6 +452,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
     public void reset() {
         mapDataStore.reset();
         storage.clear();
+        expiryIndex.clear();
     }
 
     @Override
@@ -454,6 +463,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             value = record.getValue();
             mapDataStore.flush(key, value, backup);
             removeIndex(record);
+            unindexExpiration(record);
             storage.removeRecord(record);
             if (!backup) {
                 mapServiceContext.interceptRemove(name, value);
@@ -480,6 +490,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (record == null) {
             return;
         }
+        unindexExpiration(record);
         storage.removeRecord(record);
         mapDataStore.removeBackup(key, now);
     }
@@ -523,6 +534,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             removeIndex(record);
             mapDataStore.remove(key, now);
             onStore(record);
+            unindexExpiration(record);
             storage.removeRecord(record);
             removed = true;
         }
@@ -685,9 +697,10 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (record == null) {
             record = createRecord(value, ttl, now);
             storage.put(key, record);
+            indexExpiration(key, record);
         } else {
             updateRecord(key, record, value, now);
-            updateExpiryTime(record, ttl, mapContainer.getMapConfig());
+            updateRecordTtl(key, record, ttl);
         }
 
         saveIndex(record, oldValue);
@@ -714,6 +727,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             record = createRecord(newValue, DEFAULT_TTL, now);
             mergeRecordExpiration(record, mergingEntry);
             storage.put(key, record);
+            indexExpiration(key, record);
         } else {
             oldValue = record.getValue();
             EntryView existingEntry = EntryViews.createLazyEntryView(record.getKey(), record.getValue(),
@@ -724,11 +738,14 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
                 removeIndex(record);
                 mapDataStore.remove(key, now);
                 onStore(record);
+                unindexExpiration(record);
                 storage.removeRecord(record);
                 return true;
             }
             if (newValue == mergingEntry.getValue()) {
+                long oldExpirationTime = getExpirationTime(record, false);
                 mergeRecordExpiration(record, mergingEntry);
+                reindexExpiration(key, record, oldExpirationTime);
             }
             // same with the existing entry so no need to map-store etc operations.
             if (recordFactory.isEquals(newValue, oldValue)) {
@@ -796,11 +813,12 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             value = mapServiceContext.interceptPut(name, null, value);
             record = createRecord(value, ttl, now);
             storage.put(key, record);
+            indexExpiration(key, record);
         } else {
             oldValue = record.getValue();
             value = mapServiceContext.interceptPut(name, oldValue, value);
             updateRecord(key, record, value, now);
-            updateExpiryTime(record, ttl, mapContainer.getMapConfig());
+            updateRecordTtl(key, record, ttl);
         }
         saveIndex(record, oldValue);
         mapDataStore.addTransient(key, now);
@@ -839,11 +857,12 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             value = mapServiceContext.interceptPut(name, null, value);
             record = createRecord(value, ttl, now);
             storage.put(key, record);
+            indexExpiration(key, record);
         } else {
             oldValue = record.getValue();
             value = mapServiceContext.interceptPut(name, oldValue, value);
             updateRecord(key, record, value, now);
-            updateExpiryTime(record, ttl, mapContainer.getMapConfig());
+            updateRecordTtl(key, record, ttl);
         }
         if (!backup) {
             saveIndex(record, oldValue);
@@ -884,6 +903,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             if (oldValue != null) {
                 record = createRecord(oldValue, DEFAULT_TTL, now);
                 storage.put(key, record);
+                indexExpiration(key, record);
             }
         } else {
             accessRecord(record, now);
@@ -896,6 +916,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             record = createRecord(value, ttl, now);
             storage.put(key, record);
             updateExpiryTime(record, ttl, mapContainer.getMapConfig());
+            indexExpiration(key, record);
         }
         saveIndex(record, oldValue);
         return oldValue;
@@ -915,6 +936,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             mapDataStore.remove(key, now);
             onStore(record);
         }
+        unindexExpiration(record);
         storage.removeRecord(record);
         return oldValue;
     }
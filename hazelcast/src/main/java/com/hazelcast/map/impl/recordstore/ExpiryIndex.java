@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.TreeMap;
+
+import static com.hazelcast.util.HashUtil.fastIntMix;
+
+/**
+ * Time bucketed index of the keys of a record store that can expire.
+ * <p/>
+ * A key is kept in the bucket of the time its record expires at. The record store moves the key when the expiration
+ * time of its record changes to another bucket and removes it when the record is removed, so the index only holds the
+ * keys of stored entries. When the bucket of a key is due, the record store checks the expiration time of the record
+ * itself and either evicts the entry or indexes the key again.
+ * <p/>
+ * The keys of a bucket are kept in an open addressing hash set, so a key costs an array slot and no extra object.
+ * The keys of a due bucket are polled one by one, so a partition can reclaim them in slices and continue where the
+ * previous slice stopped.
+ * <p/>
+ * Only the partition thread uses the index, except for {@link #getNextDueTime()} and {@link #size()}.
+ */
+final class ExpiryIndex {
+
+    private static final int INITIAL_BUCKET_CAPACITY = 8;
+
+    private final long bucketMillis;
+    private final TreeMap<Long, Bucket> buckets = new TreeMap<Long, Bucket>();
+
+    private volatile long nextDueTime = Long.MAX_VALUE;
+    private volatile int size;
+
+    ExpiryIndex(long bucketMillis) {
+        this.bucketMillis = bucketMillis;
+    }
+
+    /**
+     * Indexes the key with the time it expires at. Does nothing if the key is already in the bucket of that time.
+     */
+    void add(Data key, long expirationTime) {
+        if (expirationTime == Long.MAX_VALUE) {
+            return;
+        }
+        long id = bucketId(expirationTime);
+        Bucket bucket = buckets.get(id);
+        if (bucket == null) {
+            bucket = new Bucket(id);
+            buckets.put(id, bucket);
+            if (bucket.dueTime < nextDueTime) {
+                nextDueTime = bucket.dueTime;
+            }
+        }
+        if (bucket.add(key)) {
+            size++;
+        }
+    }
+
+    /**
+     * Removes the key indexed with the given expiration time.
+     *
+     * @return {@code true} if the key was in the bucket of that time.
+     */
+    boolean remove(Data key, long expirationTime) {
+        if (expirationTime == Long.MAX_VALUE) {
+            return false;
+        }
+        Bucket bucket = buckets.get(bucketId(expirationTime));
+        if (bucket == null || !bucket.remove(key)) {
+            return false;
+        }
+        size--;
+        if (bucket.size == 0) {
+            removeBucket(bucket);
+        }
+        return true;
+    }
+
+    /**
+     * Moves the key to the bucket of its new expiration time if it changed bucket.
+     */
+    void update(Data key, long oldExpirationTime, long expirationTime) {
+        if (oldExpirationTime == expirationTime
+                || (oldExpirationTime != Long.MAX_VALUE && expirationTime != Long.MAX_VALUE
+                && bucketId(oldExpirationTime) == bucketId(expirationTime))) {
+            return;
+        }
+        remove(key, oldExpirationTime);
+        add(key, expirationTime);
+    }
+
+    /**
+     * Removes and returns the next key of a bucket that is due.
+     *
+     * @return the key or {@code null} if no bucket is due.
+     */
+    Data pollDue(long now) {
+        if (now < nextDueTime) {
+            return null;
+        }
+        Bucket bucket = buckets.firstEntry().getValue();
+        Data key = bucket.poll();
+        size--;
+        if (bucket.size == 0) {
+            removeBucket(bucket);
+        }
+        return key;
+    }
+
+    void clear() {
+        buckets.clear();
+        nextDueTime = Long.MAX_VALUE;
+        size = 0;
+    }
+
+    /**
+     * @return the time at which the earliest bucket is due or {@link Long#MAX_VALUE} if the index is empty.
+     */
+    long getNextDueTime() {
+        return nextDueTime;
+    }
+
+    /**
+     * @return the number of indexed keys.
+     */
+    int size() {
+        return size;
+    }
+
+    private long bucketId(long expirationTime) {
+        return expirationTime / bucketMillis;
+    }
+
+    private void removeBucket(Bucket bucket) {
+        buckets.remove(bucket.id);
+        if (bucket.dueTime == nextDueTime) {
+            nextDueTime = buckets.isEmpty() ? Long.MAX_VALUE : buckets.firstEntry().getValue().dueTime;
+        }
+    }
+
+    /**
+     * Open addressing hash set of the keys of a time range, with linear probing and no tombstones.
+     */
+    private final class Bucket {
+
+        private final long id;
+        // a bucket is due once all of its time range passed.
+        private final long dueTime;
+        private Data[] keys = new Data[INITIAL_BUCKET_CAPACITY];
+        private int mask = INITIAL_BUCKET_CAPACITY - 1;
+        private int size;
+        // slot at which polling continues.
+        private int position;
+
+        private Bucket(long id) {
+            this.id = id;
+            this.dueTime = (id + 1) * bucketMillis;
+        }
+
+        private boolean add(Data key) {
+            int index = hash(key, mask);
+            Data current;
+            while ((current = keys[index]) != null) {
+                if (current.equals(key)) {
+                    return false;
+                }
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            // keeps the load factor at or below 1/2
+            if (++size > keys.length >> 1) {
+                rehash(keys.length << 1);
+            }
+            return true;
+        }
+
+        private boolean remove(Data key) {
+            int index = hash(key, mask);
+            Data current;
+            while ((current = keys[index]) != null) {
+                if (current.equals(key)) {
+                    removeAt(index);
+                    return true;
+                }
+                index = (index + 1) & mask;
+            }
+            return false;
+        }
+
+        private Data poll() {
+            while (keys[position] == null) {
+                position = (position + 1) & mask;
+            }
+            Data key = keys[position];
+            // compaction only moves keys to the freed slot, so a key moved there is polled next.
+            removeAt(position);
+            return key;
+        }
+
+        private void removeAt(int deleteIndex) {
+            keys[deleteIndex] = null;
+            size--;
+            int index = deleteIndex;
+            while (true) {
+                index = (index + 1) & mask;
+                Data key = keys[index];
+                if (key == null) {
+                    return;
+                }
+                int hash = hash(key, mask);
+                if ((index < hash && (hash <= deleteIndex || deleteIndex <= index))
+                        || (hash <= deleteIndex && deleteIndex <= index)) {
+                    keys[deleteIndex] = key;
+                    keys[index] = null;
+                    deleteIndex = index;
+                }
+            }
+        }
+
+        private void rehash(int capacity) {
+            Data[] oldKeys = keys;
+            keys = new Data[capacity];
+            mask = capacity - 1;
+            position = 0;
+            for (Data key : oldKeys) {
+                if (key != null) {
+                    int index = hash(key, mask);
+                    while (keys[index] != null) {
+                        index = (index + 1) & mask;
+                    }
+                    keys[index] = key;
+                }
+            }
+        }
+
+        private int hash(Data key, int mask) {
+            return fastIntMix(key.hashCode()) & mask;
+        }
+    }
+}
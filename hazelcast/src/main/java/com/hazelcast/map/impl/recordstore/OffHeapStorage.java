@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.util.hashslot.HashSlotArray8byteKey;
+import com.hazelcast.internal.util.hashslot.HashSlotCursor8byteKey;
+import com.hazelcast.internal.util.hashslot.impl.HashSlotArray8byteKeyImpl;
+import com.hazelcast.map.impl.SizeEstimator;
+import com.hazelcast.map.impl.record.OffHeapRecord;
+import com.hazelcast.map.impl.record.OffHeapRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.map.impl.SizeEstimators.createMapSizeEstimator;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+
+/**
+ * {@link Storage} that keeps the keys, values and metadata of the records off-heap, see {@link OffHeapRecord}.
+ * <p/>
+ * The records are indexed by an open-addressing {@link HashSlotArray8byteKey} which maps the 64-bit hash of the key to
+ * the address of the first record with that hash; records whose keys have the same hash are chained. So apart from
+ * the flyweights that are handed out, an entry costs no heap at all.
+ * <p/>
+ * Only the partition thread changes the storage, and only the partition thread uses the flyweights returned by
+ * {@link #get(Data)} and {@link #getRandomSamples(int)}. Other threads, e.g. queries and statistics, only iterate over
+ * the records; {@link #values()} therefore returns on-heap copies, taken under a read lock that keeps the blocks from
+ * being freed or the slot array from being resized while they are copied. Lookups take the read lock as well, since
+ * {@link #containsKey(Data)} is also called by the map loader threads. Blocks of removed records are freed by
+ * {@link #disposeDeferredBlocks()}, which is called before the next operation of the partition runs.
+ */
+public class OffHeapStorage implements Storage<Data, Record> {
+
+    private static final long UNASSIGNED = 0L;
+    private static final int SLOT_LENGTH = 2 * LONG_SIZE_IN_BYTES;
+
+    private final OffHeapRecordFactory recordFactory;
+    private final SerializationService serializationService;
+    private final MemoryAccessor mem;
+    private final HashSlotArray8byteKey slots;
+    private final Lock readLock;
+    private final Lock writeLock;
+    private final Random random = new Random();
+
+    private volatile int size;
+    private boolean allocated;
+
+    // not final for testing purposes.
+    private SizeEstimator sizeEstimator;
+
+    public OffHeapStorage(OffHeapRecordFactory recordFactory, SerializationService serializationService) {
+        this.recordFactory = recordFactory;
+        this.serializationService = serializationService;
+        this.mem = recordFactory.getMemoryManager().getAccessor();
+        this.slots = new HashSlotArray8byteKeyImpl(UNASSIGNED, recordFactory.getMemoryManager(), LONG_SIZE_IN_BYTES);
+        this.sizeEstimator = createMapSizeEstimator(InMemoryFormat.BINARY);
+        ReadWriteLock lock = new ReentrantReadWriteLock();
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
+    }
+
+    @Override
+    public void put(Data key, Record record) {
+        long address = ((OffHeapRecord) record).getAddress();
+        recordFactory.setKey(address, key);
+
+        writeLock.lock();
+        try {
+            if (!allocated) {
+                slots.gotoNew();
+                allocated = true;
+            }
+            long slotAddress = slots.ensure(hashOf(key));
+            if (slotAddress > 0) {
+                recordFactory.setNext(address, NULL_ADDRESS);
+                mem.putLong(slotAddress, address);
+                size++;
+            } else {
+                slotAddress = -slotAddress;
+                long previous = NULL_ADDRESS;
+                long current = mem.getLong(slotAddress);
+                while (current != NULL_ADDRESS && !recordFactory.hasKey(current, key)) {
+                    previous = current;
+                    current = recordFactory.getNext(current);
+                }
+                if (current == address) {
+                    return;
+                }
+                if (current == NULL_ADDRESS) {
+                    recordFactory.setNext(address, mem.getLong(slotAddress));
+                    mem.putLong(slotAddress, address);
+                    size++;
+                } else {
+                    recordFactory.setNext(address, recordFactory.getNext(current));
+                    link(slotAddress, previous, address);
+                    updateSizeEstimator(-recordFactory.getRecord(current).getCost());
+                    recordFactory.freeRecord(current);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        updateSizeEstimator(record.getCost());
+    }
+
+    @Override
+    public void updateRecordValue(Data key, Record record, Object value) {
+        Record offHeapRecord = record instanceof OffHeapRecord ? record : get(key);
+        if (offHeapRecord == null) {
+            return;
+        }
+        updateSizeEstimator(-offHeapRecord.getCost());
+
+        recordFactory.setValue(offHeapRecord, value);
+
+        updateSizeEstimator(offHeapRecord.getCost());
+    }
+
+    @Override
+    public Record get(Data key) {
+        long address = find(key);
+        return address == NULL_ADDRESS ? null : recordFactory.getRecord(address);
+    }
+
+    @Override
+    public void removeRecord(Record record) {
+        if (record == null || !allocated) {
+            return;
+        }
+        Data key = record.getKey();
+        if (key == null) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            remove(key);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return find(key) != NULL_ADDRESS;
+    }
+
+    /**
+     * Returns on-heap copies of the records; changes of the copies are not written back to the storage. A copy can be
+     * passed to {@link #removeRecord(Record)} and {@link #updateRecordValue(Data, Record, Object)}; these look up the
+     * record by its key.
+     */
+    @Override
+    public Collection<Record> values() {
+        readLock.lock();
+        try {
+            if (!allocated || size == 0) {
+                return Collections.emptyList();
+            }
+            List<Record> records = new ArrayList<Record>(size);
+            HashSlotCursor8byteKey cursor = slots.cursor();
+            while (cursor.advance()) {
+                long address = mem.getLong(cursor.valueAddress());
+                while (address != NULL_ADDRESS) {
+                    records.add(recordFactory.toHeapRecord(address));
+                    address = recordFactory.getNext(address);
+                }
+            }
+            return records;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        writeLock.lock();
+        try {
+            if (allocated) {
+                HashSlotCursor8byteKey cursor = slots.cursor();
+                while (cursor.advance()) {
+                    long address = mem.getLong(cursor.valueAddress());
+                    while (address != NULL_ADDRESS) {
+                        long next = recordFactory.getNext(address);
+                        recordFactory.freeRecord(address);
+                        address = next;
+                    }
+                }
+                slots.clear();
+            }
+            size = 0;
+        } finally {
+            writeLock.unlock();
+        }
+
+        sizeEstimator.reset();
+    }
+
+    @Override
+    public void destroy() {
+        clear();
+
+        writeLock.lock();
+        try {
+            recordFactory.disposeDeferredBlocks();
+            if (allocated) {
+                slots.dispose();
+                allocated = false;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public SizeEstimator getSizeEstimator() {
+        return sizeEstimator;
+    }
+
+    @Override
+    public void setSizeEstimator(SizeEstimator sizeEstimator) {
+        this.sizeEstimator = sizeEstimator;
+    }
+
+    @Override
+    public void disposeDeferredBlocks() {
+        writeLock.lock();
+        try {
+            recordFactory.disposeDeferredBlocks();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Samples the records starting from a random slot of the slot array.
+     */
+    @Override
+    public Iterable<LazyEntryViewFromRecord> getRandomSamples(int sampleCount) {
+        if (sampleCount < 0) {
+            throw new IllegalArgumentException("Sample count cannot be a negative value.");
+        }
+        if (sampleCount == 0 || size == 0) {
+            return Collections.emptyList();
+        }
+        List<LazyEntryViewFromRecord> samples = new ArrayList<LazyEntryViewFromRecord>(sampleCount);
+        long baseAddress = slots.address();
+        long capacity = slots.capacity();
+        long start = (long) (random.nextDouble() * capacity);
+        for (long i = 0; i < capacity && samples.size() < sampleCount; i++) {
+            long slotAddress = baseAddress + ((start + i) % capacity) * SLOT_LENGTH;
+            if (mem.getLong(slotAddress) == UNASSIGNED) {
+                continue;
+            }
+            long address = mem.getLong(slotAddress + LONG_SIZE_IN_BYTES);
+            while (address != NULL_ADDRESS && samples.size() < sampleCount) {
+                Record record = recordFactory.getRecord(address);
+                samples.add(new LazyEntryViewFromRecord<Record>(record, serializationService));
+                address = recordFactory.getNext(address);
+            }
+        }
+        return samples;
+    }
+
+    private long find(Data key) {
+        long hash = hashOf(key);
+        readLock.lock();
+        try {
+            if (!allocated) {
+                return NULL_ADDRESS;
+            }
+            long slotAddress = slots.get(hash);
+            if (slotAddress == NULL_ADDRESS) {
+                return NULL_ADDRESS;
+            }
+            long address = mem.getLong(slotAddress);
+            while (address != NULL_ADDRESS && !recordFactory.hasKey(address, key)) {
+                address = recordFactory.getNext(address);
+            }
+            return address;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private void remove(Data key) {
+        long hash = hashOf(key);
+        long slotAddress = slots.get(hash);
+        if (slotAddress == NULL_ADDRESS) {
+            return;
+        }
+        long previous = NULL_ADDRESS;
+        long current = mem.getLong(slotAddress);
+        while (current != NULL_ADDRESS && !recordFactory.hasKey(current, key)) {
+            previous = current;
+            current = recordFactory.getNext(current);
+        }
+        if (current == NULL_ADDRESS) {
+            return;
+        }
+        long next = recordFactory.getNext(current);
+        if (previous == NULL_ADDRESS && next == NULL_ADDRESS) {
+            slots.remove(hash);
+        } else {
+            link(slotAddress, previous, next);
+        }
+        size--;
+        updateSizeEstimator(-recordFactory.getRecord(current).getCost());
+        recordFactory.freeRecord(current);
+    }
+
+    private void link(long slotAddress, long previous, long address) {
+        if (previous == NULL_ADDRESS) {
+            mem.putLong(slotAddress, address);
+        } else {
+            recordFactory.setNext(previous, address);
+        }
+    }
+
+    private void updateSizeEstimator(long recordSize) {
+        sizeEstimator.add(recordSize);
+    }
+
+    // overridden for testing purposes.
+    long hashOf(Data key) {
+        long hash = key.hash64();
+        // the unassigned sentinel can't be used as a key, the chain tells the keys apart anyway.
+        return hash == UNASSIGNED ? 1L : hash;
+    }
+}
@@ -260,12 +260,14 @@ public interface RecordStore<R extends Record> {
     boolean isEmpty();
 
     /**
-     * Do expiration operations.
+     * Do expiration operations: evicts the expired entries whose expiry bucket is due, until there is no due bucket
+     * left or the deadline passed. The next call continues where this one stopped.
      *
-     * @param percentage of max expirables according to the record store size.
-     * @param backup     <code>true</code> if a backup partition, otherwise <code>false</code>.
+     * @param deadlineNanos {@link System#nanoTime()} after which no more entries are checked.
+     * @param backup        <code>true</code> if a backup partition, otherwise <code>false</code>.
+     * @return the number of evicted entries.
      */
-    void evictExpiredEntries(int percentage, boolean backup);
+    int evictExpiredEntries(long deadlineNanos, boolean backup);
 
     /**
      * @return <code>true</code> if record store has at least one candidate entry
@@ -273,6 +275,17 @@ public interface RecordStore<R extends Record> {
      */
     boolean isExpirable();
 
+    /**
+     * @return the time in millis at which the earliest expiry bucket of this record store is due,
+     * or {@link Long#MAX_VALUE} if no entry waits for expiration. Can be called from any thread.
+     */
+    long getNextExpiryDueTime();
+
+    /**
+     * @return the number of keys waiting for expiration. Can be called from any thread.
+     */
+    int getExpiryIndexSize();
+
     /**
      * Checks whether a record is expired or not.
      *
@@ -18,7 +18,6 @@ package com.hazelcast.map.impl.recordstore;
 
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.map.impl.SizeEstimator;
-import com.hazelcast.map.impl.record.AbstractRecord;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.nio.serialization.Data;
@@ -62,7 +61,7 @@ public class StorageImpl<R extends Record> implements Storage<Data, R> {
     @Override
     public void put(Data key, R record) {
 
-        ((AbstractRecord) record).setKey(key);
+        record.setKey(key);
 
         R previousRecord = records.put(key, record);
 
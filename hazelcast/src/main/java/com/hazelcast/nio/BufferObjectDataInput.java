@@ -62,6 +62,22 @@ public interface BufferObjectDataInput extends ObjectDataInput, Closeable {
 
     short readShort(int position, ByteOrder byteOrder) throws IOException;
 
+    /**
+     * Reads a name written by {@link BufferObjectDataOutput#writeName(String)}.
+     *
+     * @return the read name; can be null.
+     * @throws IOException if reading fails.
+     */
+    String readName() throws IOException;
+
+    /**
+     * Reads a long written by {@link BufferObjectDataOutput#writeCompactLong(long)}.
+     *
+     * @return the read value.
+     * @throws IOException if reading fails.
+     */
+    long readCompactLong() throws IOException;
+
     int position();
 
     void position(int newPos);
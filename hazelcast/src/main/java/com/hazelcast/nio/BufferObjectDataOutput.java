@@ -64,6 +64,25 @@ public interface BufferObjectDataOutput extends ObjectDataOutput, Closeable {
 
     void writeShort(int position, int v, ByteOrder byteOrder) throws IOException;
 
+    /**
+     * Writes a name, e.g. of a service or a distributed object. With serialization version 2 a name in the
+     * {@link com.hazelcast.internal.serialization.StringDictionary} is written as a reference to its index, and
+     * without it the name is written like {@link #writeUTF(String)} does.
+     *
+     * @param name the name to write; can be null.
+     * @throws IOException if writing fails.
+     */
+    void writeName(String name) throws IOException;
+
+    /**
+     * Writes a long that is mostly small or negative one. With serialization version 2 it is written as a zigzag var
+     * long of 1 to 10 bytes, without it like {@link #writeLong(long)} does.
+     *
+     * @param v the value to write.
+     * @throws IOException if writing fails.
+     */
+    void writeCompactLong(long v) throws IOException;
+
     int position();
 
     void position(int newPos);
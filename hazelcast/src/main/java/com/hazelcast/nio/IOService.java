@@ -82,6 +82,28 @@ public interface IOService {
 
     boolean isSocketBufferDirect();
 
+    /**
+     * @return true if the socket buffers are taken from a pool shared by all connections.
+     */
+    boolean isSocketBufferPooled();
+
+    /**
+     * @return the minimum payload size in bytes of a packet to be written using a gathering write, or a negative value if
+     * gathering writes are disabled.
+     */
+    int getGatheringWriteThreshold();
+
+    /**
+     * @return the minimum payload size in bytes of a packet to be compressed, or a negative value if compression is
+     * disabled.
+     */
+    int getCompressionThreshold();
+
+    /**
+     * @return the name of the codec used to compress packets.
+     */
+    String getCompressionCodec();
+
     /**
      * Size of receive buffers for connections opened by clients
      *
@@ -108,6 +130,11 @@ public interface IOService {
 
     int getOutputSelectorThreadCount();
 
+    /**
+     * @return the number of threads accepting incoming connections.
+     */
+    int getAcceptorThreadCount();
+
     long getConnectionMonitorInterval();
 
     int getConnectionMonitorMaxFaults();
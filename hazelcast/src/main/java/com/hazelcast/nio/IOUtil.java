@@ -18,6 +18,7 @@ package com.hazelcast.nio;
 
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.logging.Logger;
 import com.hazelcast.nio.serialization.Data;
 
@@ -30,6 +31,9 @@ import java.io.ObjectInputStream;
 import java.io.ObjectStreamClass;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.zip.DataFormatException;
 import java.util.zip.Deflater;
 import java.util.zip.Inflater;
@@ -97,6 +101,155 @@ public final class IOUtil {
         }
     }
 
+    /**
+     * Writes a non-negative int in 1 to 5 bytes: 7 bits per byte, least significant group first, with the high bit
+     * set on all but the last byte. Small values, like the lengths of most keys and values, take a single byte.
+     *
+     * @param out   the output to write to.
+     * @param value the value to write; must not be negative.
+     * @throws IOException if writing fails.
+     */
+    public static void writeVarInt(ObjectDataOutput out, int value) throws IOException {
+        assert value >= 0 : "value can't be negative: " + value;
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Reads an int written by {@link #writeVarInt(ObjectDataOutput, int)}.
+     *
+     * @param in the input to read from.
+     * @return the read value.
+     * @throws IOException if reading fails or the encoding is malformed.
+     */
+    public static int readVarInt(ObjectDataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed var int");
+    }
+
+    /**
+     * Writes a name with {@link BufferObjectDataOutput#writeName(String)}, or with {@link ObjectDataOutput#writeUTF(String)}
+     * if the output isn't a BufferObjectDataOutput.
+     *
+     * @param out  the output to write to.
+     * @param name the name to write; can be null.
+     * @throws IOException if writing fails.
+     */
+    public static void writeName(ObjectDataOutput out, String name) throws IOException {
+        if (out instanceof BufferObjectDataOutput) {
+            ((BufferObjectDataOutput) out).writeName(name);
+        } else {
+            out.writeUTF(name);
+        }
+    }
+
+    public static String readName(ObjectDataInput in) throws IOException {
+        if (in instanceof BufferObjectDataInput) {
+            return ((BufferObjectDataInput) in).readName();
+        }
+        return in.readUTF();
+    }
+
+    /**
+     * Writes a long with {@link BufferObjectDataOutput#writeCompactLong(long)}, or with
+     * {@link ObjectDataOutput#writeLong(long)} if the output isn't a BufferObjectDataOutput.
+     *
+     * @param out the output to write to.
+     * @param v   the value to write.
+     * @throws IOException if writing fails.
+     */
+    public static void writeCompactLong(ObjectDataOutput out, long v) throws IOException {
+        if (out instanceof BufferObjectDataOutput) {
+            ((BufferObjectDataOutput) out).writeCompactLong(v);
+        } else {
+            out.writeLong(v);
+        }
+    }
+
+    public static long readCompactLong(ObjectDataInput in) throws IOException {
+        if (in instanceof BufferObjectDataInput) {
+            return ((BufferObjectDataInput) in).readCompactLong();
+        }
+        return in.readLong();
+    }
+
+    /**
+     * Writes a Data without the type and fixed-size length of {@link ObjectDataOutput#writeData(Data)}: the length is
+     * written as a var int, followed by the bytes of the Data. It is meant for the elements of Data collections, which
+     * are written per element and read back with {@link #readCompactData(ObjectDataInput)}.
+     *
+     * @param out  the output to write to.
+     * @param data the Data to write; can be null.
+     * @throws IOException if writing fails.
+     */
+    public static void writeCompactData(ObjectDataOutput out, Data data) throws IOException {
+        if (data == null) {
+            out.writeByte(0);
+            return;
+        }
+        int size = data.totalSize();
+        // 0 is reserved for null
+        writeVarInt(out, size + 1);
+        if (size > 0) {
+            out.write(data.toByteArray(), 0, size);
+        }
+    }
+
+    public static Data readCompactData(ObjectDataInput in) throws IOException {
+        int size = readVarInt(in) - 1;
+        if (size < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[size];
+        in.readFully(bytes);
+        return new HeapData(bytes);
+    }
+
+    /**
+     * Writes a collection of Data as its size followed by the elements, each written with
+     * {@link #writeCompactData(ObjectDataOutput, Data)}. A null collection is written as an empty one.
+     *
+     * @param out        the output to write to.
+     * @param collection the collection to write; can be null.
+     * @throws IOException if writing fails.
+     */
+    public static void writeDataCollection(ObjectDataOutput out, Collection<Data> collection) throws IOException {
+        if (collection == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        writeVarInt(out, collection.size());
+        for (Data data : collection) {
+            writeCompactData(out, data);
+        }
+    }
+
+    /**
+     * Reads a collection written by {@link #writeDataCollection(ObjectDataOutput, Collection)}.
+     *
+     * @param in the input to read from.
+     * @return the read Data, in their written order.
+     * @throws IOException if reading fails.
+     */
+    public static List<Data> readDataList(ObjectDataInput in) throws IOException {
+        int size = readVarInt(in);
+        List<Data> list = new ArrayList<Data>(size);
+        for (int k = 0; k < size; k++) {
+            list.add(readCompactData(in));
+        }
+        return list;
+    }
+
     public static void writeObject(ObjectDataOutput out, Object object) throws IOException {
         boolean isBinary = object instanceof Data;
         out.writeBoolean(isBinary);
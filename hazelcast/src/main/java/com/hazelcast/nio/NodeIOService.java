@@ -190,6 +190,26 @@ public class NodeIOService implements IOService {
         return node.getGroupProperties().getBoolean(GroupProperty.SOCKET_BUFFER_DIRECT);
     }
 
+    @Override
+    public boolean isSocketBufferPooled() {
+        return node.getGroupProperties().getBoolean(GroupProperty.SOCKET_BUFFER_POOLED);
+    }
+
+    @Override
+    public int getGatheringWriteThreshold() {
+        return node.getGroupProperties().getInteger(GroupProperty.SOCKET_GATHERING_WRITE_THRESHOLD);
+    }
+
+    @Override
+    public int getCompressionThreshold() {
+        return node.getGroupProperties().getInteger(GroupProperty.SOCKET_COMPRESSION_THRESHOLD);
+    }
+
+    @Override
+    public String getCompressionCodec() {
+        return node.getGroupProperties().getString(GroupProperty.SOCKET_COMPRESSION_CODEC);
+    }
+
     @Override
     public int getSocketClientReceiveBufferSize() {
         int clientSendBuffer = node.getGroupProperties().getInteger(GroupProperty.SOCKET_CLIENT_RECEIVE_BUFFER_SIZE);
@@ -222,6 +242,11 @@ public class NodeIOService implements IOService {
         return node.getGroupProperties().getBoolean(GroupProperty.SOCKET_NO_DELAY);
     }
 
+    @Override
+    public int getAcceptorThreadCount() {
+        return node.groupProperties.getInteger(GroupProperty.IO_ACCEPTOR_THREAD_COUNT);
+    }
+
     @Override
     public int getInputSelectorThreadCount() {
         return node.groupProperties.getInteger(GroupProperty.IO_INPUT_THREAD_COUNT);
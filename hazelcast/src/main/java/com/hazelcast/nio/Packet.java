@@ -41,6 +41,11 @@ public final class Packet extends HeapData implements OutboundFrame {
     public static final int FLAG_EVENT = 1 << 2;
     public static final int FLAG_URGENT = 1 << 4;
     public static final int FLAG_BIND = 1 << 5;
+    public static final int FLAG_BATCH = 1 << 6;
+    /**
+     * The payload is compressed, see {@link com.hazelcast.nio.tcp.compression.FrameCompressor}.
+     */
+    public static final int FLAG_COMPRESSED = 1 << 7;
 
     private static final int HEADER_SIZE = BYTE_SIZE_IN_BYTES + SHORT_SIZE_IN_BYTES + INT_SIZE_IN_BYTES + INT_SIZE_IN_BYTES;
 
@@ -167,6 +172,26 @@ public final class Packet extends HeapData implements OutboundFrame {
         return writeValue(dst);
     }
 
+    /**
+     * Writes only the header of this Packet to the given buffer. The payload, which is {@link #toByteArray()}, is left to
+     * be written by the caller, e.g. using a gathering write. Unlike {@link #writeTo(ByteBuffer)}, this doesn't change
+     * the read/write state of this Packet.
+     *
+     * @param dst the buffer to write the header to.
+     * @return true if the header was written, false if there is not enough space left in the buffer.
+     */
+    public boolean writeHeaderTo(ByteBuffer dst) {
+        if (dst.remaining() < HEADER_SIZE) {
+            return false;
+        }
+
+        dst.put(VERSION);
+        dst.putShort(flags);
+        dst.putInt(partitionId);
+        dst.putInt(totalSize());
+        return true;
+    }
+
     public boolean readFrom(ByteBuffer src) {
         if (!headerComplete) {
             if (src.remaining() < HEADER_SIZE) {
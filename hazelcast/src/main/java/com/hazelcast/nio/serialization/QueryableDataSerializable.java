@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.serialization;
+
+/**
+ * QueryableDataSerializable is an extension to {@link com.hazelcast.nio.serialization.IdentifiedDataSerializable}
+ * that declares the layout of the leading fields written by {@link #writeData(com.hazelcast.nio.ObjectDataOutput)}.
+ *
+ * Queries use the layout to read a single attribute straight from the serialized form, instead of deserializing the
+ * whole object before the attribute is read. The fields of the layout need to be in the order they are written in, and
+ * their names need to match the attribute names used in the predicates. Only the fields up to the last field of the
+ * layout are read, so the remaining fields can be written in any form. Supported field types are the primitive types
+ * and {@link FieldType#UTF}.
+ *
+ * The layout is requested once per class from an instance created by the
+ * {@link com.hazelcast.nio.serialization.DataSerializableFactory}, so it should not depend on the state of the instance.
+ *
+ * @see com.hazelcast.nio.serialization.IdentifiedDataSerializable
+ * @see com.hazelcast.nio.serialization.ClassDefinitionBuilder
+ */
+public interface QueryableDataSerializable extends IdentifiedDataSerializable {
+
+    /**
+     * Returns the layout of the leading fields of this class, in the order they are written in.
+     * @return the field layout
+     */
+    ClassDefinition getFieldLayout();
+}
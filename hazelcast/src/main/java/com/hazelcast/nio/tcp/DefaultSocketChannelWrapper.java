@@ -21,12 +21,17 @@ import java.net.Socket;
 import java.net.SocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
 
-public class DefaultSocketChannelWrapper implements SocketChannelWrapper {
+/**
+ * A {@link SocketChannelWrapper} that passes all calls to the wrapped SocketChannel. It is a {@link GatheringByteChannel},
+ * so multiple buffers can be written to the socket in a single call.
+ */
+public class DefaultSocketChannelWrapper implements SocketChannelWrapper, GatheringByteChannel {
 
     protected final SocketChannel socketChannel;
 
@@ -64,6 +69,16 @@ public class DefaultSocketChannelWrapper implements SocketChannelWrapper {
         return socketChannel.write(src);
     }
 
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+        return socketChannel.write(srcs, offset, length);
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs) throws IOException {
+        return socketChannel.write(srcs);
+    }
+
     @Override
     public SelectableChannel configureBlocking(boolean block) throws IOException {
         return socketChannel.configureBlocking(block);
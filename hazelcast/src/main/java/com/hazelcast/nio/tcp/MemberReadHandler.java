@@ -18,6 +18,7 @@ package com.hazelcast.nio.tcp;
 
 import com.hazelcast.internal.util.counters.Counter;
 import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.tcp.compression.FrameCompressor;
 import com.hazelcast.spi.impl.packetdispatcher.PacketDispatcher;
 
 import java.nio.ByteBuffer;
@@ -36,12 +37,14 @@ public class MemberReadHandler implements ReadHandler {
     protected Packet packet;
 
     private final PacketDispatcher packetDispatcher;
+    private final FrameCompressor frameCompressor;
     private final Counter normalPacketsRead;
     private final Counter priorityPacketsRead;
 
     public MemberReadHandler(TcpIpConnection connection, PacketDispatcher packetDispatcher) {
         this.connection = connection;
         this.packetDispatcher = packetDispatcher;
+        this.frameCompressor = connection.getConnectionManager().getFrameCompressor();
         SocketReader socketReader = connection.getSocketReader();
         this.normalPacketsRead = socketReader.getNormalFramesReadCounter();
         this.priorityPacketsRead = socketReader.getPriorityFramesReadCounter();
@@ -49,13 +52,14 @@ public class MemberReadHandler implements ReadHandler {
 
     @Override
     public void onRead(ByteBuffer src) throws Exception {
-        while (src.hasRemaining()) {
+        // a connection is closed when its bind is rejected; the packets that follow the bind are dropped
+        while (src.hasRemaining() && connection.isAlive()) {
             if (packet == null) {
                 packet = new Packet();
             }
             boolean complete = packet.readFrom(src);
             if (complete) {
-                handlePacket(packet);
+                handlePacket(packet.isFlagSet(Packet.FLAG_COMPRESSED) ? frameCompressor.decompress(packet) : packet);
                 packet = null;
             } else {
                 break;
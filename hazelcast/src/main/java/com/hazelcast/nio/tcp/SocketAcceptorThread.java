@@ -29,24 +29,47 @@ import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
 import java.util.Iterator;
 
+/**
+ * Accepts the incoming connections of a {@link TcpIpConnectionManager}.
+ *
+ * When the server socket is ready, the acceptor accepts all pending connections, up to {@link #MAX_ACCEPT_BATCH_SIZE},
+ * instead of a single connection per select; so a burst of incoming connections doesn't need a select per connection.
+ *
+ * There can be multiple acceptors for the same server socket, each with its own selector. All acceptors are woken up
+ * when connections come in, and the connections are divided over the acceptors that call accept. The accepted sockets
+ * are configured by the acceptor itself if configureInline is set, else this is done on the async executor.
+ */
 public class SocketAcceptorThread extends Thread {
+    static final int MAX_ACCEPT_BATCH_SIZE = 64;
+
     private static final int SHUTDOWN_TIMEOUT_MILLIS = 1000 * 10;
 
     private final ServerSocketChannel serverSocketChannel;
     private final TcpIpConnectionManager connectionManager;
     private final ILogger logger;
     private final IOService ioService;
+    private final boolean configureInline;
 
     public SocketAcceptorThread(
             ThreadGroup threadGroup,
             String name,
             ServerSocketChannel serverSocketChannel,
             TcpIpConnectionManager connectionManager) {
+        this(threadGroup, name, serverSocketChannel, connectionManager, false);
+    }
+
+    public SocketAcceptorThread(
+            ThreadGroup threadGroup,
+            String name,
+            ServerSocketChannel serverSocketChannel,
+            TcpIpConnectionManager connectionManager,
+            boolean configureInline) {
         super(threadGroup, name);
         this.serverSocketChannel = serverSocketChannel;
         this.connectionManager = connectionManager;
         this.ioService = connectionManager.getIoService();
         this.logger = ioService.getLogger(this.getClass().getName());
+        this.configureInline = configureInline;
     }
 
     @Override
@@ -86,7 +109,7 @@ public class SocketAcceptorThread extends Thread {
                 it.remove();
                 // of course it is acceptable!
                 if (sk.isValid() && sk.isAcceptable()) {
-                    acceptSocket();
+                    acceptSockets();
                 }
             }
         }
@@ -108,9 +131,23 @@ public class SocketAcceptorThread extends Thread {
         }
     }
 
-    private void acceptSocket() {
+    private void acceptSockets() {
+        for (int k = 0; k < MAX_ACCEPT_BATCH_SIZE; k++) {
+            if (!acceptSocket()) {
+                // there are no more pending connections, or another acceptor took them
+                return;
+            }
+        }
+    }
+
+    /**
+     * Accepts a single connection.
+     *
+     * @return true if a connection was accepted, false if there was no pending connection or accepting failed.
+     */
+    private boolean acceptSocket() {
         if (!connectionManager.isLive()) {
-            return;
+            return false;
         }
 
         SocketChannelWrapper socketChannelWrapper = null;
@@ -137,20 +174,23 @@ public class SocketAcceptorThread extends Thread {
             }
         }
 
-        if (socketChannelWrapper != null) {
-            final SocketChannelWrapper socketChannel = socketChannelWrapper;
-            logger.info("Accepting socket connection from " + socketChannel.socket().getRemoteSocketAddress());
-            if (connectionManager.isSocketInterceptorEnabled()) {
-                configureAndAssignSocket(socketChannel);
-            } else {
-                ioService.executeAsync(new Runnable() {
-                    @Override
-                    public void run() {
-                        configureAndAssignSocket(socketChannel);
-                    }
-                });
-            }
+        if (socketChannelWrapper == null) {
+            return false;
+        }
+
+        final SocketChannelWrapper socketChannel = socketChannelWrapper;
+        logger.info("Accepting socket connection from " + socketChannel.socket().getRemoteSocketAddress());
+        if (configureInline || connectionManager.isSocketInterceptorEnabled()) {
+            configureAndAssignSocket(socketChannel);
+        } else {
+            ioService.executeAsync(new Runnable() {
+                @Override
+                public void run() {
+                    configureAndAssignSocket(socketChannel);
+                }
+            });
         }
+        return true;
     }
 
     private void configureAndAssignSocket(SocketChannelWrapper socketChannel) {
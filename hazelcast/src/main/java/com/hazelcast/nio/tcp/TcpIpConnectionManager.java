@@ -21,6 +21,8 @@ import com.hazelcast.instance.HazelcastThreadGroup;
 import com.hazelcast.internal.cluster.impl.BindMessage;
 import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.internal.util.counters.MwCounter;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.LoggingService;
@@ -31,6 +33,7 @@ import com.hazelcast.nio.ConnectionManager;
 import com.hazelcast.nio.IOService;
 import com.hazelcast.nio.MemberSocketInterceptor;
 import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.tcp.compression.FrameCompressor;
 import com.hazelcast.nio.tcp.nonblocking.NonBlockingIOThreadingModel;
 import com.hazelcast.nio.tcp.nonblocking.iobalancer.IOBalancer;
 import com.hazelcast.spi.impl.PacketHandler;
@@ -43,6 +46,7 @@ import java.io.IOException;
 import java.net.Socket;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
@@ -113,13 +117,15 @@ public class TcpIpConnectionManager implements ConnectionManager, PacketHandler
 
     private final SocketChannelWrapperFactory socketChannelWrapperFactory;
 
+    private final FrameCompressor frameCompressor;
+
     private final int outboundPortCount;
 
     // accessed only in synchronized block
     private final LinkedList<Integer> outboundPorts = new LinkedList<Integer>();
 
     // accessed only in synchronized block
-    private volatile SocketAcceptorThread acceptorThread;
+    private volatile SocketAcceptorThread[] acceptorThreads;
 
     @Probe
     private final MwCounter openedCount = newMwCounter();
@@ -151,8 +157,10 @@ public class TcpIpConnectionManager implements ConnectionManager, PacketHandler
         this.outboundPortCount = ports.size();
         this.outboundPorts.addAll(ports);
         this.socketChannelWrapperFactory = ioService.getSocketChannelWrapperFactory();
+        this.frameCompressor = new FrameCompressor(ioService.getCompressionThreshold(), ioService.getCompressionCodec());
 
         metricsRegistry.scanAndRegister(this, "tcp.connection");
+        metricsRegistry.scanAndRegister(frameCompressor, "tcp.compression");
     }
 
     public IOService getIoService() {
@@ -163,6 +171,10 @@ public class TcpIpConnectionManager implements ConnectionManager, PacketHandler
         return ioThreadingModel;
     }
 
+    public FrameCompressor getFrameCompressor() {
+        return frameCompressor;
+    }
+
     public void interceptSocket(Socket socket, boolean onAccept) throws IOException {
         if (!isSocketInterceptorEnabled()) {
             return;
@@ -231,8 +243,21 @@ public class TcpIpConnectionManager implements ConnectionManager, PacketHandler
     public void handle(Packet packet) throws Exception {
         assert packet.isFlagSet(Packet.FLAG_BIND);
 
-        BindMessage bind = ioService.getSerializationService().toObject(packet);
-        bind((TcpIpConnection) packet.getConn(), bind.getLocalAddress(), bind.getTargetAddress(), bind.shouldReply());
+        TcpIpConnection connection = (TcpIpConnection) packet.getConn();
+        // the serialization version precedes the bind message; the encoding of the message depends on it
+        InternalSerializationService serializationService = ioService.getSerializationService();
+        byte[] bytes = packet.toByteArray();
+        byte version = bytes.length > 0 ? bytes[0] : 0;
+        if (version != serializationService.getVersion()) {
+            logger.warning("Rejecting " + connection + ", its serialization version " + version
+                    + " is different from the serialization version " + serializationService.getVersion()
+                    + " of this member. Configure the same 'hazelcast.serialization.version' on all members.");
+            connection.close();
+            return;
+        }
+
+        BindMessage bind = serializationService.toObject(new HeapData(Arrays.copyOfRange(bytes, 1, bytes.length)));
+        bind(connection, bind.getLocalAddress(), bind.getTargetAddress(), bind.shouldReply());
     }
 
     /**
@@ -321,13 +346,26 @@ public class TcpIpConnectionManager implements ConnectionManager, PacketHandler
             logger.finest("Sending bind packet to " + remoteEndPoint);
         }
         BindMessage bind = new BindMessage(ioService.getThisAddress(), remoteEndPoint, replyBack);
-        byte[] bytes = ioService.getSerializationService().toBytes(bind);
-        Packet packet = new Packet(bytes);
-        packet.setFlag(Packet.FLAG_BIND);
+        Packet packet = new Packet(toBindPayload(bind));
+        // urgent, so the packets sent after the bind can't overtake it
+        packet.setFlag(Packet.FLAG_BIND).setFlag(Packet.FLAG_URGENT);
         connection.write(packet);
         //now you can send anything...
     }
 
+    /**
+     * Writes the serialization version in front of the bind message, so the other member can reject the connection
+     * before it reads anything that depends on the serialization version.
+     */
+    private byte[] toBindPayload(BindMessage bind) {
+        InternalSerializationService serializationService = ioService.getSerializationService();
+        byte[] message = serializationService.toBytes(bind);
+        byte[] payload = new byte[message.length + 1];
+        payload[0] = serializationService.getVersion();
+        System.arraycopy(message, 0, payload, 1, message.length);
+        return payload;
+    }
+
     SocketChannelWrapper wrapSocketChannel(SocketChannel socketChannel, boolean client) throws Exception {
         SocketChannelWrapper wrapper = socketChannelWrapperFactory.wrapSocketChannel(socketChannel, client);
         acceptedSockets.add(wrapper);
@@ -461,22 +499,34 @@ public class TcpIpConnectionManager implements ConnectionManager, PacketHandler
         logger.finest("Starting ConnectionManager and IO selectors.");
 
         ioThreadingModel.start();
-        startAcceptorThread();
+        startAcceptorThreads();
     }
 
-    private void startAcceptorThread() {
-        if (acceptorThread != null) {
-            logger.warning("SocketAcceptor thread is already live! Shutting down old acceptor...");
-            acceptorThread.shutdown();
-            acceptorThread = null;
+    private void startAcceptorThreads() {
+        if (acceptorThreads != null) {
+            logger.warning("SocketAcceptor threads are already live! Shutting down old acceptors...");
+            shutdownAcceptorThreads();
         }
 
-        acceptorThread = new SocketAcceptorThread(
-                ioService.getThreadGroup(),
-                ioService.getThreadPrefix() + "Acceptor",
-                serverSocketChannel,
-                this);
-        acceptorThread.start();
+        int count = Math.max(1, ioService.getAcceptorThreadCount());
+        SocketAcceptorThread[] threads = new SocketAcceptorThread[count];
+        for (int k = 0; k < count; k++) {
+            String name = ioService.getThreadPrefix() + (count == 1 ? "Acceptor" : "Acceptor-" + k);
+            threads[k] = new SocketAcceptorThread(ioService.getThreadGroup(), name, serverSocketChannel, this, count > 1);
+            threads[k].start();
+        }
+        acceptorThreads = threads;
+    }
+
+    private void shutdownAcceptorThreads() {
+        SocketAcceptorThread[] threads = acceptorThreads;
+        if (threads == null) {
+            return;
+        }
+        for (SocketAcceptorThread thread : threads) {
+            thread.shutdown();
+        }
+        acceptorThreads = null;
     }
 
     @Override
@@ -487,9 +537,7 @@ public class TcpIpConnectionManager implements ConnectionManager, PacketHandler
         live = false;
         logger.finest("Stopping ConnectionManager");
 
-        if (acceptorThread != null) {
-            acceptorThread.shutdown();
-        }
+        shutdownAcceptorThreads();
 
         for (SocketChannelWrapper socketChannel : acceptedSockets) {
             closeResource(socketChannel);
@@ -518,9 +566,7 @@ public class TcpIpConnectionManager implements ConnectionManager, PacketHandler
 
     @Override
     public synchronized void shutdown() {
-        if (acceptorThread != null) {
-            acceptorThread.shutdown();
-        }
+        shutdownAcceptorThreads();
         closeServerSocket();
         stop();
         connectionListeners.clear();
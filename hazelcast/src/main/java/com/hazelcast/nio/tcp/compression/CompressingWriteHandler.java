@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp.compression;
+
+import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.tcp.WriteHandler;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static com.hazelcast.internal.serialization.impl.HeapData.HEAP_DATA_OVERHEAD;
+import static com.hazelcast.memory.MemoryUnit.MEGABYTES;
+import static com.hazelcast.nio.Bits.writeIntB;
+import static com.hazelcast.nio.Packet.FLAG_COMPRESSED;
+import static com.hazelcast.nio.tcp.compression.FrameCompressor.HEADER_SIZE;
+
+/**
+ * A {@link WriteHandler} decorator that compresses the packets with a payload of at least the threshold of the
+ * {@link FrameCompressor}, before they are handed to the decorated WriteHandler.
+ *
+ * A packet can be offered multiple times if it doesn't fit in the destination buffer in 1 go, so the compressed packet
+ * is kept until it is completely written.
+ *
+ * The compression is done in a buffer that is reused for the next packets, so that only the exact sized payload of
+ * the compressed packet needs to be allocated. Very large packets get their own buffer, so that a connection doesn't
+ * keep a lot of memory around after sending one large packet.
+ */
+final class CompressingWriteHandler implements WriteHandler<Packet> {
+
+    private static final int MAX_RETAINED_BUFFER_SIZE = (int) MEGABYTES.toBytes(1);
+
+    private final WriteHandler<Packet> writeHandler;
+    private final FrameCompressor compressor;
+    private final FrameCodec codec;
+    private final int threshold;
+    private byte[] buffer = new byte[0];
+    private Packet current;
+    private Packet compressed;
+
+    CompressingWriteHandler(WriteHandler<Packet> writeHandler, FrameCompressor compressor) {
+        this.writeHandler = writeHandler;
+        this.compressor = compressor;
+        this.codec = compressor.getCodec();
+        this.threshold = compressor.getThreshold();
+    }
+
+    @Override
+    public boolean onWrite(Packet packet, ByteBuffer dst) throws Exception {
+        if (packet != current) {
+            current = packet;
+            compressed = compress(packet);
+        }
+
+        boolean complete = writeHandler.onWrite(compressed, dst);
+        if (complete) {
+            current = null;
+            compressed = null;
+        }
+        return complete;
+    }
+
+    private Packet compress(Packet packet) {
+        int length = packet.totalSize();
+        if (length < threshold || packet.isFlagSet(FLAG_COMPRESSED)) {
+            return packet;
+        }
+
+        long startNanos = System.nanoTime();
+        int maxLength = HEADER_SIZE + codec.maxCompressedLength(length);
+        byte[] dst = buffer.length >= maxLength ? buffer : new byte[maxLength];
+        if (dst.length <= MAX_RETAINED_BUFFER_SIZE) {
+            buffer = dst;
+        }
+
+        int compressedLength = HEADER_SIZE + codec.compress(packet.toByteArray(), 0, length, dst, HEADER_SIZE);
+        if (compressedLength >= length || compressedLength <= HEAP_DATA_OVERHEAD) {
+            compressor.onIncompressible(System.nanoTime() - startNanos);
+            return packet;
+        }
+
+        dst[0] = codec.getId();
+        writeIntB(dst, 1, length);
+        Packet result = new Packet(Arrays.copyOf(dst, compressedLength), packet.getPartitionId());
+        result.setAllFlags(packet.getFlags() | FLAG_COMPRESSED);
+        compressor.onCompressed(length, compressedLength, System.nanoTime() - startNanos);
+        return result;
+    }
+}
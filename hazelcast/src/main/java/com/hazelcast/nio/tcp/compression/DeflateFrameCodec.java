@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp.compression;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A {@link FrameCodec} that uses the {@link Deflater} and {@link Inflater} of the JDK.
+ *
+ * It compresses better than the {@link Lz4FrameCodec}, but it is a lot slower. The Deflater and Inflater are cached
+ * per thread, since their native state is expensive to create.
+ */
+final class DeflateFrameCodec implements FrameCodec {
+
+    static final byte ID = 2;
+
+    // see the deflateBound function of zlib; this includes the zlib header and trailer
+    private static final int BOUND_SHIFT_1 = 12;
+    private static final int BOUND_SHIFT_2 = 14;
+    private static final int BOUND_SHIFT_3 = 25;
+    private static final int BOUND_MARGIN = 19;
+    // the maximum compression ratio of deflate, see the technical details of zlib
+    private static final int MAX_EXPANSION = 1032;
+
+    private static final ThreadLocal<Deflater> DEFLATER = new ThreadLocal<Deflater>() {
+        @Override
+        protected Deflater initialValue() {
+            return new Deflater(Deflater.BEST_SPEED);
+        }
+    };
+
+    private static final ThreadLocal<Inflater> INFLATER = new ThreadLocal<Inflater>() {
+        @Override
+        protected Inflater initialValue() {
+            return new Inflater();
+        }
+    };
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public int maxCompressedLength(int length) {
+        return length + (length >>> BOUND_SHIFT_1) + (length >>> BOUND_SHIFT_2) + (length >>> BOUND_SHIFT_3) + BOUND_MARGIN;
+    }
+
+    @Override
+    public long maxDecompressedLength(int compressedLength) {
+        return (long) compressedLength * MAX_EXPANSION;
+    }
+
+    @Override
+    public int compress(byte[] src, int srcOffset, int srcLength, byte[] dst, int dstOffset) {
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setInput(src, srcOffset, srcLength);
+        deflater.finish();
+
+        int dstEnd = dstOffset + maxCompressedLength(srcLength);
+        int dstPos = dstOffset;
+        while (!deflater.finished()) {
+            int written = deflater.deflate(dst, dstPos, dstEnd - dstPos);
+            if (written == 0 && dstPos == dstEnd) {
+                throw new IllegalStateException("Compressed data exceeds the maximum compressed length");
+            }
+            dstPos += written;
+        }
+        return dstPos - dstOffset;
+    }
+
+    @Override
+    public void decompress(byte[] src, int srcOffset, int srcLength, byte[] dst, int dstOffset, int dstLength) {
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(src, srcOffset, srcLength);
+        try {
+            int read = inflater.inflate(dst, dstOffset, dstLength);
+            if (read != dstLength || !inflater.finished()) {
+                throw new IllegalArgumentException("Malformed deflate compressed frame");
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Malformed deflate compressed frame", e);
+        }
+    }
+}
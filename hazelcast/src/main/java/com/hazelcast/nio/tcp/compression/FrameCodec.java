@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp.compression;
+
+/**
+ * A codec that compresses and decompresses the payload of a frame.
+ *
+ * Every codec has a unique id, which is send with every compressed frame so that the receiving side knows how to
+ * decompress it. A codec is used concurrently by the IO threads, so it should be thread-safe.
+ */
+public interface FrameCodec {
+
+    /**
+     * Returns the id of this codec.
+     *
+     * @return the id.
+     */
+    byte getId();
+
+    /**
+     * Returns the maximum number of bytes the compressed form of the given number of bytes can take.
+     *
+     * @param length the number of bytes to compress.
+     * @return the maximum compressed length.
+     */
+    int maxCompressedLength(int length);
+
+    /**
+     * Returns the maximum number of bytes the given number of compressed bytes can decompress to. It bounds the length
+     * a compressed frame can claim, so that a malformed frame can't make the receiver allocate a huge array.
+     *
+     * @param compressedLength the number of compressed bytes.
+     * @return the maximum decompressed length.
+     */
+    long maxDecompressedLength(int compressedLength);
+
+    /**
+     * Compresses the bytes of src to dst. The dst array should have at least {@link #maxCompressedLength(int)} bytes
+     * available from dstOffset.
+     *
+     * @param src       the bytes to compress.
+     * @param srcOffset the offset of the first byte to compress.
+     * @param srcLength the number of bytes to compress.
+     * @param dst       the array to write the compressed bytes to.
+     * @param dstOffset the offset to write the first compressed byte to.
+     * @return the number of compressed bytes written.
+     */
+    int compress(byte[] src, int srcOffset, int srcLength, byte[] dst, int dstOffset);
+
+    /**
+     * Decompresses the bytes of src to dst.
+     *
+     * @param src       the compressed bytes.
+     * @param srcOffset the offset of the first compressed byte.
+     * @param srcLength the number of compressed bytes.
+     * @param dst       the array to write the decompressed bytes to.
+     * @param dstOffset the offset to write the first decompressed byte to.
+     * @param dstLength the number of decompressed bytes.
+     * @throws IllegalArgumentException if the compressed bytes are malformed, or don't decompress to exactly dstLength
+     *                                  bytes.
+     */
+    void decompress(byte[] src, int srcOffset, int srcLength, byte[] dst, int dstOffset, int dstLength);
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp.compression;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.tcp.WriteHandler;
+
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.nio.Bits.BYTE_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.readIntB;
+import static com.hazelcast.nio.Packet.FLAG_COMPRESSED;
+
+/**
+ * Compresses and decompresses the packets send between members.
+ *
+ * On the writing side the compression is a {@link WriteHandler} decorator, see {@link #decorate(WriteHandler)}; packets
+ * with a payload of at least the threshold are compressed with the configured {@link FrameCodec}. A compressed packet
+ * gets the {@link Packet#FLAG_COMPRESSED} flag and its payload is replaced by:
+ * <ol>
+ * <li>the id of the codec (1 byte)</li>
+ * <li>the length of the original payload (4 bytes)</li>
+ * <li>the compressed payload</li>
+ * </ol>
+ * Since every compressed packet tells how it was compressed, the reading side doesn't need to know the settings of the
+ * sender; the {@link com.hazelcast.nio.tcp.MemberReadHandler} decompresses with {@link #decompress(Packet)}. So there
+ * is nothing to negotiate when a connection is set up, and members with different settings can talk to each other.
+ *
+ * The probes show how much is saved and what it costs: the compression ratio and the time spent compressing and
+ * decompressing.
+ */
+public final class FrameCompressor {
+
+    static final int HEADER_SIZE = BYTE_SIZE_IN_BYTES + INT_SIZE_IN_BYTES;
+
+    private static final int LENGTH_OFFSET = BYTE_SIZE_IN_BYTES;
+
+    private static final FrameCodec LZ4 = new Lz4FrameCodec();
+    private static final FrameCodec DEFLATE = new DeflateFrameCodec();
+
+    @Probe(name = "compressedCount")
+    private final MwCounter compressedCount = newMwCounter();
+    @Probe(name = "incompressibleCount")
+    private final MwCounter incompressibleCount = newMwCounter();
+    @Probe(name = "decompressedCount")
+    private final MwCounter decompressedCount = newMwCounter();
+    @Probe(name = "uncompressedBytes")
+    private final MwCounter uncompressedBytes = newMwCounter();
+    @Probe(name = "compressedBytes")
+    private final MwCounter compressedBytes = newMwCounter();
+    @Probe(name = "compressTimeNanos")
+    private final MwCounter compressTimeNanos = newMwCounter();
+    @Probe(name = "decompressTimeNanos")
+    private final MwCounter decompressTimeNanos = newMwCounter();
+
+    private final int threshold;
+    private final FrameCodec codec;
+
+    /**
+     * Creates a FrameCompressor.
+     *
+     * @param threshold the minimum payload size of a packet to be compressed, or a negative value to disable compression.
+     * @param codecName the name of the codec to compress with, 'lz4' or 'deflate'.
+     * @throws IllegalArgumentException if the codec name is unknown.
+     */
+    public FrameCompressor(int threshold, String codecName) {
+        this.threshold = threshold;
+        this.codec = getCodec(codecName);
+    }
+
+    public boolean isEnabled() {
+        return threshold >= 0;
+    }
+
+    int getThreshold() {
+        return threshold;
+    }
+
+    FrameCodec getCodec() {
+        return codec;
+    }
+
+    @Probe(name = "compressionRatio")
+    double compressionRatio() {
+        long compressed = compressedBytes.get();
+        return compressed == 0 ? 0 : (double) uncompressedBytes.get() / compressed;
+    }
+
+    /**
+     * Decorates the WriteHandler of a member connection so that the packets are compressed before they are written. If
+     * compression is disabled, the WriteHandler is returned as is.
+     *
+     * @param writeHandler the WriteHandler to decorate.
+     * @return the decorated WriteHandler.
+     */
+    @SuppressWarnings("unchecked")
+    public WriteHandler decorate(WriteHandler writeHandler) {
+        if (!isEnabled()) {
+            return writeHandler;
+        }
+        return new CompressingWriteHandler(writeHandler, this);
+    }
+
+    /**
+     * Decompresses a packet with the {@link Packet#FLAG_COMPRESSED} set.
+     *
+     * @param packet the compressed packet.
+     * @return the decompressed packet, with the same flags except for the FLAG_COMPRESSED, and the same partition id.
+     * @throws IllegalArgumentException if the packet is malformed or compressed by an unknown codec.
+     */
+    public Packet decompress(Packet packet) {
+        long startNanos = System.nanoTime();
+        byte[] payload = packet.toByteArray();
+        if (payload == null || payload.length < HEADER_SIZE) {
+            throw new IllegalArgumentException("Malformed compressed packet: " + packet);
+        }
+
+        FrameCodec frameCodec = getCodec(payload[0]);
+        int length = readIntB(payload, LENGTH_OFFSET);
+        int compressedLength = payload.length - HEADER_SIZE;
+        // the length is checked before the array is allocated, a malformed packet could claim any length
+        if (length < 0 || length > frameCodec.maxDecompressedLength(compressedLength)) {
+            throw new IllegalArgumentException("Malformed compressed packet: " + packet);
+        }
+        byte[] decompressed = new byte[length];
+        frameCodec.decompress(payload, HEADER_SIZE, compressedLength, decompressed, 0, length);
+
+        Packet result = new Packet(decompressed, packet.getPartitionId());
+        result.setAllFlags(packet.getFlags() & ~FLAG_COMPRESSED);
+        decompressedCount.inc();
+        decompressTimeNanos.inc(System.nanoTime() - startNanos);
+        return result;
+    }
+
+    void onCompressed(int uncompressedLength, int compressedLength, long durationNanos) {
+        compressedCount.inc();
+        uncompressedBytes.inc(uncompressedLength);
+        compressedBytes.inc(compressedLength);
+        compressTimeNanos.inc(durationNanos);
+    }
+
+    void onIncompressible(long durationNanos) {
+        incompressibleCount.inc();
+        compressTimeNanos.inc(durationNanos);
+    }
+
+    static FrameCodec getCodec(String name) {
+        if ("lz4".equalsIgnoreCase(name)) {
+            return LZ4;
+        } else if ("deflate".equalsIgnoreCase(name)) {
+            return DEFLATE;
+        }
+        throw new IllegalArgumentException("Unknown compression codec: " + name);
+    }
+
+    private static FrameCodec getCodec(byte id) {
+        switch (id) {
+            case Lz4FrameCodec.ID:
+                return LZ4;
+            case DeflateFrameCodec.ID:
+                return DEFLATE;
+            default:
+                throw new IllegalArgumentException("Unknown compression codec id: " + id);
+        }
+    }
+}
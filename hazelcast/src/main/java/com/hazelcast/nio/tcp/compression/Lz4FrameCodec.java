@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp.compression;
+
+import static com.hazelcast.nio.Bits.readIntL;
+
+/**
+ * A {@link FrameCodec} that produces the LZ4 block format.
+ *
+ * The compressor is the fast single pass variant: it finds matches using a hash table of 4 byte sequences, and skips
+ * ahead faster the longer no match is found, so incompressible data is passed over quickly. It trades compression ratio
+ * for speed, which is what is needed for compressing frames on the IO threads.
+ *
+ * A compressed block is a sequence of literal runs, each followed by a match: a copy of earlier output given by an
+ * offset and a length. The block ends with a run of at least {@link #LAST_LITERALS} literals.
+ */
+final class Lz4FrameCodec implements FrameCodec {
+
+    static final byte ID = 1;
+
+    private static final int MIN_MATCH = 4;
+    private static final int LAST_LITERALS = 5;
+    private static final int MF_LIMIT = 12;
+    private static final int MIN_LENGTH = MF_LIMIT + 1;
+    private static final int MAX_DISTANCE = 0xFFFF;
+    private static final int HASH_LOG = 12;
+    private static final int HASH_MULTIPLIER = -1640531535;
+    private static final int SKIP_STRENGTH = 6;
+    private static final int ML_BITS = 4;
+    private static final int ML_MASK = (1 << ML_BITS) - 1;
+    private static final int RUN_MASK = ML_MASK;
+    private static final int LENGTH_EXTENSION = 0xFF;
+    private static final int BOUND_MARGIN = 16;
+    private static final int BYTE_MASK = 0xFF;
+    private static final int BITS_PER_BYTE = 8;
+
+    private static final ThreadLocal<int[]> HASH_TABLE = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[1 << HASH_LOG];
+        }
+    };
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public int maxCompressedLength(int length) {
+        return length + length / LENGTH_EXTENSION + BOUND_MARGIN;
+    }
+
+    @Override
+    public long maxDecompressedLength(int compressedLength) {
+        // a length extension byte adds at most 255 bytes, no other compressed byte produces more
+        return (long) compressedLength * LENGTH_EXTENSION;
+    }
+
+    @Override
+    public int compress(byte[] src, int srcOffset, int srcLength, byte[] dst, int dstOffset) {
+        int srcEnd = srcOffset + srcLength;
+        int anchor = srcOffset;
+        int dstPos = dstOffset;
+
+        if (srcLength >= MIN_LENGTH) {
+            int[] hashTable = HASH_TABLE.get();
+            for (int k = 0; k < hashTable.length; k++) {
+                hashTable[k] = -1;
+            }
+
+            int matchStartLimit = srcEnd - MF_LIMIT;
+            int matchEndLimit = srcEnd - LAST_LITERALS;
+            int pos = srcOffset;
+            while (pos < matchStartLimit) {
+                int sequence = readIntL(src, pos);
+                int hash = hash(sequence);
+                int ref = hashTable[hash];
+                hashTable[hash] = pos;
+                if (ref < 0 || pos - ref > MAX_DISTANCE || readIntL(src, ref) != sequence) {
+                    pos += 1 + ((pos - anchor) >>> SKIP_STRENGTH);
+                    continue;
+                }
+
+                // extend the match backwards into the pending literals, and then forwards
+                while (pos > anchor && ref > srcOffset && src[pos - 1] == src[ref - 1]) {
+                    pos--;
+                    ref--;
+                }
+                int matchLength = MIN_MATCH;
+                while (pos + matchLength < matchEndLimit && src[pos + matchLength] == src[ref + matchLength]) {
+                    matchLength++;
+                }
+
+                dstPos = writeSequence(src, anchor, pos - anchor, pos - ref, matchLength, dst, dstPos);
+                pos += matchLength;
+                anchor = pos;
+            }
+        }
+
+        return writeLastLiterals(src, anchor, srcEnd - anchor, dst, dstPos) - dstOffset;
+    }
+
+    @Override
+    public void decompress(byte[] src, int srcOffset, int srcLength, byte[] dst, int dstOffset, int dstLength) {
+        int srcPos = srcOffset;
+        int srcEnd = srcOffset + srcLength;
+        int dstPos = dstOffset;
+        int dstEnd = dstOffset + dstLength;
+
+        for (; ; ) {
+            checkMalformed(srcPos < srcEnd);
+            int token = src[srcPos++] & BYTE_MASK;
+
+            int literalLength = token >>> ML_BITS;
+            if (literalLength == RUN_MASK) {
+                int b;
+                do {
+                    checkMalformed(srcPos < srcEnd);
+                    b = src[srcPos++] & BYTE_MASK;
+                    // checked on every byte, so that the length can't overflow
+                    checkMalformed(b <= dstEnd - dstPos - literalLength);
+                    literalLength += b;
+                } while (b == LENGTH_EXTENSION);
+            }
+            checkMalformed(literalLength <= srcEnd - srcPos && literalLength <= dstEnd - dstPos);
+            System.arraycopy(src, srcPos, dst, dstPos, literalLength);
+            srcPos += literalLength;
+            dstPos += literalLength;
+
+            if (srcPos == srcEnd) {
+                // the last sequence has no match
+                break;
+            }
+
+            checkMalformed(srcEnd - srcPos >= 2);
+            int offset = (src[srcPos++] & BYTE_MASK) | ((src[srcPos++] & BYTE_MASK) << BITS_PER_BYTE);
+            int matchLength = token & ML_MASK;
+            if (matchLength == ML_MASK) {
+                int b;
+                do {
+                    checkMalformed(srcPos < srcEnd);
+                    b = src[srcPos++] & BYTE_MASK;
+                    checkMalformed(b <= dstEnd - dstPos - MIN_MATCH - matchLength);
+                    matchLength += b;
+                } while (b == LENGTH_EXTENSION);
+            }
+            matchLength += MIN_MATCH;
+
+            int ref = dstPos - offset;
+            checkMalformed(offset > 0 && ref >= dstOffset && matchLength <= dstEnd - dstPos);
+            // the match can overlap with the bytes it produces, so it is copied byte by byte
+            for (int k = 0; k < matchLength; k++) {
+                dst[dstPos + k] = dst[ref + k];
+            }
+            dstPos += matchLength;
+        }
+
+        checkMalformed(dstPos == dstEnd);
+    }
+
+    private static int writeSequence(byte[] src, int literalOffset, int literalLength, int offset, int matchLength,
+                                     byte[] dst, int dstOffset) {
+        int tokenPos = dstOffset;
+        int dstPos = dstOffset + 1;
+
+        int token;
+        if (literalLength >= RUN_MASK) {
+            token = RUN_MASK << ML_BITS;
+            dstPos = writeLength(literalLength - RUN_MASK, dst, dstPos);
+        } else {
+            token = literalLength << ML_BITS;
+        }
+        System.arraycopy(src, literalOffset, dst, dstPos, literalLength);
+        dstPos += literalLength;
+
+        dst[dstPos++] = (byte) offset;
+        dst[dstPos++] = (byte) (offset >>> BITS_PER_BYTE);
+
+        int length = matchLength - MIN_MATCH;
+        if (length >= ML_MASK) {
+            token |= ML_MASK;
+            dstPos = writeLength(length - ML_MASK, dst, dstPos);
+        } else {
+            token |= length;
+        }
+        dst[tokenPos] = (byte) token;
+        return dstPos;
+    }
+
+    private static int writeLastLiterals(byte[] src, int literalOffset, int literalLength, byte[] dst, int dstOffset) {
+        int dstPos = dstOffset;
+        if (literalLength >= RUN_MASK) {
+            dst[dstPos++] = (byte) (RUN_MASK << ML_BITS);
+            dstPos = writeLength(literalLength - RUN_MASK, dst, dstPos);
+        } else {
+            dst[dstPos++] = (byte) (literalLength << ML_BITS);
+        }
+        System.arraycopy(src, literalOffset, dst, dstPos, literalLength);
+        return dstPos + literalLength;
+    }
+
+    private static int writeLength(int length, byte[] dst, int dstOffset) {
+        int dstPos = dstOffset;
+        int remaining = length;
+        while (remaining >= LENGTH_EXTENSION) {
+            dst[dstPos++] = (byte) LENGTH_EXTENSION;
+            remaining -= LENGTH_EXTENSION;
+        }
+        dst[dstPos++] = (byte) remaining;
+        return dstPos;
+    }
+
+    private static int hash(int sequence) {
+        return (sequence * HASH_MULTIPLIER) >>> (Integer.SIZE - HASH_LOG);
+    }
+
+    private static void checkMalformed(boolean condition) {
+        if (!condition) {
+            throw new IllegalArgumentException("Malformed LZ4 compressed frame");
+        }
+    }
+}
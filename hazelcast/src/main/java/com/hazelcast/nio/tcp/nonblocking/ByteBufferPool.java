@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp.nonblocking;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.memory.MemoryUnit.MEGABYTES;
+
+/**
+ * A pool of direct ByteBuffers shared by the {@link NonBlockingSocketReader} and {@link NonBlockingSocketWriter}
+ * instances.
+ *
+ * Without a pool, every connection keeps its own receive and send buffer for its whole lifetime, even though most
+ * connections are idle most of the time. With a pool, a reader or writer only borrows a buffer while there is data in
+ * flight: a reader returns its buffer once all received bytes have been processed, and a writer returns its buffer
+ * once everything has been written to the socket. So the memory needed depends on the number of busy connections
+ * instead of the total number of connections.
+ *
+ * The buffers are grouped by their size, since the buffer sizes differ per type of connection. Buffers are allocated
+ * in slabs: a single direct allocation of about {@link #SLAB_SIZE} bytes is sliced up in buffers. Every thread has a
+ * small cache of buffers; if the cache is empty or full, buffers are taken from or returned to a shared queue. Since a
+ * reader or writer is only used by its IO thread, most buffers are taken from and returned to the cache of the same IO
+ * thread.
+ *
+ * The allocated memory is never released; the pool grows to the peak number of buffers in use.
+ */
+public final class ByteBufferPool {
+
+    static final int THREAD_CACHE_SIZE = 16;
+    static final int SLAB_SIZE = (int) MEGABYTES.toBytes(1);
+
+    @Probe(name = "allocatedBytes")
+    private final MwCounter allocatedBytes = newMwCounter();
+    @Probe(name = "borrowedBytes")
+    private final MwCounter borrowedBytes = newMwCounter();
+    @Probe(name = "borrowedCount")
+    private final MwCounter borrowedCount = newMwCounter();
+    @Probe(name = "slabCount")
+    private final MwCounter slabCount = newMwCounter();
+
+    private final ConcurrentMap<Integer, SizeClass> sizeClasses = new ConcurrentHashMap<Integer, SizeClass>();
+
+    /**
+     * Takes a cleared buffer with the given capacity from the pool.
+     *
+     * @param size the capacity of the buffer.
+     * @return the buffer.
+     */
+    public ByteBuffer take(int size) {
+        ByteBuffer buffer = getSizeClass(size).take();
+        borrowedBytes.inc(size);
+        borrowedCount.inc();
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer to the pool. The buffer must not be used after it has been returned.
+     *
+     * @param buffer the buffer taken from this pool.
+     */
+    public void release(ByteBuffer buffer) {
+        int size = buffer.capacity();
+        getSizeClass(size).release(buffer);
+        borrowedBytes.inc(-size);
+        borrowedCount.inc(-1);
+    }
+
+    long getBorrowedCount() {
+        return borrowedCount.get();
+    }
+
+    @Probe(name = "availableBytes")
+    long availableBytes() {
+        return allocatedBytes.get() - borrowedBytes.get();
+    }
+
+    private SizeClass getSizeClass(int size) {
+        SizeClass sizeClass = sizeClasses.get(size);
+        if (sizeClass == null) {
+            SizeClass newSizeClass = new SizeClass(size);
+            sizeClass = sizeClasses.putIfAbsent(size, newSizeClass);
+            if (sizeClass == null) {
+                sizeClass = newSizeClass;
+            }
+        }
+        return sizeClass;
+    }
+
+    private final class SizeClass {
+        private final int bufferSize;
+        private final int buffersPerSlab;
+        private final Queue<ByteBuffer> shared = new ConcurrentLinkedQueue<ByteBuffer>();
+        private final ThreadLocal<ArrayDeque<ByteBuffer>> cache = new ThreadLocal<ArrayDeque<ByteBuffer>>() {
+            @Override
+            protected ArrayDeque<ByteBuffer> initialValue() {
+                return new ArrayDeque<ByteBuffer>(THREAD_CACHE_SIZE);
+            }
+        };
+
+        SizeClass(int bufferSize) {
+            this.bufferSize = bufferSize;
+            this.buffersPerSlab = Math.max(1, SLAB_SIZE / bufferSize);
+        }
+
+        ByteBuffer take() {
+            ByteBuffer buffer = cache.get().pollFirst();
+            if (buffer == null) {
+                buffer = shared.poll();
+                if (buffer == null) {
+                    buffer = allocateSlab();
+                }
+            }
+            buffer.clear();
+            return buffer;
+        }
+
+        void release(ByteBuffer buffer) {
+            ArrayDeque<ByteBuffer> threadCache = cache.get();
+            if (threadCache.size() < THREAD_CACHE_SIZE) {
+                threadCache.addFirst(buffer);
+            } else {
+                shared.offer(buffer);
+            }
+        }
+
+        private ByteBuffer allocateSlab() {
+            ByteBuffer slab = ByteBuffer.allocateDirect(bufferSize * buffersPerSlab);
+            allocatedBytes.inc(slab.capacity());
+            slabCount.inc();
+
+            ByteBuffer first = null;
+            for (int k = 0; k < buffersPerSlab; k++) {
+                slab.limit((k + 1) * bufferSize);
+                slab.position(k * bufferSize);
+                ByteBuffer buffer = slab.slice();
+                if (first == null) {
+                    first = buffer;
+                } else {
+                    shared.offer(buffer);
+                }
+            }
+            return first;
+        }
+    }
+}
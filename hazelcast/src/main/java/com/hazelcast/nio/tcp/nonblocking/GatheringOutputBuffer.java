@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp.nonblocking;
+
+import com.hazelcast.nio.OutboundFrame;
+import com.hazelcast.nio.Packet;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+
+/**
+ * Collects the content of the output buffer of a {@link NonBlockingSocketWriter} and the payloads of large packets in a
+ * list of buffers, so they can be written to the socket with a single gathering write.
+ *
+ * The header of a large packet is written to the output buffer, and its payload is added as a buffer wrapping the
+ * byte array of the packet, so it isn't copied into the output buffer. The output buffer is split up in segments around
+ * these payloads, which keeps the bytes in the order of the frames. Small frames are written to the output buffer as
+ * usual.
+ *
+ * The output buffer is passed to every call, since it can be taken from a {@link ByteBufferPool}. It must not be modified
+ * or replaced as long as there are {@link #isPending() pending} segments; it is cleared once all segments have been
+ * written.
+ *
+ * This class is not thread-safe; it is only used by the IO thread owning the NonBlockingSocketWriter.
+ */
+final class GatheringOutputBuffer {
+
+    // keeps the number of buffers passed to a single write well below the IOV_MAX of the operating system
+    static final int MAX_SEGMENTS = 64;
+
+    private final int threshold;
+    private final ByteBuffer[] segments = new ByteBuffer[MAX_SEGMENTS];
+    private int segmentCount;
+    private int segmentIndex;
+    private int segmentStart;
+
+    GatheringOutputBuffer(int threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Checks if there are segments waiting to be written.
+     *
+     * @return true if there are pending segments.
+     */
+    boolean isPending() {
+        return segmentIndex < segmentCount;
+    }
+
+    /**
+     * Checks if another large packet can be added: a packet needs 2 segments and 1 is kept for the output buffer
+     * content following it.
+     *
+     * @return true if a large packet can be added.
+     */
+    boolean hasRoom() {
+        return segmentCount + 2 < MAX_SEGMENTS;
+    }
+
+    /**
+     * Checks if the frame is a packet with a payload of at least the threshold. Such a packet should always be
+     * {@link #add(Packet) added}; it must not be written to the output buffer.
+     *
+     * @param frame the frame to check.
+     * @return true if the frame is a large packet.
+     */
+    boolean isLarge(OutboundFrame frame) {
+        if (!(frame instanceof Packet)) {
+            return false;
+        }
+        int payloadSize = ((Packet) frame).totalSize();
+        return payloadSize > 0 && payloadSize >= threshold;
+    }
+
+    /**
+     * Adds a large packet: its header is written to the output buffer and its payload is added as a segment.
+     *
+     * @param packet       the packet to add.
+     * @param outputBuffer the output buffer.
+     * @return true if the packet was added, false if there is no room for it; then it should be added after the pending
+     * segments have been written.
+     */
+    boolean add(Packet packet, ByteBuffer outputBuffer) {
+        if (!hasRoom() || !packet.writeHeaderTo(outputBuffer)) {
+            return false;
+        }
+
+        addOutputBufferSegment(outputBuffer);
+        segments[segmentCount++] = ByteBuffer.wrap(packet.toByteArray());
+        return true;
+    }
+
+    /**
+     * Adds the content of the output buffer that was written after the last large packet.
+     *
+     * @param outputBuffer the output buffer.
+     */
+    void seal(ByteBuffer outputBuffer) {
+        addOutputBufferSegment(outputBuffer);
+    }
+
+    private void addOutputBufferSegment(ByteBuffer outputBuffer) {
+        int position = outputBuffer.position();
+        if (position == segmentStart) {
+            return;
+        }
+
+        ByteBuffer segment = outputBuffer.duplicate();
+        segment.position(segmentStart);
+        segment.limit(position);
+        segments[segmentCount++] = segment;
+        segmentStart = position;
+    }
+
+    /**
+     * Writes the pending segments to the channel. Once all segments have been written, the output buffer is cleared.
+     *
+     * @param channel      the channel to write to.
+     * @param outputBuffer the output buffer.
+     * @return the number of bytes written.
+     * @throws IOException if the write failed.
+     */
+    long writeTo(GatheringByteChannel channel, ByteBuffer outputBuffer) throws IOException {
+        long written = channel.write(segments, segmentIndex, segmentCount - segmentIndex);
+
+        while (segmentIndex < segmentCount && !segments[segmentIndex].hasRemaining()) {
+            // release the reference to the payload as soon as possible
+            segments[segmentIndex++] = null;
+        }
+
+        if (segmentIndex == segmentCount) {
+            segmentIndex = 0;
+            segmentCount = 0;
+            segmentStart = 0;
+            outputBuffer.clear();
+        }
+        return written;
+    }
+}
@@ -19,6 +19,7 @@ package com.hazelcast.nio.tcp.nonblocking;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.metrics.ProbeLevel;
+import com.hazelcast.internal.util.affinity.ThreadAffinity;
 import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.impl.operationexecutor.OperationHostileThread;
@@ -67,6 +68,8 @@ public class NonBlockingIOThread extends Thread implements OperationHostileThrea
 
     private volatile long lastSelectTimeMs;
 
+    private ThreadAffinity threadAffinity = ThreadAffinity.NONE;
+
     public NonBlockingIOThread(ThreadGroup threadGroup,
                                String threadName,
                                ILogger logger,
@@ -107,6 +110,16 @@ public class NonBlockingIOThread extends Thread implements OperationHostileThrea
         }
     }
 
+    /**
+     * Sets the ThreadAffinity this NonBlockingIOThread pins itself with when it starts. Should be called before the
+     * thread is started.
+     *
+     * @param threadAffinity the ThreadAffinity.
+     */
+    public void setThreadAffinity(ThreadAffinity threadAffinity) {
+        this.threadAffinity = threadAffinity;
+    }
+
     /**
      * Gets the Selector
      *
@@ -168,6 +181,7 @@ public class NonBlockingIOThread extends Thread implements OperationHostileThrea
         //
         // The idea about this approach is that the runSelectNowLoop and runSelectLoop are as clean as possible and don't contain
         // any logic that isn't happening on the happy-path.
+        threadAffinity.pinCurrentThread();
         try {
             for (; ; ) {
                 try {
@@ -18,6 +18,7 @@ package com.hazelcast.nio.tcp.nonblocking;
 
 import com.hazelcast.instance.HazelcastThreadGroup;
 import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.util.affinity.ThreadAffinity;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.LoggingService;
 import com.hazelcast.nio.IOService;
@@ -54,9 +55,11 @@ public class NonBlockingIOThreadingModel implements IOThreadingModel {
     private final MetricsRegistry metricsRegistry;
     private final LoggingService loggingService;
     private final HazelcastThreadGroup hazelcastThreadGroup;
+    private final ByteBufferPool bufferPool;
     // experimental settings; will be disabled by default.
     private boolean inputSelectNow = getBoolean("hazelcast.io.input.thread.selectNow");
     private boolean outputSelectNow = getBoolean("hazelcast.io.output.thread.selectNow");
+    private ThreadAffinity threadAffinity = ThreadAffinity.NONE;
     private volatile IOBalancer ioBalancer;
 
     public NonBlockingIOThreadingModel(
@@ -71,6 +74,7 @@ public class NonBlockingIOThreadingModel implements IOThreadingModel {
         this.logger = loggingService.getLogger(NonBlockingIOThreadingModel.class);
         this.inputThreads = new NonBlockingIOThread[ioService.getInputSelectorThreadCount()];
         this.outputThreads = new NonBlockingIOThread[ioService.getOutputSelectorThreadCount()];
+        this.bufferPool = ioService.isSocketBufferPooled() ? new ByteBufferPool() : null;
     }
 
     public void setInputSelectNow(boolean enabled) {
@@ -81,6 +85,10 @@ public class NonBlockingIOThreadingModel implements IOThreadingModel {
         this.outputSelectNow = enabled;
     }
 
+    public void setThreadAffinity(ThreadAffinity threadAffinity) {
+        this.threadAffinity = threadAffinity;
+    }
+
     @Override
     public boolean isBlocking() {
         return false;
@@ -96,6 +104,15 @@ public class NonBlockingIOThreadingModel implements IOThreadingModel {
         return outputThreads;
     }
 
+    /**
+     * Returns the pool the socket buffers are taken from.
+     *
+     * @return the pool, or null if the socket buffers aren't pooled.
+     */
+    public ByteBufferPool getBufferPool() {
+        return bufferPool;
+    }
+
     public IOBalancer getIOBalancer() {
         return ioBalancer;
     }
@@ -108,6 +125,10 @@ public class NonBlockingIOThreadingModel implements IOThreadingModel {
 
         logger.log(inputSelectNow ? INFO : FINE, "InputThreads selectNow enabled=" + inputSelectNow);
         logger.log(outputSelectNow ? INFO : FINE, "OutputThreads selectNow enabled=" + outputSelectNow);
+        if (bufferPool != null) {
+            logger.info("Socket buffers are taken from a shared pool");
+            metricsRegistry.scanAndRegister(bufferPool, "tcp.bufferPool");
+        }
 
         NonBlockingIOThreadOutOfMemoryHandler oomeHandler = new NonBlockingIOThreadOutOfMemoryHandler() {
             @Override
@@ -125,6 +146,7 @@ public class NonBlockingIOThreadingModel implements IOThreadingModel {
                     inputSelectNow
             );
             thread.id = i;
+            thread.setThreadAffinity(threadAffinity);
             inputThreads[i] = thread;
             metricsRegistry.scanAndRegister(thread, "tcp." + thread.getName());
             thread.start();
@@ -138,6 +160,7 @@ public class NonBlockingIOThreadingModel implements IOThreadingModel {
                     oomeHandler,
                     outputSelectNow);
             thread.id = i;
+            thread.setThreadAffinity(threadAffinity);
             outputThreads[i] = thread;
             metricsRegistry.scanAndRegister(thread, "tcp." + thread.getName());
             thread.start();
@@ -187,12 +210,12 @@ public class NonBlockingIOThreadingModel implements IOThreadingModel {
     @Override
     public SocketWriter newSocketWriter(TcpIpConnection connection) {
         int index = hashToIndex(nextOutputThreadIndex.getAndIncrement(), outputThreads.length);
-        return new NonBlockingSocketWriter(connection, outputThreads[index], metricsRegistry);
+        return new NonBlockingSocketWriter(connection, outputThreads[index], metricsRegistry, bufferPool);
     }
 
     @Override
     public SocketReader newSocketReader(TcpIpConnection connection) {
         int index = hashToIndex(nextInputThreadIndex.getAndIncrement(), inputThreads.length);
-        return new NonBlockingSocketReader(connection, inputThreads[index], metricsRegistry);
+        return new NonBlockingSocketReader(connection, inputThreads[index], metricsRegistry, bufferPool);
     }
 }
@@ -50,6 +50,9 @@ import static java.lang.System.currentTimeMillis;
  * When the {@link NonBlockingIOThread} receives a read event from the {@link java.nio.channels.Selector}, then the
  * {@link #handle()} is called to read out the data from the socket into a bytebuffer and hand it over to the
  * {@link ReadHandler} to get processed.
+ *
+ * If a {@link ByteBufferPool} is used, the input buffer is only borrowed while there is received data that hasn't been
+ * processed yet.
  */
 public final class NonBlockingSocketReader extends AbstractHandler implements SocketReader {
 
@@ -62,18 +65,22 @@ public final class NonBlockingSocketReader extends AbstractHandler implements So
     @Probe(name = "priorityFramesRead")
     private final SwCounter priorityFramesRead = newSwCounter();
     private final MetricsRegistry metricRegistry;
+    private final ByteBufferPool bufferPool;
 
     private ReadHandler readHandler;
     private ByteBuffer inputBuffer;
+    private int inputBufferSize;
     private volatile long lastReadTime;
 
     public NonBlockingSocketReader(
             TcpIpConnection connection,
             NonBlockingIOThread ioThread,
-            MetricsRegistry metricsRegistry) {
+            MetricsRegistry metricsRegistry,
+            ByteBufferPool bufferPool) {
         super(connection, ioThread, SelectionKey.OP_READ);
         this.ioThread = ioThread;
         this.metricRegistry = metricsRegistry;
+        this.bufferPool = bufferPool;
         metricRegistry.scanAndRegister(this, "tcp.connection[" + connection.getMetricsId() + "].in");
     }
 
@@ -151,11 +158,16 @@ public final class NonBlockingSocketReader extends AbstractHandler implements So
             }
         }
 
+        if (inputBuffer == null) {
+            inputBuffer = bufferPool.take(inputBufferSize);
+        }
+
         int readBytes = socketChannel.read(inputBuffer);
         if (readBytes <= 0) {
             if (readBytes == -1) {
                 throw new EOFException("Remote socket closed!");
             }
+            releaseInputBuffer();
             return;
         }
 
@@ -168,6 +180,17 @@ public final class NonBlockingSocketReader extends AbstractHandler implements So
         } else {
             inputBuffer.clear();
         }
+        releaseInputBuffer();
+    }
+
+    /**
+     * Returns the input buffer to the pool if all received data has been processed.
+     */
+    private void releaseInputBuffer() {
+        if (bufferPool != null && inputBuffer != null && inputBuffer.position() == 0) {
+            bufferPool.release(inputBuffer);
+            inputBuffer = null;
+        }
     }
 
     private void initReadHandler() throws IOException {
@@ -213,7 +236,10 @@ public final class NonBlockingSocketReader extends AbstractHandler implements So
     }
 
     private void configureBuffers(int size) {
-        inputBuffer = IOUtil.newByteBuffer(size, ioService.isSocketBufferDirect());
+        inputBufferSize = size;
+        inputBuffer = bufferPool == null
+                ? IOUtil.newByteBuffer(size, ioService.isSocketBufferDirect())
+                : bufferPool.take(size);
 
         try {
             connection.setReceiveBufferSize(size);
@@ -236,6 +262,10 @@ public final class NonBlockingSocketReader extends AbstractHandler implements So
                 } catch (IOException e) {
                     logger.finest("Error while closing inbound", e);
                 }
+                if (bufferPool != null && inputBuffer != null) {
+                    bufferPool.release(inputBuffer);
+                    inputBuffer = null;
+                }
             }
         });
     }
@@ -24,6 +24,7 @@ import com.hazelcast.nio.OutboundFrame;
 import com.hazelcast.nio.Packet;
 import com.hazelcast.nio.ascii.TextWriteHandler;
 import com.hazelcast.nio.tcp.ClientWriteHandler;
+import com.hazelcast.nio.tcp.MemberWriteHandler;
 import com.hazelcast.nio.tcp.SocketWriter;
 import com.hazelcast.nio.tcp.TcpIpConnection;
 import com.hazelcast.nio.tcp.WriteHandler;
@@ -31,6 +32,7 @@ import com.hazelcast.nio.tcp.WriteHandler;
 import java.io.IOException;
 import java.net.SocketException;
 import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.SelectionKey;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -51,6 +53,12 @@ import static java.lang.System.currentTimeMillis;
 
 /**
  * The writing side of the {@link TcpIpConnection}.
+ *
+ * If a gathering write threshold is configured, large packets on a member connection are written using a
+ * {@link GatheringOutputBuffer}, so their payloads are not copied into the output buffer.
+ *
+ * If a {@link ByteBufferPool} is used, the output buffer is only borrowed while there is data that hasn't been written
+ * to the socket yet.
  */
 public final class NonBlockingSocketWriter extends AbstractHandler implements Runnable, SocketWriter {
 
@@ -72,10 +80,15 @@ public final class NonBlockingSocketWriter extends AbstractHandler implements Ru
     private final SwCounter normalFramesWritten = newSwCounter();
     @Probe(name = "priorityFramesWritten")
     private final SwCounter priorityFramesWritten = newSwCounter();
+    @Probe(name = "gatheringWrites")
+    private final SwCounter gatheringWrites = newSwCounter();
     private final MetricsRegistry metricsRegistry;
+    private final ByteBufferPool bufferPool;
 
     private volatile OutboundFrame currentFrame;
     private WriteHandler writeHandler;
+    private int outputBufferSize;
+    private GatheringOutputBuffer gatheringOutputBuffer;
     private volatile long lastWriteTime;
 
     private boolean shutdown;
@@ -84,8 +97,10 @@ public final class NonBlockingSocketWriter extends AbstractHandler implements Ru
     // This prevents running into an NonBlockingIOThread that is migrating.
     private NonBlockingIOThread newOwner;
 
-    NonBlockingSocketWriter(TcpIpConnection connection, NonBlockingIOThread ioThread, MetricsRegistry metricsRegistry) {
+    NonBlockingSocketWriter(TcpIpConnection connection, NonBlockingIOThread ioThread, MetricsRegistry metricsRegistry,
+                            ByteBufferPool bufferPool) {
         super(connection, ioThread, SelectionKey.OP_WRITE);
+        this.bufferPool = bufferPool;
 
         // sensors
         this.metricsRegistry = metricsRegistry;
@@ -164,7 +179,9 @@ public final class NonBlockingSocketWriter extends AbstractHandler implements Ru
         if (writeHandler == null) {
             if (CLUSTER.equals(protocol)) {
                 configureBuffers(ioService.getSocketSendBufferSize() * KILO_BYTE);
-                writeHandler = ioService.createWriteHandler(connection);
+                writeHandler = connection.getConnectionManager().getFrameCompressor()
+                        .decorate(ioService.createWriteHandler(connection));
+                gatheringOutputBuffer = newGatheringOutputBuffer();
                 outputBuffer.put(stringToBytes(CLUSTER));
                 registerOp(SelectionKey.OP_WRITE);
             } else if (CLIENT_BINARY_NEW.equals(protocol)) {
@@ -177,8 +194,20 @@ public final class NonBlockingSocketWriter extends AbstractHandler implements Ru
         }
     }
 
+    private GatheringOutputBuffer newGatheringOutputBuffer() {
+        int threshold = ioService.getGatheringWriteThreshold();
+        if (threshold < 0 || !(writeHandler instanceof MemberWriteHandler)
+                || !(socketChannel instanceof GatheringByteChannel)) {
+            return null;
+        }
+        return new GatheringOutputBuffer(threshold);
+    }
+
     private void configureBuffers(int size) {
-        outputBuffer = IOUtil.newByteBuffer(size, ioService.isSocketBufferDirect());
+        outputBufferSize = size;
+        outputBuffer = bufferPool == null
+                ? IOUtil.newByteBuffer(size, ioService.isSocketBufferDirect())
+                : bufferPool.take(size);
         try {
             connection.setSendBufferSize(size);
         } catch (SocketException e) {
@@ -321,23 +350,39 @@ public final class NonBlockingSocketWriter extends AbstractHandler implements Ru
             createWriterHandler(CLUSTER);
         }
 
-        fillOutputBuffer();
+        if (outputBuffer == null) {
+            outputBuffer = bufferPool.take(outputBufferSize);
+        }
+
+        if (gatheringOutputBuffer != null) {
+            gatheringWrite();
+        } else {
+            fillOutputBuffer();
 
-        if (dirtyOutputBuffer()) {
-            writeOutputBufferToSocket();
+            if (dirtyOutputBuffer()) {
+                writeOutputBufferToSocket();
+            }
         }
 
+        releaseOutputBuffer();
+
         if (newOwner == null) {
             unschedule();
         } else {
-            startMigration();
+            NonBlockingIOThread owner = newOwner;
+            newOwner = null;
+            startMigration(owner);
         }
     }
 
-    private void startMigration() throws IOException {
-        NonBlockingIOThread newOwner = this.newOwner;
-        this.newOwner = null;
-        startMigration(newOwner);
+    private void gatheringWrite() throws Exception {
+        if (!gatheringOutputBuffer.isPending()) {
+            fillGatheringOutputBuffer();
+        }
+        if (gatheringOutputBuffer.isPending()) {
+            bytesWritten.inc(gatheringOutputBuffer.writeTo((GatheringByteChannel) socketChannel, outputBuffer));
+            gatheringWrites.inc();
+        }
     }
 
     /**
@@ -346,7 +391,19 @@ public final class NonBlockingSocketWriter extends AbstractHandler implements Ru
      * @return true if dirty, false otherwise.
      */
     private boolean dirtyOutputBuffer() {
-        return outputBuffer.position() > 0;
+        return outputBuffer != null && outputBuffer.position() > 0;
+    }
+
+    /**
+     * Returns the output buffer to the pool if everything has been written to the socket, or if this SocketWriter has
+     * been shut down. Pending large packets of the gatheringOutputBuffer always leave the outputBuffer dirty, since
+     * their headers are written to the outputBuffer.
+     */
+    private void releaseOutputBuffer() {
+        if (bufferPool != null && outputBuffer != null && (shutdown || !dirtyOutputBuffer())) {
+            bufferPool.release(outputBuffer);
+            outputBuffer = null;
+        }
     }
 
     /**
@@ -404,6 +461,36 @@ public final class NonBlockingSocketWriter extends AbstractHandler implements Ru
         }
     }
 
+    /**
+     * Fills the gatheringOutputBuffer with frames. Large packets are added to the gatheringOutputBuffer, the other frames
+     * are written to the outputBuffer. This is done till there are no more frames or till there is no more space.
+     *
+     * @throws Exception
+     */
+    private void fillGatheringOutputBuffer() throws Exception {
+        for (; ; ) {
+            if (currentFrame == null) {
+                currentFrame = poll();
+                if (currentFrame == null) {
+                    break;
+                }
+            }
+
+            if (gatheringOutputBuffer.isLarge(currentFrame)) {
+                if (!gatheringOutputBuffer.add((Packet) currentFrame, outputBuffer)) {
+                    // There is no room for the packet, it will be added in the next round.
+                    break;
+                }
+            } else if (!outputBuffer.hasRemaining() || !writeHandler.onWrite(currentFrame, outputBuffer)) {
+                // Not all data of the current frame fits in the outputBuffer.
+                break;
+            }
+
+            currentFrame = null;
+        }
+        gatheringOutputBuffer.seal(outputBuffer);
+    }
+
     @Override
     public void run() {
         try {
@@ -160,7 +160,8 @@ public class SpinningSocketWriter extends AbstractHandler implements SocketWrite
 
         if (CLUSTER.equals(protocol)) {
             configureBuffers(ioService.getSocketSendBufferSize() * KILO_BYTE);
-            writeHandler = ioService.createWriteHandler(connection);
+            writeHandler = connection.getConnectionManager().getFrameCompressor()
+                    .decorate(ioService.createWriteHandler(connection));
             outputBuffer.put(stringToBytes(CLUSTER));
         } else if (CLIENT_BINARY_NEW.equals(protocol)) {
             configureBuffers(ioService.getSocketClientReceiveBufferSize() * KILO_BYTE);
@@ -21,6 +21,8 @@ import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.Portable;
 import com.hazelcast.query.impl.getters.Extractors;
 
+import static com.hazelcast.query.impl.DataSerializableExtractor.NOT_EXTRACTED;
+
 /**
  * Entry of the Query.
  */
@@ -113,6 +115,17 @@ public class CachedQueryEntry extends QueryableEntry {
         return targetObject;
     }
 
+    @Override
+    Object extractAttributeValueFromSerializedTarget(boolean key, String attributeName) {
+        // once deserialized, the attribute is read from the cached object instead
+        if (key) {
+            return keyObject == null
+                    ? extractViaDataSerializable(extractors, serializationService, attributeName, keyData) : NOT_EXTRACTED;
+        }
+        return valueObject == null
+                ? extractViaDataSerializable(extractors, serializationService, attributeName, valueData) : NOT_EXTRACTED;
+    }
+
     @Override
     public Object setValue(Object value) {
         throw new UnsupportedOperationException();
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.AbstractSerializationService;
+import com.hazelcast.internal.serialization.impl.bufferpool.BufferPool;
+import com.hazelcast.nio.BufferObjectDataInput;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.serialization.ClassDefinition;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.FieldDefinition;
+import com.hazelcast.nio.serialization.FieldType;
+
+import java.io.IOException;
+
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_DATA_SERIALIZABLE;
+import static com.hazelcast.nio.Bits.BOOLEAN_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.BYTE_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.CHAR_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.DOUBLE_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.FLOAT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.SHORT_SIZE_IN_BYTES;
+
+/**
+ * Utility class to extract a single field from a {@link com.hazelcast.nio.serialization.QueryableDataSerializable}
+ * binary, using the field layout declared by its class.
+ *
+ * The fields in front of the extracted field are skipped; only the UTF fields among them need to be read to find
+ * their length.
+ */
+final class DataSerializableExtractor {
+
+    /**
+     * Returned when the field can't be extracted from the binary, because it isn't an IdentifiedDataSerializable or
+     * its class doesn't declare the field in its layout.
+     */
+    static final Object NOT_EXTRACTED = new Object();
+
+    private DataSerializableExtractor() {
+    }
+
+    static Object extractValue(InternalSerializationService serializationService, Data data, String fieldName)
+            throws IOException {
+        if (data == null || data.getType() != CONSTANT_TYPE_DATA_SERIALIZABLE) {
+            return NOT_EXTRACTED;
+        }
+
+        BufferPool pool = ((AbstractSerializationService) serializationService).getBufferPoolThreadLocal().get();
+        BufferObjectDataInput in = pool.takeInputBuffer(data);
+        try {
+            return extractValue(serializationService, in, fieldName);
+        } finally {
+            pool.returnInputBuffer(in);
+        }
+    }
+
+    private static Object extractValue(InternalSerializationService serializationService, ObjectDataInput in,
+                                       String fieldName) throws IOException {
+        // the header written by the DataSerializableSerializer
+        boolean identified = in.readBoolean();
+        if (!identified) {
+            return NOT_EXTRACTED;
+        }
+        int factoryId = in.readInt();
+        int classId = in.readInt();
+
+        ClassDefinition layout = serializationService.getFieldLayout(factoryId, classId);
+        FieldDefinition field = layout == null ? null : layout.getField(fieldName);
+        if (field == null) {
+            return NOT_EXTRACTED;
+        }
+
+        for (int k = 0; k < field.getIndex(); k++) {
+            skipField(in, layout.getField(k).getType());
+        }
+        return readField(in, field.getType());
+    }
+
+    private static void skipField(ObjectDataInput in, FieldType type) throws IOException {
+        if (type == FieldType.UTF) {
+            in.readUTF();
+        } else {
+            in.skipBytes(sizeOf(type));
+        }
+    }
+
+    private static int sizeOf(FieldType type) {
+        switch (type) {
+            case BYTE:
+                return BYTE_SIZE_IN_BYTES;
+            case BOOLEAN:
+                return BOOLEAN_SIZE_IN_BYTES;
+            case CHAR:
+                return CHAR_SIZE_IN_BYTES;
+            case SHORT:
+                return SHORT_SIZE_IN_BYTES;
+            case INT:
+                return INT_SIZE_IN_BYTES;
+            case LONG:
+                return LONG_SIZE_IN_BYTES;
+            case FLOAT:
+                return FLOAT_SIZE_IN_BYTES;
+            case DOUBLE:
+                return DOUBLE_SIZE_IN_BYTES;
+            default:
+                throw new IllegalArgumentException("Unsupported field type: " + type);
+        }
+    }
+
+    private static Object readField(ObjectDataInput in, FieldType type) throws IOException {
+        if (type == FieldType.UTF) {
+            return in.readUTF();
+        }
+        return readPrimitiveField(in, type);
+    }
+
+    private static Object readPrimitiveField(ObjectDataInput in, FieldType type) throws IOException {
+        switch (type) {
+            case BYTE:
+                return in.readByte();
+            case BOOLEAN:
+                return in.readBoolean();
+            case CHAR:
+                return in.readChar();
+            case SHORT:
+                return in.readShort();
+            case INT:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case FLOAT:
+                return in.readFloat();
+            case DOUBLE:
+                return in.readDouble();
+            default:
+                throw new IllegalArgumentException("Unsupported field type: " + type);
+        }
+    }
+}
@@ -67,7 +67,8 @@ public class IndexImpl implements Index {
             converter = entry.getConverter(attributeName);
         }
 
-        Object newAttributeValue = extractAttributeValue(entry.getKeyData(), entry.getValue());
+        // the entry reads the attribute from the binary value when it can, instead of deserializing the value
+        Object newAttributeValue = entry.getAttributeValue(attributeName);
         if (oldRecordValue == null) {
             indexStore.newIndex(newAttributeValue, entry);
         } else {
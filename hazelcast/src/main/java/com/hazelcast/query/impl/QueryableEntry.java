@@ -29,6 +29,7 @@ import java.util.Map;
 
 import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
 import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
+import static com.hazelcast.query.impl.DataSerializableExtractor.NOT_EXTRACTED;
 import static com.hazelcast.query.impl.TypeConverters.IDENTITY_CONVERTER;
 import static com.hazelcast.query.impl.TypeConverters.NULL_CONVERTER;
 
@@ -78,12 +79,25 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
         if (result == null) {
             boolean isKey = startsWithKeyConstant(attributeName);
             attributeName = getAttributeName(isKey, attributeName);
-            Object target = getTargetObject(isKey);
-            result = extractAttributeValueFromTargetObject(extractors, serializationService, attributeName, target);
+            result = extractAttributeValueFromSerializedTarget(isKey, attributeName);
+            if (result == NOT_EXTRACTED) {
+                Object target = getTargetObject(isKey);
+                result = extractAttributeValueFromTargetObject(extractors, serializationService, attributeName, target);
+            }
         }
         return result;
     }
 
+    /**
+     * Extracts the attribute from the serialized key or value, before falling back to the target object. Entries that
+     * cache the deserialized key and value use this to read attributes without deserializing them.
+     *
+     * @return the attribute value, or {@link DataSerializableExtractor#NOT_EXTRACTED} if it isn't extracted.
+     */
+    Object extractAttributeValueFromSerializedTarget(boolean key, String attributeName) {
+        return NOT_EXTRACTED;
+    }
+
     /**
      * Optimized version of the other extractAttributeValueIfAttributeQueryConstant() method that uses getKey() and
      * getValue() calls that may cache their results internally - like in CachedQueryEntry.
@@ -150,12 +164,36 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
 
         Object targetObject = target;
         if (target instanceof Data) {
+            Object result = extractViaDataSerializable(extractors, serializationService, attributeName, (Data) target);
+            if (result != NOT_EXTRACTED) {
+                return result;
+            }
             targetObject = serializationService.toObject(target);
         }
 
         return extractors.extract(targetObject, attributeName);
     }
 
+    /**
+     * Extracts the attribute from the binary of a {@link com.hazelcast.nio.serialization.QueryableDataSerializable}
+     * that declares the attribute in its field layout.
+     *
+     * @return the attribute value, or {@link DataSerializableExtractor#NOT_EXTRACTED} if it isn't extracted.
+     */
+    static Object extractViaDataSerializable(Extractors extractors, InternalSerializationService serializationService,
+                                             String attributeName, Data data) {
+        if (extractors.hasExtractor(attributeName)) {
+            return NOT_EXTRACTED;
+        }
+        try {
+            return DataSerializableExtractor.extractValue(serializationService, data, attributeName);
+        } catch (QueryException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new QueryException(e);
+        }
+    }
+
     private static Comparable extractViaPortable(InternalSerializationService serializationService,
                                                  String attributeName, Data data) {
         try {
@@ -67,6 +67,16 @@ public final class Extractors {
         return null;
     }
 
+    /**
+     * Checks if a custom {@link ValueExtractor} is registered for the given attribute.
+     *
+     * @param attributeName the attribute name, with or without arguments.
+     * @return true if the attribute is extracted by a custom ValueExtractor.
+     */
+    public boolean hasExtractor(String attributeName) {
+        return !extractors.isEmpty() && extractors.containsKey(extractAttributeNameNameWithoutArguments(attributeName));
+    }
+
     Getter getGetter(Object targetObject, String attributeName) {
         Getter getter = getterCache.getGetter(targetObject.getClass(), attributeName);
         if (getter == null) {
@@ -28,11 +28,11 @@ import com.hazelcast.core.MemberSelector;
 import com.hazelcast.internal.cluster.impl.ClusterServiceImpl;
 import com.hazelcast.internal.partition.InternalPartition;
 import com.hazelcast.internal.partition.impl.InternalPartitionServiceImpl;
-import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.monitor.LocalReplicatedMapStats;
 import com.hazelcast.monitor.impl.LocalReplicatedMapStatsImpl;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.ClassLoaderUtil;
+import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.replicatedmap.ReplicatedMapCantBeCreatedOnLiteMemberException;
 import com.hazelcast.replicatedmap.impl.operation.CheckReplicaVersion;
 import com.hazelcast.replicatedmap.impl.operation.ReplicationOperation;
@@ -200,7 +200,7 @@ public class ReplicatedMapService implements ManagedService, RemoteService, Even
                 stats.setLastUpdateTime(Math.max(stats.getLastUpdateTime(), record.getUpdateTime()));
                 hits += record.getHits();
                 if (isBinary) {
-                    memoryUsage += ((HeapData) record.getValueInternal()).getHeapCost();
+                    memoryUsage += ((Data) record.getValueInternal()).getHeapCost();
                 }
                 count++;
             }
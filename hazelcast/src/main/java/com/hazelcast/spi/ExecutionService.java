@@ -75,6 +75,12 @@ public interface ExecutionService {
      */
     String MAP_LOAD_ALL_KEYS_EXECUTOR = "hz:map-loadAllKeys";
 
+    /**
+     * Name of the executor that stores the write-behind entries of the maps concurrently, see
+     * {@link com.hazelcast.internal.properties.GroupProperty#MAP_WRITE_BEHIND_STORE_WORKERS}.
+     */
+    String MAP_STORE_EXECUTOR = "hz:map-store";
+
     ManagedExecutorService register(String name, int poolSize, int queueCapacity, ExecutorType type);
 
     ManagedExecutorService getExecutor(String name);
@@ -34,6 +34,10 @@ import java.io.IOException;
 import java.util.Date;
 import java.util.logging.Level;
 
+import static com.hazelcast.nio.IOUtil.readCompactLong;
+import static com.hazelcast.nio.IOUtil.readName;
+import static com.hazelcast.nio.IOUtil.writeCompactLong;
+import static com.hazelcast.nio.IOUtil.writeName;
 import static com.hazelcast.util.EmptyStatement.ignore;
 
 /**
@@ -446,7 +450,7 @@ public abstract class Operation implements DataSerializable {
         out.writeShort(flags);
 
         if (isFlagSet(BITMASK_SERVICE_NAME_SET)) {
-            out.writeUTF(serviceName);
+            writeName(out, serviceName);
         }
 
         if (isFlagSet(BITMASK_PARTITION_ID_32_BIT)) {
@@ -459,7 +463,7 @@ public abstract class Operation implements DataSerializable {
             out.writeByte(replicaIndex);
         }
 
-        out.writeLong(invocationTime);
+        writeCompactLong(out, invocationTime);
 
         if (isFlagSet(BITMASK_CALL_TIMEOUT_64_BIT)) {
             out.writeLong(callTimeout);
@@ -468,7 +472,7 @@ public abstract class Operation implements DataSerializable {
         }
 
         if (isFlagSet(BITMASK_WAIT_TIMEOUT_SET)) {
-            out.writeLong(waitTimeout);
+            writeCompactLong(out, waitTimeout);
         }
 
         if (isFlagSet(BITMASK_CALLER_UUID_SET)) {
@@ -487,7 +491,7 @@ public abstract class Operation implements DataSerializable {
         flags = in.readShort();
 
         if (isFlagSet(BITMASK_SERVICE_NAME_SET)) {
-            serviceName = in.readUTF();
+            serviceName = readName(in);
         }
 
         if (isFlagSet(BITMASK_PARTITION_ID_32_BIT)) {
@@ -500,7 +504,7 @@ public abstract class Operation implements DataSerializable {
             replicaIndex = in.readByte();
         }
 
-        invocationTime = in.readLong();
+        invocationTime = readCompactLong(in);
 
         if (isFlagSet(BITMASK_CALL_TIMEOUT_64_BIT)) {
             callTimeout = in.readLong();
@@ -509,7 +513,7 @@ public abstract class Operation implements DataSerializable {
         }
 
         if (isFlagSet(BITMASK_WAIT_TIMEOUT_SET)) {
-            waitTimeout = in.readLong();
+            waitTimeout = readCompactLong(in);
         }
 
         if (isFlagSet(BITMASK_CALLER_UUID_SET)) {
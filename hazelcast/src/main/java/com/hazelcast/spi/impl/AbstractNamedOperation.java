@@ -23,6 +23,9 @@ import com.hazelcast.spi.NamedOperation;
 
 import java.io.IOException;
 
+import static com.hazelcast.nio.IOUtil.readName;
+import static com.hazelcast.nio.IOUtil.writeName;
+
 public abstract class AbstractNamedOperation extends AbstractOperation implements NamedOperation {
     protected String name;
 
@@ -40,12 +43,12 @@ public abstract class AbstractNamedOperation extends AbstractOperation implement
 
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         super.writeInternal(out);
-        out.writeUTF(name);
+        writeName(out, name);
     }
 
     protected void readInternal(ObjectDataInput in) throws IOException {
         super.readInternal(in);
-        name = in.readUTF();
+        name = readName(in);
     }
 
     @Override
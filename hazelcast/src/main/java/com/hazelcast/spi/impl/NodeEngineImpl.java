@@ -28,6 +28,8 @@ import com.hazelcast.internal.management.ManagementCenterService;
 import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.ProbeLevel;
 import com.hazelcast.internal.metrics.impl.MetricsRegistryImpl;
+import com.hazelcast.internal.serialization.impl.AbstractSerializationService;
+import com.hazelcast.internal.serialization.impl.bufferpool.BufferPoolThreadLocal;
 import com.hazelcast.internal.monitors.BuildInfoPlugin;
 import com.hazelcast.internal.monitors.ConfigPropertiesPlugin;
 import com.hazelcast.internal.monitors.InvocationPlugin;
@@ -63,6 +65,7 @@ import com.hazelcast.spi.impl.proxyservice.InternalProxyService;
 import com.hazelcast.spi.impl.proxyservice.impl.ProxyServiceImpl;
 import com.hazelcast.spi.impl.servicemanager.ServiceInfo;
 import com.hazelcast.spi.impl.servicemanager.impl.ServiceManagerImpl;
+import com.hazelcast.spi.impl.timer.TimerWheel;
 import com.hazelcast.spi.impl.waitnotifyservice.WaitNotifyService;
 import com.hazelcast.spi.impl.waitnotifyservice.impl.WaitNotifyServiceImpl;
 import com.hazelcast.spi.serialization.SerializationService;
@@ -104,6 +107,7 @@ public class NodeEngineImpl implements NodeEngine {
     private final SerializationService serializationService;
     private final LoggingServiceImpl loggingService;
     private final PerformanceMonitor performanceMonitor;
+    private final TimerWheel timerWheel;
 
     public NodeEngineImpl(final Node node) {
         this.node = node;
@@ -111,6 +115,8 @@ public class NodeEngineImpl implements NodeEngine {
         this.serializationService = node.getSerializationService();
         this.logger = node.getLogger(NodeEngine.class.getName());
         this.metricsRegistry = newMetricRegistry(node);
+        this.timerWheel = newTimerWheel(node);
+        registerSerializationMetrics();
         this.proxyService = new ProxyServiceImpl(this);
         this.serviceManager = new ServiceManagerImpl(this);
         this.executionService = new ExecutionServiceImpl(this);
@@ -133,6 +139,19 @@ public class NodeEngineImpl implements NodeEngine {
         return new MetricsRegistryImpl(node.getLogger(MetricsRegistryImpl.class), probeLevel);
     }
 
+    private TimerWheel newTimerWheel(Node node) {
+        TimerWheel timerWheel = new TimerWheel(node.getHazelcastThreadGroup(), node.getLogger(TimerWheel.class));
+        metricsRegistry.scanAndRegister(timerWheel, "timerWheel");
+        return timerWheel;
+    }
+
+    private void registerSerializationMetrics() {
+        if (serializationService instanceof AbstractSerializationService) {
+            BufferPoolThreadLocal bufferPools = ((AbstractSerializationService) serializationService).getBufferPoolThreadLocal();
+            metricsRegistry.scanAndRegister(bufferPools, "serialization.bufferPool");
+        }
+    }
+
     private PerformanceMonitor newPerformanceMonitor() {
         Member localMember = node.getLocalMember();
         Address address = localMember.getAddress();
@@ -163,7 +182,17 @@ public class NodeEngineImpl implements NodeEngine {
         return packetDispatcher;
     }
 
+    /**
+     * Returns the TimerWheel shared by the internal subsystems to schedule timeouts.
+     *
+     * @return the TimerWheel.
+     */
+    public TimerWheel getTimerWheel() {
+        return timerWheel;
+    }
+
     public void start() {
+        timerWheel.start();
         serviceManager.start();
         proxyService.init();
         operationService.start();
@@ -400,6 +429,7 @@ public class NodeEngineImpl implements NodeEngine {
         operationService.shutdown();
         wanReplicationService.shutdown();
         executionService.shutdown();
+        timerWheel.shutdown();
         metricsRegistry.shutdown();
         performanceMonitor.shutdown();
     }
@@ -21,6 +21,8 @@ import com.hazelcast.instance.NodeExtension;
 import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.properties.GroupProperties;
 import com.hazelcast.internal.properties.GroupProperty;
+import com.hazelcast.internal.util.affinity.AffinityColocator;
+import com.hazelcast.internal.util.affinity.ThreadAffinity;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.LoggingService;
 import com.hazelcast.nio.Address;
@@ -31,10 +33,14 @@ import com.hazelcast.spi.impl.operationexecutor.OperationExecutor;
 import com.hazelcast.spi.impl.operationexecutor.OperationHostileThread;
 import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
 import com.hazelcast.spi.impl.operationexecutor.OperationRunnerFactory;
+import com.hazelcast.util.executor.SingleExecutorThreadFactory;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.internal.util.affinity.ThreadAffinity.newThreadAffinity;
 import static com.hazelcast.util.Preconditions.checkNotNull;
 
 /**
@@ -57,18 +63,54 @@ import static com.hazelcast.util.Preconditions.checkNotNull;
  * specific to a partition. E.g. a heart beat.
  * </li>
  * </ol>
+ * The type of queue used by the partition operation threads can be selected using
+ * {@link GroupProperty#PARTITION_OPERATION_QUEUE_TYPE}; see {@link PartitionQueueType}. And the type of queue used
+ * by the generic operation threads using {@link GroupProperty#GENERIC_OPERATION_QUEUE_TYPE}; see {@link GenericQueueType}.
+ * <p/>
+ * The operation threads can be pinned to CPUs using {@link GroupProperty#PARTITION_OPERATION_THREAD_AFFINITY} and
+ * {@link GroupProperty#GENERIC_OPERATION_THREAD_AFFINITY}. With
+ * {@link GroupProperty#PARTITION_OPERATION_THREAD_AFFINITY_COLOCATE} every partition operation thread gets an
+ * {@link AffinityColocator}, which records the IO thread dispatching each packet in {@link #execute(Packet)}.
  */
 public final class ClassicOperationExecutor implements OperationExecutor {
 
     public static final int TERMINATION_TIMEOUT_SECONDS = 3;
 
+    /**
+     * The type of {@link OperationQueue} used by the {@link PartitionOperationThread}.
+     */
+    public enum PartitionQueueType {
+        /**
+         * The {@link DefaultOperationQueue}.
+         */
+        BLOCKING,
+        /**
+         * The {@link MPSCOperationQueue}.
+         */
+        MPSC
+    }
+
+    /**
+     * The type of {@link OperationQueue} used by the {@link GenericOperationThread}.
+     */
+    public enum GenericQueueType {
+        /**
+         * A single {@link DefaultOperationQueue} shared by all generic threads.
+         */
+        SHARED,
+        /**
+         * The {@link WorkStealingOperationQueue}.
+         */
+        WORK_STEALING
+    }
+
     private final ILogger logger;
 
     // all operations for specific partitions will be executed on these threads, e.g. map.put(key, value)
     private final PartitionOperationThread[] partitionOperationThreads;
     private final OperationRunner[] partitionOperationRunners;
 
-    private final OperationQueue genericOperationQueue;
+    private final OperationQueueProducer genericOperationQueue;
 
     // all operations that are not specific for a partition will be executed here, e.g. heartbeat or map.size()
     private final GenericOperationThread[] genericOperationThreads;
@@ -79,6 +121,9 @@ public final class ClassicOperationExecutor implements OperationExecutor {
     private final HazelcastThreadGroup threadGroup;
     private final OperationRunner adHocOperationRunner;
     private final MetricsRegistry metricsRegistry;
+    private final boolean colocate;
+    // rebinds the co-located partition threads; only created when co-location is enabled
+    private ExecutorService colocationExecutor;
 
     public ClassicOperationExecutor(GroupProperties properties,
                                     LoggingService loggerService,
@@ -92,7 +137,6 @@ public final class ClassicOperationExecutor implements OperationExecutor {
         this.threadGroup = hazelcastThreadGroup;
         this.metricsRegistry = metricsRegistry;
         this.logger = loggerService.getLogger(ClassicOperationExecutor.class);
-        this.genericOperationQueue = new DefaultOperationQueue();
 
         this.adHocOperationRunner = operationRunnerFactory.createAdHocRunner();
 
@@ -100,7 +144,13 @@ public final class ClassicOperationExecutor implements OperationExecutor {
         this.partitionOperationThreads = initPartitionThreads(properties);
 
         this.genericOperationRunners = initGenericOperationRunners(properties, operationRunnerFactory);
+        GenericQueueType genericQueueType = properties.getEnum(GroupProperty.GENERIC_OPERATION_QUEUE_TYPE,
+                GenericQueueType.class);
+        this.genericOperationQueue = genericQueueType == GenericQueueType.WORK_STEALING
+                ? new WorkStealingOperationQueue(genericOperationRunners.length)
+                : new DefaultOperationQueue();
         this.genericOperationThreads = initGenericThreads();
+        this.colocate = initAffinity(properties);
 
         logger.info("Starting with " + genericOperationThreads.length + " generic operation threads and "
                 + partitionOperationThreads.length + " partition operation threads.");
@@ -146,10 +196,26 @@ public final class ClassicOperationExecutor implements OperationExecutor {
             threadCount = Math.max(2, coreSize);
         }
 
+        PartitionQueueType queueType = properties.getEnum(GroupProperty.PARTITION_OPERATION_QUEUE_TYPE,
+                PartitionQueueType.class);
+        int queueCapacity = properties.getInteger(GroupProperty.PARTITION_OPERATION_QUEUE_CAPACITY);
+        // the sojourn time of the partition operation queues is needed by the adaptive backpressure
+        boolean trackSojournTime = properties.getBoolean(GroupProperty.BACKPRESSURE_ENABLED)
+                && properties.getBoolean(GroupProperty.BACKPRESSURE_ADAPTIVE_ENABLED);
+
         PartitionOperationThread[] threads = new PartitionOperationThread[threadCount];
         for (int threadId = 0; threadId < threads.length; threadId++) {
             String threadName = threadGroup.getThreadPoolNamePrefix("partition-operation") + threadId;
-            OperationQueue operationQueue = new DefaultOperationQueue();
+            OperationQueue operationQueue = queueType == PartitionQueueType.MPSC
+                    ? new MPSCOperationQueue(queueCapacity, MPSCOperationQueue.DEFAULT_URGENT_CAPACITY)
+                    : new DefaultOperationQueue();
+            if (operationQueue instanceof MPSCOperationQueue) {
+                metricsRegistry.scanAndRegister(operationQueue, "operation." + threadName + ".queue");
+            }
+            if (trackSojournTime) {
+                operationQueue = new SojournTimeOperationQueue(operationQueue);
+                metricsRegistry.scanAndRegister(operationQueue, "operation." + threadName + ".queue");
+            }
 
             PartitionOperationThread operationThread = new PartitionOperationThread(threadName, threadId, operationQueue, logger,
                     threadGroup, nodeExtension, partitionOperationRunners);
@@ -170,6 +236,36 @@ public final class ClassicOperationExecutor implements OperationExecutor {
         return threads;
     }
 
+    private boolean initAffinity(GroupProperties properties) {
+        ThreadAffinity partitionAffinity = newThreadAffinity(properties,
+                GroupProperty.PARTITION_OPERATION_THREAD_AFFINITY, logger);
+        for (OperationThread thread : partitionOperationThreads) {
+            thread.affinity = partitionAffinity;
+        }
+        ThreadAffinity genericAffinity = newThreadAffinity(properties, GroupProperty.GENERIC_OPERATION_THREAD_AFFINITY, logger);
+        for (OperationThread thread : genericOperationThreads) {
+            thread.affinity = genericAffinity;
+        }
+
+        if (!properties.getBoolean(GroupProperty.PARTITION_OPERATION_THREAD_AFFINITY_COLOCATE)) {
+            return false;
+        }
+        if (properties.getString(GroupProperty.IO_THREAD_AFFINITY).trim().isEmpty()) {
+            logger.warning("Partition operation threads are not co-located with the IO threads, since the '"
+                    + GroupProperty.IO_THREAD_AFFINITY + "' property is not set.");
+            return false;
+        }
+
+        int intervalSeconds = Math.max(1, properties.getSeconds(GroupProperty.IO_BALANCER_INTERVAL_SECONDS));
+        colocationExecutor = Executors.newSingleThreadExecutor(
+                new SingleExecutorThreadFactory(threadGroup, threadGroup.getThreadNamePrefix("affinity-colocation")));
+        for (OperationThread thread : partitionOperationThreads) {
+            thread.colocator = new AffinityColocator(intervalSeconds, TimeUnit.SECONDS, colocationExecutor, logger);
+            metricsRegistry.scanAndRegister(thread.colocator, "operation." + thread.getName() + ".affinity");
+        }
+        return true;
+    }
+
     private GenericOperationThread[] initGenericThreads() {
         // we created as many generic operation handlers, as there are generic threads
         int threadCount = genericOperationRunners.length;
@@ -178,9 +274,8 @@ public final class ClassicOperationExecutor implements OperationExecutor {
         for (int threadId = 0; threadId < threads.length; threadId++) {
             String threadName = threadGroup.getThreadPoolNamePrefix("generic-operation") + threadId;
             OperationRunner operationRunner = genericOperationRunners[threadId];
-
             GenericOperationThread operationThread = new GenericOperationThread(
-                    threadName, threadId, genericOperationQueue,
+                    threadName, threadId, getGenericThreadQueue(threadId),
                     logger, threadGroup, nodeExtension, operationRunner);
 
             threads[threadId] = operationThread;
@@ -191,6 +286,14 @@ public final class ClassicOperationExecutor implements OperationExecutor {
         return threads;
     }
 
+    private OperationQueue getGenericThreadQueue(int threadId) {
+        if (genericOperationQueue instanceof WorkStealingOperationQueue) {
+            return ((WorkStealingOperationQueue) genericOperationQueue).getThreadQueue(threadId);
+        }
+        // all generic threads take from the same DefaultOperationQueue
+        return (OperationQueue) genericOperationQueue;
+    }
+
     @SuppressFBWarnings("EI_EXPOSE_REP")
     @Override
     public OperationRunner[] getPartitionOperationRunners() {
@@ -371,6 +474,9 @@ public final class ClassicOperationExecutor implements OperationExecutor {
 
         int partitionId = packet.getPartitionId();
         boolean hasPriority = packet.isUrgent();
+        if (colocate && partitionId >= 0) {
+            partitionOperationThreads[toPartitionThreadIndex(partitionId)].colocator.recordDispatch();
+        }
         execute(packet, partitionId, hasPriority);
     }
 
@@ -415,7 +521,7 @@ public final class ClassicOperationExecutor implements OperationExecutor {
     }
 
     private void execute(Object task, int partitionId, boolean priority) {
-        OperationQueue operationQueue;
+        OperationQueueProducer operationQueue;
 
         if (partitionId < 0) {
             operationQueue = genericOperationQueue;
@@ -437,6 +543,9 @@ public final class ClassicOperationExecutor implements OperationExecutor {
 
     @Override
     public void shutdown() {
+        if (colocationExecutor != null) {
+            colocationExecutor.shutdownNow();
+        }
         shutdownAll(partitionOperationThreads);
         shutdownAll(genericOperationThreads);
         awaitTermination(partitionOperationThreads);
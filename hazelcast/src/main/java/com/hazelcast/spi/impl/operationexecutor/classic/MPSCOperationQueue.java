@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.internal.util.counters.SwCounter;
+import com.hazelcast.util.concurrent.BackoffIdleStrategy;
+import com.hazelcast.util.concurrent.IdleStrategy;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * A Multiple-Producer Single-Consumer {@link OperationQueue} based on bounded lock-free ring buffers.
+ * <p/>
+ * Normal and urgent tasks each have their own lane, so an urgent task never needs a trigger task in the
+ * normal lane like the {@link DefaultOperationQueue} does. Producers never block and never take a lock;
+ * a slot is claimed with a single CAS on the tail sequence.
+ * <p/>
+ * If a ring buffer is full, the task is put in an unbounded overflow queue, tagged with the tail sequence
+ * at the moment the ring was found full. The consumer takes an overflow task as soon as the head of the
+ * ring reaches that sequence, so the FIFO ordering per producer is preserved. This way a producer that
+ * happens to be an operation thread itself, can't deadlock on a full queue.
+ * <p/>
+ * When there is no work, the consumer idles using an {@link IdleStrategy}. Before it idles, it announces
+ * itself as idle so that producers can unpark it when they add a task.
+ * <p/>
+ * This queue can only be used when there is a single consumer, so it is only suitable for the
+ * {@link PartitionOperationThread}.
+ */
+public final class MPSCOperationQueue implements OperationQueue {
+
+    static final int DEFAULT_CAPACITY = 65536;
+    static final int DEFAULT_URGENT_CAPACITY = 1024;
+
+    private static final long MAX_SPINS = 100;
+    private static final long MAX_YIELDS = 50;
+    private static final long MIN_PARK_NANOS = MICROSECONDS.toNanos(1);
+    private static final long MAX_PARK_NANOS = MILLISECONDS.toNanos(1);
+
+    private final Lane normalLane;
+    private final Lane urgentLane;
+    private final IdleStrategy idleStrategy;
+
+    // The overflow and unpark counters are modified by the producers, the idle counter only by the consumer.
+    @Probe
+    private final MwCounter overflowCount = newMwCounter();
+    @Probe
+    private final MwCounter unparkCount = newMwCounter();
+    @Probe
+    private final SwCounter idleCount = newSwCounter();
+
+    private volatile Thread consumerThread;
+    private volatile boolean consumerIdle;
+
+    public MPSCOperationQueue() {
+        this(DEFAULT_CAPACITY, DEFAULT_URGENT_CAPACITY);
+    }
+
+    public MPSCOperationQueue(int capacity, int urgentCapacity) {
+        this(capacity, urgentCapacity, new BackoffIdleStrategy(MAX_SPINS, MAX_YIELDS, MIN_PARK_NANOS, MAX_PARK_NANOS));
+    }
+
+    public MPSCOperationQueue(int capacity, int urgentCapacity, IdleStrategy idleStrategy) {
+        checkPositive(capacity, "capacity should be larger than 0");
+        checkPositive(urgentCapacity, "urgentCapacity should be larger than 0");
+        this.normalLane = new Lane(nextPowerOfTwo(capacity));
+        this.urgentLane = new Lane(nextPowerOfTwo(urgentCapacity));
+        this.idleStrategy = checkNotNull(idleStrategy, "idleStrategy can't be null");
+    }
+
+    @Override
+    public void add(Object task) {
+        checkNotNull(task, "task can't be null");
+
+        offer(normalLane, task);
+    }
+
+    @Override
+    public void addUrgent(Object task) {
+        checkNotNull(task, "task can't be null");
+
+        offer(urgentLane, task);
+    }
+
+    private void offer(Lane lane, Object task) {
+        if (!lane.offer(task)) {
+            lane.overflow(task);
+            overflowCount.inc();
+        }
+
+        if (consumerIdle) {
+            Thread consumer = consumerThread;
+            if (consumer != null) {
+                unparkCount.inc();
+                LockSupport.unpark(consumer);
+            }
+        }
+    }
+
+    @Override
+    public Object take() throws InterruptedException {
+        if (consumerThread == null) {
+            consumerThread = Thread.currentThread();
+        }
+
+        long idleRound = 0;
+        for (; ; ) {
+            Object task = urgentLane.poll();
+            if (task != null) {
+                return task;
+            }
+
+            task = normalLane.poll();
+            if (task != null) {
+                return task;
+            }
+
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+
+            // the idle flag needs to be set before checking for emptiness, otherwise a producer could
+            // add a task after the check and not see the consumer idling.
+            consumerIdle = true;
+            if (urgentLane.isEmpty() && normalLane.isEmpty()) {
+                if (idleRound == 0) {
+                    idleCount.inc();
+                }
+                idleStrategy.idle(idleRound);
+                idleRound++;
+            }
+            consumerIdle = false;
+        }
+    }
+
+    @Override
+    public int normalSize() {
+        return normalLane.size();
+    }
+
+    @Override
+    public int prioritySize() {
+        return urgentLane.size();
+    }
+
+    @Override
+    public int size() {
+        return normalLane.size() + urgentLane.size();
+    }
+
+    /**
+     * A bounded MPSC ring buffer with an unbounded, sequence tagged, overflow queue.
+     */
+    private static final class Lane {
+        private final AtomicReferenceArray<Object> slots;
+        private final int mask;
+        private final int capacity;
+        // the sequence of the next slot to claim by a producer
+        private final AtomicLong tail = new AtomicLong();
+        // the sequence of the next slot to consume; only written by the consumer
+        private final AtomicLong head = new AtomicLong();
+        private final ConcurrentLinkedQueue<OverflowTask> overflow = new ConcurrentLinkedQueue<OverflowTask>();
+        private final AtomicInteger overflowSize = new AtomicInteger();
+
+        Lane(int capacity) {
+            this.capacity = capacity;
+            this.mask = capacity - 1;
+            this.slots = new AtomicReferenceArray<Object>(capacity);
+        }
+
+        boolean offer(Object task) {
+            for (; ; ) {
+                long sequence = tail.get();
+                if (sequence - head.get() >= capacity) {
+                    return false;
+                }
+
+                if (tail.compareAndSet(sequence, sequence + 1)) {
+                    slots.lazySet((int) sequence & mask, task);
+                    return true;
+                }
+            }
+        }
+
+        void overflow(Object task) {
+            overflowSize.incrementAndGet();
+            overflow.add(new OverflowTask(tail.get(), task));
+        }
+
+        Object poll() {
+            long sequence = head.get();
+
+            if (overflowSize.get() > 0) {
+                OverflowTask overflowTask = overflow.peek();
+                if (overflowTask != null && overflowTask.sequence <= sequence) {
+                    overflow.poll();
+                    overflowSize.decrementAndGet();
+                    return overflowTask.task;
+                }
+            }
+
+            int index = (int) sequence & mask;
+            Object task = slots.get(index);
+            if (task == null) {
+                // either the lane is empty, or a producer has claimed the slot but not yet published the task
+                return null;
+            }
+
+            slots.lazySet(index, null);
+            head.lazySet(sequence + 1);
+            return task;
+        }
+
+        boolean isEmpty() {
+            return tail.get() == head.get() && overflowSize.get() == 0;
+        }
+
+        int size() {
+            return (int) (tail.get() - head.get()) + overflowSize.get();
+        }
+    }
+
+    private static final class OverflowTask {
+        private final long sequence;
+        private final Object task;
+
+        OverflowTask(long sequence, Object task) {
+            this.sequence = sequence;
+            this.task = task;
+        }
+    }
+}
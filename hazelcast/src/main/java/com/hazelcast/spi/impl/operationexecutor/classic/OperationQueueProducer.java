@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+/**
+ * The producer side of a queue of operations/tasks: tasks are added to it by any thread, and it reports how many
+ * tasks are pending.
+ * <p/>
+ * The {@link OperationQueue} adds the consumer side for a single {@link OperationThread}. A queue that is shared by
+ * multiple threads, but that hands out a separate consumer side to each thread, like the
+ * {@link WorkStealingOperationQueue}, only implements this producer side.
+ */
+public interface OperationQueueProducer {
+
+    /**
+     * Adds an task with normal priority to this queue.
+     * <p/>
+     * This method is thread safe.
+     *
+     * @param task     the item to add
+     * @throws java.lang.NullPointerException if task is null
+     */
+    void add(Object task);
+
+    /**
+     * Adds an task with normal priority to this queue.
+     * <p/>
+     * This method is thread safe.
+     *
+     * @param task     the item to add
+     * @throws java.lang.NullPointerException if task is null
+     */
+    void addUrgent(Object task);
+
+
+    /**
+     * returns the number of normal operations pending.
+     * <p/>
+     * This method is thread safe.
+     *
+     * This method returns a best effort value and should only be used for monitoring purposes.
+     *
+     * @return the number of normal pending operations.
+     */
+    int normalSize();
+
+    /**
+     * returns the number of priority operations pending.
+     * <p/>
+     * This method is thread safe.
+     *
+     * This method returns a best effort value and should only be used for monitoring purposes.
+     *
+     * @return the number of priority pending operations.
+     */
+    int prioritySize();
+
+    /**
+     * Returns the total number of pending operations.
+     * <p/>
+     * This method is thread safe.
+     *
+     * This method returns a best effort value and should only be used for monitoring purposes.
+     *
+     * @return the total number of pending operations.
+     */
+    int size();
+}
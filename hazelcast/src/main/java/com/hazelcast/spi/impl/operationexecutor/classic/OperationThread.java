@@ -19,6 +19,8 @@ package com.hazelcast.spi.impl.operationexecutor.classic;
 import com.hazelcast.instance.HazelcastThreadGroup;
 import com.hazelcast.instance.NodeExtension;
 import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.affinity.AffinityColocator;
+import com.hazelcast.internal.util.affinity.ThreadAffinity;
 import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Packet;
@@ -46,6 +48,10 @@ public abstract class OperationThread extends HazelcastManagedThread {
     final int threadId;
     final OperationQueue queue;
 
+    // The affinity and the colocator are set before the thread is started.
+    ThreadAffinity affinity = ThreadAffinity.NONE;
+    AffinityColocator colocator;
+
     // All these counters are updated by this OperationThread (so a single writer) and are read by the MetricsRegistry.
     @Probe
     private final SwCounter processedTotal = newSwCounter();
@@ -86,6 +92,16 @@ public abstract class OperationThread extends HazelcastManagedThread {
         return queue.normalSize();
     }
 
+    /**
+     * Returns the sojourn time of the task this thread has taken last from its queue. This method should only be called
+     * by this OperationThread.
+     *
+     * @return the sojourn time in nanoseconds, or -1 if the sojourn time isn't tracked by the queue of this thread.
+     */
+    public long getQueueSojournNanos() {
+        return queue instanceof SojournTimeOperationQueue ? ((SojournTimeOperationQueue) queue).getLastSojournNanos() : -1;
+    }
+
     public OperationRunner getCurrentRunner() {
         return currentRunner;
     }
@@ -95,6 +111,7 @@ public abstract class OperationThread extends HazelcastManagedThread {
     @Override
     public final void run() {
         nodeExtension.onThreadStart(this);
+        affinity.pinCurrentThread();
         try {
             doRun();
         } catch (Throwable t) {
@@ -127,6 +144,10 @@ public abstract class OperationThread extends HazelcastManagedThread {
             } else {
                 throw new IllegalStateException("Unhandled task type for task:" + task);
             }
+
+            if (colocator != null) {
+                colocator.colocateIfNeeded(System.nanoTime());
+            }
         }
     }
 
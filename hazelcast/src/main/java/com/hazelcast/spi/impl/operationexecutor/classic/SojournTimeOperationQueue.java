@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import com.hazelcast.internal.metrics.LatencyHistogram;
+import com.hazelcast.internal.metrics.Probe;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * An {@link OperationQueue} decorator that tracks the sojourn time of its tasks: the time between a task being added
+ * and being taken. The sojourn time shows how loaded the operation thread is, much better than the length of its
+ * queue does, since it doesn't depend on how expensive the queued tasks are.
+ * <p/>
+ * Every task is wrapped with the time it was added, so this queue creates some litter; it is only used when adaptive
+ * backpressure is enabled. The sojourn time of the last taken task can be read by the consumer thread using
+ * {@link #getLastSojournNanos()}, so this queue is only suitable for a single consumer like the
+ * {@link PartitionOperationThread}.
+ */
+public final class SojournTimeOperationQueue implements OperationQueue {
+
+    @Probe(name = "sojourn")
+    private final LatencyHistogram sojournHistogram = new LatencyHistogram();
+
+    private final OperationQueue queue;
+
+    // only accessed by the consumer thread
+    private long lastSojournNanos = -1;
+
+    public SojournTimeOperationQueue(OperationQueue queue) {
+        this.queue = checkNotNull(queue, "queue");
+    }
+
+    /**
+     * Returns the sojourn time of the last taken task. This method should only be called by the consumer thread.
+     *
+     * @return the sojourn time in nanoseconds, or -1 if no task has been taken yet.
+     */
+    public long getLastSojournNanos() {
+        return lastSojournNanos;
+    }
+
+    public LatencyHistogram getSojournHistogram() {
+        return sojournHistogram;
+    }
+
+    @Override
+    public void add(Object task) {
+        checkNotNull(task, "task can't be null");
+
+        queue.add(new TimestampedTask(task));
+    }
+
+    @Override
+    public void addUrgent(Object task) {
+        checkNotNull(task, "task can't be null");
+
+        queue.addUrgent(new TimestampedTask(task));
+    }
+
+    @Override
+    public Object take() throws InterruptedException {
+        TimestampedTask timestampedTask = (TimestampedTask) queue.take();
+        long sojournNanos = System.nanoTime() - timestampedTask.addedNanos;
+        lastSojournNanos = sojournNanos;
+        sojournHistogram.recordNanos(sojournNanos);
+        return timestampedTask.task;
+    }
+
+    @Override
+    public int normalSize() {
+        return queue.normalSize();
+    }
+
+    @Override
+    public int prioritySize() {
+        return queue.prioritySize();
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    private static final class TimestampedTask {
+        private final Object task;
+        private final long addedNanos = System.nanoTime();
+
+        TimestampedTask(Object task) {
+            this.task = task;
+        }
+    }
+}
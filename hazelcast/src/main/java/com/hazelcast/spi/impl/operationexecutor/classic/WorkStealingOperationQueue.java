@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import com.hazelcast.internal.util.ThreadLocalRandom;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * The shared queue of the {@link GenericOperationThread}s where every thread has its own queue, and where
+ * a thread without work steals work from the queues of the other threads.
+ * <p/>
+ * With the {@link DefaultOperationQueue} all generic threads share a single blocking queue, so every take and every
+ * add contends on the same lock. Here a normal task is added to the queue of a random thread, and that thread, or any
+ * idle thread stealing from it, takes it. A thread that has run out of work, and can't steal any, parks and is
+ * unparked by the next producer.
+ * <p/>
+ * Urgent tasks are put in a single queue shared by all threads. Every thread checks that queue before looking at its
+ * own queue, so just like with the {@link DefaultOperationQueue}, an urgent task is picked up by the first thread
+ * that is done with its current task.
+ * <p/>
+ * This object is the producer side of the queue. Each generic thread gets its own {@link OperationQueue} to take its
+ * work from using {@link #getThreadQueue(int)}.
+ * <p/>
+ * The FIFO ordering between normal tasks is only guaranteed for tasks ending up in the same thread queue; which
+ * is fine since generic operations are executed concurrently by multiple threads anyway.
+ */
+public final class WorkStealingOperationQueue implements OperationQueueProducer {
+
+    private final ConcurrentLinkedQueue<Object> urgentQueue = new ConcurrentLinkedQueue<Object>();
+    private final AtomicInteger urgentSize = new AtomicInteger();
+    private final ThreadQueue[] threadQueues;
+    // the thread queues of the threads that are about to park or are parked
+    private final ConcurrentLinkedQueue<ThreadQueue> idleThreadQueues = new ConcurrentLinkedQueue<ThreadQueue>();
+
+    public WorkStealingOperationQueue(int threadCount) {
+        checkPositive(threadCount, "threadCount should be larger than 0");
+
+        this.threadQueues = new ThreadQueue[threadCount];
+        for (int k = 0; k < threadCount; k++) {
+            threadQueues[k] = new ThreadQueue(k);
+        }
+    }
+
+    /**
+     * Returns the queue to be used by the generic operation thread with the given id.
+     *
+     * @param threadId the id of the thread.
+     * @return the OperationQueue the thread should take its work from.
+     */
+    public OperationQueue getThreadQueue(int threadId) {
+        return threadQueues[threadId];
+    }
+
+    @Override
+    public void add(Object task) {
+        checkNotNull(task, "task can't be null");
+
+        int index = ThreadLocalRandom.current().nextInt(threadQueues.length);
+        ThreadQueue threadQueue = threadQueues[index];
+        threadQueue.size.incrementAndGet();
+        threadQueue.queue.add(task);
+
+        // the owner is preferred, but it needs to be removed from the idle thread queues; otherwise another producer
+        // could pick it as well, while a different idle thread remains parked.
+        if (threadQueue.parked && idleThreadQueues.remove(threadQueue)) {
+            LockSupport.unpark(threadQueue.thread);
+        } else {
+            unparkIdleThread();
+        }
+    }
+
+    @Override
+    public void addUrgent(Object task) {
+        checkNotNull(task, "task can't be null");
+
+        urgentSize.incrementAndGet();
+        urgentQueue.add(task);
+        unparkIdleThread();
+    }
+
+    private void unparkIdleThread() {
+        ThreadQueue idle = idleThreadQueues.poll();
+        if (idle != null) {
+            LockSupport.unpark(idle.thread);
+        }
+    }
+
+    @Override
+    public int normalSize() {
+        int size = 0;
+        for (ThreadQueue threadQueue : threadQueues) {
+            size += threadQueue.size.get();
+        }
+        return size;
+    }
+
+    @Override
+    public int prioritySize() {
+        return urgentSize.get();
+    }
+
+    @Override
+    public int size() {
+        return normalSize() + prioritySize();
+    }
+
+    private Object pollUrgent() {
+        Object task = urgentQueue.poll();
+        if (task != null) {
+            urgentSize.decrementAndGet();
+        }
+        return task;
+    }
+
+    /**
+     * The consumer side of the WorkStealingOperationQueue for a single generic operation thread.
+     */
+    private final class ThreadQueue implements OperationQueue {
+        private final int threadId;
+        private final ConcurrentLinkedQueue<Object> queue = new ConcurrentLinkedQueue<Object>();
+        private final AtomicInteger size = new AtomicInteger();
+        private volatile Thread thread;
+        private volatile boolean parked;
+
+        ThreadQueue(int threadId) {
+            this.threadId = threadId;
+        }
+
+        @Override
+        public void add(Object task) {
+            WorkStealingOperationQueue.this.add(task);
+        }
+
+        @Override
+        public void addUrgent(Object task) {
+            WorkStealingOperationQueue.this.addUrgent(task);
+        }
+
+        @Override
+        public Object take() throws InterruptedException {
+            if (thread == null) {
+                thread = Thread.currentThread();
+            }
+
+            for (; ; ) {
+                Object task = poll();
+                if (task != null) {
+                    return task;
+                }
+
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+
+                // we first announce that we are going to park, and then check again for work; this way a producer
+                // either sees us being idle, or we see the task of the producer.
+                parked = true;
+                idleThreadQueues.add(this);
+                task = poll();
+                if (task == null) {
+                    LockSupport.park(this);
+                }
+                parked = false;
+                idleThreadQueues.remove(this);
+
+                if (task != null) {
+                    return task;
+                }
+            }
+        }
+
+        private Object poll() {
+            Object task = pollUrgent();
+            if (task != null) {
+                return task;
+            }
+
+            task = pollNormal();
+            if (task != null) {
+                return task;
+            }
+
+            return steal();
+        }
+
+        private Object pollNormal() {
+            Object task = queue.poll();
+            if (task != null) {
+                size.decrementAndGet();
+            }
+            return task;
+        }
+
+        private Object steal() {
+            int threadCount = threadQueues.length;
+            for (int k = 1; k < threadCount; k++) {
+                ThreadQueue victim = threadQueues[(threadId + k) % threadCount];
+                if (victim.size.get() == 0) {
+                    continue;
+                }
+
+                Object task = victim.pollNormal();
+                if (task != null) {
+                    return task;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public int normalSize() {
+            return size.get();
+        }
+
+        @Override
+        public int prioritySize() {
+            return urgentSize.get();
+        }
+
+        @Override
+        public int size() {
+            return normalSize() + prioritySize();
+        }
+    }
+}
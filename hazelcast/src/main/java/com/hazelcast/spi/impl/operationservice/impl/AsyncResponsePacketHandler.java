@@ -17,10 +17,15 @@
 package com.hazelcast.spi.impl.operationservice.impl;
 
 import com.hazelcast.instance.HazelcastThreadGroup;
+import com.hazelcast.internal.metrics.LatencyHistogram;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.affinity.ThreadAffinity;
 import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Packet;
 import com.hazelcast.spi.impl.PacketHandler;
 import com.hazelcast.spi.impl.operationexecutor.OperationHostileThread;
+import com.hazelcast.spi.impl.operationservice.impl.responses.Response;
 
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -30,6 +35,7 @@ import static com.hazelcast.nio.Packet.FLAG_OP;
 import static com.hazelcast.nio.Packet.FLAG_RESPONSE;
 import static com.hazelcast.util.EmptyStatement.ignore;
 import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkState;
 import static com.hazelcast.util.Preconditions.checkTrue;
 
 /**
@@ -42,17 +48,44 @@ import static com.hazelcast.util.Preconditions.checkTrue;
  * The reason that the IO thread doesn't immediately deals with the response is that deserializing the
  * {@link com.hazelcast.spi.impl.operationservice.impl.responses.Response} and let the invocation-future
  * deal with the response can be rather expensive currently.
+ *
+ * A response that is already deserialized, like a response offloaded by the {@link InlineResponsePacketHandler}, can
+ * be queued using {@link #handle(Response, Address, long)}, so it isn't deserialized a second time.
+ *
+ * The time between receiving a response packet and having processed it, so including the time it waited in the
+ * workQueue, is recorded in the {@link #getLatencyHistogram() latency histogram}.
+ *
+ * @see InlineResponsePacketHandler
  */
 public class AsyncResponsePacketHandler implements PacketHandler {
 
     private final ResponseThread responseThread;
-    private final BlockingQueue<Packet> workQueue = new LinkedBlockingQueue<Packet>();
+    private final BlockingQueue<QueuedPacket> workQueue = new LinkedBlockingQueue<QueuedPacket>();
+    @Probe(name = "latency")
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
     private final ILogger logger;
+    // only set when the deserialized responses are handled as well
+    private final ResponseHandler responseHandler;
+    private ThreadAffinity threadAffinity = ThreadAffinity.NONE;
 
     public AsyncResponsePacketHandler(HazelcastThreadGroup threadGroup,
                                       ILogger logger,
                                       PacketHandler responsePacketHandler) {
+        this(threadGroup, logger, responsePacketHandler, null);
+    }
+
+    public AsyncResponsePacketHandler(HazelcastThreadGroup threadGroup,
+                                      ILogger logger,
+                                      ResponseHandler responseHandler) {
+        this(threadGroup, logger, responseHandler, responseHandler);
+    }
+
+    private AsyncResponsePacketHandler(HazelcastThreadGroup threadGroup,
+                                       ILogger logger,
+                                       PacketHandler responsePacketHandler,
+                                       ResponseHandler responseHandler) {
         this.logger = logger;
+        this.responseHandler = responseHandler;
         this.responseThread = new ResponseThread(threadGroup, responsePacketHandler);
     }
 
@@ -60,13 +93,41 @@ public class AsyncResponsePacketHandler implements PacketHandler {
         return workQueue.size();
     }
 
+    public LatencyHistogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
+    /**
+     * Sets the ThreadAffinity the response thread pins itself with. Should be called before this handler is started.
+     *
+     * @param threadAffinity the ThreadAffinity.
+     */
+    public void setThreadAffinity(ThreadAffinity threadAffinity) {
+        this.threadAffinity = threadAffinity;
+    }
+
     @Override
     public void handle(Packet packet) {
         checkNotNull(packet, "packet can't be null");
         checkTrue(packet.isFlagSet(FLAG_OP), "FLAG_OP should be set");
         checkTrue(packet.isFlagSet(FLAG_RESPONSE), "FLAG_RESPONSE should be set");
 
-        workQueue.add(packet);
+        workQueue.add(new QueuedPacket(packet, System.nanoTime()));
+    }
+
+    /**
+     * Queues a response that is already deserialized.
+     *
+     * @param response      the response.
+     * @param sender        the address of the member that sent the response.
+     * @param receivedNanos the {@link System#nanoTime()} at which the response packet was received.
+     * @throws IllegalStateException if this handler wasn't created with a {@link ResponseHandler}.
+     */
+    public void handle(Response response, Address sender, long receivedNanos) {
+        checkNotNull(response, "response can't be null");
+        checkState(responseHandler != null, "no ResponseHandler to handle deserialized responses");
+
+        workQueue.add(new QueuedPacket(response, sender, receivedNanos));
     }
 
     public void start() {
@@ -95,6 +156,7 @@ public class AsyncResponsePacketHandler implements PacketHandler {
 
         @Override
         public void run() {
+            threadAffinity.pinCurrentThread();
             try {
                 doRun();
             } catch (InterruptedException e) {
@@ -107,13 +169,20 @@ public class AsyncResponsePacketHandler implements PacketHandler {
 
         private void doRun() throws InterruptedException {
             while (!shutdown) {
-                Packet responsePacket = workQueue.take();
+                QueuedPacket queuedPacket = workQueue.take();
+                Packet responsePacket = queuedPacket.packet;
                 try {
-                    responsePacketHandler.handle(responsePacket);
+                    if (responsePacket == null) {
+                        responseHandler.handle(queuedPacket.response, queuedPacket.sender);
+                    } else {
+                        responsePacketHandler.handle(responsePacket);
+                    }
                 } catch (Throwable e) {
                     inspectOutputMemoryError(e);
-                    logger.severe("Failed to process response: " + responsePacket + " on response thread:" + getName(), e);
+                    Object response = responsePacket == null ? queuedPacket.response : responsePacket;
+                    logger.severe("Failed to process response: " + response + " on response thread:" + getName(), e);
                 }
+                latencyHistogram.recordNanos(System.nanoTime() - queuedPacket.receivedNanos);
             }
         }
 
@@ -122,4 +191,28 @@ public class AsyncResponsePacketHandler implements PacketHandler {
             interrupt();
         }
     }
+
+    /**
+     * Either a response packet, or a deserialized response with its sender.
+     */
+    private static final class QueuedPacket {
+        private final Packet packet;
+        private final Response response;
+        private final Address sender;
+        private final long receivedNanos;
+
+        private QueuedPacket(Packet packet, long receivedNanos) {
+            this.packet = packet;
+            this.response = null;
+            this.sender = null;
+            this.receivedNanos = receivedNanos;
+        }
+
+        private QueuedPacket(Response response, Address sender, long receivedNanos) {
+            this.packet = null;
+            this.response = response;
+            this.sender = sender;
+            this.receivedNanos = receivedNanos;
+        }
+    }
 }
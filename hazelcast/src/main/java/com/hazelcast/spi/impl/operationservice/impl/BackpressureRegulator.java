@@ -20,18 +20,28 @@ import com.hazelcast.internal.properties.GroupProperties;
 import com.hazelcast.internal.properties.GroupProperty;
 import com.hazelcast.internal.util.ThreadLocalRandom;
 import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.Address;
 import com.hazelcast.spi.BackupAwareOperation;
 import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.impl.operationexecutor.classic.OperationThread;
+import com.hazelcast.spi.impl.operationservice.impl.responses.Response;
 
 import java.util.Random;
 
+import static com.hazelcast.internal.properties.GroupProperty.BACKPRESSURE_ADAPTIVE_ENABLED;
+import static com.hazelcast.internal.properties.GroupProperty.BACKPRESSURE_ADAPTIVE_INTERVAL_MILLIS;
+import static com.hazelcast.internal.properties.GroupProperty.BACKPRESSURE_ADAPTIVE_TARGET_MILLIS;
 import static com.hazelcast.internal.properties.GroupProperty.BACKPRESSURE_BACKOFF_TIMEOUT_MILLIS;
 import static com.hazelcast.internal.properties.GroupProperty.BACKPRESSURE_MAX_CONCURRENT_INVOCATIONS_PER_PARTITION;
 import static com.hazelcast.internal.properties.GroupProperty.BACKPRESSURE_SYNCWINDOW;
 import static com.hazelcast.nio.Bits.CACHE_LINE_LENGTH;
 import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
 import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.lang.Math.round;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * The BackpressureRegulator is responsible for regulating invocation 'pressure'. If it sees that the system
@@ -57,6 +67,10 @@ import static java.lang.Math.round;
  * overloaded.
  * </li>
  * </ol>
+ * Both mechanisms only look at the calling side. With the adaptive backpressure enabled, the BackpressureRegulator also
+ * looks at how loaded the members are: a member sets the sojourn time of an operation in its partition operation queue
+ * on the response, and the caller feeds these sojourn times to a {@link CoDelThrottle} to decide if invocations to that
+ * member should be rejected; see {@link GroupProperty#BACKPRESSURE_ADAPTIVE_ENABLED}.
  */
 public class BackpressureRegulator {
 
@@ -79,6 +93,8 @@ public class BackpressureRegulator {
     private final int partitionCount;
     private final int maxConcurrentInvocations;
     private final int backoffTimeoutMs;
+    // null if adaptive backpressure is disabled
+    private final CoDelThrottle throttle;
 
     public BackpressureRegulator(GroupProperties properties, ILogger logger) {
         this.enabled = properties.getBoolean(GroupProperty.BACKPRESSURE_ENABLED);
@@ -87,6 +103,7 @@ public class BackpressureRegulator {
         this.syncWindow = getSyncWindow(properties);
         this.maxConcurrentInvocations = getMaxConcurrentInvocations(properties);
         this.backoffTimeoutMs = getBackoffTimeoutMs(properties);
+        this.throttle = newThrottle(properties);
 
         this.syncDelays = new int[INTS_PER_CACHE_LINE * partitionCount];
         for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
@@ -96,7 +113,8 @@ public class BackpressureRegulator {
         if (enabled) {
             logger.info("Backpressure is enabled"
                     + ", maxConcurrentInvocations:" + maxConcurrentInvocations
-                    + ", syncWindow: " + syncWindow);
+                    + ", syncWindow: " + syncWindow
+                    + ", adaptive: " + (throttle != null));
         } else {
             logger.info("Backpressure is disabled");
         }
@@ -119,6 +137,24 @@ public class BackpressureRegulator {
         return backoffTimeoutMs;
     }
 
+    private CoDelThrottle newThrottle(GroupProperties props) {
+        if (!enabled || !props.getBoolean(BACKPRESSURE_ADAPTIVE_ENABLED)) {
+            return null;
+        }
+
+        long targetMs = props.getMillis(BACKPRESSURE_ADAPTIVE_TARGET_MILLIS);
+        if (targetMs < 1) {
+            throw new IllegalArgumentException("Can't have '" + BACKPRESSURE_ADAPTIVE_TARGET_MILLIS
+                    + "' with a value smaller than 1");
+        }
+        long intervalMs = props.getMillis(BACKPRESSURE_ADAPTIVE_INTERVAL_MILLIS);
+        if (intervalMs < 1) {
+            throw new IllegalArgumentException("Can't have '" + BACKPRESSURE_ADAPTIVE_INTERVAL_MILLIS
+                    + "' with a value smaller than 1");
+        }
+        return new CoDelThrottle(MILLISECONDS.toNanos(targetMs), MILLISECONDS.toNanos(intervalMs));
+    }
+
     private int getMaxConcurrentInvocations(GroupProperties props) {
         int invocationsPerPartition = props.getInteger(BACKPRESSURE_MAX_CONCURRENT_INVOCATIONS_PER_PARTITION);
         if (invocationsPerPartition < 1) {
@@ -138,6 +174,20 @@ public class BackpressureRegulator {
         return enabled;
     }
 
+    /**
+     * Checks if adaptive back-pressure is enabled.
+     * <p/>
+     * This method is only used for testing.
+     */
+    boolean isAdaptive() {
+        return throttle != null;
+    }
+
+    // just for testing
+    CoDelThrottle getThrottle() {
+        return throttle;
+    }
+
     // just for testing
     int syncDelay(Operation op) {
         return syncDelays[op.getPartitionId() * INTS_PER_CACHE_LINE];
@@ -214,4 +264,69 @@ public class BackpressureRegulator {
         int randomSyncWindow = round((1 - RANGE) * syncWindow + random.nextInt(round(2 * RANGE * syncWindow)));
         return max(1, randomSyncWindow);
     }
+
+    /**
+     * Sets the queue sojourn time of the operation that is being executed by the current thread on the given response.
+     * Nothing is set if adaptive back-pressure is disabled, or if the current thread isn't an operation thread that
+     * tracks the sojourn time.
+     *
+     * @param response the response about to be sent.
+     */
+    public void setQueueSojournTime(Response response) {
+        if (throttle == null) {
+            return;
+        }
+
+        Thread thread = Thread.currentThread();
+        if (!(thread instanceof OperationThread)) {
+            return;
+        }
+
+        long sojournNanos = ((OperationThread) thread).getQueueSojournNanos();
+        if (sojournNanos >= 0) {
+            response.setQueueSojournMicros((int) min(NANOSECONDS.toMicros(sojournNanos), Integer.MAX_VALUE));
+        }
+    }
+
+    /**
+     * Notifies the BackpressureRegulator about a response received from the given member, so it can keep track of how
+     * loaded that member is.
+     *
+     * @param response the received response.
+     * @param sender   the member that sent the response.
+     */
+    public void onResponse(Response response, Address sender) {
+        if (throttle == null || sender == null) {
+            return;
+        }
+
+        int sojournMicros = response.getQueueSojournMicros();
+        if (sojournMicros >= 0) {
+            throttle.onSojournTime(sender, MICROSECONDS.toNanos(sojournMicros));
+        }
+    }
+
+    /**
+     * Checks if an invocation of the given operation on the target member should be rejected, because that member is
+     * overloaded. This can only happen when adaptive back-pressure is enabled.
+     *
+     * For {@link com.hazelcast.spi.UrgentSystemOperation} the invocation is never rejected.
+     *
+     * @param op     the operation to invoke.
+     * @param target the member to invoke the operation on.
+     * @return true if the invocation should be rejected, false otherwise.
+     */
+    public boolean isOverloaded(Operation op, Address target) {
+        if (throttle == null || op.isUrgent()) {
+            return false;
+        }
+
+        return throttle.shouldReject(target);
+    }
+
+    public void onMemberLeft(Address address) {
+        if (throttle != null) {
+            throttle.removeMember(address);
+        }
+    }
 }
@@ -36,6 +36,10 @@ import static com.hazelcast.spi.Operation.CALL_ID_LOCAL_SKIPPED;
  * The CallIdSequence provides back pressure if enabled and there are too many concurrent invocations. When this happens,
  * an exponential backoff policy is applied.
  * <p/>
+ * The call-ids are handed out consecutively. The {@link InvocationRegistry} selects the stripe of an invocation using the
+ * lower bits of the call-id; so consecutive call-ids are spread evenly over the stripes, and invocations registered at the
+ * same time by different threads are unlikely to contend on the same stripe.
+ * <p/>
  * Currently a single CallIdSequence is used for all partitions; so there is contention. Also one partition can cause problems
  * in other partition if a lot of invocations are created for that partition. Then other partitions can't make as many invocations
  * because a single callIdSequence is being used.
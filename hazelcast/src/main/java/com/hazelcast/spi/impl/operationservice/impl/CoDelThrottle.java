@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.nio.Address;
+import com.hazelcast.util.ConstructorFunction;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.util.ConcurrencyUtil.getOrPutIfAbsent;
+
+/**
+ * Decides per member if invocations should be rejected, based on the operation queue sojourn times that member
+ * piggybacks on its responses. It is modelled after the CoDel (controlled delay) queue management algorithm.
+ * <p/>
+ * As long as the sojourn times of a member stay below the target, nothing is rejected. Once they have been above the
+ * target for a full interval, the member is considered overloaded and its state changes to 'dropping'. The first
+ * invocation to that member is rejected, and every following rejection is spaced interval/sqrt(n) after the previous
+ * one, so the rejection rate increases as long as the member stays overloaded. The first sojourn time below the
+ * target ends the dropping state. If a member becomes overloaded again shortly after, the rejections continue close to
+ * the last rejection rate, instead of starting all over.
+ * <p/>
+ * The sojourn times are offered by the threads processing the responses, and the rejection decisions are made by the
+ * invoking threads. The state of a member is guarded by the member state itself, but its lock is only taken on a state
+ * change and for a rejection decision in the dropping state.
+ */
+final class CoDelThrottle {
+
+    // if a member becomes overloaded again within this number of intervals, the previous rejection rate is resumed
+    private static final int RESUME_INTERVALS = 16;
+    private static final int RESUME_DECREMENT = 2;
+
+    private final long targetNanos;
+    private final long intervalNanos;
+    private final ConcurrentMap<Address, MemberState> memberStates = new ConcurrentHashMap<Address, MemberState>();
+    private final ConstructorFunction<Address, MemberState> memberStateConstructor
+            = new ConstructorFunction<Address, MemberState>() {
+        @Override
+        public MemberState createNew(Address address) {
+            return new MemberState();
+        }
+    };
+
+    CoDelThrottle(long targetNanos, long intervalNanos) {
+        this.targetNanos = targetNanos;
+        this.intervalNanos = intervalNanos;
+    }
+
+    /**
+     * Offers the sojourn time of an operation executed on the given member.
+     *
+     * @param member       the member that executed the operation.
+     * @param sojournNanos the sojourn time in nanoseconds.
+     */
+    void onSojournTime(Address member, long sojournNanos) {
+        MemberState memberState = getOrPutIfAbsent(memberStates, member, memberStateConstructor);
+        memberState.onSojournTime(sojournNanos, System.nanoTime());
+    }
+
+    /**
+     * Checks if an invocation to the given member should be rejected.
+     *
+     * @param member the member to invoke on.
+     * @return true if the invocation should be rejected, false otherwise.
+     */
+    boolean shouldReject(Address member) {
+        MemberState memberState = memberStates.get(member);
+        return memberState != null && memberState.shouldReject(System.nanoTime());
+    }
+
+    // just for testing
+    boolean isDropping(Address member) {
+        MemberState memberState = memberStates.get(member);
+        return memberState != null && memberState.dropping;
+    }
+
+    void removeMember(Address member) {
+        memberStates.remove(member);
+    }
+
+    private final class MemberState {
+        // read without the lock for the fast paths, so they are volatile
+        private volatile boolean aboveTarget;
+        private volatile boolean dropping;
+
+        private long firstAboveTimeNanos;
+        private long dropNextNanos;
+        private int dropCount;
+
+        void onSojournTime(long sojournNanos, long nowNanos) {
+            if (sojournNanos < targetNanos) {
+                if (aboveTarget) {
+                    synchronized (this) {
+                        aboveTarget = false;
+                        dropping = false;
+                    }
+                }
+                return;
+            }
+
+            if (dropping) {
+                return;
+            }
+
+            synchronized (this) {
+                if (!aboveTarget) {
+                    aboveTarget = true;
+                    firstAboveTimeNanos = nowNanos + intervalNanos;
+                } else if (!dropping && nowNanos - firstAboveTimeNanos >= 0) {
+                    boolean recentlyDropping = nowNanos - dropNextNanos < RESUME_INTERVALS * intervalNanos;
+                    dropCount = recentlyDropping && dropCount > RESUME_DECREMENT ? dropCount - RESUME_DECREMENT : 0;
+                    dropNextNanos = nowNanos;
+                    dropping = true;
+                }
+            }
+        }
+
+        boolean shouldReject(long nowNanos) {
+            if (!dropping) {
+                return false;
+            }
+
+            synchronized (this) {
+                if (!dropping || nowNanos - dropNextNanos < 0) {
+                    return false;
+                }
+
+                dropCount++;
+                dropNextNanos = nowNanos + (long) (intervalNanos / Math.sqrt(dropCount));
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.internal.metrics.LatencyHistogram;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.Packet;
+import com.hazelcast.spi.impl.PacketHandler;
+import com.hazelcast.spi.impl.operationservice.impl.responses.BackupResponse;
+import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
+import com.hazelcast.spi.impl.operationservice.impl.responses.Response;
+
+import static com.hazelcast.instance.OutOfMemoryErrorDispatcher.inspectOutputMemoryError;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.nio.Packet.FLAG_OP;
+import static com.hazelcast.nio.Packet.FLAG_RESPONSE;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkTrue;
+
+/**
+ * A PacketHandler that processes operation-response packets on the calling thread, which normally is the IO thread
+ * that received the packet. This saves the thread hop of the {@link AsyncResponsePacketHandler}, which dominates the
+ * latency of small responses.
+ *
+ * Only the {@link NormalResponse} and {@link BackupResponse} are processed inline; notifying the invocation of these
+ * responses doesn't block. The {@link InvocationFuture} executes its callbacks on their executors anyway, so no user
+ * code runs on the IO thread. Other responses, like error and call-timeout responses, can lead to a retry of the
+ * invocation, which could block; these responses are offloaded to the {@link AsyncResponsePacketHandler}, without
+ * deserializing them again.
+ *
+ * The time needed to process a response inline is recorded in the {@link #getLatencyHistogram() latency histogram}.
+ */
+public final class InlineResponsePacketHandler implements PacketHandler {
+
+    @Probe(name = "offloaded")
+    private final MwCounter offloaded = newMwCounter();
+    @Probe(name = "latency")
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+    private final ILogger logger;
+    private final InternalSerializationService serializationService;
+    private final ResponseHandler responseHandler;
+    private final AsyncResponsePacketHandler offloadHandler;
+
+    public InlineResponsePacketHandler(ILogger logger,
+                                       InternalSerializationService serializationService,
+                                       ResponseHandler responseHandler,
+                                       AsyncResponsePacketHandler offloadHandler) {
+        this.logger = logger;
+        this.serializationService = serializationService;
+        this.responseHandler = responseHandler;
+        this.offloadHandler = offloadHandler;
+    }
+
+    public LatencyHistogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
+    @Override
+    public void handle(Packet packet) throws Exception {
+        checkNotNull(packet, "packet can't be null");
+        checkTrue(packet.isFlagSet(FLAG_OP), "FLAG_OP should be set");
+        checkTrue(packet.isFlagSet(FLAG_RESPONSE), "FLAG_RESPONSE should be set");
+
+        long startNanos = System.nanoTime();
+        Response response;
+        try {
+            response = serializationService.toObject(packet);
+        } catch (Throwable e) {
+            inspectOutputMemoryError(e);
+            logger.severe("Failed to deserialize response: " + packet, e);
+            return;
+        }
+
+        Address sender = packet.getConn().getEndPoint();
+        if (response instanceof NormalResponse || response instanceof BackupResponse) {
+            responseHandler.handle(response, sender);
+            latencyHistogram.recordNanos(System.nanoTime() - startNanos);
+        } else {
+            offloaded.inc();
+            offloadHandler.handle(response, sender, startNanos);
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.hazelcast.spi.impl.operationservice.impl;
 
 import com.hazelcast.cluster.ClusterState;
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
+import com.hazelcast.core.HazelcastOverloadException;
 import com.hazelcast.core.OperationTimeoutException;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.instance.NodeState;
@@ -96,6 +97,8 @@ public abstract class Invocation implements OperationResponseHandler, Runnable {
     @SuppressWarnings("checkstyle:visibilitymodifier")
     public final long firstInvocationTimeMillis = Clock.currentTimeMillis();
 
+    final long firstInvocationTimeNanos = System.nanoTime();
+
     // The time in millis when the response of the primary has been received.
     volatile long pendingResponseReceivedMillis = -1;
     // contains the pending response from the primary. It is pending because it could be that backups need to complete.
@@ -219,6 +222,12 @@ public abstract class Invocation implements OperationResponseHandler, Runnable {
             return;
         }
 
+        if (remote && operationService.backpressureRegulator.isOverloaded(op, invTarget)) {
+            notifyError(new HazelcastOverloadException("Invocation rejected because the operation queue sojourn times of "
+                    + invTarget + " are above the target. Op: " + op));
+            return;
+        }
+
         setInvocationTime(op, nodeEngine.getClusterService().getClusterClock().getClusterTime());
         operationService.invocationRegistry.register(this);
         if (remote) {
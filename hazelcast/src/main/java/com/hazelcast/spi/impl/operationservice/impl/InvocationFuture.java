@@ -181,6 +181,12 @@ final class InvocationFuture<E> implements InternalCompletableFuture<E> {
             operationService.invocationRegistry.deregister(invocation);
         }
 
+        OperationLatencyHistograms invocationLatencies = operationService.invocationLatencies;
+        if (invocationLatencies != null) {
+            invocationLatencies.recordNanos(
+                    invocation.op.getClass(), System.nanoTime() - invocation.firstInvocationTimeNanos);
+        }
+
         notifyCallbacks(callbackChain);
         return true;
     }
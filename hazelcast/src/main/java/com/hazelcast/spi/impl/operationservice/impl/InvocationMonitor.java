@@ -17,7 +17,6 @@
 package com.hazelcast.spi.impl.operationservice.impl;
 
 import com.hazelcast.core.MemberLeftException;
-import com.hazelcast.instance.HazelcastThreadGroup;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.Probe;
@@ -27,18 +26,17 @@ import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.spi.ExecutionService;
-import com.hazelcast.spi.impl.operationexecutor.OperationHostileThread;
-import com.hazelcast.util.EmptyStatement;
+import com.hazelcast.spi.impl.timer.TimerWheel;
 
 import java.util.Iterator;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 import static com.hazelcast.instance.OutOfMemoryErrorDispatcher.inspectOutputMemoryError;
 import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
 import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.INFO;
 
@@ -46,6 +44,9 @@ import static java.util.logging.Level.INFO;
  * The InvocationMonitor monitors all pending invocations and determines if there are any problems like timeouts. It uses the
  * {@link InvocationRegistry} to access the pending invocations.
  * <p/>
+ * The pending invocations are scanned periodically by a task on the {@link TimerWheel}; so no dedicated thread is needed,
+ * and registering or deregistering an invocation doesn't involve the monitor at all.
+ * <p/>
  * An experimental feature to support debugging is the slow invocation detector. So it can log any invocation that takes
  * more than x seconds. See {@link GroupProperty#SLOW_INVOCATION_DETECTOR_THRESHOLD_MILLIS} for more information.
  */
@@ -57,35 +58,34 @@ public class InvocationMonitor {
     private final long backupTimeoutMillis;
     private final InvocationRegistry invocationRegistry;
     private final ExecutionService executionService;
-    private final InvocationMonitorThread monitorThread;
+    private final TimerWheel timerWheel;
+    private final MonitorTask monitorTask = new MonitorTask();
     private final ILogger logger;
     @Probe(name = "backupTimeouts", level = MANDATORY)
     private final SwCounter backupTimeoutsCount = newSwCounter();
     @Probe(name = "normalTimeouts", level = MANDATORY)
     private final SwCounter normalTimeoutsCount = newSwCounter();
 
+    private volatile boolean shutdown;
+
     public InvocationMonitor(InvocationRegistry invocationRegistry, ILogger logger, GroupProperties props,
-                             HazelcastThreadGroup hzThreadGroup, ExecutionService executionService,
+                             TimerWheel timerWheel, ExecutionService executionService,
                              MetricsRegistry metricsRegistry) {
         this.invocationRegistry = invocationRegistry;
         this.logger = logger;
         this.executionService = executionService;
+        this.timerWheel = timerWheel;
         this.backupTimeoutMillis = props.getMillis(GroupProperty.OPERATION_BACKUP_TIMEOUT_MILLIS);
-        this.monitorThread = new InvocationMonitorThread(hzThreadGroup);
 
         metricsRegistry.scanAndRegister(this, "operation.invocations");
     }
 
     public void start() {
-        monitorThread.start();
+        timerWheel.schedule(monitorTask, SCAN_DELAY_MILLIS, MILLISECONDS);
     }
 
     public void shutdown() {
-        monitorThread.shutdown();
-    }
-
-    public void awaitTermination(long timeoutMillis) throws InterruptedException {
-        monitorThread.join(timeoutMillis);
+        shutdown = true;
     }
 
     public void onMemberLeft(MemberImpl member) {
@@ -95,48 +95,23 @@ public class InvocationMonitor {
     }
 
     /**
-     * The InvocationMonitorThread iterates over all pending invocations and sees what needs to be done
-     * <p/>
-     * But it should also check if a 'is still running' check needs to be done. This removed complexity from
-     * the invocation.waitForResponse which is too complicated too understand.
-     * <p/>
-     * This class needs to implement the {@link OperationHostileThread} interface to make sure that the OperationExecutor
-     * is not going to schedule any operations on this task due to retry.
+     * The MonitorTask iterates over all pending invocations and sees what needs to be done. It runs on the timer thread
+     * and schedules itself again after every scan.
      */
-    private final class InvocationMonitorThread extends Thread implements OperationHostileThread {
-
-        private volatile boolean shutdown;
-
-        private InvocationMonitorThread(HazelcastThreadGroup hzThreadGroup) {
-            super(hzThreadGroup.getInternalThreadGroup(), hzThreadGroup.getThreadNamePrefix("InvocationMonitorThread"));
-        }
-
-        public void shutdown() {
-            shutdown = true;
-            interrupt();
-        }
+    private final class MonitorTask implements Runnable {
 
         @Override
         public void run() {
-            try {
-                while (!shutdown) {
-                    scan();
-                    if (!shutdown) {
-                        sleep();
-                    }
-                }
-            } catch (Throwable t) {
-                inspectOutputMemoryError(t);
-                logger.severe("Failed to run", t);
+            if (shutdown) {
+                return;
             }
-        }
 
-        private void sleep() {
             try {
-                Thread.sleep(SCAN_DELAY_MILLIS);
-            } catch (InterruptedException ignore) {
-                // can safely be ignored. If this thread wants to shut down, it will read the shutdown variable.
-                EmptyStatement.ignore(ignore);
+                scan();
+            } finally {
+                if (!shutdown) {
+                    timerWheel.schedule(this, SCAN_DELAY_MILLIS, MILLISECONDS);
+                }
             }
         }
 
@@ -149,8 +124,7 @@ public class InvocationMonitor {
             int invocationTimeouts = 0;
             int invocationCount = 0;
 
-            Set<Map.Entry<Long, Invocation>> invocations = invocationRegistry.entrySet();
-            Iterator<Map.Entry<Long, Invocation>> iterator = invocations.iterator();
+            Iterator<Map.Entry<Long, Invocation>> iterator = invocationRegistry.entrySet().iterator();
             while (iterator.hasNext()) {
                 invocationCount++;
 
@@ -192,13 +166,13 @@ public class InvocationMonitor {
          * After that when the invocation with the callId 3 completes, it tries to de-register itself from
          * invocation registry
          * but fails to do so since the invocation callId and the callId on the operation is not matching anymore
-         * When InvocationMonitor thread kicks in, it sees that there is an invocation in the registry,
+         * When the MonitorTask kicks in, it sees that there is an invocation in the registry,
          * and asks whether invocation is finished or not.
          * Even if the remote node replies with invocation is timed out,
          * It can’t be de-registered from the registry because of aforementioned non-matching callId scenario.
          *
          * Workaround:
-         * When InvocationMonitor kicks in, it will do a check for invocations that are completed
+         * When the MonitorTask kicks in, it will do a check for invocations that are completed
          * but their callId's are not matching with their operations. If any invocation found for that type,
          * it is removed from the invocation registry.
          */
@@ -21,16 +21,20 @@ import com.hazelcast.core.MemberLeftException;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.util.collection.Long2ObjectHashMap;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
 import static com.hazelcast.spi.Operation.CALL_ID_LOCAL_SKIPPED;
 import static com.hazelcast.spi.OperationAccessor.setCallId;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
 
 /**
  * The InvocationsRegistry is responsible for the registration of all pending invocations. Using the InvocationRegistry the
@@ -40,6 +44,12 @@ import static com.hazelcast.spi.OperationAccessor.setCallId;
  * {@link com.hazelcast.spi.impl.operationservice.impl.responses.Response} comes in, the
  * appropriate invocation can be looked up.
  * <p/>
+ * The invocations are stored in a number of stripes; each stripe is a {@link Long2ObjectHashMap} guarded by its own lock.
+ * So unlike a ConcurrentHashMap, the callId doesn't need to be boxed and no entry objects are created when an invocation
+ * is registered, looked up or deregistered. The stripe is selected using the lower bits of the callId; since the
+ * {@link CallIdSequence} hands out consecutive call-ids, invocations registered at the same time by different threads end
+ * up in different stripes.
+ * <p/>
  * Some idea's:
  * - use an ringbuffer to store all invocations instead of a CHM. The call-id can be used as sequence-id for this
  * ringbuffer. It can be that you run in slots that have not been released; if that happens, just keep increasing
@@ -50,11 +60,10 @@ import static com.hazelcast.spi.OperationAccessor.setCallId;
 public class InvocationRegistry implements Iterable<Invocation> {
 
     private static final int INITIAL_CAPACITY = 1000;
-    private static final float LOAD_FACTOR = 0.75f;
     private static final double HUNDRED_PERCENT = 100d;
 
-    @Probe(name = "invocations.pending", level = MANDATORY)
-    private final ConcurrentMap<Long, Invocation> invocations;
+    private final Stripe[] stripes;
+    private final int stripeMask;
     private final ILogger logger;
     private final CallIdSequence callIdSequence;
 
@@ -62,7 +71,13 @@ public class InvocationRegistry implements Iterable<Invocation> {
                               int concurrencyLevel) {
         this.logger = logger;
         this.callIdSequence = backpressureRegulator.newCallIdSequence();
-        this.invocations = new ConcurrentHashMap<Long, Invocation>(INITIAL_CAPACITY, LOAD_FACTOR, concurrencyLevel);
+
+        int stripeCount = nextPowerOfTwo(concurrencyLevel);
+        this.stripeMask = stripeCount - 1;
+        this.stripes = new Stripe[stripeCount];
+        for (int k = 0; k < stripeCount; k++) {
+            stripes[k] = new Stripe(INITIAL_CAPACITY / stripeCount);
+        }
 
         nodeEngine.getMetricsRegistry().scanAndRegister(this, "operation");
     }
@@ -74,7 +89,7 @@ public class InvocationRegistry implements Iterable<Invocation> {
             return 0;
         }
 
-        return (HUNDRED_PERCENT * invocations.size()) / maxConcurrentInvocations;
+        return (HUNDRED_PERCENT * size()) / maxConcurrentInvocations;
     }
 
     @Probe(name = "invocations.lastCallId")
@@ -97,7 +112,7 @@ public class InvocationRegistry implements Iterable<Invocation> {
             return;
         }
 
-        invocations.put(callId, invocation);
+        stripe(callId).put(callId, invocation);
     }
 
     /**
@@ -118,7 +133,7 @@ public class InvocationRegistry implements Iterable<Invocation> {
             return;
         }
 
-        boolean deleted = invocations.remove(callId) != null;
+        boolean deleted = stripe(callId).remove(callId, null);
         if (!deleted && logger.isFinestEnabled()) {
             logger.finest("failed to deregister callId: " + callId + " " + invocation);
         }
@@ -129,22 +144,54 @@ public class InvocationRegistry implements Iterable<Invocation> {
      *
      * @return the number of pending invocations.
      */
+    @Probe(name = "invocations.pending", level = MANDATORY)
     public int size() {
-        return invocations.size();
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size;
+        }
+        return size;
     }
 
+    /**
+     * Returns an iterator over a snapshot of the pending invocations.
+     *
+     * @return the iterator.
+     */
     @Override
     public Iterator<Invocation> iterator() {
-        return invocations.values().iterator();
+        List<Invocation> result = new ArrayList<Invocation>(size());
+        for (Stripe stripe : stripes) {
+            stripe.copyValues(result);
+        }
+        return result.iterator();
     }
 
     /**
-     * Intention to expose the entry set is to mutate it.
+     * Returns a snapshot of the pending invocations by callId.
+     * <p/>
+     * Intention to expose the entry set is to mutate it; removing an entry using the iterator deregisters the invocation
+     * for that callId, if the callId is still mapped to the same invocation.
      *
      * @return set of invocations in this registry
      */
     public Set<Map.Entry<Long, Invocation>> entrySet() {
-        return invocations.entrySet();
+        final List<Map.Entry<Long, Invocation>> entries = new ArrayList<Map.Entry<Long, Invocation>>(size());
+        for (Stripe stripe : stripes) {
+            stripe.copyEntries(entries);
+        }
+
+        return new AbstractSet<Map.Entry<Long, Invocation>>() {
+            @Override
+            public Iterator<Map.Entry<Long, Invocation>> iterator() {
+                return new EntryIterator(entries.iterator());
+            }
+
+            @Override
+            public int size() {
+                return entries.size();
+            }
+        };
     }
 
     /**
@@ -154,7 +201,23 @@ public class InvocationRegistry implements Iterable<Invocation> {
      * @return the Invocation for the given callId, or null if no invocation was found.
      */
     public Invocation get(long callId) {
-        return invocations.get(callId);
+        return stripe(callId).get(callId);
+    }
+
+    /**
+     * Removes the invocation for the given callId, if the callId is still mapped to that invocation. Unlike
+     * {@link #deregister(Invocation)}, the operation and the {@link CallIdSequence} are not touched.
+     *
+     * @param callId     the callId.
+     * @param invocation the invocation to remove.
+     * @return true if the invocation was removed, false otherwise.
+     */
+    boolean remove(long callId, Invocation invocation) {
+        return stripe(callId).remove(callId, invocation);
+    }
+
+    private Stripe stripe(long callId) {
+        return stripes[(int) callId & stripeMask];
     }
 
     public void reset() {
@@ -176,4 +239,86 @@ public class InvocationRegistry implements Iterable<Invocation> {
             }
         }
     }
+
+    /**
+     * Removes the entries returned by the iterator from the registry.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<Long, Invocation>> {
+        private final Iterator<Map.Entry<Long, Invocation>> iterator;
+        private Map.Entry<Long, Invocation> current;
+
+        EntryIterator(Iterator<Map.Entry<Long, Invocation>> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public Map.Entry<Long, Invocation> next() {
+            current = iterator.next();
+            return current;
+        }
+
+        @Override
+        public void remove() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+
+            InvocationRegistry.this.remove(current.getKey(), current.getValue());
+            current = null;
+        }
+    }
+
+    /**
+     * A part of the invocations. All access is synchronized on the stripe, the size is volatile so it can be read without
+     * acquiring the lock.
+     */
+    private static final class Stripe {
+        private final Long2ObjectHashMap<Invocation> invocations;
+        private volatile int size;
+
+        Stripe(int initialCapacity) {
+            this.invocations = new Long2ObjectHashMap<Invocation>(initialCapacity);
+        }
+
+        synchronized void put(long callId, Invocation invocation) {
+            invocations.put(callId, invocation);
+            size = invocations.size();
+        }
+
+        synchronized Invocation get(long callId) {
+            return invocations.get(callId);
+        }
+
+        /**
+         * Removes the invocation for the given callId.
+         *
+         * @param callId   the callId.
+         * @param expected the invocation that should be mapped to the callId, or null if any invocation can be removed.
+         * @return true if an invocation was removed, false otherwise.
+         */
+        synchronized boolean remove(long callId, Invocation expected) {
+            if (expected != null && invocations.get(callId) != expected) {
+                return false;
+            }
+
+            boolean removed = invocations.remove(callId) != null;
+            size = invocations.size();
+            return removed;
+        }
+
+        synchronized void copyValues(List<Invocation> result) {
+            result.addAll(invocations.values());
+        }
+
+        synchronized void copyEntries(List<Map.Entry<Long, Invocation>> result) {
+            for (Map.Entry<Long, Invocation> entry : invocations.entrySet()) {
+                result.add(new AbstractMap.SimpleImmutableEntry<Long, Invocation>(entry.getKey(), entry.getValue()));
+            }
+        }
+    }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.internal.metrics.HistogramProbeFunction;
+import com.hazelcast.internal.metrics.LatencyHistogram;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.util.ConstructorFunction;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
+import static com.hazelcast.util.ConcurrencyUtil.getOrPutSynchronized;
+
+/**
+ * Contains a {@link LatencyHistogram} per operation class. A histogram is created and registered in the
+ * {@link MetricsRegistry} the first time a latency is recorded for its operation class, using the name
+ * 'prefix[classname]'.
+ *
+ * The histograms are registered as mandatory probes; they are only created when explicitly enabled using the
+ * {@link com.hazelcast.internal.properties.GroupProperty#PERFORMANCE_LATENCY_HISTOGRAMS_ENABLED}, so there is no
+ * reason to hide them.
+ */
+final class OperationLatencyHistograms {
+
+    private static final HistogramProbeFunction<LatencyHistogram> HISTOGRAM_FUNCTION
+            = new HistogramProbeFunction<LatencyHistogram>() {
+        @Override
+        public LatencyHistogram get(LatencyHistogram source) {
+            return source;
+        }
+    };
+
+    private final ConcurrentMap<Class, LatencyHistogram> histograms = new ConcurrentHashMap<Class, LatencyHistogram>();
+    private final ConstructorFunction<Class, LatencyHistogram> constructorFunction
+            = new ConstructorFunction<Class, LatencyHistogram>() {
+        @Override
+        public LatencyHistogram createNew(Class operationClass) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            metricsRegistry.register(histogram, prefix + "[" + operationClass.getName() + "]", MANDATORY, HISTOGRAM_FUNCTION);
+            return histogram;
+        }
+    };
+
+    private final MetricsRegistry metricsRegistry;
+    private final String prefix;
+
+    OperationLatencyHistograms(MetricsRegistry metricsRegistry, String prefix) {
+        this.metricsRegistry = metricsRegistry;
+        this.prefix = prefix;
+    }
+
+    /**
+     * Records a latency for the given operation class.
+     *
+     * @param operationClass the class of the operation.
+     * @param durationNanos  the latency in nanoseconds.
+     */
+    void recordNanos(Class operationClass, long durationNanos) {
+        getHistogram(operationClass).recordNanos(durationNanos);
+    }
+
+    LatencyHistogram getHistogram(Class operationClass) {
+        return getOrPutSynchronized(histograms, operationClass, histograms, constructorFunction);
+    }
+}
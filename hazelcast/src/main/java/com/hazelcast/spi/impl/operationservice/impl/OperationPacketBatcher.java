@@ -0,0 +1,423 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.instance.HazelcastThreadGroup;
+import com.hazelcast.instance.Node;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.properties.GroupProperties;
+import com.hazelcast.internal.properties.GroupProperty;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.ConnectionManager;
+import com.hazelcast.nio.Packet;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.exception.RetryableIOException;
+import com.hazelcast.util.ConstructorFunction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.hazelcast.instance.OutOfMemoryErrorDispatcher.inspectOutputMemoryError;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.SHORT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.readIntB;
+import static com.hazelcast.nio.Bits.readShortB;
+import static com.hazelcast.nio.Bits.writeIntB;
+import static com.hazelcast.nio.Bits.writeShortB;
+import static com.hazelcast.util.ConcurrencyUtil.getOrPutIfAbsent;
+
+/**
+ * Coalesces operation packets bound for the same member into a single batch packet.
+ * <p/>
+ * Instead of writing every operation packet to the connection, the packets of the operations of the services
+ * configured with {@link GroupProperty#OPERATION_BATCHING_SERVICES} are collected per target address. A batch is
+ * flushed by the sender as soon as it reaches {@link GroupProperty#OPERATION_BATCHING_MAX_SIZE} bytes, or else by the
+ * flush thread after at most {@link GroupProperty#OPERATION_BATCHING_WINDOW_MICROS}.
+ * <p/>
+ * A batch packet has the {@link Packet#FLAG_OP} and {@link Packet#FLAG_BATCH} flags set and its payload is:
+ * <pre>
+ * int count
+ * count times: short flags, int partitionId, int payloadLength, byte[] payload
+ * </pre>
+ * The receiving member splits the batch packet using {@link #split(Packet)}, and executes each packet just as if it
+ * was received on its own; so partition specific packets end up on the right partition operation thread.
+ * <p/>
+ * Urgent operations are never batched. Batches for a single target are flushed by one thread at a time, so the
+ * ordering of the operations sent by a single thread to a member is preserved.
+ * <p/>
+ * Packets are only batched while there is a live connection to the target. If a batch can't be transmitted after all,
+ * the invocations of its operations are notified with a {@link RetryableIOException}, just like when a single packet
+ * can't be sent.
+ */
+final class OperationPacketBatcher {
+
+    private static final int HEADER_SIZE = INT_SIZE_IN_BYTES;
+    private static final int ENTRY_HEADER_SIZE = SHORT_SIZE_IN_BYTES + INT_SIZE_IN_BYTES + INT_SIZE_IN_BYTES;
+
+    @Probe(name = "batches")
+    private final MwCounter batchCount = newMwCounter();
+    @Probe(name = "batchedPackets")
+    private final MwCounter batchedPacketCount = newMwCounter();
+
+    private final ConcurrentMap<Address, Batch> batches = new ConcurrentHashMap<Address, Batch>();
+    private final ConstructorFunction<Address, Batch> batchConstructor = new ConstructorFunction<Address, Batch>() {
+        @Override
+        public Batch createNew(Address target) {
+            return new Batch(target);
+        }
+    };
+
+    private final Set<String> serviceNames;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final Node node;
+    private final InvocationRegistry invocationRegistry;
+    private final ILogger logger;
+    private final FlushThread flushThread;
+
+    OperationPacketBatcher(GroupProperties properties, Node node, InvocationRegistry invocationRegistry,
+                           HazelcastThreadGroup threadGroup, ILogger logger) {
+        this.serviceNames = parseServiceNames(properties.getString(GroupProperty.OPERATION_BATCHING_SERVICES));
+        this.maxBatchSize = properties.getInteger(GroupProperty.OPERATION_BATCHING_MAX_SIZE);
+        this.windowNanos = properties.getNanos(GroupProperty.OPERATION_BATCHING_WINDOW_MICROS);
+        this.node = node;
+        this.invocationRegistry = invocationRegistry;
+        this.logger = logger;
+        this.flushThread = serviceNames.isEmpty() ? null : new FlushThread(threadGroup);
+    }
+
+    private static Set<String> parseServiceNames(String value) {
+        if (value == null) {
+            return Collections.emptySet();
+        }
+
+        Set<String> result = new HashSet<String>();
+        for (String serviceName : value.split(",")) {
+            serviceName = serviceName.trim();
+            if (serviceName.length() > 0) {
+                result.add(serviceName);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks if the packet of the given operation should be batched.
+     *
+     * @param op the operation to check.
+     * @return true if it should be batched, false otherwise.
+     */
+    boolean isBatchable(Operation op) {
+        return flushThread != null && !op.isUrgent() && serviceNames.contains(op.getServiceName());
+    }
+
+    /**
+     * Adds an operation packet to the batch for the given target.
+     *
+     * @param op     the operation of the packet.
+     * @param packet the operation packet.
+     * @param target the address of the member to send the packet to.
+     * @return false if there is no live connection to the target, true otherwise.
+     */
+    boolean add(Operation op, Packet packet, Address target) {
+        Connection connection = node.getConnectionManager().getOrConnect(target);
+        if (connection == null || !connection.isAlive()) {
+            return false;
+        }
+
+        Batch batch = getOrPutIfAbsent(batches, target, batchConstructor);
+        if (batch.add(new PendingPacket(op, packet)) >= maxBatchSize) {
+            batch.flush();
+        } else {
+            flushThread.wakeUp();
+        }
+        return true;
+    }
+
+    void start() {
+        if (flushThread != null) {
+            flushThread.start();
+        }
+    }
+
+    void shutdown() {
+        if (flushThread != null) {
+            flushThread.shutdown();
+        }
+    }
+
+    /**
+     * Splits a batch packet in the packets it contains.
+     *
+     * @param batchPacket the packet to split.
+     * @return the list of packets.
+     */
+    static List<Packet> split(Packet batchPacket) {
+        byte[] bytes = batchPacket.toByteArray();
+        int count = readIntB(bytes, 0);
+        List<Packet> packets = new ArrayList<Packet>(count);
+
+        int pos = HEADER_SIZE;
+        for (int k = 0; k < count; k++) {
+            short flags = readShortB(bytes, pos);
+            pos += SHORT_SIZE_IN_BYTES;
+            int partitionId = readIntB(bytes, pos);
+            pos += INT_SIZE_IN_BYTES;
+            int length = readIntB(bytes, pos);
+            pos += INT_SIZE_IN_BYTES;
+
+            byte[] payload = new byte[length];
+            System.arraycopy(bytes, pos, payload, 0, length);
+            pos += length;
+
+            Packet packet = new Packet(payload, partitionId);
+            packet.setAllFlags(flags);
+            packet.setConn(batchPacket.getConn());
+            packets.add(packet);
+        }
+        return packets;
+    }
+
+    static Packet newBatchPacket(List<Packet> packets) {
+        int size = HEADER_SIZE;
+        for (Packet packet : packets) {
+            size += ENTRY_HEADER_SIZE + packet.totalSize();
+        }
+
+        byte[] bytes = new byte[size];
+        writeIntB(bytes, 0, packets.size());
+        int pos = HEADER_SIZE;
+        for (Packet packet : packets) {
+            writeShortB(bytes, pos, packet.getFlags());
+            pos += SHORT_SIZE_IN_BYTES;
+            writeIntB(bytes, pos, packet.getPartitionId());
+            pos += INT_SIZE_IN_BYTES;
+
+            int length = packet.totalSize();
+            writeIntB(bytes, pos, length);
+            pos += INT_SIZE_IN_BYTES;
+            if (length > 0) {
+                System.arraycopy(packet.toByteArray(), 0, bytes, pos, length);
+                pos += length;
+            }
+        }
+
+        Packet batchPacket = new Packet(bytes, -1);
+        batchPacket.setFlag(Packet.FLAG_OP);
+        batchPacket.setFlag(Packet.FLAG_BATCH);
+        return batchPacket;
+    }
+
+    /**
+     * A packet waiting to be batched, together with its operation.
+     */
+    private static final class PendingPacket {
+        private final Operation op;
+        private final Packet packet;
+
+        PendingPacket(Operation op, Packet packet) {
+            this.op = op;
+            this.packet = packet;
+        }
+
+        int entrySize() {
+            return ENTRY_HEADER_SIZE + packet.totalSize();
+        }
+    }
+
+    /**
+     * The pending packets for a single target.
+     */
+    private final class Batch {
+        private final Address target;
+        private final ConcurrentLinkedQueue<PendingPacket> packets = new ConcurrentLinkedQueue<PendingPacket>();
+        private final AtomicInteger pendingBytes = new AtomicInteger();
+        // makes sure only a single thread at a time is flushing, so that the ordering of the packets is preserved
+        private final AtomicBoolean flushing = new AtomicBoolean();
+
+        Batch(Address target) {
+            this.target = target;
+        }
+
+        int add(PendingPacket pending) {
+            packets.add(pending);
+            return pendingBytes.addAndGet(pending.entrySize());
+        }
+
+        boolean isEmpty() {
+            return packets.isEmpty();
+        }
+
+        void flush() {
+            // if another thread is flushing, it will pick up our packets since it keeps flushing until the batch is empty
+            while (!packets.isEmpty() && flushing.compareAndSet(false, true)) {
+                try {
+                    flushPending();
+                } catch (Throwable t) {
+                    inspectOutputMemoryError(t);
+                    logger.severe("Failed to flush operation batch to " + target, t);
+                } finally {
+                    flushing.set(false);
+                }
+            }
+        }
+
+        private void flushPending() {
+            List<PendingPacket> batch = new ArrayList<PendingPacket>();
+            int batchSize = HEADER_SIZE;
+            for (; ; ) {
+                PendingPacket pending = packets.poll();
+                if (pending != null) {
+                    int entrySize = pending.entrySize();
+                    pendingBytes.addAndGet(-entrySize);
+                    batch.add(pending);
+                    batchSize += entrySize;
+                }
+
+                if (pending == null || batchSize >= maxBatchSize) {
+                    if (batch.isEmpty()) {
+                        return;
+                    }
+                    transmit(batch);
+                    batch = new ArrayList<PendingPacket>();
+                    batchSize = HEADER_SIZE;
+                }
+            }
+        }
+
+        private void transmit(List<PendingPacket> batch) {
+            Packet packet;
+            if (batch.size() == 1) {
+                packet = batch.get(0).packet;
+            } else {
+                List<Packet> batchPackets = new ArrayList<Packet>(batch.size());
+                for (PendingPacket pending : batch) {
+                    batchPackets.add(pending.packet);
+                }
+                packet = newBatchPacket(batchPackets);
+            }
+
+            ConnectionManager connectionManager = node.getConnectionManager();
+            Connection connection = connectionManager.getOrConnect(target);
+            if (!connectionManager.transmit(packet, connection)) {
+                notifyNotSent(batch);
+                return;
+            }
+
+            if (batch.size() > 1) {
+                batchCount.inc();
+                batchedPacketCount.inc(batch.size());
+            }
+        }
+
+        private void notifyNotSent(List<PendingPacket> batch) {
+            if (logger.isFinestEnabled()) {
+                logger.finest("Failed to transmit " + batch.size() + " batched operation packets to " + target);
+            }
+
+            for (PendingPacket pending : batch) {
+                // operations that are not sent by an invocation, e.g. backups, have no invocation to notify; a different
+                // invocation can be registered with the same call id though, so the operation needs to be checked
+                Invocation invocation = invocationRegistry.get(pending.op.getCallId());
+                if (invocation != null && invocation.op == pending.op) {
+                    invocation.notifyError(new RetryableIOException("Packet not send to -> " + target));
+                }
+            }
+        }
+    }
+
+    /**
+     * Flushes all batches at the end of every batching window.
+     * <p/>
+     * When there are no pending packets the thread parks until the next packet is added, so an idle member doesn't
+     * wake up every window.
+     */
+    private final class FlushThread extends Thread {
+
+        private volatile boolean shutdown;
+        private volatile boolean idle;
+
+        private FlushThread(HazelcastThreadGroup threadGroup) {
+            super(threadGroup.getInternalThreadGroup(), threadGroup.getThreadNamePrefix("OperationBatchFlushThread"));
+        }
+
+        void shutdown() {
+            shutdown = true;
+            interrupt();
+        }
+
+        /**
+         * Wakes up the thread if it is waiting for packets. Called after a packet is added.
+         */
+        void wakeUp() {
+            if (idle) {
+                LockSupport.unpark(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!shutdown) {
+                    awaitPending();
+                    LockSupport.parkNanos(windowNanos);
+                    for (Map.Entry<Address, Batch> entry : batches.entrySet()) {
+                        entry.getValue().flush();
+                    }
+                }
+            } catch (Throwable t) {
+                inspectOutputMemoryError(t);
+                logger.severe("Failed to run", t);
+            }
+        }
+
+        private void awaitPending() {
+            while (!shutdown && !hasPending()) {
+                // we first announce that we are idle, and then check again for packets; this way a producer either sees
+                // us being idle and unparks us, or we see its packet.
+                idle = true;
+                if (!hasPending()) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+            }
+        }
+
+        private boolean hasPending() {
+            for (Batch batch : batches.values()) {
+                if (!batch.isEmpty()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -82,6 +82,7 @@ class OperationRunnerImpl extends OperationRunner {
     private final Node node;
     private final NodeEngineImpl nodeEngine;
     private final AtomicLong executedOperationsCount;
+    private final OperationLatencyHistograms operationLatencies;
 
     @Probe(level = DEBUG)
     private final Counter count;
@@ -105,6 +106,7 @@ class OperationRunnerImpl extends OperationRunner {
         this.nodeEngine = operationService.nodeEngine;
         this.remoteResponseHandler = new RemoteInvocationResponseHandler(operationService);
         this.executedOperationsCount = operationService.completedOperationsCount;
+        this.operationLatencies = operationService.operationLatencies;
 
         if (partitionId >= 0) {
             this.count = newSwCounter();
@@ -138,6 +140,20 @@ class OperationRunnerImpl extends OperationRunner {
 
     @Override
     public void run(Operation op) {
+        if (operationLatencies == null) {
+            doRun(op);
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            doRun(op);
+        } finally {
+            operationLatencies.recordNanos(op.getClass(), System.nanoTime() - startNanos);
+        }
+    }
+
+    private void doRun(Operation op) {
         if (count != null) {
             count.inc();
         }
@@ -47,7 +47,6 @@ import com.hazelcast.spi.impl.operationexecutor.classic.ClassicOperationExecutor
 import com.hazelcast.spi.impl.operationexecutor.slowoperationdetector.SlowOperationDetector;
 import com.hazelcast.spi.impl.operationservice.InternalOperationService;
 import com.hazelcast.spi.impl.operationservice.impl.responses.Response;
-import com.hazelcast.util.EmptyStatement;
 import com.hazelcast.util.executor.ExecutorType;
 import com.hazelcast.util.executor.ManagedExecutorService;
 
@@ -56,10 +55,10 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
+import static com.hazelcast.internal.util.affinity.ThreadAffinity.newThreadAffinity;
 import static com.hazelcast.spi.InvocationBuilder.DEFAULT_CALL_TIMEOUT;
 import static com.hazelcast.spi.InvocationBuilder.DEFAULT_DESERIALIZE_RESULT;
 import static com.hazelcast.spi.InvocationBuilder.DEFAULT_REPLICA_INDEX;
@@ -94,7 +93,6 @@ public final class OperationServiceImpl implements InternalOperationService, Pac
     private static final int CORE_SIZE_FACTOR = 4;
     private static final int CONCURRENCY_LEVEL = 16;
     private static final int ASYNC_QUEUE_CAPACITY = 100000;
-    private static final long TERMINATION_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
 
     final InvocationRegistry invocationRegistry;
     final OperationExecutor operationExecutor;
@@ -120,13 +118,17 @@ public final class OperationServiceImpl implements InternalOperationService, Pac
     final OperationBackupHandler operationBackupHandler;
     final BackpressureRegulator backpressureRegulator;
     final long defaultCallTimeoutMillis;
+    final OperationLatencyHistograms operationLatencies;
+    final OperationLatencyHistograms invocationLatencies;
 
     private final SlowOperationDetector slowOperationDetector;
     private final IsStillRunningService isStillRunningService;
     private final AsyncResponsePacketHandler responsePacketExecutor;
+    private final PacketHandler responsePacketHandler;
     private final InternalSerializationService serializationService;
     private final InvocationMonitor invocationMonitor;
     private final ResponseHandler responseHandler;
+    private final OperationPacketBatcher operationPacketBatcher;
 
     public OperationServiceImpl(NodeEngineImpl nodeEngine) {
         this.nodeEngine = nodeEngine;
@@ -146,11 +148,14 @@ public final class OperationServiceImpl implements InternalOperationService, Pac
 
         this.invocationRegistry = new InvocationRegistry(nodeEngine, logger, backpressureRegulator, concurrencyLevel);
 
+        this.operationLatencies = initLatencyHistograms(groupProperties, "operation.latency");
+        this.invocationLatencies = initLatencyHistograms(groupProperties, "operation.invocations.latency");
+
         this.invocationMonitor = new InvocationMonitor(
                 invocationRegistry,
                 logger,
                 groupProperties,
-                node.getHazelcastThreadGroup(),
+                nodeEngine.getTimerWheel(),
                 nodeEngine.getExecutionService(),
                 nodeEngine.getMetricsRegistry());
 
@@ -160,11 +165,13 @@ public final class OperationServiceImpl implements InternalOperationService, Pac
                 logger,
                 node.getSerializationService(),
                 invocationRegistry,
-                nodeEngine);
+                nodeEngine,
+                backpressureRegulator);
         this.responsePacketExecutor = new AsyncResponsePacketHandler(
                 node.getHazelcastThreadGroup(),
                 logger,
                 responseHandler);
+        this.responsePacketHandler = initResponsePacketHandler(groupProperties);
 
         this.operationExecutor = new ClassicOperationExecutor(
                 groupProperties,
@@ -175,16 +182,49 @@ public final class OperationServiceImpl implements InternalOperationService, Pac
                 node.getNodeExtension(),
                 metricsRegistry
         );
+        this.operationPacketBatcher = initOperationPacketBatcher(groupProperties);
 
         this.isStillRunningService = new IsStillRunningService(operationExecutor, nodeEngine, logger);
 
-        ExecutionService executionService = nodeEngine.getExecutionService();
-        this.asyncExecutor = executionService.register(ExecutionService.ASYNC_EXECUTOR, coreSize,
-                ASYNC_QUEUE_CAPACITY, ExecutorType.CONCRETE);
+        this.asyncExecutor = initAsyncExecutor(coreSize);
         this.slowOperationDetector = initSlowOperationDetector();
         metricsRegistry.scanAndRegister(this, "operation");
     }
 
+    private OperationLatencyHistograms initLatencyHistograms(GroupProperties groupProperties, String prefix) {
+        if (!groupProperties.getBoolean(GroupProperty.PERFORMANCE_LATENCY_HISTOGRAMS_ENABLED)) {
+            return null;
+        }
+        return new OperationLatencyHistograms(metricsRegistry, prefix);
+    }
+
+    private PacketHandler initResponsePacketHandler(GroupProperties groupProperties) {
+        metricsRegistry.scanAndRegister(responsePacketExecutor, "operation.responses.async");
+        responsePacketExecutor.setThreadAffinity(
+                newThreadAffinity(groupProperties, GroupProperty.OPERATION_RESPONSE_THREAD_AFFINITY, logger));
+        if (!groupProperties.getBoolean(GroupProperty.OPERATION_RESPONSE_INLINE)) {
+            return responsePacketExecutor;
+        }
+
+        InlineResponsePacketHandler handler = new InlineResponsePacketHandler(
+                logger, serializationService, responseHandler, responsePacketExecutor);
+        metricsRegistry.scanAndRegister(handler, "operation.responses.inline");
+        return handler;
+    }
+
+    private OperationPacketBatcher initOperationPacketBatcher(GroupProperties groupProperties) {
+        OperationPacketBatcher batcher = new OperationPacketBatcher(groupProperties, node, invocationRegistry,
+                node.getHazelcastThreadGroup(), logger);
+        metricsRegistry.scanAndRegister(batcher, "operation.batching");
+        return batcher;
+    }
+
+    private ManagedExecutorService initAsyncExecutor(int coreSize) {
+        ExecutionService executionService = nodeEngine.getExecutionService();
+        return executionService.register(ExecutionService.ASYNC_EXECUTOR, coreSize,
+                ASYNC_QUEUE_CAPACITY, ExecutorType.CONCRETE);
+    }
+
     private SlowOperationDetector initSlowOperationDetector() {
         return new SlowOperationDetector(node.loggingService,
                 operationExecutor.getGenericOperationRunners(),
@@ -264,7 +304,11 @@ public final class OperationServiceImpl implements InternalOperationService, Pac
         checkTrue(packet.isFlagSet(Packet.FLAG_OP), "Packet.FLAG_OP should be set!");
 
         if (packet.isFlagSet(Packet.FLAG_RESPONSE)) {
-            responsePacketExecutor.handle(packet);
+            responsePacketHandler.handle(packet);
+        } else if (packet.isFlagSet(Packet.FLAG_BATCH)) {
+            for (Packet operationPacket : OperationPacketBatcher.split(packet)) {
+                operationExecutor.execute(operationPacket);
+            }
         } else {
             operationExecutor.execute(packet);
         }
@@ -420,6 +464,10 @@ public final class OperationServiceImpl implements InternalOperationService, Pac
             packet.setFlag(Packet.FLAG_URGENT);
         }
 
+        if (operationPacketBatcher.isBatchable(op)) {
+            return operationPacketBatcher.add(op, packet, target);
+        }
+
         ConnectionManager connectionManager = node.getConnectionManager();
         Connection connection = connectionManager.getOrConnect(target);
         return connectionManager.transmit(packet, connection);
@@ -434,6 +482,7 @@ public final class OperationServiceImpl implements InternalOperationService, Pac
             throw new IllegalArgumentException("Target is this node! -> " + target + ", response: " + response);
         }
 
+        backpressureRegulator.setQueueSojournTime(response);
         byte[] bytes = serializationService.toBytes(response);
         Packet packet = new Packet(bytes, -1);
         packet.setFlag(Packet.FLAG_OP);
@@ -450,6 +499,7 @@ public final class OperationServiceImpl implements InternalOperationService, Pac
 
     public void onMemberLeft(MemberImpl member) {
         invocationMonitor.onMemberLeft(member);
+        backpressureRegulator.onMemberLeft(member.getAddress());
     }
 
     public void reset() {
@@ -462,6 +512,7 @@ public final class OperationServiceImpl implements InternalOperationService, Pac
         invocationMonitor.start();
         operationExecutor.start();
         responsePacketExecutor.start();
+        operationPacketBatcher.start();
         slowOperationDetector.start();
     }
 
@@ -472,15 +523,7 @@ public final class OperationServiceImpl implements InternalOperationService, Pac
         invocationMonitor.shutdown();
         operationExecutor.shutdown();
         responsePacketExecutor.shutdown();
+        operationPacketBatcher.shutdown();
         slowOperationDetector.shutdown();
-
-        try {
-            invocationMonitor.awaitTermination(TERMINATION_TIMEOUT_MILLIS);
-        } catch (InterruptedException e) {
-            //restore the interrupt.
-            //todo: we need a better mechanism for dealing with interruption and waiting for termination
-            Thread.currentThread().interrupt();
-            EmptyStatement.ignore(e);
-        }
     }
 }
@@ -20,7 +20,6 @@ import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.partition.ReplicaErrorLogger;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.util.counters.MwCounter;
-import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Packet;
@@ -34,7 +33,6 @@ import com.hazelcast.spi.impl.operationservice.impl.responses.Response;
 
 import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
 import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
-import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 
 /**
  * Responsible for handling responses for invocations. Based on the content of the response packet, it will lookup the
@@ -46,33 +44,41 @@ public final class ResponseHandler implements PacketHandler {
     private final InternalSerializationService serializationService;
     private final InvocationRegistry invocationRegistry;
     private final NodeEngineImpl nodeEngine;
+    private final BackpressureRegulator backpressureRegulator;
     @Probe(name = "responses[normal]", level = MANDATORY)
-    private final SwCounter responsesNormal = newSwCounter();
+    private final MwCounter responsesNormal = newMwCounter();
     @Probe(name = "responses[timeout]", level = MANDATORY)
-    private final SwCounter responsesTimeout = newSwCounter();
+    private final MwCounter responsesTimeout = newMwCounter();
     @Probe(name = "responses[backup]", level = MANDATORY)
     private final MwCounter responsesBackup = newMwCounter();
     @Probe(name = "responses[error]", level = MANDATORY)
-    private final SwCounter responsesError = newSwCounter();
+    private final MwCounter responsesError = newMwCounter();
     @Probe(name = "responses[missing]", level = MANDATORY)
     private final MwCounter responsesMissing = newMwCounter();
 
     public ResponseHandler(ILogger logger,
                            InternalSerializationService serializationService,
                            InvocationRegistry invocationRegistry,
-                           NodeEngineImpl nodeEngine) {
+                           NodeEngineImpl nodeEngine,
+                           BackpressureRegulator backpressureRegulator) {
         this.logger = logger;
         this.serializationService = serializationService;
         this.invocationRegistry = invocationRegistry;
         this.nodeEngine = nodeEngine;
+        this.backpressureRegulator = backpressureRegulator;
         nodeEngine.getMetricsRegistry().scanAndRegister(this, "operation.invocations");
     }
 
     @Override
     public void handle(Packet packet) throws Exception {
         Response response = serializationService.toObject(packet);
-        Address sender = packet.getConn().getEndPoint();
+        handle(response, packet.getConn().getEndPoint());
+    }
+
+    void handle(Response response, Address sender) {
         try {
+            backpressureRegulator.onResponse(response, sender);
+
             if (response instanceof NormalResponse) {
                 NormalResponse normalResponse = (NormalResponse) response;
                 notifyNormalResponse(
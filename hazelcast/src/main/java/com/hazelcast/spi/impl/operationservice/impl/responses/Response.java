@@ -37,8 +37,14 @@ import java.io.IOException;
  */
 public abstract class Response implements IdentifiedDataSerializable {
 
+    // flags of the response header; the urgent flag is written in the place and with the value of the former boolean
+    private static final int FLAG_URGENT = 1;
+    private static final int FLAG_QUEUE_SOJOURN_TIME = 1 << 1;
+
     protected long callId;
     protected boolean urgent;
+    // the time the operation waited in the operation queue of the responding member; -1 if unknown
+    protected int queueSojournMicros = -1;
 
     public Response() {
     }
@@ -66,6 +72,20 @@ public abstract class Response implements IdentifiedDataSerializable {
         return callId;
     }
 
+    /**
+     * Returns the time the operation this response belongs to, has been waiting in the queue of the operation thread
+     * that executed it. It is only set when adaptive backpressure is enabled on the member that sends the response.
+     *
+     * @return the sojourn time in microseconds, or -1 if unknown.
+     */
+    public int getQueueSojournMicros() {
+        return queueSojournMicros;
+    }
+
+    public void setQueueSojournMicros(int queueSojournMicros) {
+        this.queueSojournMicros = queueSojournMicros;
+    }
+
     @Override
     public int getFactoryId() {
         return SpiDataSerializerHook.F_ID;
@@ -74,12 +94,22 @@ public abstract class Response implements IdentifiedDataSerializable {
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeLong(callId);
-        out.writeBoolean(urgent);
+        // the sojourn time is only written when set, so responses are as large as without adaptive backpressure
+        boolean hasQueueSojournTime = queueSojournMicros >= 0;
+        int flags = (urgent ? FLAG_URGENT : 0) | (hasQueueSojournTime ? FLAG_QUEUE_SOJOURN_TIME : 0);
+        out.writeByte(flags);
+        if (hasQueueSojournTime) {
+            out.writeInt(queueSojournMicros);
+        }
     }
 
     @Override
     public void readData(ObjectDataInput in) throws IOException {
         callId = in.readLong();
-        urgent = in.readBoolean();
+        byte flags = in.readByte();
+        urgent = (flags & FLAG_URGENT) != 0;
+        if ((flags & FLAG_QUEUE_SOJOURN_TIME) != 0) {
+            queueSojournMicros = in.readInt();
+        }
     }
 }
@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.timer;
+
+import com.hazelcast.instance.HazelcastThreadGroup;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.internal.util.counters.SwCounter;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.impl.operationexecutor.OperationHostileThread;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.hazelcast.instance.OutOfMemoryErrorDispatcher.inspectOutputMemoryError;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.QuickMath.isPowerOfTwo;
+
+/**
+ * A hierarchical timing wheel; a scheduler for timeouts with O(1) scheduling and cancellation.
+ * <p/>
+ * Time is divided in ticks. The wheel consists of a number of levels; each level is an array of slots and every slot is
+ * a linked list of timeouts. A slot on level 0 covers a single tick, a slot on level 1 covers all the ticks of level
+ * 0, etc. A timeout is put in the lowest level that covers its deadline. When the ticks of a level wrap around, the next slot
+ * of the level above is cascaded into the lower levels; so a timeout is moved at most once per level.
+ * <p/>
+ * Any thread can schedule a timeout; it is put in a queue and is placed in the wheel by the timer thread on the next tick,
+ * so the slots are only touched by the timer thread and no locking is needed. Cancelling a timeout only marks it as
+ * cancelled; the timer thread drops it when its slot is cascaded or expires. A timeout expires at the tick
+ * its deadline falls in; so it can run up to one tick late, but it will never run early.
+ * <p/>
+ * The tasks are run on the timer thread, so they should not block. The timer thread is an {@link OperationHostileThread},
+ * so an operation invoked from a task is never run on the timer thread itself.
+ */
+public final class TimerWheel {
+
+    /**
+     * The default duration of a tick in milliseconds.
+     */
+    public static final long DEFAULT_TICK_MILLIS = 10;
+
+    /**
+     * The default number of slots per level.
+     */
+    public static final int DEFAULT_WHEEL_SIZE = 256;
+
+    // with the default tick and wheel size, 4 levels cover more than a year.
+    private static final int LEVELS = 4;
+
+    private static final AtomicIntegerFieldUpdater<Timeout> STATE
+            = AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+    @Probe(name = "scheduled")
+    private final MwCounter scheduledCount = newMwCounter();
+    @Probe(name = "cancelled")
+    private final MwCounter cancelledCount = newMwCounter();
+    @Probe(name = "expired")
+    private final SwCounter expiredCount = newSwCounter();
+
+    private final long tickNanos;
+    private final int wheelSize;
+    private final int levelShift;
+    private final int mask;
+    private final Slot[][] levels;
+    private final long startNanos;
+    private final ConcurrentLinkedQueue<Timeout> scheduledQueue = new ConcurrentLinkedQueue<Timeout>();
+    private final TimerThread timerThread;
+    private final ILogger logger;
+
+    // only accessed by the timer thread.
+    private long currentTick;
+
+    public TimerWheel(HazelcastThreadGroup threadGroup, ILogger logger) {
+        this(threadGroup, logger, DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS, DEFAULT_WHEEL_SIZE);
+    }
+
+    public TimerWheel(HazelcastThreadGroup threadGroup, ILogger logger, long tickDuration, TimeUnit unit, int wheelSize) {
+        checkNotNull(threadGroup, "threadGroup can't be null");
+        checkPositive(tickDuration, "tickDuration should be larger than 0");
+        checkPositive(wheelSize, "wheelSize should be larger than 0");
+        if (!isPowerOfTwo(wheelSize)) {
+            throw new IllegalArgumentException("wheelSize should be a power of 2, but was " + wheelSize);
+        }
+
+        this.logger = checkNotNull(logger, "logger can't be null");
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheelSize = wheelSize;
+        this.mask = wheelSize - 1;
+        this.levelShift = Integer.numberOfTrailingZeros(wheelSize);
+        this.levels = new Slot[LEVELS][wheelSize];
+        for (Slot[] slots : levels) {
+            for (int k = 0; k < wheelSize; k++) {
+                slots[k] = new Slot();
+            }
+        }
+        this.startNanos = System.nanoTime();
+        this.timerThread = new TimerThread(threadGroup);
+    }
+
+    public void start() {
+        timerThread.start();
+    }
+
+    /**
+     * Shuts down the timer. Timeouts that have not yet expired, are not going to run.
+     */
+    public void shutdown() {
+        timerThread.shutdown();
+    }
+
+    public void awaitTermination(long timeoutMillis) throws InterruptedException {
+        timerThread.join(timeoutMillis);
+    }
+
+    /**
+     * Schedules a task to run once after the given delay.
+     *
+     * @param task  the task to run.
+     * @param delay the delay; a delay equal or smaller than 0 runs the task on the next tick.
+     * @param unit  the unit of the delay.
+     * @return the Timeout that can be used to cancel the task.
+     * @throws NullPointerException if task or unit is null.
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        checkNotNull(task, "task can't be null");
+        checkNotNull(unit, "unit can't be null");
+
+        // the deadline is relative to the start of the timer, so it can't be negative
+        long deadlineNanos = (System.nanoTime() - startNanos) + unit.toNanos(Math.max(delay, 0));
+        if (deadlineNanos < 0) {
+            // overflow
+            deadlineNanos = Long.MAX_VALUE;
+        }
+
+        Timeout timeout = new Timeout(task, deadlineNanos);
+        scheduledQueue.add(timeout);
+        scheduledCount.inc();
+        return timeout;
+    }
+
+    private void tick() {
+        currentTick++;
+        addScheduled();
+        cascade();
+        expire(levels[0][(int) currentTick & mask]);
+    }
+
+    private void addScheduled() {
+        for (; ; ) {
+            Timeout timeout = scheduledQueue.poll();
+            if (timeout == null) {
+                return;
+            }
+
+            if (timeout.state != Timeout.STATE_PENDING) {
+                continue;
+            }
+
+            long deadlineNanos = timeout.deadlineNanos;
+            timeout.deadlineTick = deadlineNanos / tickNanos + (deadlineNanos % tickNanos == 0 ? 0 : 1);
+            place(timeout);
+        }
+    }
+
+    private void place(Timeout timeout) {
+        long deadlineTick = Math.max(timeout.deadlineTick, currentTick);
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = level * levelShift;
+            long distance = (deadlineTick >>> shift) - (currentTick >>> shift);
+            if (distance < wheelSize) {
+                levels[level][(int) (deadlineTick >>> shift) & mask].add(timeout);
+                return;
+            }
+        }
+
+        // the deadline is beyond the range of the wheel; so we park it in the furthest slot of the highest level. When this
+        // slot is cascaded, the timeout will be placed again.
+        int shift = (LEVELS - 1) * levelShift;
+        levels[LEVELS - 1][(int) ((currentTick >>> shift) + mask) & mask].add(timeout);
+    }
+
+    private void cascade() {
+        for (int level = LEVELS - 1; level > 0; level--) {
+            int shift = level * levelShift;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                continue;
+            }
+
+            Slot slot = levels[level][(int) (currentTick >>> shift) & mask];
+            Timeout timeout = slot.removeAll();
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                timeout.next = null;
+                if (timeout.state == Timeout.STATE_PENDING) {
+                    place(timeout);
+                }
+                timeout = next;
+            }
+        }
+    }
+
+    private void expire(Slot slot) {
+        Timeout timeout = slot.removeAll();
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.next = null;
+
+            // a cancelled timeout isn't placed again and fails to expire; so it is dropped
+            if (timeout.deadlineTick > currentTick && timeout.state == Timeout.STATE_PENDING) {
+                place(timeout);
+            } else if (timeout.expire()) {
+                expiredCount.inc();
+                run(timeout);
+            }
+            timeout = next;
+        }
+    }
+
+    private void run(Timeout timeout) {
+        try {
+            timeout.task.run();
+        } catch (Throwable t) {
+            inspectOutputMemoryError(t);
+            logger.severe("Failed to run timer task " + timeout.task, t);
+        }
+    }
+
+    /**
+     * A handle to a scheduled task.
+     */
+    public final class Timeout {
+        static final int STATE_PENDING = 0;
+        static final int STATE_CANCELLED = 1;
+        static final int STATE_EXPIRED = 2;
+
+        volatile int state;
+
+        private final Runnable task;
+        private final long deadlineNanos;
+
+        // the fields below are only accessed by the timer thread.
+        private long deadlineTick;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Cancels the task. If the task has already run or has already been cancelled, the call is ignored.
+         * <p/>
+         * The timeout stays in the wheel until the timer thread comes across it, but its task is not going to run.
+         *
+         * @return true if the task was cancelled, false otherwise.
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, STATE_PENDING, STATE_CANCELLED)) {
+                return false;
+            }
+
+            cancelledCount.inc();
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == STATE_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state == STATE_EXPIRED;
+        }
+
+        private boolean expire() {
+            return STATE.compareAndSet(this, STATE_PENDING, STATE_EXPIRED);
+        }
+
+        @Override
+        public String toString() {
+            return "Timeout{task=" + task + ", state=" + state + '}';
+        }
+    }
+
+    /**
+     * A singly linked list of timeouts. Only accessed by the timer thread.
+     */
+    private static final class Slot {
+        private Timeout head;
+
+        void add(Timeout timeout) {
+            timeout.next = head;
+            head = timeout;
+        }
+
+        /**
+         * Removes all timeouts from this slot.
+         *
+         * @return the first timeout, the remaining timeouts can be found using the next field.
+         */
+        Timeout removeAll() {
+            Timeout first = head;
+            head = null;
+            return first;
+        }
+    }
+
+    private final class TimerThread extends Thread implements OperationHostileThread {
+
+        private volatile boolean shutdown;
+
+        private TimerThread(HazelcastThreadGroup threadGroup) {
+            super(threadGroup.getInternalThreadGroup(), threadGroup.getThreadNamePrefix("TimerWheelThread"));
+        }
+
+        void shutdown() {
+            shutdown = true;
+            interrupt();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!shutdown) {
+                    awaitNextTick();
+                    if (!shutdown) {
+                        tick();
+                    }
+                }
+            } catch (Throwable t) {
+                inspectOutputMemoryError(t);
+                logger.severe("Failed to run", t);
+            }
+        }
+
+        private void awaitNextTick() {
+            long deadlineNanos = startNanos + (currentTick + 1) * tickNanos;
+            for (; ; ) {
+                long remainingNanos = deadlineNanos - System.nanoTime();
+                if (remainingNanos <= 0 || shutdown) {
+                    return;
+                }
+                LockSupport.parkNanos(remainingNanos);
+            }
+        }
+    }
+}
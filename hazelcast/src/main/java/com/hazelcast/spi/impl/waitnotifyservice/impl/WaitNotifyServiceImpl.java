@@ -17,7 +17,6 @@
 package com.hazelcast.spi.impl.waitnotifyservice.impl;
 
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
-import com.hazelcast.instance.HazelcastThreadGroup;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.instance.Node;
 import com.hazelcast.internal.partition.MigrationInfo;
@@ -30,32 +29,34 @@ import com.hazelcast.spi.OperationResponseHandler;
 import com.hazelcast.spi.WaitNotifyKey;
 import com.hazelcast.spi.exception.PartitionMigratingException;
 import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.timer.TimerWheel;
 import com.hazelcast.spi.impl.waitnotifyservice.WaitNotifyService;
 import com.hazelcast.util.ConcurrencyUtil;
 import com.hazelcast.util.ConstructorFunction;
-import com.hazelcast.util.executor.SingleExecutorThreadFactory;
 
 import java.util.Iterator;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.DelayQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * The WaitNotifyService implementation.
+ * <p/>
+ * The expiration of a waiting operation, either because its wait timeout or its call timeout has been reached, is scheduled
+ * on the {@link TimerWheel} of the {@link NodeEngineImpl}. So the cost of expiring waiting operations doesn't depend on the
+ * total number of waiting operations.
+ */
 public class WaitNotifyServiceImpl implements WaitNotifyService {
 
-    private static final long FIRST_WAIT_TIME = 1000;
-    private static final long TIMEOUT_UPPER_BOUND = 1500;
+    // the delay before an expiration is checked again, if the waiting operation was not invalidated.
+    private static final long RECHECK_DELAY_MILLIS = 1000;
 
     private final ConcurrentMap<WaitNotifyKey, Queue<WaitingOperation>> mapWaitingOps =
             new ConcurrentHashMap<WaitNotifyKey, Queue<WaitingOperation>>(100);
-    private final DelayQueue delayQueue = new DelayQueue();
-    private final ExecutorService expirationService;
-    private final Future expirationTask;
+    private final TimerWheel timerWheel;
     private final NodeEngineImpl nodeEngine;
     private final ILogger logger;
 
@@ -71,20 +72,21 @@ public class WaitNotifyServiceImpl implements WaitNotifyService {
         this.nodeEngine = nodeEngine;
         final Node node = nodeEngine.getNode();
         logger = node.getLogger(WaitNotifyService.class.getName());
-
-        HazelcastThreadGroup threadGroup = node.getHazelcastThreadGroup();
-        expirationService = Executors.newSingleThreadExecutor(
-                new SingleExecutorThreadFactory(threadGroup.getInternalThreadGroup(),
-                        threadGroup.getClassLoader(),
-                        threadGroup.getThreadNamePrefix("wait-notify")));
-
-        expirationTask = expirationService.submit(new ExpirationTask());
+        timerWheel = nodeEngine.getTimerWheel();
     }
 
     private void invalidate(final WaitingOperation waitingOp) throws Exception {
         nodeEngine.getOperationService().executeOperation(waitingOp);
     }
 
+    private void scheduleExpirationCheck(WaitingOperation waitingOp, long delayMillis) {
+        TimerWheel.Timeout oldTimeout = waitingOp.timeout;
+        waitingOp.timeout = timerWheel.schedule(new ExpirationCheck(waitingOp), delayMillis, MILLISECONDS);
+        if (oldTimeout != null) {
+            oldTimeout.cancel();
+        }
+    }
+
     // Runs in operation thread, we can assume that
     // here we have an implicit lock for specific WaitNotifyKey.
     // see javadoc
@@ -92,12 +94,12 @@ public class WaitNotifyServiceImpl implements WaitNotifyService {
     public void await(BlockingOperation blockingOperation) {
         final WaitNotifyKey key = blockingOperation.getWaitKey();
         final Queue<WaitingOperation> q = ConcurrencyUtil.getOrPutIfAbsent(mapWaitingOps, key, waitQueueConstructor);
-        long timeout = blockingOperation.getWaitTimeout();
         WaitingOperation waitingOp = new WaitingOperation(q, blockingOperation);
         waitingOp.setNodeEngine(nodeEngine);
         q.offer(waitingOp);
-        if (timeout > -1 && timeout < TIMEOUT_UPPER_BOUND) {
-            delayQueue.offer(waitingOp);
+        long checkDelayMillis = waitingOp.getExpirationCheckDelayMillis();
+        if (checkDelayMillis >= 0) {
+            scheduleExpirationCheck(waitingOp, checkDelayMillis);
         }
     }
 
@@ -218,6 +220,7 @@ public class WaitNotifyServiceImpl implements WaitNotifyService {
                     if (serviceName.equals(wnk.getServiceName())
                             && objectId.equals(wnk.getObjectName())) {
                         waitingOp.cancel(cause);
+                        scheduleExpirationCheck(waitingOp, 0);
                     }
                 }
             }
@@ -225,14 +228,16 @@ public class WaitNotifyServiceImpl implements WaitNotifyService {
     }
 
     public void reset() {
-        delayQueue.clear();
+        for (Queue<WaitingOperation> q : mapWaitingOps.values()) {
+            for (WaitingOperation waitingOp : q) {
+                waitingOp.cancelTimeout();
+            }
+        }
         mapWaitingOps.clear();
     }
 
     public void shutdown() {
         logger.finest("Stopping tasks...");
-        expirationTask.cancel(true);
-        expirationService.shutdown();
         final Object response = new HazelcastInstanceNotActiveException();
         final Address thisAddress = nodeEngine.getThisAddress();
         for (Queue<WaitingOperation> q : mapWaitingOps.values()) {
@@ -258,9 +263,7 @@ public class WaitNotifyServiceImpl implements WaitNotifyService {
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("WaitNotifyService{");
-        sb.append("delayQueue=");
-        sb.append(delayQueue.size());
-        sb.append(" \n[");
+        sb.append("\n[");
         for (Queue<WaitingOperation> scheduledOps : mapWaitingOps.values()) {
             sb.append("\t");
             sb.append(scheduledOps.size());
@@ -270,54 +273,45 @@ public class WaitNotifyServiceImpl implements WaitNotifyService {
         return sb.toString();
     }
 
-    private class ExpirationTask implements Runnable {
+    /**
+     * Checks if a waiting operation has expired, has been cancelled or its call has timed out; and if so, invalidates it.
+     * Runs on the timer thread.
+     */
+    private final class ExpirationCheck implements Runnable {
+        private final WaitingOperation waitingOp;
+
+        ExpirationCheck(WaitingOperation waitingOp) {
+            this.waitingOp = waitingOp;
+        }
+
         @Override
         public void run() {
-            while (true) {
-                if (Thread.interrupted()) {
-                    return;
-                }
+            if (!waitingOp.isValid()) {
+                return;
+            }
 
+            long delayMillis;
+            if (waitingOp.needsInvalidation()) {
                 try {
-                    if (doRun()) {
-                        return;
-                    }
-                } catch (InterruptedException e) {
+                    invalidate(waitingOp);
+                } catch (Exception e) {
+                    logger.warning(e);
+                }
+                // the waiting operation should be invalid by the next check; if not, it will be invalidated again.
+                delayMillis = RECHECK_DELAY_MILLIS;
+            } else {
+                delayMillis = waitingOp.getExpirationCheckDelayMillis();
+                if (delayMillis < 0) {
                     return;
-                } catch (Throwable t) {
-                    logger.warning(t);
                 }
             }
-        }
 
-        private boolean doRun() throws Exception {
-            long waitTime = FIRST_WAIT_TIME;
-            while (waitTime > 0) {
-                long begin = System.currentTimeMillis();
-                WaitingOperation waitingOp = (WaitingOperation) delayQueue.poll(waitTime, TimeUnit.MILLISECONDS);
-                if (waitingOp != null) {
-                    if (waitingOp.isValid()) {
-                        invalidate(waitingOp);
-                    }
-                }
-                long end = System.currentTimeMillis();
-                waitTime -= (end - begin);
-                if (waitTime > FIRST_WAIT_TIME) {
-                    waitTime = FIRST_WAIT_TIME;
-                }
-            }
+            scheduleExpirationCheck(waitingOp, delayMillis);
+        }
 
-            for (Queue<WaitingOperation> q : mapWaitingOps.values()) {
-                for (WaitingOperation waitingOp : q) {
-                    if (Thread.interrupted()) {
-                        return true;
-                    }
-                    if (waitingOp.isValid() && waitingOp.needsInvalidation()) {
-                        invalidate(waitingOp);
-                    }
-                }
-            }
-            return false;
+        @Override
+        public String toString() {
+            return "ExpirationCheck{waitingOp=" + waitingOp + '}';
         }
     }
 }
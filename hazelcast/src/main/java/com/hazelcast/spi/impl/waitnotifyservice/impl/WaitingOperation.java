@@ -26,22 +26,23 @@ import com.hazelcast.spi.exception.RetryableException;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.operationservice.InternalOperationService;
 import com.hazelcast.spi.impl.operationservice.impl.responses.CallTimeoutResponse;
+import com.hazelcast.spi.impl.timer.TimerWheel;
 import com.hazelcast.util.Clock;
 
 import java.util.Queue;
-import java.util.concurrent.Delayed;
-import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 import static com.hazelcast.util.EmptyStatement.ignore;
 
-class WaitingOperation extends AbstractOperation implements Delayed, PartitionAwareOperation {
+class WaitingOperation extends AbstractOperation implements PartitionAwareOperation {
     final Queue<WaitingOperation> queue;
     final Operation op;
     final BlockingOperation blockingOperation;
     final long expirationTime;
     volatile boolean valid = true;
     volatile Object cancelResponse;
+    // the scheduled expiration check, if any
+    volatile TimerWheel.Timeout timeout;
 
     WaitingOperation(Queue<WaitingOperation> queue, BlockingOperation blockingOperation) {
         this.op = (Operation) blockingOperation;
@@ -70,6 +71,38 @@ class WaitingOperation extends AbstractOperation implements Delayed, PartitionAw
 
     public void setValid(boolean valid) {
         this.valid = valid;
+        if (!valid) {
+            cancelTimeout();
+        }
+    }
+
+    void cancelTimeout() {
+        TimerWheel.Timeout timeout = this.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Returns the delay until this waiting operation needs to be checked for expiration or a call timeout.
+     *
+     * @return the delay in milliseconds, or -1 if this waiting operation never expires and its call never times out.
+     */
+    long getExpirationCheckDelayMillis() {
+        long delayMillis = Long.MAX_VALUE;
+        if (expirationTime > 0) {
+            delayMillis = expirationTime - Clock.currentTimeMillis();
+        }
+
+        long callTimeout = op.getCallTimeout();
+        long callExpirationTime = op.getInvocationTime() + callTimeout;
+        if (op.returnsResponse() && callTimeout != Long.MAX_VALUE && callExpirationTime > 0) {
+            long clusterTime = getNodeEngine().getClusterService().getClusterClock().getClusterTime();
+            // a call is only timed out once the call expiration time has passed
+            delayMillis = Math.min(delayMillis, callExpirationTime - clusterTime + 1);
+        }
+
+        return delayMillis == Long.MAX_VALUE ? -1 : Math.max(delayMillis, 0);
     }
 
     public boolean isValid() {
@@ -102,22 +135,6 @@ class WaitingOperation extends AbstractOperation implements Delayed, PartitionAw
         return blockingOperation.shouldWait();
     }
 
-    @Override
-    public long getDelay(TimeUnit unit) {
-        return unit.convert(expirationTime - Clock.currentTimeMillis(), TimeUnit.MILLISECONDS);
-    }
-
-    @Override
-    public int compareTo(Delayed other) {
-        // compare zero ONLY if same object
-        if (other == this) {
-            return 0;
-        }
-        long d = (getDelay(TimeUnit.NANOSECONDS)
-                - other.getDelay(TimeUnit.NANOSECONDS));
-        return (d == 0) ? 0 : ((d < 0) ? -1 : 1);
-    }
-
     @Override
     public void run() throws Exception {
         if (!valid) {
@@ -134,7 +151,7 @@ class WaitingOperation extends AbstractOperation implements Delayed, PartitionAw
             return;
         }
 
-        valid = false;
+        setValid(false);
         if (expired) {
             blockingOperation.onWaitExpire();
         } else {
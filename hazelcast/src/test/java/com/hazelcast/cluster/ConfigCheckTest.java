@@ -85,6 +85,52 @@ public class ConfigCheckTest {
         assertIsCompatibleThrowsConfigMismatchException(configCheck1, configCheck2);
     }
 
+    @Test
+    public void whenDifferentSerializationVersion_thenConfigurationMismatchException() {
+        Config config1 = new Config();
+        config1.setProperty(GroupProperty.SERIALIZATION_VERSION.getName(), "1");
+
+        Config config2 = new Config();
+        config2.setProperty(GroupProperty.SERIALIZATION_VERSION.getName(), "2");
+
+        ConfigCheck configCheck1 = new ConfigCheck(config1, "joiner");
+        ConfigCheck configCheck2 = new ConfigCheck(config2, "joiner");
+
+        assertIsCompatibleThrowsConfigMismatchException(configCheck1, configCheck2);
+    }
+
+    @Test
+    public void whenDifferentStringDictionary_thenConfigurationMismatchException() {
+        Config config1 = new Config();
+        config1.setProperty(GroupProperty.SERIALIZATION_VERSION.getName(), "2");
+        config1.setProperty(GroupProperty.SERIALIZATION_STRING_DICTIONARY.getName(), "orders,customers");
+
+        Config config2 = new Config();
+        config2.setProperty(GroupProperty.SERIALIZATION_VERSION.getName(), "2");
+        config2.setProperty(GroupProperty.SERIALIZATION_STRING_DICTIONARY.getName(), "customers,orders");
+
+        ConfigCheck configCheck1 = new ConfigCheck(config1, "joiner");
+        ConfigCheck configCheck2 = new ConfigCheck(config2, "joiner");
+
+        assertIsCompatibleThrowsConfigMismatchException(configCheck1, configCheck2);
+    }
+
+    @Test
+    public void whenDifferentStringDictionary_andSerializationVersion1_thenCompatible() {
+        Config config1 = new Config();
+        config1.setProperty(GroupProperty.SERIALIZATION_VERSION.getName(), "1");
+        config1.setProperty(GroupProperty.SERIALIZATION_STRING_DICTIONARY.getName(), "orders,customers");
+
+        Config config2 = new Config();
+        config2.setProperty(GroupProperty.SERIALIZATION_VERSION.getName(), "1");
+        config2.setProperty(GroupProperty.SERIALIZATION_STRING_DICTIONARY.getName(), "customers,orders");
+
+        ConfigCheck configCheck1 = new ConfigCheck(config1, "joiner");
+        ConfigCheck configCheck2 = new ConfigCheck(config2, "joiner");
+
+        Assert.assertTrue(configCheck1.isCompatible(configCheck2));
+    }
+
     @Test
     public void whenGroupPartitionEnabledMismatch_thenConfigurationMismatchException() {
         Config config1 = new Config();
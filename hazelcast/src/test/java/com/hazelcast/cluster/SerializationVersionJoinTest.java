@@ -0,0 +1,91 @@
+package com.hazelcast.cluster;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.TestUtil;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+import static com.hazelcast.internal.properties.GroupProperty.SERIALIZATION_VERSION;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that members agree on the serialization version before they exchange any serialized data. The version is
+ * checked when the connection is bound, so these tests run on the real network; the mock network has no bind step.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class SerializationVersionJoinTest {
+
+    private static final int BASE_PORT = 7777;
+    private static final int ENTRY_COUNT = 100;
+
+    @Before
+    @After
+    public void killAllHazelcastInstances() throws IOException {
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void whenSameSerializationVersion2_thenClusterIsFormed() {
+        Config config1 = newConfig("2");
+        Config config2 = newConfig("2");
+
+        HazelcastInstance hz1 = Hazelcast.newHazelcastInstance(config1);
+        HazelcastInstance hz2 = Hazelcast.newHazelcastInstance(config2);
+
+        assertEquals(2, hz1.getCluster().getMembers().size());
+        assertEquals(2, hz2.getCluster().getMembers().size());
+
+        IMap<String, String> map1 = hz1.getMap("map");
+        for (int k = 0; k < ENTRY_COUNT; k++) {
+            map1.put("key" + k, "value" + k);
+        }
+
+        IMap<String, String> map2 = hz2.getMap("map");
+        assertEquals(ENTRY_COUNT, map2.size());
+        for (int k = 0; k < ENTRY_COUNT; k++) {
+            assertEquals("value" + k, map2.get("key" + k));
+        }
+    }
+
+    @Test
+    public void whenDifferentSerializationVersion_thenNewMemberIsRejected() {
+        Config config1 = newConfig("2");
+        Config config2 = newConfig("2");
+        Config config3 = newConfig("1");
+
+        HazelcastInstance hz1 = Hazelcast.newHazelcastInstance(config1);
+        HazelcastInstance hz2 = Hazelcast.newHazelcastInstance(config2);
+        HazelcastInstance hz3 = Hazelcast.newHazelcastInstance(config3);
+
+        assertEquals(2, hz1.getCluster().getMembers().size());
+        assertEquals(2, hz2.getCluster().getMembers().size());
+        assertTrue(hz3.getLifecycleService().isRunning());
+        assertEquals(1, hz3.getCluster().getMembers().size());
+
+        hz1.getMap("map").put("key", "value");
+        assertEquals("value", hz2.getMap("map").get("key"));
+    }
+
+    // all configs are created before the first member starts, so they share the same base port and the members find
+    // each other by the port auto increment
+    private static Config newConfig(String serializationVersion) {
+        Config config = new Config();
+        config.setProperty(SERIALIZATION_VERSION.getName(), serializationVersion);
+        config.getNetworkConfig().getJoin().getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().setPort(TestUtil.getAvailablePort(BASE_PORT));
+        return config;
+    }
+}
@@ -0,0 +1,92 @@
+package com.hazelcast.internal.metrics;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.internal.metrics.LatencyHistogram.MAX_VALUE;
+import static com.hazelcast.internal.metrics.LatencyHistogram.bucketIndex;
+import static com.hazelcast.internal.metrics.LatencyHistogram.highestValue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class LatencyHistogramTest {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    public void test_whenEmpty() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxValue());
+        assertEquals(0, histogram.getP99());
+    }
+
+    @Test
+    public void test_bucketIndex_isMonotonic() {
+        int previous = bucketIndex(0);
+        for (long value = 1; value < 100000; value++) {
+            int index = bucketIndex(value);
+            assertTrue(index == previous || index == previous + 1);
+            previous = index;
+        }
+    }
+
+    @Test
+    public void test_highestValue() {
+        for (long value = 0; value < 100000; value++) {
+            long highest = highestValue(bucketIndex(value));
+            assertTrue("value " + value + " highest " + highest, highest >= value);
+            // the relative error is bounded by the number of sub-buckets
+            assertTrue("value " + value + " highest " + highest, highest - value <= value / 32);
+        }
+    }
+
+    @Test
+    public void test_record_whenNegative() {
+        histogram.record(-10);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getMaxValue());
+    }
+
+    @Test
+    public void test_record_whenTooLarge() {
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(MAX_VALUE, histogram.getMaxValue());
+    }
+
+    @Test
+    public void test_recordNanos() {
+        histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(20));
+
+        assertEquals(20, histogram.getMaxValue());
+    }
+
+    @Test
+    public void test_percentiles() {
+        for (int k = 1; k <= 1000; k++) {
+            histogram.record(k);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertValueNear(500, histogram.getP50());
+        assertValueNear(900, histogram.getP90());
+        assertValueNear(990, histogram.getP99());
+        assertValueNear(999, histogram.getP999());
+        assertValueNear(1000, histogram.getMaxValue());
+        assertEquals(1, histogram.getValueAtPercentile(0));
+    }
+
+    private static void assertValueNear(long expected, long found) {
+        assertTrue("expected " + expected + " found " + found, found >= expected && found <= expected + expected / 32);
+    }
+}
@@ -1,7 +1,9 @@
 package com.hazelcast.internal.metrics.impl;
 
 import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.metrics.LatencyHistogram;
 import com.hazelcast.internal.metrics.impl.FieldProbe.DoubleFieldProbe;
+import com.hazelcast.internal.metrics.impl.FieldProbe.HistogramFieldProbe;
 import com.hazelcast.internal.metrics.impl.FieldProbe.LongFieldProbe;
 import com.hazelcast.internal.util.counters.Counter;
 import com.hazelcast.test.HazelcastParallelClassRunner;
@@ -23,6 +25,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import static com.hazelcast.internal.metrics.impl.FieldProbe.createFieldProbe;
 import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelTest.class})
@@ -110,6 +113,18 @@ public class FieldProbeTest extends HazelcastTestSupport {
         assertEquals(expected, value, 0.1);
     }
 
+    @Test
+    public void getHistogram() throws Exception {
+        SomeSource source = new SomeSource();
+        Field field = source.getClass().getDeclaredField("histogramField");
+        Probe probe = field.getAnnotation(Probe.class);
+
+        FieldProbe fieldProbe = createFieldProbe(field, probe);
+        HistogramFieldProbe histogramFieldProbe = assertInstanceOf(HistogramFieldProbe.class, fieldProbe);
+
+        assertSame(source.histogramField, histogramFieldProbe.get(source));
+    }
+
     private class SomeSource {
         @Probe
         private byte byteField = 10;
@@ -176,5 +191,8 @@ public class FieldProbeTest extends HazelcastTestSupport {
         @Probe
         private Double nullDoubleField;
 
+        @Probe
+        private LatencyHistogram histogramField = new LatencyHistogram();
+
     }
 }
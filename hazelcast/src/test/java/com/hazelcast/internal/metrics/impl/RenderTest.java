@@ -1,6 +1,8 @@
 package com.hazelcast.internal.metrics.impl;
 
 import com.hazelcast.internal.metrics.DoubleProbeFunction;
+import com.hazelcast.internal.metrics.HistogramProbeFunction;
+import com.hazelcast.internal.metrics.LatencyHistogram;
 import com.hazelcast.internal.metrics.LongProbeFunction;
 import com.hazelcast.internal.metrics.ProbeLevel;
 import com.hazelcast.internal.metrics.renderers.ProbeRenderer;
@@ -91,6 +93,26 @@ public class RenderTest {
         verifyNoMoreInteractions(renderer);
     }
 
+    @Test
+    public void whenHistogramProbeFunction() {
+        ProbeRenderer renderer = mock(ProbeRenderer.class);
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10);
+
+        metricsRegistry.register(this, "foo", ProbeLevel.INFO,
+                new HistogramProbeFunction<RenderTest>() {
+                    @Override
+                    public LatencyHistogram get(RenderTest source) throws Exception {
+                        return histogram;
+                    }
+                });
+
+        metricsRegistry.render(renderer);
+
+        verify(renderer).renderHistogram("foo", histogram);
+        verifyNoMoreInteractions(renderer);
+    }
+
     @Test
     public void whenException() {
         ProbeRenderer renderer = mock(ProbeRenderer.class);
@@ -0,0 +1,173 @@
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.StringDictionary;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.nio.BufferObjectDataInput;
+import com.hazelcast.nio.BufferObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static com.hazelcast.internal.serialization.InternalSerializationService.VERSION_1;
+import static com.hazelcast.internal.serialization.InternalSerializationService.VERSION_2;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class CompactEncodingTest extends HazelcastTestSupport {
+
+    private InternalSerializationService compactService;
+    private InternalSerializationService defaultService;
+
+    @Before
+    public void setup() {
+        compactService = new DefaultSerializationServiceBuilder()
+                .setVersion(VERSION_2)
+                .setStringDictionary(Arrays.asList("orders", "customers"))
+                .build();
+        defaultService = new DefaultSerializationServiceBuilder()
+                .setVersion(VERSION_1)
+                .setStringDictionary(Arrays.asList("orders", "customers"))
+                .build();
+    }
+
+    @Test
+    public void stringDictionary_onlyWithVersion2() {
+        assertNotNull(compactService.getStringDictionary());
+        assertNull(defaultService.getStringDictionary());
+    }
+
+    @Test
+    public void stringDictionary_builtInNamesFirst() {
+        StringDictionary dictionary = compactService.getStringDictionary();
+
+        int mapService = dictionary.indexOf(MapService.SERVICE_NAME);
+        int orders = dictionary.indexOf("orders");
+
+        assertTrue(mapService >= 0);
+        assertTrue(orders > mapService);
+        assertEquals("orders", dictionary.get(orders));
+        assertEquals(orders + 1, dictionary.indexOf("customers"));
+        assertEquals(-1, dictionary.indexOf("unknown"));
+    }
+
+    @Test
+    public void writeUTF_compact() throws IOException {
+        BufferObjectDataOutput out = compactService.createObjectDataOutput();
+        out.writeUTF("foo");
+        out.writeUTF(null);
+        out.writeUTF("");
+        out.writeUTF("\u00e7ok g\u00fczel");
+
+        // each length takes 1 byte instead of 4
+        assertEquals(4 + 1 + 1 + 12, out.position());
+
+        BufferObjectDataInput in = compactService.createObjectDataInput(out.toByteArray());
+        assertEquals("foo", in.readUTF());
+        assertNull(in.readUTF());
+        assertEquals("", in.readUTF());
+        assertEquals("\u00e7ok g\u00fczel", in.readUTF());
+    }
+
+    @Test
+    public void writeName_whenInDictionary_writtenAsReference() throws IOException {
+        BufferObjectDataOutput out = compactService.createObjectDataOutput();
+        out.writeName(MapService.SERVICE_NAME);
+        out.writeName("customers");
+
+        assertEquals(2, out.position());
+
+        BufferObjectDataInput in = compactService.createObjectDataInput(out.toByteArray());
+        assertEquals(MapService.SERVICE_NAME, in.readName());
+        assertEquals("customers", in.readName());
+    }
+
+    @Test
+    public void writeName_whenNotInDictionary() throws IOException {
+        BufferObjectDataOutput out = compactService.createObjectDataOutput();
+        out.writeName("products");
+        out.writeName(null);
+        out.writeName("");
+
+        BufferObjectDataInput in = compactService.createObjectDataInput(out.toByteArray());
+        assertEquals("products", in.readName());
+        assertNull(in.readName());
+        assertEquals("", in.readName());
+    }
+
+    @Test(expected = IOException.class)
+    public void readName_whenUnknownIndex() throws IOException {
+        BufferObjectDataOutput out = compactService.createObjectDataOutput();
+        out.writeByte((compactService.getStringDictionary().size() << 1) | 1);
+
+        compactService.createObjectDataInput(out.toByteArray()).readName();
+    }
+
+    @Test
+    public void writeName_withoutCompactEncoding_likeWriteUTF() throws IOException {
+        BufferObjectDataOutput out = defaultService.createObjectDataOutput();
+        out.writeName("orders");
+
+        BufferObjectDataOutput expected = defaultService.createObjectDataOutput();
+        expected.writeUTF("orders");
+
+        assertEquals(Arrays.toString(expected.toByteArray()), Arrays.toString(out.toByteArray()));
+        assertEquals("orders", defaultService.createObjectDataInput(out.toByteArray()).readName());
+    }
+
+    @Test
+    public void writeCompactLong() throws IOException {
+        long[] values = {0, 1, -1, 63, -64, 64, Integer.MAX_VALUE, Integer.MIN_VALUE, System.currentTimeMillis(),
+                Long.MAX_VALUE, Long.MIN_VALUE};
+
+        BufferObjectDataOutput out = compactService.createObjectDataOutput();
+        for (long value : values) {
+            out.writeCompactLong(value);
+        }
+
+        BufferObjectDataInput in = compactService.createObjectDataInput(out.toByteArray());
+        for (long value : values) {
+            assertEquals(value, in.readCompactLong());
+        }
+        assertEquals(out.position(), in.position());
+    }
+
+    @Test
+    public void writeCompactLong_smallValuesTakeOneByte() throws IOException {
+        BufferObjectDataOutput out = compactService.createObjectDataOutput();
+        out.writeCompactLong(-1);
+        out.writeCompactLong(63);
+
+        assertEquals(2, out.position());
+    }
+
+    @Test
+    public void writeCompactLong_withoutCompactEncoding_likeWriteLong() throws IOException {
+        BufferObjectDataOutput out = defaultService.createObjectDataOutput();
+        out.writeCompactLong(-1);
+
+        assertEquals(8, out.position());
+        assertEquals(-1, defaultService.createObjectDataInput(out.toByteArray()).readCompactLong());
+    }
+
+    @Test
+    public void toData_stringRoundTrip() {
+        Data data = compactService.toData("orders");
+
+        assertEquals("orders", compactService.toObject(data));
+        assertTrue(data.totalSize() < defaultService.toData("orders").totalSize());
+    }
+}
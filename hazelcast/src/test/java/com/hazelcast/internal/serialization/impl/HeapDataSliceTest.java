@@ -0,0 +1,217 @@
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.BufferObjectDataInput;
+import com.hazelcast.nio.BufferObjectDataOutput;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static com.hazelcast.internal.serialization.impl.ByteArrayObjectDataInput.MIN_SLICE_LENGTH;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class HeapDataSliceTest extends HazelcastTestSupport {
+
+    private InternalSerializationService serializationService;
+
+    @Before
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void construct_whenTooSmall() {
+        new HeapDataSlice(new byte[100], 0, HeapData.HEAP_DATA_OVERHEAD - 1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void construct_whenOutOfBounds() {
+        new HeapDataSlice(new byte[100], 50, 51);
+    }
+
+    @Test
+    public void whenSameContentAsHeapData() {
+        Data heapData = serializationService.toData(randomValue());
+        HeapDataSlice slice = sliceOf(heapData, 10);
+
+        assertEquals(heapData, slice);
+        assertEquals(slice, heapData);
+        assertEquals(heapData.hashCode(), slice.hashCode());
+        assertEquals(heapData.hash64(), slice.hash64());
+        assertEquals(heapData.getType(), slice.getType());
+        assertEquals(heapData.getPartitionHash(), slice.getPartitionHash());
+        assertEquals(heapData.hasPartitionHash(), slice.hasPartitionHash());
+        assertEquals(heapData.isPortable(), slice.isPortable());
+        assertEquals(heapData.totalSize(), slice.totalSize());
+        assertEquals(heapData.dataSize(), slice.dataSize());
+        assertEquals(sliceOf(heapData, 3), slice);
+    }
+
+    @Test
+    public void whenDifferentContent() {
+        HeapDataSlice slice1 = sliceOf(serializationService.toData("foo"), 10);
+        HeapDataSlice slice2 = sliceOf(serializationService.toData("bar"), 10);
+
+        assertFalse(slice1.equals(slice2));
+        assertFalse(slice1.equals(serializationService.toData("bar")));
+        assertFalse(serializationService.toData("bar").equals(slice1));
+    }
+
+    @Test
+    public void toByteArray_returnsCopyOfContent() {
+        Data heapData = serializationService.toData(randomValue());
+        HeapDataSlice slice = sliceOf(heapData, 10);
+
+        byte[] bytes = slice.toByteArray();
+
+        assertArrayEquals(heapData.toByteArray(), bytes);
+        assertNotSame(slice.buffer(), bytes);
+    }
+
+    @Test
+    public void getHeapCost_includesBuffer() {
+        HeapDataSlice slice = sliceOf(serializationService.toData(randomValue()), 10);
+
+        assertTrue(slice.getHeapCost() > slice.buffer().length);
+    }
+
+    @Test
+    public void toObject() {
+        String value = randomValue();
+        HeapDataSlice slice = sliceOf(serializationService.toData(value), 10);
+
+        assertEquals(value, serializationService.toObject(slice));
+    }
+
+    @Test
+    public void createObjectDataInput() throws IOException {
+        String value = randomValue();
+        HeapDataSlice slice = sliceOf(serializationService.toData(value), 10);
+
+        BufferObjectDataInput in = serializationService.createObjectDataInput(slice);
+
+        assertEquals(value, in.readUTF());
+        assertEquals(0, ((ByteArrayObjectDataInput) in).available());
+    }
+
+    @Test
+    public void writeData() throws IOException {
+        Data heapData = serializationService.toData(randomValue());
+        HeapDataSlice slice = sliceOf(heapData, 10);
+
+        BufferObjectDataOutput out = serializationService.createObjectDataOutput();
+        out.writeData(slice);
+        BufferObjectDataInput in = serializationService.createObjectDataInput(out.toByteArray());
+        Data found = in.readData();
+
+        assertTrue(found instanceof HeapData);
+        assertEquals(heapData, found);
+    }
+
+    @Test
+    public void readData_whenLargeDataInPacket_thenSlice() {
+        Data value = serializationService.toData(randomBytes(MIN_SLICE_LENGTH));
+        Packet packet = new Packet(serializationService.toData(new DataHolder(value)).toByteArray());
+
+        DataHolder holder = serializationService.toObject(packet);
+
+        assertTrue(holder.data instanceof HeapDataSlice);
+        assertEquals(value, holder.data);
+        assertArrayEquals((byte[]) serializationService.toObject(value), (byte[]) serializationService.toObject(holder.data));
+    }
+
+    @Test
+    public void readData_whenSmallDataInPacket_thenCopy() {
+        Data value = serializationService.toData(randomBytes(MIN_SLICE_LENGTH / 2));
+        Packet packet = new Packet(serializationService.toData(new DataHolder(value)).toByteArray());
+
+        DataHolder holder = serializationService.toObject(packet);
+
+        assertTrue(holder.data instanceof HeapData);
+        assertEquals(value, holder.data);
+    }
+
+    @Test
+    public void readData_whenDataIsSmallPartOfPacket_thenCopy() {
+        Data value = serializationService.toData(randomBytes(MIN_SLICE_LENGTH));
+        DataHolder original = new DataHolder(value);
+        original.padding = new byte[MIN_SLICE_LENGTH];
+        Packet packet = new Packet(serializationService.toData(original).toByteArray());
+
+        DataHolder holder = serializationService.toObject(packet);
+
+        assertTrue(holder.data instanceof HeapData);
+        assertEquals(value, holder.data);
+    }
+
+    @Test
+    public void readData_whenNotPacket_thenCopy() {
+        Data value = serializationService.toData(randomBytes(MIN_SLICE_LENGTH));
+        Data data = serializationService.toData(new DataHolder(value));
+
+        DataHolder holder = serializationService.toObject(data);
+
+        assertTrue(holder.data instanceof HeapData);
+        assertEquals(value, holder.data);
+    }
+
+    private static HeapDataSlice sliceOf(Data data, int offset) {
+        byte[] content = data.toByteArray();
+        byte[] buffer = new byte[offset + content.length + offset];
+        System.arraycopy(content, 0, buffer, offset, content.length);
+        return new HeapDataSlice(buffer, offset, content.length);
+    }
+
+    private static String randomValue() {
+        return randomString() + randomString() + randomString();
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random().nextBytes(bytes);
+        return bytes;
+    }
+
+    public static class DataHolder implements DataSerializable {
+        private Data data;
+        private byte[] padding = new byte[0];
+
+        public DataHolder() {
+        }
+
+        DataHolder(Data data) {
+            this.data = data;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeData(data);
+            out.writeByteArray(padding);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            data = in.readData();
+            padding = in.readByteArray();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.serialization.ClassDefinition;
+import com.hazelcast.nio.serialization.ClassDefinitionBuilder;
+import com.hazelcast.nio.serialization.FieldType;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableFactory;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class PortableSchemaTest {
+
+    private static final int FACTORY_ID = 1;
+    private static final int CLASS_ID = 1;
+
+    @Test
+    public void indexOf_whenExpectedField() {
+        PortableSchema schema = PortableSchema.of(newClassDefinition());
+
+        assertEquals(1, schema.indexOf("name", 1));
+    }
+
+    @Test
+    public void indexOf_whenNotExpectedField() {
+        PortableSchema schema = PortableSchema.of(newClassDefinition());
+
+        assertEquals(0, schema.indexOf("id", 2));
+        assertEquals(2, schema.indexOf("age", 0));
+        assertEquals(2, schema.indexOf("age", 3));
+    }
+
+    @Test
+    public void indexOf_whenUnknownField() {
+        PortableSchema schema = PortableSchema.of(newClassDefinition());
+
+        assertEquals(-1, schema.indexOf("unknown", 0));
+    }
+
+    @Test
+    public void fields() {
+        PortableSchema schema = PortableSchema.of(newClassDefinition());
+
+        assertEquals(FieldType.LONG, schema.getField(0).getType());
+        assertArrayEquals(new byte[]{'n', 'a', 'm', 'e'}, schema.getEncodedName(1));
+        // short length, 'age' and the type
+        assertEquals(2 + 3 + 1, schema.getValueOffset(2));
+    }
+
+    @Test
+    public void of_whenClassDefinitionImpl_thenCreatedOnce() {
+        ClassDefinitionImpl cd = (ClassDefinitionImpl) newClassDefinition();
+
+        assertSame(PortableSchema.of(cd), PortableSchema.of(cd));
+    }
+
+    @Test
+    public void of_whenFieldAdded_thenRecreated() {
+        ClassDefinitionImpl cd = new ClassDefinitionImpl(FACTORY_ID, CLASS_ID, 0);
+        cd.addFieldDef(new FieldDefinitionImpl(0, "id", FieldType.LONG));
+        PortableSchema schema = PortableSchema.of(cd);
+
+        cd.addFieldDef(new FieldDefinitionImpl(1, "name", FieldType.UTF));
+
+        assertNotSame(schema, PortableSchema.of(cd));
+        assertEquals(1, PortableSchema.of(cd).indexOf("name", 0));
+    }
+
+    @Test
+    public void whenFieldsInOrder() {
+        assertRoundTrip(newSerializationService(), new Person(10, "foo", 20, false));
+    }
+
+    @Test
+    public void whenReadOutOfOrder() {
+        assertRoundTrip(newSerializationService(), new Person(10, "foo", 20, true));
+    }
+
+    @Test
+    public void whenClassDefinitionInOtherOrderThanWrites() {
+        // registers the fields in the reverse order of the writes
+        ClassDefinition cd = new ClassDefinitionBuilder(FACTORY_ID, CLASS_ID)
+                .addBooleanField("readOutOfOrder").addIntField("age").addUTFField("name").addLongField("id").build();
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder()
+                .addPortableFactory(FACTORY_ID, new PersonFactory())
+                .addClassDefinition(cd)
+                .build();
+
+        assertRoundTrip(serializationService, new Person(10, "foo", 20, false));
+    }
+
+    @Test(expected = HazelcastSerializationException.class)
+    public void whenFieldWrittenTwice() {
+        Person person = new Person(10, "foo", 20, false);
+        person.writeTwice = true;
+
+        newSerializationService().toData(person);
+    }
+
+    private static void assertRoundTrip(InternalSerializationService serializationService, Person person) {
+        Person found = serializationService.toObject(serializationService.toData(person));
+
+        assertEquals(person.id, found.id);
+        assertEquals(person.name, found.name);
+        assertEquals(person.age, found.age);
+    }
+
+    private static InternalSerializationService newSerializationService() {
+        return new DefaultSerializationServiceBuilder().addPortableFactory(FACTORY_ID, new PersonFactory()).build();
+    }
+
+    private static ClassDefinition newClassDefinition() {
+        return new ClassDefinitionBuilder(FACTORY_ID, CLASS_ID)
+                .addLongField("id").addUTFField("name").addIntField("age").build();
+    }
+
+    private static class PersonFactory implements PortableFactory {
+        @Override
+        public Portable create(int classId) {
+            return new Person(0, null, 0, false);
+        }
+    }
+
+    private static class Person implements Portable {
+        private long id;
+        private String name;
+        private int age;
+        private boolean readOutOfOrder;
+        private boolean writeTwice;
+
+        Person(long id, String name, int age, boolean readOutOfOrder) {
+            this.id = id;
+            this.name = name;
+            this.age = age;
+            this.readOutOfOrder = readOutOfOrder;
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return CLASS_ID;
+        }
+
+        @Override
+        public void writePortable(PortableWriter writer) throws IOException {
+            writer.writeLong("id", id);
+            writer.writeUTF("name", name);
+            writer.writeInt("age", age);
+            writer.writeBoolean("readOutOfOrder", readOutOfOrder);
+            if (writeTwice) {
+                writer.writeInt("age", age);
+            }
+        }
+
+        @Override
+        public void readPortable(PortableReader reader) throws IOException {
+            readOutOfOrder = reader.readBoolean("readOutOfOrder");
+            if (readOutOfOrder) {
+                age = reader.readInt("age");
+                id = reader.readLong("id");
+                name = reader.readUTF("name");
+            } else {
+                id = reader.readLong("id");
+                name = reader.readUTF("name");
+                age = reader.readInt("age");
+            }
+        }
+    }
+}
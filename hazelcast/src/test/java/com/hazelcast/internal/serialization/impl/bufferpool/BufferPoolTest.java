@@ -17,17 +17,23 @@ import org.junit.runner.RunWith;
 
 import java.io.IOException;
 
+import static java.util.concurrent.TimeUnit.HOURS;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelTest.class})
 public class BufferPoolTest extends HazelcastTestSupport {
 
+    private static final int LARGE_PAYLOAD_SIZE = 100;
+    private static final int MAX_RETAINED_SIZE = 1000;
+
     private InternalSerializationService serializationService;
     private BufferPoolImpl bufferPool;
 
@@ -88,6 +94,125 @@ public class BufferPoolTest extends HazelcastTestSupport {
         verify(out, times(1)).close();
     }
 
+    @Test
+    public void returnOutputBuffer_whenLargePayload_thenRetained() {
+        BufferPoolImpl pool = newRetainingPool(HOURS.toMillis(1));
+        BufferObjectDataOutput out = mockOutput(LARGE_PAYLOAD_SIZE + 1);
+
+        pool.returnOutputBuffer(out);
+
+        verify(out).position(0);
+        verify(out, never()).clear();
+        assertEquals(LARGE_PAYLOAD_SIZE + 1, pool.getRetainedSize());
+        assertEquals(LARGE_PAYLOAD_SIZE + 1, pool.getPeakPayloadSize());
+    }
+
+    @Test
+    public void returnOutputBuffer_whenSmallPayloadAfterLargePayload_thenRetained() {
+        BufferPoolImpl pool = newRetainingPool(HOURS.toMillis(1));
+        pool.returnOutputBuffer(mockOutput(LARGE_PAYLOAD_SIZE + 1));
+        BufferObjectDataOutput out = mockOutput(10);
+
+        pool.returnOutputBuffer(out);
+
+        verify(out, never()).clear();
+        assertEquals(0, pool.getTrimmed());
+    }
+
+    @Test
+    public void returnOutputBuffer_whenTrimDelayPassed_thenTrimmed() {
+        BufferPoolImpl pool = newRetainingPool(0);
+        pool.returnOutputBuffer(mockOutput(LARGE_PAYLOAD_SIZE + 1));
+        sleepMillis(10);
+        BufferObjectDataOutput out = mockOutput(10);
+
+        pool.returnOutputBuffer(out);
+
+        verify(out).clear();
+        assertEquals(1, pool.getTrimmed());
+        assertEquals(0, pool.getRetainedSize());
+    }
+
+    @Test
+    public void returnOutputBuffer_whenPayloadAboveMaxRetainedSize_thenTrimmed() {
+        BufferPoolImpl pool = newRetainingPool(HOURS.toMillis(1));
+        BufferObjectDataOutput out = mockOutput(MAX_RETAINED_SIZE + 1);
+
+        pool.returnOutputBuffer(out);
+
+        verify(out).clear();
+        assertEquals(1, pool.getTrimmed());
+        assertEquals(0, pool.getRetainedSize());
+    }
+
+    @Test
+    public void returnOutputBuffer_whenRetainingDisabled_thenCleared() {
+        BufferObjectDataOutput out = mockOutput(LARGE_PAYLOAD_SIZE + 1);
+
+        bufferPool.returnOutputBuffer(out);
+
+        verify(out).clear();
+        assertEquals(0, bufferPool.getTrimmed());
+    }
+
+    @Test
+    public void returnOutputBuffer_whenOtherThread_thenMovedToPoolByOwner() throws Exception {
+        final BufferObjectDataOutput out = bufferPool.takeOutputBuffer();
+
+        spawn(new Runnable() {
+            @Override
+            public void run() {
+                bufferPool.returnOutputBuffer(out);
+            }
+        }).get();
+
+        assertEquals(1, bufferPool.foreignOutputQueue.size());
+        assertSame(out, bufferPool.takeOutputBuffer());
+        assertEquals(0, bufferPool.foreignOutputQueue.size());
+        assertEquals(1, bufferPool.getForeignReturned());
+    }
+
+    @Test
+    public void returnOutputBuffer_whenOtherThreadAndOverflowing() throws Exception {
+        // makes this thread the owner
+        bufferPool.takeOutputBuffer();
+        final BufferObjectDataOutput out = mock(BufferObjectDataOutput.class);
+
+        spawn(new Runnable() {
+            @Override
+            public void run() {
+                for (int k = 0; k < BufferPoolImpl.MAX_FOREIGN_ITEMS; k++) {
+                    bufferPool.returnOutputBuffer(mock(BufferObjectDataOutput.class));
+                }
+                bufferPool.returnOutputBuffer(out);
+            }
+        }).get();
+
+        assertEquals(BufferPoolImpl.MAX_FOREIGN_ITEMS, bufferPool.foreignOutputQueue.size());
+        verify(out).close();
+    }
+
+    @Test
+    public void statistics() {
+        BufferObjectDataOutput out = bufferPool.takeOutputBuffer();
+        bufferPool.returnOutputBuffer(out);
+        bufferPool.takeOutputBuffer();
+        bufferPool.takeInputBuffer(new HeapData(new byte[]{}));
+
+        assertEquals(3, bufferPool.getTaken());
+        assertEquals(2, bufferPool.getCreated());
+    }
+
+    private BufferPoolImpl newRetainingPool(long trimDelayMillis) {
+        return new BufferPoolImpl(serializationService, LARGE_PAYLOAD_SIZE, MAX_RETAINED_SIZE, trimDelayMillis);
+    }
+
+    private static BufferObjectDataOutput mockOutput(int payloadSize) {
+        BufferObjectDataOutput out = mock(BufferObjectDataOutput.class);
+        when(out.position()).thenReturn(payloadSize);
+        return out;
+    }
+
     // ======================= in ==========================================
 
     @Test
@@ -135,6 +260,22 @@ public class BufferPoolTest extends HazelcastTestSupport {
         verify(in, times(1)).close();
     }
 
+    @Test
+    public void returnInputBuffer_whenOtherThread_thenMovedToPoolByOwner() throws Exception {
+        final BufferObjectDataInput in = bufferPool.takeInputBuffer(new HeapData(new byte[]{}));
+
+        spawn(new Runnable() {
+            @Override
+            public void run() {
+                bufferPool.returnInputBuffer(in);
+            }
+        }).get();
+
+        assertEquals(1, bufferPool.foreignInputQueue.size());
+        assertSame(in, bufferPool.takeInputBuffer(new HeapData(new byte[]{})));
+        assertEquals(0, bufferPool.foreignInputQueue.size());
+    }
+
     @Test
     public void returnInputBuffer_whenNull() {
         bufferPool.returnInputBuffer(null);
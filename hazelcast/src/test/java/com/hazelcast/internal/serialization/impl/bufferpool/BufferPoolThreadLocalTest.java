@@ -2,6 +2,7 @@ package com.hazelcast.internal.serialization.impl.bufferpool;
 
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.test.AssertTask;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
@@ -15,6 +16,7 @@ import org.junit.runner.RunWith;
 import java.lang.ref.WeakReference;
 import java.util.concurrent.Callable;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
@@ -54,6 +56,26 @@ public class BufferPoolThreadLocalTest extends HazelcastTestSupport {
         assertNotSame(pool1, pool2);
     }
 
+    @Test
+    public void probes_aggregateAllPools() throws Exception {
+        final BufferPoolThreadLocal bufferPoolThreadLocal = new BufferPoolThreadLocal(
+                new DefaultSerializationServiceBuilder().build(), new BufferPoolFactoryImpl());
+        BufferPool pool1 = bufferPoolThreadLocal.get();
+        pool1.returnOutputBuffer(pool1.takeOutputBuffer());
+        pool1.takeOutputBuffer();
+        spawn(new Runnable() {
+            @Override
+            public void run() {
+                bufferPoolThreadLocal.get().takeOutputBuffer();
+            }
+        }).get();
+
+        assertEquals(2, bufferPoolThreadLocal.poolCount());
+        assertEquals(3, bufferPoolThreadLocal.taken());
+        assertEquals(2, bufferPoolThreadLocal.created());
+        assertEquals(100d / 3, bufferPoolThreadLocal.hitPercentage(), 0.01);
+    }
+
     @Test
     public void get_whenCleared() throws Exception {
         // forces the creation of a bufferpool.
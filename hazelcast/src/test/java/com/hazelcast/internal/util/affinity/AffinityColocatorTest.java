@@ -0,0 +1,198 @@
+package com.hazelcast.internal.util.affinity;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+import static com.hazelcast.internal.util.affinity.CpuTopology.toCpuList;
+import static com.hazelcast.internal.util.affinity.RecordingCpuBinder.twoNodeTopology;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class AffinityColocatorTest extends HazelcastTestSupport {
+
+    private ILogger logger;
+    private CpuTopology topology;
+    private RecordingCpuBinder binder;
+    private QueueingExecutor rebindExecutor;
+    private AffinityColocator colocator;
+    private ThreadAffinity ioAffinity;
+
+    @Before
+    public void setup() {
+        logger = Logger.getLogger(AffinityColocatorTest.class);
+        topology = twoNodeTopology();
+        binder = new RecordingCpuBinder();
+        rebindExecutor = new QueueingExecutor();
+        colocator = new AffinityColocator(topology, binder, 1, MILLISECONDS, rebindExecutor, logger);
+        // one dispatching thread per NUMA node
+        ioAffinity = ThreadAffinity.newThreadAffinity("io", "1,5", topology, binder, logger);
+    }
+
+    @Test
+    public void testColocate_withBusiestNode() throws Exception {
+        dispatch(10, 3);
+        colocateAfterInterval();
+
+        assertEquals(0, colocator.getNumaNode());
+        assertEquals("0-3", toCpuList(binder.bindings.get(Thread.currentThread())));
+
+        dispatch(2, 20);
+        colocateAfterInterval();
+
+        assertEquals(1, colocator.getNumaNode());
+        assertEquals("4-7", toCpuList(binder.bindings.get(Thread.currentThread())));
+    }
+
+    @Test
+    public void testColocate_whenNoDispatches_thenNotColocated() {
+        colocateAfterInterval();
+
+        assertEquals(-1, colocator.getNumaNode());
+        assertNull(binder.bindings.get(Thread.currentThread()));
+    }
+
+    @Test
+    public void testColocate_whenDispatcherNotPinned_thenIgnored() {
+        colocator.recordDispatch();
+        colocateAfterInterval();
+
+        assertEquals(-1, colocator.getNumaNode());
+    }
+
+    @Test
+    public void testColocate_onlyCountsLastInterval() throws Exception {
+        dispatch(100, 0);
+        colocateAfterInterval();
+        assertEquals(0, colocator.getNumaNode());
+
+        dispatch(0, 1);
+        colocateAfterInterval();
+
+        assertEquals(1, colocator.getNumaNode());
+    }
+
+    @Test
+    public void testColocate_beforeIntervalPassed_thenNothing() throws Exception {
+        colocator = new AffinityColocator(topology, binder, 1, SECONDS, rebindExecutor, logger);
+        dispatch(10, 0);
+
+        colocator.colocateIfNeeded(System.nanoTime());
+
+        assertEquals(-1, colocator.getNumaNode());
+    }
+
+    @Test
+    public void testColocate_whenBindingNotSupported() throws Exception {
+        dispatch(10, 0);
+        binder.supported = false;
+
+        colocateAfterInterval();
+
+        assertEquals(-1, colocator.getNumaNode());
+    }
+
+    @Test
+    public void testColocate_rebindsOnExecutor() throws Exception {
+        dispatch(10, 0);
+        sleepMillis(5);
+        colocator.colocateIfNeeded(System.nanoTime());
+
+        // the owning thread only decides; nothing is bound until the executor runs the rebind
+        assertEquals(-1, colocator.getNumaNode());
+        assertNull(binder.bindings.get(Thread.currentThread()));
+        assertEquals(1, rebindExecutor.tasks.size());
+
+        Thread rebindThread = new Thread(rebindExecutor.tasks.remove(0));
+        rebindThread.start();
+        rebindThread.join();
+
+        assertEquals(0, colocator.getNumaNode());
+        assertEquals("0-3", toCpuList(binder.bindings.get(Thread.currentThread())));
+    }
+
+    @Test
+    public void testColocate_whenRebindPending_thenNotScheduledAgain() throws Exception {
+        dispatch(10, 0);
+        sleepMillis(5);
+        colocator.colocateIfNeeded(System.nanoTime());
+        dispatch(0, 10);
+        sleepMillis(5);
+        colocator.colocateIfNeeded(System.nanoTime());
+
+        assertEquals(1, rebindExecutor.tasks.size());
+
+        rebindExecutor.runAll();
+
+        // the pending rebind picks up the latest decision
+        assertEquals(1, colocator.getNumaNode());
+        assertEquals("4-7", toCpuList(binder.bindings.get(Thread.currentThread())));
+    }
+
+    private void colocateAfterInterval() {
+        sleepMillis(5);
+        colocator.colocateIfNeeded(System.nanoTime());
+        rebindExecutor.runAll();
+    }
+
+    /**
+     * Dispatches from an IO thread on node 0 and an IO thread on node 1.
+     */
+    private void dispatch(int countNode0, int countNode1) throws InterruptedException {
+        Thread node0 = new Dispatcher(countNode0);
+        Thread node1 = new Dispatcher(countNode1);
+        // the threads are pinned in round robin order
+        node0.start();
+        node0.join();
+        node1.start();
+        node1.join();
+    }
+
+    /**
+     * Queues the rebinds, so a test decides when and on which thread they run.
+     */
+    private static final class QueueingExecutor implements Executor {
+        private final List<Runnable> tasks = new CopyOnWriteArrayList<Runnable>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+    }
+
+    private final class Dispatcher extends Thread {
+        private final int count;
+
+        Dispatcher(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public void run() {
+            ioAffinity.pinCurrentThread();
+            for (int k = 0; k < count; k++) {
+                colocator.recordDispatch();
+            }
+        }
+    }
+}
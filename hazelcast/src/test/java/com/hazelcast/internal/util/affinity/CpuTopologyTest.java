@@ -0,0 +1,145 @@
+package com.hazelcast.internal.util.affinity;
+
+import com.hazelcast.nio.IOUtil;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.BitSet;
+
+import static com.hazelcast.internal.util.affinity.CpuTopology.parseCpuList;
+import static com.hazelcast.internal.util.affinity.CpuTopology.toCpuList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class CpuTopologyTest extends HazelcastTestSupport {
+
+    private File root;
+    private File sysDir;
+    private File cpuInfo;
+
+    @Before
+    public void setup() throws IOException {
+        root = File.createTempFile("topology", "");
+        assertTrue(root.delete());
+        assertTrue(root.mkdirs());
+        sysDir = new File(root, "sys");
+        cpuInfo = new File(root, "cpuinfo");
+    }
+
+    @After
+    public void tearDown() {
+        IOUtil.delete(root);
+    }
+
+    @Test
+    public void testParseCpuList() {
+        BitSet cpus = parseCpuList("0-3, 8,10-11");
+
+        assertEquals("0-3,8,10-11", toCpuList(cpus));
+        assertEquals(7, cpus.cardinality());
+    }
+
+    @Test
+    public void testParseCpuList_whenEmpty() {
+        assertTrue(parseCpuList("").isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseCpuList_whenMalformed() {
+        parseCpuList("0-a");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseCpuList_whenReversedRange() {
+        parseCpuList("3-1");
+    }
+
+    @Test
+    public void testToCpuList_whenEmpty() {
+        assertEquals("", toCpuList(new BitSet()));
+    }
+
+    @Test
+    public void testDiscover_fromNumaNodes() throws IOException {
+        write(new File(sysDir, "cpu/online"), "0-7");
+        write(new File(sysDir, "node/node0/cpulist"), "0-3");
+        write(new File(sysDir, "node/node1/cpulist"), "4-7");
+        write(new File(sysDir, "node/possible"), "0-1");
+
+        CpuTopology topology = CpuTopology.discover(sysDir, cpuInfo);
+
+        assertEquals("0-7", toCpuList(topology.getCpus()));
+        assertEquals(0, topology.getNumaNode(2));
+        assertEquals(1, topology.getNumaNode(5));
+        assertEquals("4-7", toCpuList(topology.getCpusOfNode(1)));
+        assertTrue(topology.getCpusOfNode(2).isEmpty());
+        assertEquals(-1, topology.getNumaNode(8));
+    }
+
+    @Test
+    public void testDiscover_fromPhysicalPackage_whenNoNumaNodes() throws IOException {
+        write(new File(sysDir, "cpu/online"), "0-3");
+        write(new File(sysDir, "cpu/cpu0/topology/physical_package_id"), "0");
+        write(new File(sysDir, "cpu/cpu1/topology/physical_package_id"), "0");
+        write(new File(sysDir, "cpu/cpu2/topology/physical_package_id"), "1");
+        write(new File(sysDir, "cpu/cpu3/topology/physical_package_id"), "1");
+
+        CpuTopology topology = CpuTopology.discover(sysDir, cpuInfo);
+
+        assertEquals("0-1", toCpuList(topology.getCpusOfNode(0)));
+        assertEquals("2-3", toCpuList(topology.getCpusOfNode(1)));
+    }
+
+    @Test
+    public void testDiscover_fromCpuInfo_whenNoSysfs() throws IOException {
+        write(cpuInfo, "processor\t: 0\nphysical id\t: 0\n\nprocessor\t: 1\nphysical id\t: 1\n\n"
+                + "processor\t: 2\nphysical id\t: 1\n");
+
+        CpuTopology topology = CpuTopology.discover(sysDir, cpuInfo);
+
+        assertEquals("0-2", toCpuList(topology.getCpus()));
+        assertEquals(0, topology.getNumaNode(0));
+        assertEquals("1-2", toCpuList(topology.getCpusOfNode(1)));
+    }
+
+    @Test
+    public void testDiscover_whenNothingAvailable() {
+        CpuTopology topology = CpuTopology.discover(sysDir, cpuInfo);
+
+        assertEquals(Runtime.getRuntime().availableProcessors(), topology.getCpus().cardinality());
+        assertEquals(topology.getCpus(), topology.getCpusOfNode(0));
+    }
+
+    @Test
+    public void testDiscover_ofThisMachine() {
+        CpuTopology topology = CpuTopology.discover();
+
+        assertFalse(topology.getCpus().isEmpty());
+        int cpu = topology.getCpus().nextSetBit(0);
+        assertTrue(topology.getNumaNode(cpu) >= 0);
+    }
+
+    private static void write(File file, String content) throws IOException {
+        assertTrue(file.getParentFile().isDirectory() || file.getParentFile().mkdirs());
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write(content);
+        } finally {
+            writer.close();
+        }
+    }
+}
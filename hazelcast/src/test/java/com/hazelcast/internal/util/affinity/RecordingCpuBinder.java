@@ -0,0 +1,48 @@
+package com.hazelcast.internal.util.affinity;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A CpuBinder that records the CPUs each thread is bound to, instead of binding it.
+ */
+class RecordingCpuBinder implements CpuBinder {
+
+    final Map<Thread, BitSet> bindings = new ConcurrentHashMap<Thread, BitSet>();
+    volatile boolean supported = true;
+    volatile Exception failure;
+
+    @Override
+    public boolean bindCurrentThread(BitSet cpus) throws Exception {
+        return bindThread(Thread.currentThread(), cpus);
+    }
+
+    @Override
+    public Object getCurrentThreadHandle() throws Exception {
+        if (failure != null) {
+            throw failure;
+        }
+        return supported ? Thread.currentThread() : null;
+    }
+
+    @Override
+    public boolean bindThread(Object threadHandle, BitSet cpus) throws Exception {
+        if (failure != null) {
+            throw failure;
+        }
+        if (supported) {
+            bindings.put((Thread) threadHandle, (BitSet) cpus.clone());
+        }
+        return supported;
+    }
+
+    static CpuTopology twoNodeTopology() {
+        // cpus 0-3 are on node 0, cpus 4-7 on node 1
+        Map<Integer, Integer> nodeByCpu = new ConcurrentHashMap<Integer, Integer>();
+        for (int cpu = 0; cpu < 8; cpu++) {
+            nodeByCpu.put(cpu, cpu < 4 ? 0 : 1);
+        }
+        return new CpuTopology(CpuTopology.parseCpuList("0-7"), nodeByCpu);
+    }
+}
@@ -0,0 +1,68 @@
+package com.hazelcast.internal.util.affinity;
+
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assume.assumeTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class TasksetCpuBinderTest extends HazelcastTestSupport {
+
+    private static final File THREAD_SELF = new File("/proc/thread-self");
+
+    @Test
+    public void testBindCurrentThread() throws Exception {
+        assumeTrue(THREAD_SELF.exists() && (new File("/usr/bin/taskset").exists() || new File("/bin/taskset").exists()));
+
+        final BitSet cpus = new BitSet();
+        cpus.set(CpuTopology.discover().getCpus().nextSetBit(0));
+        final AtomicReference<String> allowed = new AtomicReference<String>();
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+        // a separate thread, so the test thread isn't left pinned
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    if (new TasksetCpuBinder().bindCurrentThread(cpus)) {
+                        allowed.set(readCpusAllowedList());
+                    }
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+            }
+        };
+        thread.start();
+        thread.join();
+
+        assertNull(failure.get());
+        assertEquals(CpuTopology.toCpuList(cpus), allowed.get());
+    }
+
+    private static String readCpusAllowedList() throws Exception {
+        BufferedReader reader = new BufferedReader(new FileReader(new File(THREAD_SELF, "status")));
+        try {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.startsWith("Cpus_allowed_list:")) {
+                    return line.substring("Cpus_allowed_list:".length()).trim();
+                }
+            }
+            return null;
+        } finally {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.hazelcast.internal.util.affinity;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.internal.properties.GroupProperties;
+import com.hazelcast.internal.properties.GroupProperty;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.internal.util.affinity.CpuTopology.toCpuList;
+import static com.hazelcast.internal.util.affinity.RecordingCpuBinder.twoNodeTopology;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class ThreadAffinityTest extends HazelcastTestSupport {
+
+    private ILogger logger;
+    private CpuTopology topology;
+    private RecordingCpuBinder binder;
+
+    @Before
+    public void setup() {
+        logger = Logger.getLogger(ThreadAffinityTest.class);
+        topology = twoNodeTopology();
+        binder = new RecordingCpuBinder();
+    }
+
+    @Test
+    public void testNone() {
+        assertFalse(ThreadAffinity.NONE.isEnabled());
+        assertEquals(-1, ThreadAffinity.NONE.pinCurrentThread());
+        assertEquals(-1, ThreadAffinity.getCurrentCpu());
+    }
+
+    @Test
+    public void testNewThreadAffinity_whenPropertyNotSet() {
+        GroupProperties properties = new GroupProperties(new Config());
+
+        ThreadAffinity affinity = ThreadAffinity.newThreadAffinity(properties, GroupProperty.IO_THREAD_AFFINITY, logger);
+
+        assertSame(ThreadAffinity.NONE, affinity);
+    }
+
+    @Test
+    public void testNewThreadAffinity_withCpuList() {
+        ThreadAffinity affinity = newThreadAffinity("1-2,6");
+
+        assertTrue(affinity.isEnabled());
+        assertEquals("1-2,6", toCpuList(affinity.getCpus()));
+    }
+
+    @Test
+    public void testNewThreadAffinity_withNumaNode() {
+        ThreadAffinity affinity = newThreadAffinity("node:1, 0");
+
+        assertEquals("0,4-7", toCpuList(affinity.getCpus()));
+    }
+
+    @Test
+    public void testNewThreadAffinity_whenOfflineCpus_thenIgnored() {
+        ThreadAffinity affinity = newThreadAffinity("6-9");
+
+        assertEquals("6-7", toCpuList(affinity.getCpus()));
+    }
+
+    @Test
+    public void testNewThreadAffinity_whenNoOnlineCpus_thenNone() {
+        assertSame(ThreadAffinity.NONE, newThreadAffinity("node:5"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNewThreadAffinity_whenMalformedNode() {
+        newThreadAffinity("node:x");
+    }
+
+    @Test
+    public void testPinCurrentThread_roundRobin() throws Exception {
+        final ThreadAffinity affinity = newThreadAffinity("2-4");
+        final Set<Integer> pinned = new HashSet<Integer>();
+        final AtomicInteger currentCpuMismatches = new AtomicInteger();
+
+        for (int k = 0; k < 3; k++) {
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    int cpu = affinity.pinCurrentThread();
+                    if (cpu != ThreadAffinity.getCurrentCpu()) {
+                        currentCpuMismatches.incrementAndGet();
+                    }
+                    synchronized (pinned) {
+                        pinned.add(cpu);
+                    }
+                }
+            };
+            thread.start();
+            thread.join();
+
+            BitSet binding = binder.bindings.get(thread);
+            assertEquals(1, binding.cardinality());
+        }
+
+        assertEquals(0, currentCpuMismatches.get());
+        assertEquals(3, pinned.size());
+        assertTrue(pinned.contains(2) && pinned.contains(3) && pinned.contains(4));
+    }
+
+    @Test
+    public void testPinCurrentThread_whenNotSupported() {
+        binder.supported = false;
+        ThreadAffinity affinity = newThreadAffinity("1");
+
+        assertEquals(-1, affinity.pinCurrentThread());
+        assertEquals(-1, affinity.pinCurrentThread());
+    }
+
+    @Test
+    public void testPinCurrentThread_whenBindingFails() {
+        binder.failure = new Exception("expected");
+        ThreadAffinity affinity = newThreadAffinity("1");
+
+        assertEquals(-1, affinity.pinCurrentThread());
+    }
+
+    private ThreadAffinity newThreadAffinity(String affinity) {
+        return ThreadAffinity.newThreadAffinity("test", affinity, topology, binder, logger);
+    }
+}
@@ -6,6 +6,7 @@ import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
 import com.hazelcast.core.MapStore;
+import com.hazelcast.internal.properties.GroupProperty;
 import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.TestHazelcastInstanceFactory;
 import com.hazelcast.test.annotation.ParallelTest;
@@ -23,9 +24,12 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 @RunWith(HazelcastSerialClassRunner.class)
 @Category({QuickTest.class, ParallelTest.class})
@@ -119,6 +123,50 @@ public class LoadAllTest extends AbstractMapStoreTest {
         assertEquals(-1, map.get(0));
     }
 
+    @Test
+    public void testItemsLoaded_whenLoadingWithoutReplacing_andOffHeapStorageChangedConcurrently() throws Exception {
+        String mapName = randomMapName();
+        Config config = createNewConfig(mapName);
+        config.setProperty(GroupProperty.MAP_OFF_HEAP_STORAGE_ENABLED.getName(), "true");
+        HazelcastInstance node = createHazelcastInstance(config);
+        final IMap<Object, Object> map = node.getMap(mapName);
+
+        int itemCount = 1000;
+        populateMap(map, itemCount);
+
+        // the loader threads check for existing keys while the partition threads grow, shrink and free the storage
+        final AtomicBoolean stop = new AtomicBoolean();
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        Thread churn = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    while (!stop.get()) {
+                        for (int i = 10000; i < 12000; i++) {
+                            map.putTransient(i, i, 0, SECONDS);
+                        }
+                        evictRange(map, 10000, 12000);
+                    }
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+            }
+        };
+        churn.start();
+        try {
+            for (int round = 0; round < 5; round++) {
+                evictRange(map, 0, itemCount / 2);
+                map.loadAll(false);
+                assertRangeLoaded(map, 0, itemCount);
+            }
+        } finally {
+            stop.set(true);
+            churn.join();
+        }
+
+        assertNull(failure.get());
+    }
+
     @Test
     public void load_allKeys_preserveExistingKeys_firesEvent() throws Exception {
         final String mapName = randomMapName();
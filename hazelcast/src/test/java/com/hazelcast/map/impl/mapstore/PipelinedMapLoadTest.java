@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.internal.properties.GroupProperty;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class PipelinedMapLoadTest extends HazelcastTestSupport {
+
+    @Test
+    public void initialLoad_withSmallInFlightWindow() {
+        final int size = 5000;
+        String mapName = randomMapName();
+        Config config = newConfig(mapName, new SimpleMapLoader(size, false));
+        config.setProperty(GroupProperty.MAP_LOAD_CHUNK_SIZE.getName(), "10");
+        config.setProperty(GroupProperty.MAP_LOAD_MAX_IN_FLIGHT_BATCHES.getName(), "2");
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        final HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        final HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+
+        IMap<Integer, Integer> map = instance1.getMap(mapName);
+
+        assertEquals(size, map.size());
+        assertEquals(42, (int) map.get(42));
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                MapLoadStats stats1 = getMapLoadStats(instance1);
+                MapLoadStats stats2 = getMapLoadStats(instance2);
+                assertEquals(size, stats1.getKeysDistributedCount() + stats2.getKeysDistributedCount());
+                assertEquals(size, stats1.getLoadedEntryCount() + stats2.getLoadedEntryCount());
+                assertEquals(0, stats1.getKeyBatchesInFlight() + stats2.getKeyBatchesInFlight());
+                assertEquals(0, stats1.getLoadAllPending() + stats2.getLoadAllPending());
+            }
+        });
+    }
+
+    @Test
+    public void loadAll_givenKeys_loadedInChunks() {
+        CountingLoader loader = new CountingLoader();
+        String mapName = randomMapName();
+        Config config = newConfig(mapName, loader);
+        config.setProperty(GroupProperty.PARTITION_COUNT.getName(), "1");
+        config.setProperty(GroupProperty.MAP_LOAD_CHUNK_SIZE.getName(), "10");
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance.getMap(mapName);
+        Set<Integer> keys = new HashSet<Integer>();
+        for (int i = 0; i < 100; i++) {
+            keys.add(i);
+        }
+
+        map.loadAll(keys, true);
+
+        assertEquals(100, map.size());
+        assertEquals(10, loader.loadAllCount.get());
+        MapLoadStats stats = getMapLoadStats(instance);
+        assertEquals(10, stats.getLoadAllCount());
+        assertEquals(100, stats.getLoadedEntryCount());
+    }
+
+    private static Config newConfig(String mapName, Object loader) {
+        Config config = new Config();
+        MapStoreConfig mapStoreConfig = new MapStoreConfig()
+                .setEnabled(true)
+                .setImplementation(loader)
+                .setInitialLoadMode(MapStoreConfig.InitialLoadMode.EAGER);
+        config.getMapConfig(mapName).setMapStoreConfig(mapStoreConfig);
+        return config;
+    }
+
+    private static MapLoadStats getMapLoadStats(HazelcastInstance instance) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        return mapService.getMapServiceContext().getMapLoadStats();
+    }
+
+    private static class CountingLoader extends SimpleMapLoader {
+
+        private final AtomicInteger loadAllCount = new AtomicInteger();
+
+        CountingLoader() {
+            super(0, false);
+        }
+
+        @Override
+        public Map<Integer, Integer> loadAll(Collection<Integer> keys) {
+            loadAllCount.incrementAndGet();
+            return super.loadAll(keys);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class AdaptiveWriteBatchSizeTest {
+
+    private static final long TARGET = MILLISECONDS.toNanos(100);
+
+    @Test
+    public void startsAtConfiguredSize() {
+        AdaptiveWriteBatchSize batchSize = new AdaptiveWriteBatchSize(1000, TARGET);
+
+        assertEquals(1000, batchSize.get());
+    }
+
+    @Test
+    public void slowCall_halvesSize_downToMinimum() {
+        AdaptiveWriteBatchSize batchSize = new AdaptiveWriteBatchSize(1000, TARGET);
+
+        batchSize.onBatchStored(1000, MILLISECONDS.toNanos(150));
+        assertEquals(500, batchSize.get());
+
+        for (int i = 0; i < 10; i++) {
+            batchSize.onBatchStored(500, MILLISECONDS.toNanos(150));
+        }
+        assertEquals(AdaptiveWriteBatchSize.MIN_BATCH_SIZE, batchSize.get());
+    }
+
+    @Test
+    public void fastCall_growsSize_upToConfiguredSize() {
+        AdaptiveWriteBatchSize batchSize = new AdaptiveWriteBatchSize(1000, TARGET);
+        batchSize.onBatchStored(1000, MILLISECONDS.toNanos(150));
+
+        batchSize.onBatchStored(500, MILLISECONDS.toNanos(10));
+        assertEquals(625, batchSize.get());
+
+        for (int i = 0; i < 10; i++) {
+            batchSize.onBatchStored(batchSize.get(), MILLISECONDS.toNanos(10));
+        }
+        assertEquals(1000, batchSize.get());
+    }
+
+    @Test
+    public void fastCall_withSmallBatch_doesNotGrow() {
+        AdaptiveWriteBatchSize batchSize = new AdaptiveWriteBatchSize(1000, TARGET);
+        batchSize.onBatchStored(1000, MILLISECONDS.toNanos(150));
+
+        batchSize.onBatchStored(10, MILLISECONDS.toNanos(10));
+
+        assertEquals(500, batchSize.get());
+    }
+
+    @Test
+    public void withoutTargetLatency_sizeIsFixed() {
+        AdaptiveWriteBatchSize batchSize = new AdaptiveWriteBatchSize(1000, 0);
+
+        batchSize.onBatchStored(1000, MILLISECONDS.toNanos(10000));
+
+        assertEquals(1000, batchSize.get());
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.internal.metrics.LongGauge;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.ProbeLevel;
+import com.hazelcast.internal.properties.GroupProperty;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Collections.newSetFromMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class WriteBehindStoreWorkersTest extends HazelcastTestSupport {
+
+    @Test
+    public void entriesStoredByParallelStoreWorkers() {
+        final int numberOfItems = 1000;
+        String mapName = randomMapName();
+        final ThreadRecordingMapStore mapStore = new ThreadRecordingMapStore();
+        MapStoreConfig mapStoreConfig = new MapStoreConfig()
+                .setEnabled(true)
+                .setImplementation(mapStore)
+                .setWriteDelaySeconds(1)
+                .setWriteBatchSize(10);
+        Config config = new Config();
+        config.getMapConfig(mapName).setMapStoreConfig(mapStoreConfig);
+        config.setProperty(GroupProperty.MAP_WRITE_BEHIND_STORE_WORKERS.getName(), "4");
+        config.setProperty(GroupProperty.MAP_WRITE_BEHIND_BATCH_TARGET_LATENCY_MILLIS.getName(), "1000");
+        config.setProperty(GroupProperty.PERFORMANCE_METRICS_LEVEL.getName(), ProbeLevel.INFO.name());
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance.getMap(mapName);
+
+        for (int i = 0; i < numberOfItems; i++) {
+            map.put(i, i);
+        }
+
+        MetricsRegistry metricsRegistry = getNodeEngineImpl(instance).getMetricsRegistry();
+        String prefix = "map.writeBehind[" + mapName + "].";
+        final LongGauge storedEntryCount = metricsRegistry.newLongGauge(prefix + "storedEntryCount");
+        final LongGauge queueDepth = metricsRegistry.newLongGauge(prefix + "queueDepth");
+        final LongGauge writeBatchSize = metricsRegistry.newLongGauge(prefix + "writeBatchSize");
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(numberOfItems, mapStore.countStore.get());
+                assertEquals(numberOfItems, storedEntryCount.read());
+                assertEquals(0, queueDepth.read());
+            }
+        });
+        assertEquals(10, writeBatchSize.read());
+        assertTrue("stored by " + mapStore.storingThreads, mapStore.storingThreads.size() > 1);
+    }
+
+    private static class ThreadRecordingMapStore extends MapStoreWithCounter<Integer, Integer> {
+
+        private final Set<String> storingThreads = newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+        @Override
+        public void storeAll(Map<Integer, Integer> map) {
+            storingThreads.add(Thread.currentThread().getName());
+            // keeps the groups of a run overlapping.
+            sleepMillis(5);
+            super.storeAll(map);
+        }
+    }
+}
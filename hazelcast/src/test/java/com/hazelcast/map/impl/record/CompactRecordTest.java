@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static java.util.concurrent.TimeUnit.DAYS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class CompactRecordTest extends HazelcastTestSupport {
+
+    private static final long NOW = 1470000000123L;
+
+    private SerializationService serializationService;
+    private Record<Data> record;
+
+    @Before
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        record = new CompactDataRecord(serializationService.toData("value"));
+    }
+
+    @Test
+    public void times_keepMillisecondPrecision() {
+        record.setCreationTime(NOW);
+        record.setLastAccessTime(NOW + 1);
+        record.setLastUpdateTime(NOW + DAYS.toMillis(20) + 7);
+
+        assertEquals(NOW, record.getCreationTime());
+        assertEquals(NOW + 1, record.getLastAccessTime());
+        assertEquals(NOW + DAYS.toMillis(20) + 7, record.getLastUpdateTime());
+    }
+
+    @Test
+    public void times_whenFarFromCreationTime_thenRoundedUpToSeconds() {
+        record.setCreationTime(NOW);
+        record.setLastAccessTime(NOW + DAYS.toMillis(100) + 1);
+
+        assertEquals(NOW + DAYS.toMillis(100) + SECONDS.toMillis(1), record.getLastAccessTime());
+    }
+
+    @Test
+    public void times_whenUnset_thenZero() {
+        record.setCreationTime(NOW);
+
+        assertEquals(0, record.getLastAccessTime());
+        assertEquals(0, record.getLastUpdateTime());
+
+        record.setLastAccessTime(NOW);
+        assertEquals(NOW, record.getLastAccessTime());
+    }
+
+    @Test
+    public void setCreationTime_reencodesOtherTimes() {
+        record.setCreationTime(NOW);
+        record.setLastAccessTime(NOW + 5);
+        record.setLastUpdateTime(NOW + 10);
+
+        record.setCreationTime(NOW - 1000);
+
+        assertEquals(NOW - 1000, record.getCreationTime());
+        assertEquals(NOW + 5, record.getLastAccessTime());
+        assertEquals(NOW + 10, record.getLastUpdateTime());
+    }
+
+    @Test
+    public void onUpdate() {
+        record.setCreationTime(NOW);
+
+        record.onUpdate(NOW + 42);
+
+        assertEquals(1, record.getVersion());
+        assertEquals(1, record.getHits());
+        assertEquals(NOW + 42, record.getLastAccessTime());
+        assertEquals(NOW + 42, record.getLastUpdateTime());
+    }
+
+    @Test
+    public void ttl() {
+        record.setTtl(1500);
+        assertEquals(1500, record.getTtl());
+
+        record.setTtl(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, record.getTtl());
+
+        record.setTtl(DAYS.toMillis(30) + 1);
+        assertEquals(DAYS.toMillis(30) + SECONDS.toMillis(1), record.getTtl());
+
+        record.setTtl(0);
+        assertEquals(0, record.getTtl());
+    }
+
+    @Test
+    public void versionAndHits() {
+        record.setVersion(1L << 31);
+        record.setHits(Long.MAX_VALUE);
+
+        assertEquals(1L << 31, record.getVersion());
+        assertEquals(Integer.MAX_VALUE, record.getHits());
+
+        record.onAccess(NOW);
+        assertEquals(Integer.MAX_VALUE, record.getHits());
+    }
+
+    @Test
+    public void getCost_isSmallerThanRecordWithFullFields() {
+        Data value = serializationService.toData("value");
+
+        assertTrue(new CompactDataRecord(value).getCost() < new DataRecord(value).getCost());
+    }
+
+    @Test
+    public void objectRecordFactory_whenStatisticsDisabled_thenCreateCompactObjectRecord() {
+        MapConfig mapConfig = new MapConfig().setStatisticsEnabled(false);
+        ObjectRecordFactory factory = new ObjectRecordFactory(mapConfig, serializationService);
+
+        Record<Object> objectRecord = factory.newRecord("value");
+
+        assertInstanceOf(CompactObjectRecord.class, objectRecord);
+        assertSame(RecordStatistics.EMPTY_STATS, objectRecord.getStatistics());
+    }
+}
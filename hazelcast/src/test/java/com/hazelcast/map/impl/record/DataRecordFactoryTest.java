@@ -66,13 +66,13 @@ public class DataRecordFactoryTest extends HazelcastTestSupport {
     }
 
     @Test
-    public void givenStatisticsDisabledAndCacheDeserializedValuesIsNEVER_thenCreateDataRecordWithStats() {
+    public void givenStatisticsDisabledAndCacheDeserializedValuesIsNEVER_thenCreateCompactDataRecord() {
         MapConfig mapConfig = new MapConfig().setStatisticsEnabled(false).setCacheDeserializedValues(CacheDeserializedValues.NEVER);
         DataRecordFactory dataRecordFactory = new DataRecordFactory(mapConfig, mockSerializationService, mockPartitioningStrategy);
 
         Record<Data> dataRecord = dataRecordFactory.newRecord(object);
 
-        assertInstanceOf(DataRecord.class, dataRecord);
+        assertInstanceOf(CompactDataRecord.class, dataRecord);
     }
 
     @Test
@@ -86,12 +86,12 @@ public class DataRecordFactoryTest extends HazelcastTestSupport {
     }
 
     @Test
-    public void givenStatisticsDisabledAndCacheDeserializedValuesIsDefault_thenCreateCachedDataRecord() {
+    public void givenStatisticsDisabledAndCacheDeserializedValuesIsDefault_thenCreateCachedCompactDataRecord() {
         MapConfig mapConfig = new MapConfig().setStatisticsEnabled(false);
         DataRecordFactory dataRecordFactory = new DataRecordFactory(mapConfig, mockSerializationService, mockPartitioningStrategy);
 
         Record<Data> dataRecord = dataRecordFactory.newRecord(object);
 
-        assertInstanceOf(CachedDataRecord.class, dataRecord);
+        assertInstanceOf(CachedCompactDataRecord.class, dataRecord);
     }
 }
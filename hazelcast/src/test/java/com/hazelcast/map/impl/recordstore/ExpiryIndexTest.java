@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.eviction.ExpirationManager;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ExpiryIndexTest extends HazelcastTestSupport {
+
+    private SerializationService serializationService;
+    private ExpiryIndex index;
+
+    @Before
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        index = new ExpiryIndex(1000);
+    }
+
+    @Test
+    public void pollDue_returnsKeysOfDueBucketsInOrder() {
+        index.add(toData(1), 2500);
+        index.add(toData(2), 1200);
+        index.add(toData(3), 5000);
+
+        assertEquals(2000, index.getNextDueTime());
+        assertNull(index.pollDue(1999));
+        assertEquals(toData(2), index.pollDue(2000));
+        assertNull(index.pollDue(2000));
+        assertEquals(toData(1), index.pollDue(3000));
+        assertNull(index.pollDue(3000));
+        assertEquals(6000, index.getNextDueTime());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void add_whenAlreadyInBucket_thenIndexedOnce() {
+        index.add(toData(1), 1500);
+        index.add(toData(1), 1700);
+
+        assertEquals(1, index.size());
+        assertEquals(toData(1), index.pollDue(2000));
+        assertNull(index.pollDue(10000));
+    }
+
+    @Test
+    public void add_whenNeverExpires_thenNotIndexed() {
+        index.add(toData(1), Long.MAX_VALUE);
+
+        assertEquals(0, index.size());
+        assertEquals(Long.MAX_VALUE, index.getNextDueTime());
+    }
+
+    @Test
+    public void update_movesKeyToBucketOfNewTime() {
+        index.add(toData(1), 1500);
+        index.update(toData(1), 1500, 3500);
+
+        assertEquals(1, index.size());
+        assertEquals(4000, index.getNextDueTime());
+        assertNull(index.pollDue(3999));
+        assertEquals(toData(1), index.pollDue(4000));
+    }
+
+    @Test
+    public void update_whenNoLongerExpires_thenRemovesKey() {
+        index.add(toData(1), 1500);
+        index.update(toData(1), 1500, Long.MAX_VALUE);
+
+        assertEquals(0, index.size());
+        assertEquals(Long.MAX_VALUE, index.getNextDueTime());
+    }
+
+    @Test
+    public void remove_thenKeyNotPolled() {
+        index.add(toData(1), 1500);
+        index.add(toData(2), 2500);
+
+        assertTrue(index.remove(toData(1), 1500));
+        assertFalse(index.remove(toData(1), 1500));
+        assertFalse(index.remove(toData(2), 1500));
+
+        assertEquals(1, index.size());
+        assertEquals(3000, index.getNextDueTime());
+        assertNull(index.pollDue(2999));
+        assertEquals(toData(2), index.pollDue(3000));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void remove_whenManyKeysInBucket_thenOthersStillPolled() {
+        for (int i = 0; i < 1000; i++) {
+            index.add(toData(i), 1000);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertTrue(index.remove(toData(i), 1000));
+        }
+
+        assertEquals(500, index.size());
+        Set<Data> expected = new HashSet<Data>();
+        for (int i = 1; i < 1000; i += 2) {
+            expected.add(toData(i));
+        }
+        assertEquals(expected, pollAll(2000));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void pollDue_isResumable() {
+        Set<Data> expected = new HashSet<Data>();
+        for (int i = 0; i < 10; i++) {
+            index.add(toData(i), 1000);
+            expected.add(toData(i));
+        }
+
+        Set<Data> polled = new HashSet<Data>();
+        for (int i = 0; i < 10; i++) {
+            polled.add(index.pollDue(2000));
+            index.add(toData(100 + i), 1000);
+            expected.add(toData(100 + i));
+        }
+        polled.addAll(pollAll(2000));
+
+        assertEquals(expected, polled);
+    }
+
+    @Test
+    public void clear() {
+        index.add(toData(1), 1000);
+
+        index.clear();
+
+        assertEquals(0, index.size());
+        assertEquals(Long.MAX_VALUE, index.getNextDueTime());
+        assertNull(index.pollDue(Long.MAX_VALUE - 1));
+    }
+
+    @Test
+    public void expiredEntries_reclaimedWithoutAccess() {
+        HazelcastInstance instance = createHazelcastInstance(new Config());
+        final IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i, 1, TimeUnit.SECONDS);
+        }
+        for (int i = 1000; i < 1100; i++) {
+            map.put(i, i);
+        }
+        final ExpirationManager expirationManager = getExpirationManager(instance);
+        assertTrue(expirationManager.getPendingCount() > 0);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(100, map.getLocalMapStats().getOwnedEntryCount());
+                assertEquals(0, expirationManager.getPendingCount());
+            }
+        });
+    }
+
+    @Test
+    public void removedEntries_notKeptInExpiryIndex() {
+        HazelcastInstance instance = createHazelcastInstance(new Config());
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i, 1, TimeUnit.HOURS);
+        }
+        ExpirationManager expirationManager = getExpirationManager(instance);
+        assertEquals(1000, expirationManager.getPendingCount());
+
+        for (int i = 0; i < 500; i++) {
+            map.remove(i);
+        }
+        for (int i = 500; i < 750; i++) {
+            map.evict(i);
+        }
+        for (int i = 750; i < 1000; i++) {
+            map.put(i, i, 2, TimeUnit.HOURS);
+        }
+        assertEquals(250, expirationManager.getPendingCount());
+
+        map.clear();
+        assertEquals(0, expirationManager.getPendingCount());
+    }
+
+    @Test
+    public void accessedEntries_indexedOnce() {
+        Config config = new Config();
+        config.getMapConfig("idle*").setMaxIdleSeconds(10);
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance.getMap("idle" + randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        ExpirationManager expirationManager = getExpirationManager(instance);
+
+        sleepMillis(1100);
+        for (int i = 0; i < 100; i++) {
+            map.get(i);
+        }
+        assertEquals(100, expirationManager.getPendingCount());
+
+        for (int i = 0; i < 100; i++) {
+            map.remove(i);
+        }
+        assertEquals(0, expirationManager.getPendingCount());
+    }
+
+    private static ExpirationManager getExpirationManager(HazelcastInstance instance) {
+        MapServiceContext mapServiceContext = ((MapService) getNodeEngineImpl(instance)
+                .getService(MapService.SERVICE_NAME)).getMapServiceContext();
+        return mapServiceContext.getExpirationManager();
+    }
+
+    private Set<Data> pollAll(long now) {
+        Set<Data> keys = new HashSet<Data>();
+        Data key;
+        while ((key = index.pollDue(now)) != null) {
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    private Data toData(Object o) {
+        return serializationService.toData(o);
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.IMap;
+import com.hazelcast.internal.memory.impl.HeapMemoryManager;
+import com.hazelcast.internal.properties.GroupProperty;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.record.OffHeapRecord;
+import com.hazelcast.map.impl.record.OffHeapRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class OffHeapStorageTest extends HazelcastTestSupport {
+
+    private SerializationService serializationService;
+    private HeapMemoryManager memoryManager;
+    private OffHeapRecordFactory recordFactory;
+    private OffHeapStorage storage;
+
+    @Before
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        memoryManager = new HeapMemoryManager(8 * 1000 * 1000);
+        recordFactory = new OffHeapRecordFactory(new MapConfig().setStatisticsEnabled(true), serializationService,
+                null, memoryManager);
+        storage = new OffHeapStorage(recordFactory, serializationService);
+    }
+
+    @After
+    public void tearDown() {
+        storage.destroy();
+        assertEquals(0, memoryManager.getUsedMemory());
+    }
+
+    @Test
+    public void put_thenGet() {
+        Data key = toData("key");
+        Record record = newRecord("value");
+        record.setTtl(1000);
+        record.setCreationTime(5);
+        storage.put(key, record);
+
+        Record found = storage.get(toData("key"));
+
+        assertEquals(key, found.getKey());
+        assertEquals("value", serializationService.toObject(found.getValue()));
+        assertEquals(1000, found.getTtl());
+        assertEquals(5, found.getCreationTime());
+        assertEquals(1, storage.size());
+        assertTrue(storage.containsKey(key));
+        assertNull(storage.get(toData("other")));
+    }
+
+    @Test
+    public void changesOfRecord_writtenThrough() {
+        Data key = toData("key");
+        storage.put(key, newRecord("value"));
+
+        Record record = storage.get(key);
+        record.onUpdate(42);
+        record.getStatistics().setExpirationTime(100);
+        record.onStore();
+
+        Record found = storage.get(key);
+        assertEquals(1, found.getVersion());
+        assertEquals(1, found.getHits());
+        assertEquals(42, found.getLastUpdateTime());
+        assertEquals(42, found.getLastAccessTime());
+        assertEquals(100, found.getStatistics().getExpirationTime());
+        assertTrue(found.getStatistics().getLastStoredTime() > 0);
+    }
+
+    @Test
+    public void put_whenKeyExists_thenReplaced() {
+        Data key = toData("key");
+        storage.put(key, newRecord("value1"));
+        storage.put(key, newRecord("value2"));
+
+        assertEquals(1, storage.size());
+        assertEquals("value2", serializationService.toObject(storage.get(key).getValue()));
+    }
+
+    @Test
+    public void updateRecordValue() {
+        Data key = toData("key");
+        storage.put(key, newRecord("value"));
+        long cost = storage.getSizeEstimator().getSize();
+
+        storage.updateRecordValue(key, storage.get(key), "a much longer value");
+
+        assertEquals("a much longer value", serializationService.toObject(storage.get(key).getValue()));
+        assertTrue(storage.getSizeEstimator().getSize() > cost);
+    }
+
+    @Test
+    public void removeRecord() {
+        Data key = toData("key");
+        storage.put(key, newRecord("value"));
+
+        Record record = storage.get(key);
+        storage.removeRecord(record);
+
+        assertNull(storage.get(key));
+        assertTrue(storage.isEmpty());
+        assertEquals(0, storage.getSizeEstimator().getSize());
+        // the removed record can still be read until the deferred blocks are disposed
+        assertEquals("value", serializationService.toObject(record.getValue()));
+        storage.disposeDeferredBlocks();
+    }
+
+    @Test
+    public void sameHash_chained() {
+        storage.destroy();
+        storage = new OffHeapStorage(recordFactory, serializationService) {
+            @Override
+            long hashOf(Data key) {
+                return 42;
+            }
+        };
+        Data key1 = toData("key1");
+        Data key2 = toData("key2");
+        Data key3 = toData("key3");
+        storage.put(key1, newRecord("value1"));
+        storage.put(key2, newRecord("value2"));
+        storage.put(key3, newRecord("value3"));
+
+        storage.removeRecord(storage.get(key2));
+
+        assertEquals(2, storage.size());
+        assertEquals("value1", serializationService.toObject(storage.get(key1).getValue()));
+        assertNull(storage.get(key2));
+        assertEquals("value3", serializationService.toObject(storage.get(key3).getValue()));
+        assertEquals(2, storage.values().size());
+    }
+
+    @Test
+    public void values_areCopies() {
+        for (int i = 0; i < 100; i++) {
+            storage.put(toData(i), newRecord(i));
+        }
+
+        Collection<Record> values = storage.values();
+        assertEquals(100, values.size());
+        Set<Object> keys = new HashSet<Object>();
+        for (Record record : values) {
+            assertFalse(record instanceof OffHeapRecord);
+            keys.add(serializationService.toObject(record.getKey()));
+        }
+        assertEquals(100, keys.size());
+
+        // copies can be used to remove the records
+        for (Record record : values) {
+            storage.removeRecord(record);
+        }
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test
+    public void getRandomSamples() {
+        for (int i = 0; i < 100; i++) {
+            storage.put(toData(i), newRecord(i));
+        }
+
+        int count = 0;
+        for (LazyEntryViewFromRecord sample : storage.getRandomSamples(15)) {
+            Integer key = (Integer) sample.getKey();
+            assertEquals(key, sample.getValue());
+            count++;
+        }
+        assertEquals(15, count);
+    }
+
+    @Test
+    public void clear() {
+        for (int i = 0; i < 100; i++) {
+            storage.put(toData(i), newRecord(i));
+        }
+
+        storage.clear();
+        storage.disposeDeferredBlocks();
+
+        assertTrue(storage.isEmpty());
+        assertTrue(storage.values().isEmpty());
+        assertNull(storage.get(toData(1)));
+    }
+
+    @Test
+    public void containsKey_whenStorageChangedConcurrently() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            storage.put(toData(i), newRecord(i));
+        }
+
+        // like the map loader threads, which check for existing keys while the partition thread changes the storage;
+        // a removal shifts the slots of other keys and a growing slot array is moved
+        final AtomicBoolean stop = new AtomicBoolean();
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        Thread reader = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    while (!stop.get()) {
+                        for (int i = 0; i < 1000; i++) {
+                            assertTrue(storage.containsKey(toData(i)));
+                        }
+                    }
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+            }
+        };
+        reader.start();
+        try {
+            for (int round = 0; round < 10 && failure.get() == null; round++) {
+                for (int i = 1000; i < 5000; i++) {
+                    storage.put(toData(i), newRecord(i));
+                }
+                for (int i = 1000; i < 5000; i++) {
+                    storage.removeRecord(storage.get(toData(i)));
+                }
+                storage.disposeDeferredBlocks();
+            }
+        } finally {
+            stop.set(true);
+            reader.join();
+        }
+
+        assertNull(failure.get());
+    }
+
+    @Test
+    public void offHeapMap() {
+        Config config = new Config();
+        config.setProperty(GroupProperty.MAP_OFF_HEAP_STORAGE_ENABLED.getName(), "true");
+        IMap<Integer, String> map = createHazelcastInstance(config).getMap(randomMapName());
+
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "value" + i);
+        }
+        map.remove(3);
+        map.replace(4, "four");
+
+        assertEquals(999, map.size());
+        assertNull(map.get(3));
+        assertEquals("four", map.get(4));
+        assertEquals("value5", map.get(5));
+        assertEquals(999, map.values().size());
+        map.clear();
+        assertEquals(0, map.size());
+    }
+
+    private Data toData(Object o) {
+        return serializationService.toData(o);
+    }
+
+    private Record newRecord(Object value) {
+        return recordFactory.newRecord(value);
+    }
+}
@@ -19,6 +19,7 @@ package com.hazelcast.nio;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.spi.OperationAccessor;
@@ -44,6 +45,8 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 import static com.hazelcast.internal.serialization.impl.SerializationUtil.createObjectDataInputStream;
 import static com.hazelcast.internal.serialization.impl.SerializationUtil.createObjectDataOutputStream;
@@ -52,6 +55,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -177,6 +181,75 @@ public class IOUtilTest extends HazelcastTestSupport {
         return IOUtil.readObject(in);
     }
 
+    @Test
+    public void testWriteAndReadVarInt() throws Exception {
+        int[] values = {0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE};
+        int[] expectedSizes = {1, 1, 1, 2, 2, 3, 5};
+
+        for (int k = 0; k < values.length; k++) {
+            ByteArrayOutputStream bout = new ByteArrayOutputStream();
+            IOUtil.writeVarInt(createObjectDataOutputStream(bout, serializationService), values[k]);
+            byte[] bytes = bout.toByteArray();
+
+            assertEquals(expectedSizes[k], bytes.length);
+            ObjectDataInput in = createObjectDataInputStream(new ByteArrayInputStream(bytes), serializationService);
+            assertEquals(values[k], IOUtil.readVarInt(in));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadVarInt_whenMalformed() throws Exception {
+        byte[] bytes = {(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 1};
+        ObjectDataInput in = createObjectDataInputStream(new ByteArrayInputStream(bytes), serializationService);
+
+        IOUtil.readVarInt(in);
+    }
+
+    @Test
+    public void testWriteAndReadDataCollection() throws Exception {
+        List<Data> expected = new ArrayList<Data>();
+        expected.add(serializationService.toData("foo"));
+        expected.add(null);
+        expected.add(new HeapData(new byte[0]));
+        expected.add(serializationService.toData(new byte[1000]));
+
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        IOUtil.writeDataCollection(createObjectDataOutputStream(bout, serializationService), expected);
+        ObjectDataInput in = createObjectDataInputStream(new ByteArrayInputStream(bout.toByteArray()), serializationService);
+        List<Data> actual = IOUtil.readDataList(in);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testWriteDataCollection_whenNull_thenReadEmpty() throws Exception {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        IOUtil.writeDataCollection(createObjectDataOutputStream(bout, serializationService), null);
+        ObjectDataInput in = createObjectDataInputStream(new ByteArrayInputStream(bout.toByteArray()), serializationService);
+
+        assertTrue(IOUtil.readDataList(in).isEmpty());
+    }
+
+    @Test
+    public void testWriteDataCollection_isSmallerThanWriteData() throws Exception {
+        List<Data> keys = new ArrayList<Data>();
+        for (int k = 0; k < 100; k++) {
+            keys.add(serializationService.toData(k));
+        }
+
+        ByteArrayOutputStream compact = new ByteArrayOutputStream();
+        IOUtil.writeDataCollection(createObjectDataOutputStream(compact, serializationService), keys);
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        ObjectDataOutput out = createObjectDataOutputStream(plain, serializationService);
+        out.writeInt(keys.size());
+        for (Data key : keys) {
+            out.writeData(key);
+        }
+
+        // a single byte instead of an int for the length of every key
+        assertEquals(plain.size() - 3 * keys.size() - 3, compact.size());
+    }
+
     @Test
     public void testNewOutputStream_shouldWriteWholeByteBuffer() throws Exception {
         ByteBuffer buffer = ByteBuffer.wrap(new byte[SIZE]);
@@ -1,6 +1,7 @@
 package com.hazelcast.nio.tcp;
 
 import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.tcp.compression.FrameCompressor;
 import com.hazelcast.spi.impl.packetdispatcher.PacketDispatcher;
 import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.annotation.QuickTest;
@@ -15,6 +16,7 @@ import java.util.List;
 
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastSerialClassRunner.class)
 @Category(QuickTest.class)
@@ -103,6 +105,25 @@ public class MemberReadHandlerTest extends TcpIpConnection_AbstractTest {
         assertEquals(oldPriorityPacketsRead + 1, socketReader.getPriorityFramesReadCounter().get());
     }
 
+    @Test
+    public void whenCompressedPacket() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(1000);
+        Packet packet = new Packet(serializationService.toBytes(new String(new char[500])), 1);
+        packet.setFlag(Packet.FLAG_OP);
+        WriteHandler<Packet> writeHandler = new FrameCompressor(100, "lz4").decorate(new MemberWriteHandler());
+        writeHandler.onWrite(packet, buffer);
+
+        buffer.flip();
+        assertTrue(buffer.remaining() < packet.packetSize());
+        readHandler.onRead(buffer);
+
+        assertEquals(1, dispatcher.packets.size());
+        Packet found = dispatcher.packets.get(0);
+        assertEquals(packet, found);
+        assertEquals(packet.getFlags(), found.getFlags());
+        assertEquals(oldNormalPacketsRead + 1, socketReader.getNormalFramesReadCounter().get());
+    }
+
     class MockPacketDispatcher implements PacketDispatcher {
         private List<Packet> packets = new LinkedList<Packet>();
 
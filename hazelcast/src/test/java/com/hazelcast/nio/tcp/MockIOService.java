@@ -39,6 +39,11 @@ public class MockIOService implements IOService {
     public final HazelcastThreadGroup hazelcastThreadGroup;
     public final ConcurrentHashMap<Long, DummyPayload> payloads = new ConcurrentHashMap<Long, DummyPayload>();
     public volatile PacketHandler packetHandler;
+    public volatile boolean socketBufferPooled;
+    public volatile int acceptorThreadCount = 1;
+    public volatile int gatheringWriteThreshold = -1;
+    public volatile int compressionThreshold = -1;
+    public volatile String compressionCodec = "lz4";
 
     public MockIOService(int port) throws Exception {
         loggingService = new LoggingServiceImpl("somegroup", "log4j", BuildInfoProvider.getBuildInfo());
@@ -205,6 +210,11 @@ public class MockIOService implements IOService {
         return true;
     }
 
+    @Override
+    public int getAcceptorThreadCount() {
+        return acceptorThreadCount;
+    }
+
     @Override
     public int getInputSelectorThreadCount() {
         return 1;
@@ -225,6 +235,26 @@ public class MockIOService implements IOService {
         return 0;
     }
 
+    @Override
+    public boolean isSocketBufferPooled() {
+        return socketBufferPooled;
+    }
+
+    @Override
+    public int getGatheringWriteThreshold() {
+        return gatheringWriteThreshold;
+    }
+
+    @Override
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    @Override
+    public String getCompressionCodec() {
+        return compressionCodec;
+    }
+
     @Override
     public int getBalancerIntervalSeconds() {
         return 0;
@@ -0,0 +1,82 @@
+package com.hazelcast.nio.tcp;
+
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class TcpIpConnectionManager_MultipleAcceptorsTest extends TcpIpConnection_AbstractTest {
+
+    private static final int ACCEPTOR_THREAD_COUNT = 3;
+
+    @Override
+    protected MockIOService newMockIOService(int port) throws Exception {
+        MockIOService ioService = super.newMockIOService(port);
+        ioService.acceptorThreadCount = ACCEPTOR_THREAD_COUNT;
+        return ioService;
+    }
+
+    @Test
+    public void start_thenAcceptorThreadsStarted() {
+        connManagerA.start();
+
+        Set<String> names = new HashSet<String>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread instanceof SocketAcceptorThread && thread.getName().startsWith(ioServiceA.getThreadPrefix())) {
+                names.add(thread.getName());
+            }
+        }
+        assertEquals(ACCEPTOR_THREAD_COUNT, names.size());
+        for (int k = 0; k < ACCEPTOR_THREAD_COUNT; k++) {
+            assertTrue(names.contains(ioServiceA.getThreadPrefix() + "Acceptor-" + k));
+        }
+    }
+
+    @Test
+    public void connect() {
+        startAllConnectionManagers();
+
+        assertNotNull(connect(connManagerA, addressB));
+        assertNotNull(connect(connManagerC, addressB));
+    }
+
+    @Test
+    public void whenBurstOfConnections_thenAllAccepted() throws Exception {
+        connManagerA.start();
+
+        // more connections than a single accept batch, so the acceptors need multiple batches
+        final int connectionCount = SocketAcceptorThread.MAX_ACCEPT_BATCH_SIZE * 4;
+        List<Socket> sockets = new ArrayList<Socket>(connectionCount);
+        try {
+            for (int k = 0; k < connectionCount; k++) {
+                sockets.add(new Socket(addressA.getInetAddress(), addressA.getPort()));
+            }
+
+            assertTrueEventually(new AssertTask() {
+                @Override
+                public void run() throws Exception {
+                    assertEquals(connectionCount, connManagerA.getActiveConnectionCount());
+                }
+            });
+        } finally {
+            for (Socket socket : sockets) {
+                closeResource(socket);
+            }
+        }
+    }
+}
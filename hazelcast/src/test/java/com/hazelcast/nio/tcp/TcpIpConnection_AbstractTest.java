@@ -92,8 +92,12 @@ public abstract class TcpIpConnection_AbstractTest extends HazelcastTestSupport
         return new MetricsRegistryImpl(loggingService.getLogger(MetricsRegistryImpl.class), INFO);
     }
 
+    protected MockIOService newMockIOService(int port) throws Exception {
+        return new MockIOService(port);
+    }
+
     protected TcpIpConnectionManager newConnectionManager(int port, MetricsRegistry metricsRegistry) throws Exception {
-        MockIOService ioService = new MockIOService(port);
+        MockIOService ioService = newMockIOService(port);
 
         return new TcpIpConnectionManager(
                 ioService,
@@ -0,0 +1,79 @@
+package com.hazelcast.nio.tcp.compression;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class DeflateFrameCodecTest {
+
+    private final DeflateFrameCodec codec = new DeflateFrameCodec();
+    private final Random random = new Random(1);
+
+    @Test
+    public void testGetId() {
+        assertEquals(DeflateFrameCodec.ID, codec.getId());
+    }
+
+    @Test
+    public void whenRepetitive() {
+        byte[] bytes = new byte[100000];
+        for (int k = 0; k < bytes.length; k++) {
+            bytes[k] = (byte) (k % 7);
+        }
+
+        int compressedLength = assertRoundTrip(bytes);
+
+        assertTrue("compressedLength=" + compressedLength, compressedLength < bytes.length / 50);
+    }
+
+    @Test
+    public void whenRandom_thenNotLargerThanMaxCompressedLength() {
+        for (int length : new int[]{0, 1, 100, 65536, 1 << 20}) {
+            byte[] bytes = new byte[length];
+            random.nextBytes(bytes);
+
+            int compressedLength = assertRoundTrip(bytes);
+
+            assertTrue(compressedLength <= codec.maxCompressedLength(length));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decompress_whenMalformed() {
+        byte[] compressed = new byte[100];
+        random.nextBytes(compressed);
+
+        codec.decompress(compressed, 0, compressed.length, new byte[1000], 0, 1000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decompress_whenWrongLength() {
+        byte[] bytes = new byte[1000];
+        byte[] compressed = new byte[codec.maxCompressedLength(bytes.length)];
+        int compressedLength = codec.compress(bytes, 0, bytes.length, compressed, 0);
+
+        codec.decompress(compressed, 0, compressedLength, new byte[bytes.length + 1], 0, bytes.length + 1);
+    }
+
+    private int assertRoundTrip(byte[] bytes) {
+        byte[] compressed = new byte[codec.maxCompressedLength(bytes.length)];
+        int compressedLength = codec.compress(bytes, 0, bytes.length, compressed, 0);
+
+        byte[] decompressed = new byte[bytes.length];
+        codec.decompress(Arrays.copyOf(compressed, compressedLength), 0, compressedLength, decompressed, 0, bytes.length);
+
+        assertArrayEquals(bytes, decompressed);
+        return compressedLength;
+    }
+}
@@ -0,0 +1,190 @@
+package com.hazelcast.nio.tcp.compression;
+
+import com.hazelcast.nio.Bits;
+import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.tcp.MemberWriteHandler;
+import com.hazelcast.nio.tcp.WriteHandler;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static com.hazelcast.nio.Packet.FLAG_COMPRESSED;
+import static com.hazelcast.nio.Packet.FLAG_OP;
+import static com.hazelcast.nio.Packet.FLAG_URGENT;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class FrameCompressorTest {
+
+    private final Random random = new Random(1);
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenUnknownCodec() {
+        new FrameCompressor(0, "foo");
+    }
+
+    @Test
+    public void decorate_whenDisabled() {
+        FrameCompressor compressor = new FrameCompressor(-1, "lz4");
+        WriteHandler writeHandler = new MemberWriteHandler();
+
+        assertFalse(compressor.isEnabled());
+        assertSame(writeHandler, compressor.decorate(writeHandler));
+    }
+
+    @Test
+    public void whenBelowThreshold_thenNotCompressed() throws Exception {
+        FrameCompressor compressor = new FrameCompressor(1000, "lz4");
+        Packet packet = new Packet(compressiblePayload(999));
+
+        Packet written = writeAndRead(compressor, packet);
+
+        assertFalse(written.isFlagSet(FLAG_COMPRESSED));
+        assertEquals(packet, written);
+        assertEquals(0, compressor.compressionRatio(), 0);
+    }
+
+    @Test
+    public void whenIncompressible_thenNotCompressed() throws Exception {
+        FrameCompressor compressor = new FrameCompressor(100, "lz4");
+        byte[] payload = new byte[1000];
+        random.nextBytes(payload);
+        Packet packet = new Packet(payload);
+
+        Packet written = writeAndRead(compressor, packet);
+
+        assertFalse(written.isFlagSet(FLAG_COMPRESSED));
+        assertEquals(packet, written);
+    }
+
+    @Test
+    public void whenLz4() throws Exception {
+        assertCompressed("lz4");
+    }
+
+    @Test
+    public void whenDeflate() throws Exception {
+        assertCompressed("deflate");
+    }
+
+    @Test
+    public void whenLargerThanDestinationBuffer() throws Exception {
+        FrameCompressor compressor = new FrameCompressor(100, "lz4");
+        WriteHandler<Packet> writeHandler = compressor.decorate(new MemberWriteHandler());
+        byte[] payload = new byte[100000];
+        random.nextBytes(payload);
+        // half random, half zeros, so that the compressed packet still needs multiple writes
+        Packet packet = new Packet(payload, 1);
+        for (int k = payload.length / 2; k < payload.length; k++) {
+            payload[k] = 0;
+        }
+
+        ByteBuffer stream = ByteBuffer.allocate(200000);
+        ByteBuffer dst = ByteBuffer.allocate(1000);
+        boolean complete;
+        do {
+            complete = writeHandler.onWrite(packet, dst);
+            dst.flip();
+            stream.put(dst);
+            dst.clear();
+        } while (!complete);
+
+        stream.flip();
+        Packet written = new Packet();
+        assertTrue(written.readFrom(stream));
+        assertTrue(written.isFlagSet(FLAG_COMPRESSED));
+        assertEquals(packet, compressor.decompress(written));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decompress_whenUnknownCodecId() {
+        FrameCompressor compressor = new FrameCompressor(100, "lz4");
+        byte[] payload = new byte[100];
+        payload[0] = 100;
+        Packet packet = new Packet(payload);
+        packet.setFlag(FLAG_COMPRESSED);
+
+        compressor.decompress(packet);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decompress_whenLengthLargerThanMaxDecompressedLength() {
+        FrameCompressor compressor = new FrameCompressor(100, "lz4");
+        byte[] payload = new byte[FrameCompressor.HEADER_SIZE + 10];
+        payload[0] = Lz4FrameCodec.ID;
+        Bits.writeIntB(payload, 1, Integer.MAX_VALUE);
+        Packet packet = new Packet(payload);
+        packet.setFlag(FLAG_COMPRESSED);
+
+        compressor.decompress(packet);
+    }
+
+    @Test
+    public void decompress_whenHighlyCompressible_lz4() throws Exception {
+        assertHighlyCompressibleRoundTrip("lz4");
+    }
+
+    @Test
+    public void decompress_whenHighlyCompressible_deflate() throws Exception {
+        assertHighlyCompressibleRoundTrip("deflate");
+    }
+
+    private void assertHighlyCompressibleRoundTrip(String codecName) throws Exception {
+        FrameCompressor compressor = new FrameCompressor(100, codecName);
+        Packet packet = new Packet(new byte[1 << 20]);
+        packet.setFlag(FLAG_OP);
+
+        Packet written = writeAndRead(compressor, packet);
+
+        assertTrue(written.isFlagSet(FLAG_COMPRESSED));
+        assertArrayEquals(packet.toByteArray(), compressor.decompress(written).toByteArray());
+    }
+
+    private void assertCompressed(String codecName) throws Exception {
+        FrameCompressor compressor = new FrameCompressor(100, codecName);
+        Packet packet = new Packet(compressiblePayload(10000), 10);
+        packet.setFlag(FLAG_OP);
+        packet.setFlag(FLAG_URGENT);
+
+        Packet written = writeAndRead(compressor, packet);
+
+        assertTrue(written.isFlagSet(FLAG_COMPRESSED));
+        assertTrue(written.totalSize() < packet.totalSize());
+        assertEquals(packet.getPartitionId(), written.getPartitionId());
+        Packet decompressed = compressor.decompress(written);
+        assertEquals(packet, decompressed);
+        assertEquals(packet.getFlags(), decompressed.getFlags());
+        assertArrayEquals(packet.toByteArray(), decompressed.toByteArray());
+        assertTrue(compressor.compressionRatio() > 1);
+    }
+
+    private byte[] compressiblePayload(int length) {
+        byte[] payload = new byte[length];
+        for (int k = 0; k < length; k++) {
+            payload[k] = (byte) ('a' + random.nextInt(4));
+        }
+        return payload;
+    }
+
+    private static Packet writeAndRead(FrameCompressor compressor, Packet packet) throws Exception {
+        WriteHandler<Packet> writeHandler = compressor.decorate(new MemberWriteHandler());
+        ByteBuffer buffer = ByteBuffer.allocate(packet.packetSize() + 100);
+        assertTrue(writeHandler.onWrite(packet, buffer));
+        buffer.flip();
+
+        Packet written = new Packet();
+        assertTrue(written.readFrom(buffer));
+        assertFalse(buffer.hasRemaining());
+        return written;
+    }
+}
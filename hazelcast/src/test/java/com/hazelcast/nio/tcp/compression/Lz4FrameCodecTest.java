@@ -0,0 +1,187 @@
+package com.hazelcast.nio.tcp.compression;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class Lz4FrameCodecTest {
+
+    private final Lz4FrameCodec codec = new Lz4FrameCodec();
+    private final Random random = new Random(1);
+
+    @Test
+    public void testGetId() {
+        assertEquals(Lz4FrameCodec.ID, codec.getId());
+    }
+
+    @Test
+    public void whenEmpty() {
+        assertRoundTrip(new byte[0]);
+    }
+
+    @Test
+    public void whenShorterThanMinimumLength() {
+        for (int length = 1; length < 20; length++) {
+            byte[] bytes = new byte[length];
+            assertRoundTrip(bytes);
+        }
+    }
+
+    @Test
+    public void whenRepetitive() {
+        byte[] bytes = new byte[100000];
+        for (int k = 0; k < bytes.length; k++) {
+            bytes[k] = (byte) (k % 7);
+        }
+
+        int compressedLength = assertRoundTrip(bytes);
+
+        assertTrue("compressedLength=" + compressedLength, compressedLength < bytes.length / 50);
+    }
+
+    @Test
+    public void whenAllZero() {
+        // a single long match with an offset of 1 that overlaps with its own output
+        int compressedLength = assertRoundTrip(new byte[70000]);
+
+        assertTrue("compressedLength=" + compressedLength, compressedLength < 1000);
+    }
+
+    @Test
+    public void whenRandom_thenNotLargerThanMaxCompressedLength() {
+        for (int length : new int[]{13, 100, 255, 270, 1000, 65536, 1 << 20}) {
+            byte[] bytes = new byte[length];
+            random.nextBytes(bytes);
+
+            int compressedLength = assertRoundTrip(bytes);
+
+            assertTrue(compressedLength <= codec.maxCompressedLength(length));
+        }
+    }
+
+    @Test
+    public void whenMixedText() {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < 5000; k++) {
+            sb.append("{\"id\":").append(random.nextInt(100000)).append(",\"name\":\"name-").append(k % 13).append("\"}");
+        }
+        byte[] bytes = sb.toString().getBytes();
+
+        int compressedLength = assertRoundTrip(bytes);
+
+        assertTrue("compressedLength=" + compressedLength, compressedLength < bytes.length / 2);
+    }
+
+    @Test
+    public void whenMatchesFarApart() {
+        // a repeated block beyond the maximum match distance can't be matched, but the stream should remain valid
+        byte[] block = new byte[1000];
+        random.nextBytes(block);
+        byte[] bytes = new byte[200000];
+        random.nextBytes(bytes);
+        System.arraycopy(block, 0, bytes, 0, block.length);
+        System.arraycopy(block, 0, bytes, 100000, block.length);
+        System.arraycopy(block, 0, bytes, bytes.length - block.length, block.length);
+
+        assertRoundTrip(bytes);
+    }
+
+    @Test
+    public void whenOffsets() {
+        byte[] src = new byte[1000];
+        for (int k = 0; k < src.length; k++) {
+            src[k] = (byte) (k % 10);
+        }
+        byte[] compressed = new byte[10 + codec.maxCompressedLength(900)];
+
+        int compressedLength = codec.compress(src, 50, 900, compressed, 10);
+
+        byte[] decompressed = new byte[920];
+        codec.decompress(compressed, 10, compressedLength, decompressed, 20, 900);
+        assertArrayEquals(Arrays.copyOfRange(src, 50, 950), Arrays.copyOfRange(decompressed, 20, 920));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decompress_whenTruncated() {
+        byte[] bytes = new byte[10000];
+        random.nextBytes(bytes);
+        byte[] compressed = compress(bytes);
+
+        codec.decompress(compressed, 0, compressed.length - 10, new byte[bytes.length], 0, bytes.length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decompress_whenWrongLength() {
+        byte[] bytes = new byte[10000];
+        byte[] compressed = compress(bytes);
+
+        codec.decompress(compressed, 0, compressed.length, new byte[bytes.length + 1], 0, bytes.length + 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decompress_whenOffsetBeforeStart() {
+        // a token with 1 literal and a match, followed by the literal and an offset of 2
+        byte[] compressed = {0x10, 1, 2, 0, 0x00};
+
+        codec.decompress(compressed, 0, compressed.length, new byte[100], 0, 100);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decompress_whenLiteralLengthOverflows() {
+        // a token with an extended literal length, whose extension bytes add up to more than Integer.MAX_VALUE
+        byte[] compressed = new byte[1 + Integer.MAX_VALUE / 255 + 2];
+        Arrays.fill(compressed, (byte) 0xFF);
+        compressed[0] = (byte) 0xF0;
+
+        codec.decompress(compressed, 0, compressed.length, new byte[100], 0, 100);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decompress_whenMatchLengthOverflows() {
+        // a token with 1 literal and an extended match length, whose extension bytes add up to more than
+        // Integer.MAX_VALUE
+        byte[] compressed = new byte[4 + Integer.MAX_VALUE / 255 + 2];
+        Arrays.fill(compressed, (byte) 0xFF);
+        compressed[0] = 0x1F;
+        compressed[1] = 1;
+        compressed[2] = 1;
+        compressed[3] = 0;
+
+        codec.decompress(compressed, 0, compressed.length, new byte[100], 0, 100);
+    }
+
+    @Test
+    public void maxDecompressedLength_whenAllZero() {
+        byte[] bytes = new byte[1 << 20];
+        byte[] compressed = compress(bytes);
+
+        assertTrue(codec.maxDecompressedLength(compressed.length) >= bytes.length);
+    }
+
+    private byte[] compress(byte[] bytes) {
+        byte[] compressed = new byte[codec.maxCompressedLength(bytes.length)];
+        int compressedLength = codec.compress(bytes, 0, bytes.length, compressed, 0);
+        return Arrays.copyOf(compressed, compressedLength);
+    }
+
+    private int assertRoundTrip(byte[] bytes) {
+        byte[] compressed = compress(bytes);
+
+        byte[] decompressed = new byte[bytes.length];
+        codec.decompress(compressed, 0, compressed.length, decompressed, 0, decompressed.length);
+
+        assertArrayEquals(bytes, decompressed);
+        return compressed.length;
+    }
+}
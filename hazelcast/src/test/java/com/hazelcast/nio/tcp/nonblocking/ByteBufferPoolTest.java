@@ -0,0 +1,109 @@
+package com.hazelcast.nio.tcp.nonblocking;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hazelcast.nio.tcp.nonblocking.ByteBufferPool.SLAB_SIZE;
+import static com.hazelcast.nio.tcp.nonblocking.ByteBufferPool.THREAD_CACHE_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class ByteBufferPoolTest extends HazelcastTestSupport {
+
+    private static final int SIZE = 32 * 1024;
+
+    private final ByteBufferPool pool = new ByteBufferPool();
+
+    @Test
+    public void take() {
+        ByteBuffer buffer = pool.take(SIZE);
+
+        assertTrue(buffer.isDirect());
+        assertEquals(SIZE, buffer.capacity());
+        assertEquals(0, buffer.position());
+        assertEquals(SIZE, buffer.limit());
+        assertEquals(1, pool.getBorrowedCount());
+        assertEquals(SLAB_SIZE, pool.availableBytes() + SIZE);
+    }
+
+    @Test
+    public void take_whenSlabExhausted_thenNewSlab() {
+        int buffersPerSlab = SLAB_SIZE / SIZE;
+        for (int k = 0; k < buffersPerSlab + 1; k++) {
+            pool.take(SIZE);
+        }
+
+        assertEquals(buffersPerSlab + 1, pool.getBorrowedCount());
+        assertEquals(2 * SLAB_SIZE, pool.availableBytes() + (buffersPerSlab + 1) * SIZE);
+    }
+
+    @Test
+    public void take_whenLargerThanSlab() {
+        ByteBuffer buffer = pool.take(SLAB_SIZE * 2);
+
+        assertEquals(SLAB_SIZE * 2, buffer.capacity());
+        assertEquals(0, pool.availableBytes());
+    }
+
+    @Test
+    public void take_whenDifferentSizes() {
+        ByteBuffer small = pool.take(1024);
+        ByteBuffer large = pool.take(SIZE);
+
+        assertEquals(1024, small.capacity());
+        assertEquals(SIZE, large.capacity());
+    }
+
+    @Test
+    public void release_thenReusedAndCleared() {
+        ByteBuffer buffer = pool.take(SIZE);
+        buffer.putLong(1);
+        buffer.flip();
+
+        pool.release(buffer);
+        ByteBuffer found = pool.take(SIZE);
+
+        assertSame(buffer, found);
+        assertEquals(0, found.position());
+        assertEquals(SIZE, found.limit());
+        assertEquals(1, pool.getBorrowedCount());
+    }
+
+    @Test
+    public void release_whenThreadCacheFull_thenSharedWithOtherThreads() throws Exception {
+        // buffers of the slab size, so that every buffer has its own slab and none is shared up front
+        int count = THREAD_CACHE_SIZE + 1;
+        ByteBuffer[] buffers = new ByteBuffer[count];
+        for (int k = 0; k < count; k++) {
+            buffers[k] = pool.take(SLAB_SIZE);
+        }
+        for (ByteBuffer buffer : buffers) {
+            pool.release(buffer);
+        }
+        assertEquals(0, pool.getBorrowedCount());
+
+        final AtomicReference<ByteBuffer> found = new AtomicReference<ByteBuffer>();
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                found.set(pool.take(SLAB_SIZE));
+            }
+        };
+        thread.start();
+        thread.join();
+
+        // the buffer that didn't fit in the thread cache is taken; no new slab is allocated
+        assertSame(buffers[count - 1], found.get());
+        assertEquals(THREAD_CACHE_SIZE * SLAB_SIZE, pool.availableBytes());
+    }
+}
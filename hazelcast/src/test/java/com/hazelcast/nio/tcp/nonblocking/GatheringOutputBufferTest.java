@@ -0,0 +1,178 @@
+package com.hazelcast.nio.tcp.nonblocking;
+
+import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.tcp.MemberWriteHandler;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class GatheringOutputBufferTest extends HazelcastTestSupport {
+
+    private static final int THRESHOLD = 1000;
+    private static final int MIN_PAYLOAD_SIZE = 16;
+
+    private ByteBuffer outputBuffer;
+    private GatheringOutputBuffer gatheringOutputBuffer;
+    private MemberWriteHandler writeHandler;
+
+    @Before
+    public void setup() {
+        outputBuffer = ByteBuffer.allocate(4096);
+        gatheringOutputBuffer = new GatheringOutputBuffer(THRESHOLD);
+        writeHandler = new MemberWriteHandler();
+    }
+
+    @Test
+    public void testIsLarge() {
+        assertFalse(gatheringOutputBuffer.isLarge(new Packet(new byte[THRESHOLD - 1])));
+        assertTrue(gatheringOutputBuffer.isLarge(new Packet(new byte[THRESHOLD])));
+        assertFalse(gatheringOutputBuffer.isLarge(new Packet()));
+    }
+
+    @Test
+    public void testIsLarge_whenZeroThreshold_thenEmptyPacketNotLarge() {
+        gatheringOutputBuffer = new GatheringOutputBuffer(0);
+
+        assertFalse(gatheringOutputBuffer.isLarge(new Packet()));
+        assertTrue(gatheringOutputBuffer.isLarge(new Packet(new byte[16])));
+    }
+
+    @Test
+    public void testAdd_whenNoRoomForSegments() {
+        for (int k = 0; k < GatheringOutputBuffer.MAX_SEGMENTS / 2 - 1; k++) {
+            assertTrue(gatheringOutputBuffer.add(new Packet(new byte[THRESHOLD]), outputBuffer));
+        }
+
+        assertFalse(gatheringOutputBuffer.hasRoom());
+        assertFalse(gatheringOutputBuffer.add(new Packet(new byte[THRESHOLD]), outputBuffer));
+    }
+
+    @Test
+    public void testWrite_whenChannelAcceptsEverything() throws Exception {
+        testWrite(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testWrite_whenChannelAcceptsPartialWrites() throws Exception {
+        testWrite(777);
+    }
+
+    /**
+     * Writes a mix of small and large packets and checks that the bytes are the same as written without gathering.
+     */
+    private void testWrite(int maxBytesPerWrite) throws Exception {
+        List<Packet> packets = newPackets();
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        for (Packet packet : packets) {
+            // a copy, since a packet can't be written twice
+            Packet copy = new Packet(packet.toByteArray(), packet.getPartitionId());
+            ByteBuffer buffer = ByteBuffer.allocate(copy.packetSize());
+            assertTrue(copy.writeTo(buffer));
+            expected.write(buffer.array(), 0, buffer.position());
+        }
+
+        RecordingChannel channel = new RecordingChannel(maxBytesPerWrite);
+        int index = 0;
+        Packet current = null;
+        while (index < packets.size() || current != null || gatheringOutputBuffer.isPending()) {
+            if (!gatheringOutputBuffer.isPending()) {
+                // the same loop as NonBlockingSocketWriter.fillGatheringOutputBuffer
+                for (; ; ) {
+                    if (current == null) {
+                        if (index == packets.size()) {
+                            break;
+                        }
+                        current = packets.get(index++);
+                    }
+                    if (gatheringOutputBuffer.isLarge(current)) {
+                        if (!gatheringOutputBuffer.add(current, outputBuffer)) {
+                            break;
+                        }
+                    } else if (!outputBuffer.hasRemaining() || !writeHandler.onWrite(current, outputBuffer)) {
+                        break;
+                    }
+                    current = null;
+                }
+                gatheringOutputBuffer.seal(outputBuffer);
+            }
+            gatheringOutputBuffer.writeTo(channel, outputBuffer);
+        }
+
+        assertEquals(0, outputBuffer.position());
+        assertArrayEquals(expected.toByteArray(), channel.bytes.toByteArray());
+    }
+
+    private static List<Packet> newPackets() {
+        Random random = new Random(1);
+        List<Packet> packets = new ArrayList<Packet>();
+        for (int k = 0; k < 200; k++) {
+            // a payload is either empty or contains at least the HeapData header
+            int size = random.nextInt(5) == 0 ? THRESHOLD + random.nextInt(20000) : MIN_PAYLOAD_SIZE + random.nextInt(THRESHOLD / 2);
+            byte[] payload = new byte[size];
+            random.nextBytes(payload);
+            packets.add(new Packet(payload, k));
+        }
+        return packets;
+    }
+
+    private static final class RecordingChannel implements GatheringByteChannel {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final int maxBytesPerWrite;
+
+        private RecordingChannel(int maxBytesPerWrite) {
+            this.maxBytesPerWrite = maxBytesPerWrite;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            long written = 0;
+            for (int k = offset; k < offset + length && written < maxBytesPerWrite; k++) {
+                ByteBuffer src = srcs[k];
+                int count = (int) Math.min(src.remaining(), maxBytesPerWrite - written);
+                for (int i = 0; i < count; i++) {
+                    bytes.write(src.get());
+                }
+                written += count;
+            }
+            return written;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs) throws IOException {
+            return write(srcs, 0, srcs.length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return (int) write(new ByteBuffer[]{src});
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.hazelcast.nio.tcp.nonblocking;
+
+import com.hazelcast.nio.tcp.TcpIpConnection_TransferStressBaseTest;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.NightlyTest;
+import org.junit.Before;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+/**
+ * Runs the transfer stress tests with gathering writes for the packets with a payload of at least 1000 bytes.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(NightlyTest.class)
+public class Select_TcpIpConnection_GatheringTransferStressTest extends TcpIpConnection_TransferStressBaseTest {
+
+    @Before
+    public void setup() throws Exception {
+        threadingModelFactory = new Select_NonBlockingIOThreadingModelFactory();
+        super.setup();
+    }
+
+    @Override
+    public void startAllConnectionManagers() {
+        ioServiceA.gatheringWriteThreshold = 1000;
+        ioServiceB.gatheringWriteThreshold = 1000;
+        super.startAllConnectionManagers();
+    }
+}
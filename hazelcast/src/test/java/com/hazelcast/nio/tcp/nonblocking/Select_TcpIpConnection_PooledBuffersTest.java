@@ -0,0 +1,62 @@
+package com.hazelcast.nio.tcp.nonblocking;
+
+import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.tcp.MockIOService;
+import com.hazelcast.nio.tcp.TcpIpConnection;
+import com.hazelcast.nio.tcp.TcpIpConnectionManager;
+import com.hazelcast.nio.tcp.TcpIpConnection_BaseTest;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the basic connection tests with the socket buffers taken from a {@link ByteBufferPool}.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class Select_TcpIpConnection_PooledBuffersTest extends TcpIpConnection_BaseTest {
+
+    @Before
+    public void setup() throws Exception {
+        threadingModelFactory = new Select_NonBlockingIOThreadingModelFactory();
+        super.setup();
+    }
+
+    @Override
+    protected MockIOService newMockIOService(int port) throws Exception {
+        MockIOService ioService = super.newMockIOService(port);
+        ioService.socketBufferPooled = true;
+        return ioService;
+    }
+
+    @Test
+    public void whenIdle_thenBuffersReturnedToPool() {
+        TcpIpConnection c = connect(connManagerA, addressB);
+        for (int k = 0; k < 100; k++) {
+            c.write(new Packet(new byte[k * 1000]));
+        }
+
+        final ByteBufferPool poolA = getBufferPool(connManagerA);
+        final ByteBufferPool poolB = getBufferPool(connManagerB);
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(0, poolA.getBorrowedCount());
+                assertEquals(0, poolB.getBorrowedCount());
+            }
+        });
+        assertTrue(poolA.availableBytes() > 0);
+        assertTrue(poolB.availableBytes() > 0);
+    }
+
+    private static ByteBufferPool getBufferPool(TcpIpConnectionManager connectionManager) {
+        return ((NonBlockingIOThreadingModel) connectionManager.getIoThreadingModel()).getBufferPool();
+    }
+}
@@ -0,0 +1,30 @@
+package com.hazelcast.nio.tcp.nonblocking;
+
+import com.hazelcast.nio.tcp.MockIOService;
+import com.hazelcast.nio.tcp.TcpIpConnection_TransferStressBaseTest;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.NightlyTest;
+import org.junit.Before;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+/**
+ * Runs the transfer stress tests with the socket buffers taken from a ByteBufferPool.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(NightlyTest.class)
+public class Select_TcpIpConnection_PooledBuffersTransferStressTest extends TcpIpConnection_TransferStressBaseTest {
+
+    @Before
+    public void setup() throws Exception {
+        threadingModelFactory = new Select_NonBlockingIOThreadingModelFactory();
+        super.setup();
+    }
+
+    @Override
+    protected MockIOService newMockIOService(int port) throws Exception {
+        MockIOService ioService = super.newMockIOService(port);
+        ioService.socketBufferPooled = true;
+        return ioService;
+    }
+}
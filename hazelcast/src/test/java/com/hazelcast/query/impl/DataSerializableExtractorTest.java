@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.IMap;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.ClassDefinition;
+import com.hazelcast.nio.serialization.ClassDefinitionBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DataSerializableFactory;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.QueryableDataSerializable;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.query.impl.DataSerializableExtractor.NOT_EXTRACTED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class DataSerializableExtractorTest extends HazelcastTestSupport {
+
+    private static final int FACTORY_ID = 1;
+    private static final int PERSON_ID = 1;
+    private static final int UNSUPPORTED_LAYOUT_ID = 2;
+    private static final int NO_LAYOUT_ID = 3;
+
+    private PersonFactory factory;
+    private InternalSerializationService serializationService;
+
+    @Before
+    public void setup() {
+        factory = new PersonFactory();
+        serializationService = new DefaultSerializationServiceBuilder().addDataSerializableFactory(FACTORY_ID, factory).build();
+    }
+
+    @Test
+    public void extractValue() throws IOException {
+        Data data = serializationService.toData(new Person(10, "foo", 20L, true));
+
+        assertEquals(10, DataSerializableExtractor.extractValue(serializationService, data, "id"));
+        assertEquals("foo", DataSerializableExtractor.extractValue(serializationService, data, "name"));
+        assertEquals(20L, DataSerializableExtractor.extractValue(serializationService, data, "salary"));
+        assertEquals(true, DataSerializableExtractor.extractValue(serializationService, data, "active"));
+    }
+
+    @Test
+    public void extractValue_whenNullUTF() throws IOException {
+        Data data = serializationService.toData(new Person(10, null, 20L, true));
+
+        assertEquals(null, DataSerializableExtractor.extractValue(serializationService, data, "name"));
+        assertEquals(20L, DataSerializableExtractor.extractValue(serializationService, data, "salary"));
+    }
+
+    @Test
+    public void extractValue_whenFieldNotInLayout() throws IOException {
+        Data data = serializationService.toData(new Person(10, "foo", 20L, true));
+
+        assertSame(NOT_EXTRACTED, DataSerializableExtractor.extractValue(serializationService, data, "nickname"));
+        assertSame(NOT_EXTRACTED, DataSerializableExtractor.extractValue(serializationService, data, "name.length"));
+    }
+
+    @Test
+    public void extractValue_whenNoLayout() throws IOException {
+        Data data = serializationService.toData(new NoLayoutPerson());
+
+        assertSame(NOT_EXTRACTED, DataSerializableExtractor.extractValue(serializationService, data, "id"));
+    }
+
+    @Test
+    public void extractValue_whenNotDataSerializable() throws IOException {
+        Data data = serializationService.toData("foo");
+
+        assertSame(NOT_EXTRACTED, DataSerializableExtractor.extractValue(serializationService, data, "id"));
+    }
+
+    @Test
+    public void extractValue_thenLayoutCreatedOnce() throws IOException {
+        Data data = serializationService.toData(new Person(10, "foo", 20L, true));
+
+        DataSerializableExtractor.extractValue(serializationService, data, "id");
+        DataSerializableExtractor.extractValue(serializationService, data, "name");
+
+        assertEquals(1, factory.createCount.get());
+    }
+
+    @Test(expected = HazelcastSerializationException.class)
+    public void extractValue_whenUnsupportedFieldType() throws IOException {
+        Data data = serializationService.toData(new UnsupportedLayoutPerson());
+
+        DataSerializableExtractor.extractValue(serializationService, data, "id");
+    }
+
+    @Test
+    public void cachedQueryEntry_whenFieldInLayout_thenNotDeserialized() {
+        Data key = serializationService.toData(new Person(1, "key", 2L, false));
+        Data value = serializationService.toData(new Person(10, "foo", 20L, true));
+        QueryableEntry entry = new CachedQueryEntry(serializationService, key, value, Extractors.empty());
+
+        assertEquals("foo", entry.getAttributeValue("name"));
+        assertEquals("key", entry.getAttributeValue("__key.name"));
+        // only the instance used to create the layout
+        assertEquals(1, factory.createCount.get());
+    }
+
+    @Test
+    public void cachedQueryEntry_whenFieldNotInLayout_thenDeserializedOnce() {
+        Data key = serializationService.toData("key");
+        Data value = serializationService.toData(new Person(10, "foo", 20L, true));
+        QueryableEntry entry = new CachedQueryEntry(serializationService, key, value, Extractors.empty());
+
+        assertEquals("nick-foo", entry.getAttributeValue("nickname"));
+        assertEquals("nick-foo", entry.getAttributeValue("nickname"));
+        assertEquals("foo", entry.getAttributeValue("name"));
+        // the instance used to create the layout and the deserialized value
+        assertEquals(2, factory.createCount.get());
+    }
+
+    @Test
+    public void queryEntry_whenFieldInLayout_thenNotDeserialized() {
+        Data key = serializationService.toData("key");
+        Data value = serializationService.toData(new Person(10, "foo", 20L, true));
+        QueryableEntry entry = new QueryEntry(serializationService, key, value, Extractors.empty());
+
+        assertEquals(20L, entry.getAttributeValue("salary"));
+        assertEquals(1, factory.createCount.get());
+    }
+
+    @Test
+    public void index_whenFieldInLayout_thenNotDeserialized() {
+        Data key = serializationService.toData("key");
+        Data value = serializationService.toData(new Person(10, "foo", 20L, true));
+        QueryableEntry entry = new QueryEntry(serializationService, key, value, Extractors.empty());
+        IndexImpl index = new IndexImpl("salary", true, serializationService, Extractors.empty());
+
+        index.saveEntryIndex(entry, null);
+
+        assertEquals(1, index.getRecords(20L).size());
+        assertEquals(1, factory.createCount.get());
+    }
+
+    @Test
+    public void query() {
+        Config config = new Config();
+        config.getSerializationConfig().addDataSerializableFactory(FACTORY_ID, new PersonFactory());
+        config.getMapConfig("default").setInMemoryFormat(InMemoryFormat.BINARY);
+        IMap<Integer, Person> map = createHazelcastInstance(config).getMap(randomMapName());
+        for (int k = 0; k < 100; k++) {
+            map.put(k, new Person(k, "name-" + k % 10, k * 10L, k % 4 == 0));
+        }
+
+        assertEquals(10, map.values(Predicates.equal("name", "name-3")).size());
+        assertEquals(5, map.values(Predicates.and(Predicates.equal("name", "name-4"), Predicates.equal("active", true))).size());
+        assertEquals(10, map.values(Predicates.greaterEqual("salary", 900L)).size());
+        assertEquals(10, map.values(Predicates.equal("nickname", "nick-name-3")).size());
+    }
+
+    private static class PersonFactory implements DataSerializableFactory {
+        private final AtomicInteger createCount = new AtomicInteger();
+
+        @Override
+        public IdentifiedDataSerializable create(int typeId) {
+            switch (typeId) {
+                case PERSON_ID:
+                    createCount.incrementAndGet();
+                    return new Person();
+                case UNSUPPORTED_LAYOUT_ID:
+                    return new UnsupportedLayoutPerson();
+                case NO_LAYOUT_ID:
+                    return new NoLayoutPerson();
+                default:
+                    return null;
+            }
+        }
+    }
+
+    public static class Person implements QueryableDataSerializable {
+        private int id;
+        private String name;
+        private long salary;
+        private boolean active;
+
+        public Person() {
+        }
+
+        Person(int id, String name, long salary, boolean active) {
+            this.id = id;
+            this.name = name;
+            this.salary = salary;
+            this.active = active;
+        }
+
+        public String getNickname() {
+            return "nick-" + name;
+        }
+
+        @Override
+        public ClassDefinition getFieldLayout() {
+            return new ClassDefinitionBuilder(FACTORY_ID, PERSON_ID)
+                    .addIntField("id").addUTFField("name").addLongField("salary").addBooleanField("active").build();
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getId() {
+            return PERSON_ID;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeInt(id);
+            out.writeUTF(name);
+            out.writeLong(salary);
+            out.writeBoolean(active);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            id = in.readInt();
+            name = in.readUTF();
+            salary = in.readLong();
+            active = in.readBoolean();
+        }
+    }
+
+    private static class UnsupportedLayoutPerson extends Person {
+        @Override
+        public ClassDefinition getFieldLayout() {
+            return new ClassDefinitionBuilder(FACTORY_ID, UNSUPPORTED_LAYOUT_ID).addIntArrayField("id").build();
+        }
+
+        @Override
+        public int getId() {
+            return UNSUPPORTED_LAYOUT_ID;
+        }
+    }
+
+    private static class NoLayoutPerson extends Person {
+        @Override
+        public ClassDefinition getFieldLayout() {
+            return null;
+        }
+
+        @Override
+        public int getId() {
+            return NO_LAYOUT_ID;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import com.hazelcast.internal.properties.GroupProperty;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs all {@link ClassicOperationExecutorTest} tests with adaptive backpressure enabled, so the partition threads use a
+ * {@link SojournTimeOperationQueue}.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class ClassicOperationExecutor_AdaptiveBackpressureTest extends ClassicOperationExecutorTest {
+
+    @Before
+    @Override
+    public void setup() throws Exception {
+        super.setup();
+        config.setProperty(GroupProperty.BACKPRESSURE_ENABLED.getName(), "true");
+        config.setProperty(GroupProperty.BACKPRESSURE_ADAPTIVE_ENABLED.getName(), "true");
+    }
+
+    @Test
+    public void test_sojournProbeRegistered() {
+        initExecutor();
+
+        String prefix = "operation." + threadGroup.getThreadPoolNamePrefix("partition-operation") + "0.queue";
+        assertTrue(metricsRegistry.getNames().contains(prefix + ".sojourn"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import com.hazelcast.internal.properties.GroupProperty;
+import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class ClassicOperationExecutor_AffinityTest extends AbstractClassicOperationExecutorTest {
+
+    @Test
+    public void test_whenNotConfigured() {
+        initExecutor();
+
+        for (OperationThread thread : threads(executor.getPartitionOperationRunners())) {
+            assertFalse(thread.affinity.isEnabled());
+            assertNull(thread.colocator);
+        }
+    }
+
+    @Test
+    public void test_partitionAndGenericAffinity() {
+        config.setProperty(GroupProperty.PARTITION_OPERATION_THREAD_AFFINITY.getName(), "0");
+        config.setProperty(GroupProperty.GENERIC_OPERATION_THREAD_AFFINITY.getName(), "0");
+        initExecutor();
+
+        for (OperationThread thread : threads(executor.getPartitionOperationRunners())) {
+            assertTrue(thread.affinity.isEnabled());
+        }
+        for (OperationThread thread : threads(executor.getGenericOperationRunners())) {
+            assertTrue(thread.affinity.isEnabled());
+        }
+    }
+
+    @Test
+    public void test_colocate() {
+        config.setProperty(GroupProperty.IO_THREAD_AFFINITY.getName(), "0");
+        config.setProperty(GroupProperty.PARTITION_OPERATION_THREAD_AFFINITY_COLOCATE.getName(), "true");
+        initExecutor();
+
+        for (OperationThread thread : threads(executor.getPartitionOperationRunners())) {
+            assertNotNull(thread.colocator);
+            assertTrue(metricsRegistry.getNames().contains("operation." + thread.getName() + ".affinity.numaNode"));
+        }
+    }
+
+    @Test
+    public void test_colocate_whenIOThreadAffinityNotSet_thenDisabled() {
+        config.setProperty(GroupProperty.PARTITION_OPERATION_THREAD_AFFINITY_COLOCATE.getName(), "true");
+        initExecutor();
+
+        for (OperationThread thread : threads(executor.getPartitionOperationRunners())) {
+            assertNull(thread.colocator);
+        }
+    }
+
+    private static List<OperationThread> threads(OperationRunner[] runners) {
+        List<OperationThread> threads = new ArrayList<OperationThread>();
+        for (OperationRunner runner : runners) {
+            OperationThread thread = (OperationThread) runner.currentThread();
+            if (!threads.contains(thread)) {
+                threads.add(thread);
+            }
+        }
+        return threads;
+    }
+}
@@ -0,0 +1,36 @@
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import com.hazelcast.internal.properties.GroupProperty;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs all {@link ClassicOperationExecutorTest} tests with the {@link MPSCOperationQueue} for the partition threads.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class ClassicOperationExecutor_MPSCQueueTest extends ClassicOperationExecutorTest {
+
+    @Before
+    @Override
+    public void setup() throws Exception {
+        super.setup();
+        config.setProperty(GroupProperty.PARTITION_OPERATION_QUEUE_TYPE.getName(), "mpsc");
+        config.setProperty(GroupProperty.PARTITION_OPERATION_QUEUE_CAPACITY.getName(), "16");
+    }
+
+    @Test
+    public void test_queueProbesRegistered() {
+        initExecutor();
+
+        String prefix = "operation." + threadGroup.getThreadPoolNamePrefix("partition-operation") + "0.queue";
+        assertTrue(metricsRegistry.getNames().contains(prefix + ".overflowCount"));
+        assertTrue(metricsRegistry.getNames().contains(prefix + ".idleCount"));
+    }
+}
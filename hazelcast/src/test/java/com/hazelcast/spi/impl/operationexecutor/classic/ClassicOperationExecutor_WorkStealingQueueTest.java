@@ -0,0 +1,23 @@
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import com.hazelcast.internal.properties.GroupProperty;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+/**
+ * Runs all {@link ClassicOperationExecutorTest} tests with the {@link WorkStealingOperationQueue} for the generic threads.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class ClassicOperationExecutor_WorkStealingQueueTest extends ClassicOperationExecutorTest {
+
+    @Before
+    @Override
+    public void setup() throws Exception {
+        super.setup();
+        config.setProperty(GroupProperty.GENERIC_OPERATION_QUEUE_TYPE.getName(), "work_stealing");
+    }
+}
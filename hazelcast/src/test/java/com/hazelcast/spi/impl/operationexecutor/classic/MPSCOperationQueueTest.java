@@ -0,0 +1,192 @@
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.concurrent.BusySpinIdleStrategy;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class MPSCOperationQueueTest extends HazelcastTestSupport {
+
+    private MPSCOperationQueue queue;
+
+    @Before
+    public void setup() {
+        queue = new MPSCOperationQueue(4, 2);
+    }
+
+    // ================== constructor =====================
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_construct_whenZeroCapacity() {
+        new MPSCOperationQueue(0, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_construct_whenZeroUrgentCapacity() {
+        new MPSCOperationQueue(2, 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_construct_whenNullIdleStrategy() {
+        new MPSCOperationQueue(2, 2, null);
+    }
+
+    // ================== add =====================
+
+    @Test(expected = NullPointerException.class)
+    public void test_add_whenNull() {
+        queue.add(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_addUrgent_whenNull() {
+        queue.addUrgent(null);
+    }
+
+    @Test
+    public void test_add_whenNormal() {
+        queue.add("task");
+
+        assertEquals(1, queue.normalSize());
+        assertEquals(0, queue.prioritySize());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void test_add_whenUrgent() {
+        queue.addUrgent("task");
+
+        // no trigger task is needed, so the normal lane stays empty
+        assertEquals(0, queue.normalSize());
+        assertEquals(1, queue.prioritySize());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void test_add_whenFull_thenOverflow() {
+        for (int k = 0; k < 10; k++) {
+            queue.add(k);
+        }
+
+        assertEquals(10, queue.normalSize());
+    }
+
+    // ================== take =====================
+
+    @Test
+    public void test_take_priorityIsRetrievedFirst() throws InterruptedException {
+        queue.addUrgent("priority1");
+        queue.add("normal1");
+        queue.add("normal2");
+        queue.addUrgent("priority2");
+        queue.add("normal3");
+
+        assertEquals("priority1", queue.take());
+        assertEquals("priority2", queue.take());
+        assertEquals("normal1", queue.take());
+        assertEquals("normal2", queue.take());
+        assertEquals("normal3", queue.take());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void test_take_whenOverflow_thenFifo() throws InterruptedException {
+        for (int k = 0; k < 10; k++) {
+            queue.add(k);
+        }
+
+        for (int k = 0; k < 5; k++) {
+            assertEquals(k, queue.take());
+        }
+
+        // the ring has room again; the new item must be taken after the overflowed items
+        queue.add(10);
+
+        for (int k = 5; k <= 10; k++) {
+            assertEquals(k, queue.take());
+        }
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void test_take_whenUrgentOverflow_thenFifo() throws InterruptedException {
+        for (int k = 0; k < 5; k++) {
+            queue.addUrgent(k);
+        }
+
+        for (int k = 0; k < 5; k++) {
+            assertEquals(k, queue.take());
+        }
+    }
+
+    @Test
+    public void test_take_whenEmpty_thenWokenUpByProducer() throws Exception {
+        final Object task = new Object();
+
+        Future<Object> f = spawn(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                return queue.take();
+            }
+        });
+
+        sleepMillis(100);
+        assertFalse(f.isDone());
+
+        queue.add(task);
+        assertSame(task, f.get());
+    }
+
+    @Test
+    public void test_take_whenInterrupted() throws Exception {
+        final Thread consumer = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    queue.take();
+                } catch (InterruptedException expected) {
+                    ignore(expected);
+                }
+            }
+        };
+        consumer.start();
+        consumer.interrupt();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertFalse(consumer.isAlive());
+            }
+        });
+    }
+
+    @Test
+    public void test_take_whenBusySpinning() throws Exception {
+        queue = new MPSCOperationQueue(4, 2, new BusySpinIdleStrategy());
+
+        final Object task = new Object();
+        Future<Object> f = spawn(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                return queue.take();
+            }
+        });
+
+        queue.add(task);
+        assertSame(task, f.get());
+    }
+}
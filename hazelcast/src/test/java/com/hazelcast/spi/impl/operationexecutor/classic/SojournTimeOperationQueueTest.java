@@ -0,0 +1,73 @@
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class SojournTimeOperationQueueTest extends HazelcastTestSupport {
+
+    private SojournTimeOperationQueue queue;
+
+    @Before
+    public void setup() {
+        queue = new SojournTimeOperationQueue(new DefaultOperationQueue());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_construct_whenNullQueue() {
+        new SojournTimeOperationQueue(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_add_whenNull() {
+        queue.add(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_addUrgent_whenNull() {
+        queue.addUrgent(null);
+    }
+
+    @Test
+    public void test_lastSojournNanos_whenNothingTaken() {
+        assertEquals(-1, queue.getLastSojournNanos());
+    }
+
+    @Test
+    public void test_take_unwrapsTask() throws InterruptedException {
+        Object normalTask = "normal";
+        Object urgentTask = "urgent";
+        queue.add(normalTask);
+        queue.addUrgent(urgentTask);
+
+        assertEquals(1, queue.prioritySize());
+        assertEquals(2, queue.normalSize());
+        assertEquals(3, queue.size());
+        assertSame(urgentTask, queue.take());
+        assertSame(normalTask, queue.take());
+    }
+
+    @Test
+    public void test_take_tracksSojournTime() throws InterruptedException {
+        queue.add("task");
+        sleepMillis(50);
+
+        queue.take();
+
+        long sojournNanos = queue.getLastSojournNanos();
+        assertTrue("sojournNanos: " + sojournNanos, sojournNanos >= MILLISECONDS.toNanos(50));
+        assertEquals(1, queue.getSojournHistogram().getCount());
+        assertTrue(queue.getSojournHistogram().getMaxValue() >= MILLISECONDS.toMicros(50));
+    }
+}
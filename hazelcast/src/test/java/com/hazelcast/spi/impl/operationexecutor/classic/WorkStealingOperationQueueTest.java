@@ -0,0 +1,158 @@
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class WorkStealingOperationQueueTest extends HazelcastTestSupport {
+
+    private WorkStealingOperationQueue queue;
+
+    @Before
+    public void setup() {
+        queue = new WorkStealingOperationQueue(4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_construct_whenZeroThreads() {
+        new WorkStealingOperationQueue(0);
+    }
+
+    @Test
+    public void test_getThreadQueue() {
+        assertNotSame(queue.getThreadQueue(0), queue.getThreadQueue(1));
+        assertSame(queue.getThreadQueue(0), queue.getThreadQueue(0));
+    }
+
+    // ================== add =====================
+
+    @Test(expected = NullPointerException.class)
+    public void test_add_whenNull() {
+        queue.add(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_addUrgent_whenNull() {
+        queue.addUrgent(null);
+    }
+
+    @Test
+    public void test_add() {
+        for (int k = 0; k < 10; k++) {
+            queue.add(k);
+        }
+        queue.addUrgent("urgent");
+
+        assertEquals(10, queue.normalSize());
+        assertEquals(1, queue.prioritySize());
+        assertEquals(11, queue.size());
+
+        int threadQueuesSize = 0;
+        for (int k = 0; k < 4; k++) {
+            threadQueuesSize += queue.getThreadQueue(k).normalSize();
+            assertEquals(1, queue.getThreadQueue(k).prioritySize());
+        }
+        assertEquals(10, threadQueuesSize);
+    }
+
+    // ================== take =====================
+
+    @Test
+    public void test_take_urgentIsRetrievedFirst() throws InterruptedException {
+        queue.add("normal");
+        queue.addUrgent("urgent");
+
+        OperationQueue threadQueue = queue.getThreadQueue(0);
+        assertEquals("urgent", threadQueue.take());
+        assertEquals("normal", threadQueue.take());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void test_take_stealsFromOtherThreads() throws InterruptedException {
+        for (int k = 0; k < 100; k++) {
+            queue.add(k);
+        }
+
+        // a single thread queue should be able to take all tasks, no matter in which thread queue they ended up
+        OperationQueue threadQueue = queue.getThreadQueue(2);
+        Set<Object> taken = new HashSet<Object>();
+        for (int k = 0; k < 100; k++) {
+            taken.add(threadQueue.take());
+        }
+
+        assertEquals(100, taken.size());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void test_take_whenEmpty_thenWokenUpByProducer() throws Exception {
+        final OperationQueue threadQueue1 = queue.getThreadQueue(1);
+        final OperationQueue threadQueue3 = queue.getThreadQueue(3);
+        Future<Object> f1 = spawn(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                return threadQueue1.take();
+            }
+        });
+        Future<Object> f3 = spawn(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                return threadQueue3.take();
+            }
+        });
+
+        sleepMillis(100);
+        assertFalse(f1.isDone());
+        assertFalse(f3.isDone());
+
+        queue.add("task1");
+        queue.addUrgent("task2");
+
+        Set<Object> taken = new HashSet<Object>();
+        taken.add(f1.get());
+        taken.add(f3.get());
+        assertEquals(2, taken.size());
+    }
+
+    @Test
+    public void test_take_whenInterrupted() throws Exception {
+        final OperationQueue threadQueue = queue.getThreadQueue(0);
+        final Thread consumer = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    threadQueue.take();
+                } catch (InterruptedException expected) {
+                    ignore(expected);
+                }
+            }
+        };
+        consumer.start();
+        consumer.interrupt();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertFalse(consumer.isAlive());
+            }
+        });
+    }
+}
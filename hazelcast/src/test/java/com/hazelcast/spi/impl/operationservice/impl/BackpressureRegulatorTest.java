@@ -3,11 +3,15 @@ package com.hazelcast.spi.impl.operationservice.impl;
 import com.hazelcast.config.Config;
 import com.hazelcast.internal.properties.GroupProperties;
 import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.Address;
 import com.hazelcast.spi.AbstractOperation;
 import com.hazelcast.spi.BackupAwareOperation;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.PartitionAwareOperation;
 import com.hazelcast.spi.UrgentSystemOperation;
+import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
+import com.hazelcast.spi.impl.operationservice.impl.responses.Response;
+import com.hazelcast.test.AssertTask;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.annotation.ParallelTest;
@@ -17,8 +21,12 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import static com.hazelcast.internal.properties.GroupProperty.BACKPRESSURE_ADAPTIVE_ENABLED;
+import static com.hazelcast.internal.properties.GroupProperty.BACKPRESSURE_ADAPTIVE_INTERVAL_MILLIS;
+import static com.hazelcast.internal.properties.GroupProperty.BACKPRESSURE_ADAPTIVE_TARGET_MILLIS;
 import static com.hazelcast.internal.properties.GroupProperty.BACKPRESSURE_ENABLED;
 import static com.hazelcast.internal.properties.GroupProperty.BACKPRESSURE_SYNCWINDOW;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -31,10 +39,12 @@ public class BackpressureRegulatorTest extends HazelcastTestSupport {
     private final static int SYNC_WINDOW = 100;
 
     private ILogger logger;
+    private Address address;
 
     @Before
-    public void setup() {
+    public void setup() throws Exception {
         logger = mock(ILogger.class);
+        address = new Address("127.0.0.1", 5701);
     }
 
     @Test
@@ -172,6 +182,90 @@ public class BackpressureRegulatorTest extends HazelcastTestSupport {
         regulator.isSyncForced(op);
     }
 
+    // ========================== adaptive =================
+
+    @Test
+    public void adaptive_disabledByDefault() {
+        assertFalse(newEnabledBackPressureService().isAdaptive());
+    }
+
+    @Test
+    public void adaptive_whenBackPressureDisabled_thenNotAdaptive() {
+        Config config = new Config();
+        config.setProperty(BACKPRESSURE_ENABLED.getName(), "false");
+        config.setProperty(BACKPRESSURE_ADAPTIVE_ENABLED.getName(), "true");
+        BackpressureRegulator regulator = new BackpressureRegulator(new GroupProperties(config), logger);
+
+        assertFalse(regulator.isAdaptive());
+        assertFalse(regulator.isOverloaded(new PartitionSpecificOperation(1), address));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void adaptive_whenInvalidTarget() {
+        Config config = newAdaptiveConfig();
+        config.setProperty(BACKPRESSURE_ADAPTIVE_TARGET_MILLIS.getName(), "0");
+
+        new BackpressureRegulator(new GroupProperties(config), logger);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void adaptive_whenInvalidInterval() {
+        Config config = newAdaptiveConfig();
+        config.setProperty(BACKPRESSURE_ADAPTIVE_INTERVAL_MILLIS.getName(), "0");
+
+        new BackpressureRegulator(new GroupProperties(config), logger);
+    }
+
+    @Test
+    public void adaptive_whenSojournTimesAboveTarget_thenOverloaded() {
+        final BackpressureRegulator regulator = new BackpressureRegulator(new GroupProperties(newAdaptiveConfig()), logger);
+        final Response response = new NormalResponse("value", 1, 0, false);
+        response.setQueueSojournMicros((int) MILLISECONDS.toMicros(100));
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                regulator.onResponse(response, address);
+                assertTrue(regulator.getThrottle().isDropping(address));
+            }
+        });
+
+        assertFalse(regulator.isOverloaded(new UrgentOperation(), address));
+        assertTrue(regulator.isOverloaded(new PartitionSpecificOperation(1), address));
+    }
+
+    @Test
+    public void adaptive_whenSojournTimeUnknown_thenIgnored() {
+        BackpressureRegulator regulator = new BackpressureRegulator(new GroupProperties(newAdaptiveConfig()), logger);
+        Response response = new NormalResponse("value", 1, 0, false);
+
+        for (int k = 0; k < 10; k++) {
+            regulator.onResponse(response, address);
+            sleepMillis(10);
+        }
+
+        assertFalse(regulator.getThrottle().isDropping(address));
+    }
+
+    @Test
+    public void adaptive_setQueueSojournTime_whenNotOperationThread() {
+        BackpressureRegulator regulator = new BackpressureRegulator(new GroupProperties(newAdaptiveConfig()), logger);
+        Response response = new NormalResponse("value", 1, 0, false);
+
+        regulator.setQueueSojournTime(response);
+
+        assertEquals(-1, response.getQueueSojournMicros());
+    }
+
+    private Config newAdaptiveConfig() {
+        Config config = new Config();
+        config.setProperty(BACKPRESSURE_ENABLED.getName(), "true");
+        config.setProperty(BACKPRESSURE_ADAPTIVE_ENABLED.getName(), "true");
+        config.setProperty(BACKPRESSURE_ADAPTIVE_TARGET_MILLIS.getName(), "5");
+        config.setProperty(BACKPRESSURE_ADAPTIVE_INTERVAL_MILLIS.getName(), "20");
+        return config;
+    }
+
     private void assertValidSyncDelay(int synDelay) {
         assertTrue("syncDelayCounter is " + synDelay, synDelay >= (1 - BackpressureRegulator.RANGE) * SYNC_WINDOW);
         assertTrue("syncDelayCounter is " + synDelay, synDelay <= (1 + BackpressureRegulator.RANGE) * SYNC_WINDOW);
@@ -0,0 +1,113 @@
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.nio.Address;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.net.UnknownHostException;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class CoDelThrottleTest extends HazelcastTestSupport {
+
+    private static final long TARGET_NANOS = MILLISECONDS.toNanos(5);
+    private static final long INTERVAL_NANOS = MILLISECONDS.toNanos(100);
+
+    private CoDelThrottle throttle;
+    private Address member;
+    private Address otherMember;
+
+    @Before
+    public void setup() throws UnknownHostException {
+        throttle = new CoDelThrottle(TARGET_NANOS, INTERVAL_NANOS);
+        member = new Address("127.0.0.1", 5701);
+        otherMember = new Address("127.0.0.1", 5702);
+    }
+
+    @Test
+    public void whenNoSojournTimes_thenNotRejected() {
+        assertFalse(throttle.shouldReject(member));
+    }
+
+    @Test
+    public void whenBelowTarget_thenNotRejected() {
+        for (int k = 0; k < 100; k++) {
+            throttle.onSojournTime(member, TARGET_NANOS - 1);
+        }
+
+        assertFalse(throttle.isDropping(member));
+        assertFalse(throttle.shouldReject(member));
+    }
+
+    @Test
+    public void whenAboveTargetShorterThanInterval_thenNotRejected() {
+        throttle.onSojournTime(member, TARGET_NANOS * 10);
+        throttle.onSojournTime(member, TARGET_NANOS * 10);
+
+        assertFalse(throttle.isDropping(member));
+        assertFalse(throttle.shouldReject(member));
+    }
+
+    @Test
+    public void whenAboveTargetForInterval_thenRejected() {
+        makeDropping(member);
+
+        // the first invocation is rejected, the next one only after the interval
+        assertTrue(throttle.shouldReject(member));
+        assertFalse(throttle.shouldReject(member));
+        assertFalse(throttle.shouldReject(otherMember));
+    }
+
+    @Test
+    public void whenDropping_thenRejectionsAreSpaced() {
+        makeDropping(member);
+        assertTrue(throttle.shouldReject(member));
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertTrue(throttle.shouldReject(member));
+            }
+        });
+    }
+
+    @Test
+    public void whenBelowTargetAgain_thenNoLongerRejected() {
+        makeDropping(member);
+
+        throttle.onSojournTime(member, 0);
+
+        assertFalse(throttle.isDropping(member));
+        assertFalse(throttle.shouldReject(member));
+    }
+
+    @Test
+    public void whenMemberRemoved_thenNoLongerRejected() {
+        makeDropping(member);
+
+        throttle.removeMember(member);
+
+        assertFalse(throttle.shouldReject(member));
+    }
+
+    private void makeDropping(final Address member) {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                throttle.onSojournTime(member, TARGET_NANOS * 10);
+                assertTrue(throttle.isDropping(member));
+            }
+        });
+    }
+}
@@ -0,0 +1,205 @@
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.ProbeLevel;
+import com.hazelcast.internal.metrics.impl.MetricsRegistryImpl;
+import com.hazelcast.internal.properties.GroupProperties;
+import com.hazelcast.internal.properties.GroupProperty;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.map.AbstractEntryProcessor;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.Packet;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.operationservice.impl.responses.CallTimeoutResponse;
+import com.hazelcast.spi.impl.operationservice.impl.responses.ErrorResponse;
+import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
+import com.hazelcast.spi.impl.operationservice.impl.responses.Response;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.ExpectedRuntimeException;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
+import static com.hazelcast.util.EmptyStatement.ignore;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class InlineResponsePacketHandlerTest extends HazelcastTestSupport {
+
+    private AsyncResponsePacketHandler offloadHandler;
+    private InlineResponsePacketHandler inlineHandler;
+    private InternalSerializationService serializationService;
+    private Connection connection;
+    private Address sender;
+
+    @Before
+    public void setup() throws Exception {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        offloadHandler = mock(AsyncResponsePacketHandler.class);
+        inlineHandler = new InlineResponsePacketHandler(
+                Logger.getLogger(getClass()), serializationService, null, offloadHandler);
+        sender = new Address("127.0.0.1", 5701);
+        connection = mock(Connection.class);
+        when(connection.getEndPoint()).thenReturn(sender);
+    }
+
+    @Test
+    public void whenErrorResponse_thenOffloaded() throws Exception {
+        Packet packet = newResponsePacket(new ErrorResponse(new ExpectedRuntimeException(), 1, false));
+
+        inlineHandler.handle(packet);
+
+        verify(offloadHandler).handle(any(ErrorResponse.class), eq(sender), anyLong());
+        verify(offloadHandler, never()).handle(any(Packet.class));
+        assertEquals(0, inlineHandler.getLatencyHistogram().getCount());
+    }
+
+    @Test
+    public void whenCallTimeoutResponse_thenOffloaded() throws Exception {
+        Packet packet = newResponsePacket(new CallTimeoutResponse(1, false));
+
+        inlineHandler.handle(packet);
+
+        verify(offloadHandler).handle(any(CallTimeoutResponse.class), eq(sender), anyLong());
+        verify(offloadHandler, never()).handle(any(Packet.class));
+    }
+
+    @Test
+    public void whenHandledConcurrently_thenNoResponseCountsLost() throws Exception {
+        MetricsRegistry metricsRegistry = new MetricsRegistryImpl(Logger.getLogger(MetricsRegistry.class), INFO);
+        // stub only mocks; a normal mock would record every call
+        NodeEngineImpl nodeEngine = mock(NodeEngineImpl.class, withSettings().stubOnly());
+        when(nodeEngine.getMetricsRegistry()).thenReturn(metricsRegistry);
+        final Connection remoteConnection = mock(Connection.class, withSettings().stubOnly());
+        when(remoteConnection.getEndPoint()).thenReturn(sender);
+        ILogger logger = Logger.getLogger(ResponseHandler.class);
+        BackpressureRegulator backpressureRegulator = new BackpressureRegulator(new GroupProperties(new Config()), logger);
+        InvocationRegistry invocationRegistry = new InvocationRegistry(nodeEngine, logger, backpressureRegulator, 16);
+        ResponseHandler responseHandler = new ResponseHandler(logger, serializationService, invocationRegistry, nodeEngine,
+                backpressureRegulator);
+        final InlineResponsePacketHandler handler = new InlineResponsePacketHandler(
+                Logger.getLogger(getClass()), serializationService, responseHandler, offloadHandler);
+
+        final int responsesPerThread = 50000;
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int k = 0; k < threads.length; k++) {
+            threads[k] = new Thread() {
+                @Override
+                public void run() {
+                    assertOpenEventually(startLatch);
+                    for (int i = 0; i < responsesPerThread; i++) {
+                        try {
+                            Packet packet = newResponsePacket(new NormalResponse("foo", i, 0, false));
+                            packet.setConn(remoteConnection);
+                            handler.handle(packet);
+                        } catch (Exception e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                }
+            };
+            threads[k].start();
+        }
+        startLatch.countDown();
+        assertJoinable(threads);
+
+        int expected = threads.length * responsesPerThread;
+        assertEquals(expected, metricsRegistry.newLongGauge("operation.invocations.responses[normal]").read());
+        assertEquals(expected, metricsRegistry.newLongGauge("operation.invocations.responses[missing]").read());
+    }
+
+    private Packet newResponsePacket(Response response) {
+        Packet packet = new Packet(serializationService.toBytes(response));
+        packet.setFlag(Packet.FLAG_OP);
+        packet.setFlag(Packet.FLAG_RESPONSE);
+        packet.setConn(connection);
+        return packet;
+    }
+
+    @Test
+    public void whenInlineEnabled_thenResponsesProcessedInline() {
+        Config config = new Config();
+        config.setProperty(GroupProperty.OPERATION_RESPONSE_INLINE.getName(), "true");
+        config.setProperty(GroupProperty.PERFORMANCE_METRICS_LEVEL.getName(), ProbeLevel.INFO.name());
+
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance local = factory.newHazelcastInstance(config);
+        HazelcastInstance remote = factory.newHazelcastInstance(config);
+        warmUpPartitions(local, remote);
+
+        IMap<Integer, Integer> map = local.getMap("map");
+        for (int k = 0; k < 100; k++) {
+            map.put(k, k);
+            assertEquals(Integer.valueOf(k), map.get(k));
+        }
+
+        MetricsRegistry metricsRegistry = getNodeEngineImpl(local).getMetricsRegistry();
+        assertTrue(metricsRegistry.newLongGauge("operation.responses.inline.latency").read() > 0);
+        assertEquals(0, metricsRegistry.newLongGauge("operation.responses.async.latency").read());
+    }
+
+    @Test
+    public void whenInlineEnabled_thenErrorResponsesProcessedOnResponseThread() {
+        Config config = new Config();
+        config.setProperty(GroupProperty.OPERATION_RESPONSE_INLINE.getName(), "true");
+        config.setProperty(GroupProperty.PERFORMANCE_METRICS_LEVEL.getName(), ProbeLevel.INFO.name());
+
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance local = factory.newHazelcastInstance(config);
+        HazelcastInstance remote = factory.newHazelcastInstance(config);
+        warmUpPartitions(local, remote);
+
+        IMap<String, Integer> map = local.getMap("map");
+        try {
+            map.executeOnKey(generateKeyOwnedBy(remote), new FailingEntryProcessor());
+            fail();
+        } catch (ExpectedRuntimeException expected) {
+            ignore(expected);
+        }
+
+        final MetricsRegistry metricsRegistry = getNodeEngineImpl(local).getMetricsRegistry();
+        assertEquals(1, metricsRegistry.newLongGauge("operation.responses.inline.offloaded").read());
+        // the response thread records the latency after it has completed the invocation
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertTrue(metricsRegistry.newLongGauge("operation.responses.async.latency").read() > 0);
+            }
+        });
+    }
+
+    private static class FailingEntryProcessor extends AbstractEntryProcessor<String, Integer> {
+        @Override
+        public Object process(Map.Entry<String, Integer> entry) {
+            throw new ExpectedRuntimeException();
+        }
+    }
+}
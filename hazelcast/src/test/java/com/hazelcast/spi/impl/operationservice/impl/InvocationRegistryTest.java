@@ -15,6 +15,10 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 
 import static com.hazelcast.internal.properties.GroupProperty.BACKPRESSURE_ENABLED;
@@ -152,6 +156,55 @@ public class InvocationRegistryTest extends HazelcastTestSupport {
         assertEquals(2, invocationRegistry.size());
     }
 
+    // ===================== iterator ============================
+
+    @Test
+    public void test_iterator() {
+        Set<Invocation> invocations = new HashSet<Invocation>();
+        for (int k = 0; k < 100; k++) {
+            Invocation invocation = newInvocation();
+            invocationRegistry.register(invocation);
+            invocations.add(invocation);
+        }
+
+        Set<Invocation> found = new HashSet<Invocation>();
+        for (Invocation invocation : invocationRegistry) {
+            found.add(invocation);
+        }
+
+        assertEquals(invocations, found);
+    }
+
+    // ===================== entrySet ============================
+
+    @Test
+    public void test_entrySet() {
+        Invocation invocation = newInvocation();
+        invocationRegistry.register(invocation);
+        long callId = invocation.op.getCallId();
+
+        Set<Map.Entry<Long, Invocation>> entries = invocationRegistry.entrySet();
+
+        assertEquals(1, entries.size());
+        Map.Entry<Long, Invocation> entry = entries.iterator().next();
+        assertEquals(Long.valueOf(callId), entry.getKey());
+        assertSame(invocation, entry.getValue());
+    }
+
+    @Test
+    public void test_entrySet_remove() {
+        Invocation invocation = newInvocation();
+        invocationRegistry.register(invocation);
+        long callId = invocation.op.getCallId();
+
+        Iterator<Map.Entry<Long, Invocation>> iterator = invocationRegistry.entrySet().iterator();
+        iterator.next();
+        iterator.remove();
+
+        assertNull(invocationRegistry.get(callId));
+        assertEquals(0, invocationRegistry.size());
+    }
+
     // ===================== onMemberLeft ============================
 
     // ===================== reset ============================
@@ -0,0 +1,121 @@
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.ProbeLevel;
+import com.hazelcast.internal.properties.GroupProperty;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.Packet;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class OperationPacketBatcherTest extends HazelcastTestSupport {
+
+    // ================== newBatchPacket/split =====================
+
+    @Test
+    public void test_newBatchPacket() {
+        Packet packet = OperationPacketBatcher.newBatchPacket(Arrays.asList(newPacket(payload(10), 1)));
+
+        assertTrue(packet.isFlagSet(Packet.FLAG_OP));
+        assertTrue(packet.isFlagSet(Packet.FLAG_BATCH));
+        assertEquals(-1, packet.getPartitionId());
+    }
+
+    @Test
+    public void test_split() {
+        Packet packet1 = newPacket(payload(20), 1);
+        Packet packet2 = newPacket(payload(9), -1);
+        Packet packet3 = newPacket(new byte[0], 3);
+        packet3.setFlag(Packet.FLAG_RESPONSE);
+
+        Packet batchPacket = OperationPacketBatcher.newBatchPacket(Arrays.asList(packet1, packet2, packet3));
+        Connection connection = mock(Connection.class);
+        batchPacket.setConn(connection);
+
+        List<Packet> packets = OperationPacketBatcher.split(batchPacket);
+
+        assertEquals(3, packets.size());
+        assertPacketEquals(packet1, packets.get(0));
+        assertPacketEquals(packet2, packets.get(1));
+        assertPacketEquals(packet3, packets.get(2));
+        for (Packet packet : packets) {
+            assertSame(connection, packet.getConn());
+        }
+    }
+
+    private static byte[] payload(int length) {
+        byte[] payload = new byte[length];
+        for (int k = 0; k < length; k++) {
+            payload[k] = (byte) k;
+        }
+        return payload;
+    }
+
+    private static Packet newPacket(byte[] payload, int partitionId) {
+        Packet packet = new Packet(payload, partitionId);
+        packet.setFlag(Packet.FLAG_OP);
+        return packet;
+    }
+
+    private static void assertPacketEquals(Packet expected, Packet found) {
+        assertEquals(expected.getFlags(), found.getFlags());
+        assertEquals(expected.getPartitionId(), found.getPartitionId());
+        assertArrayEquals(expected.toByteArray(), found.toByteArray());
+    }
+
+    // ================== cluster =====================
+
+    @Test
+    public void test_whenMapOperationsBatched() throws Exception {
+        Config config = new Config();
+        config.setProperty(GroupProperty.OPERATION_BATCHING_SERVICES.getName(), MapService.SERVICE_NAME);
+        config.setProperty(GroupProperty.PERFORMANCE_METRICS_LEVEL.getName(), ProbeLevel.INFO.name());
+
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance local = factory.newHazelcastInstance(config);
+        HazelcastInstance remote = factory.newHazelcastInstance(config);
+        warmUpPartitions(local, remote);
+
+        // the puts are sent asynchronously, so that there are multiple packets pending for the remote member
+        IMap<Integer, Integer> map = local.getMap("map");
+        List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+        for (int k = 0; k < 1000; k++) {
+            futures.add(map.putAsync(k, k));
+        }
+        for (Future<Integer> future : futures) {
+            future.get();
+        }
+
+        IMap<Integer, Integer> remoteMap = remote.getMap("map");
+        assertEquals(1000, remoteMap.size());
+        for (int k = 0; k < 1000; k++) {
+            assertEquals(Integer.valueOf(k), remoteMap.get(k));
+        }
+
+        MetricsRegistry metricsRegistry = getNodeEngineImpl(local).getMetricsRegistry();
+        assertTrue(metricsRegistry.newLongGauge("operation.batching.batches").read() > 0);
+        assertTrue(metricsRegistry.newLongGauge("operation.batching.batchedPackets").read() > 1);
+    }
+}
@@ -0,0 +1,109 @@
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastOverloadException;
+import com.hazelcast.internal.properties.GroupProperty;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.AbstractOperation;
+import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.spi.OperationService;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class OperationServiceImpl_adaptiveBackpressureTest extends HazelcastTestSupport {
+
+    private OperationService operationService;
+    private int remotePartitionId;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.setProperty(GroupProperty.BACKPRESSURE_ENABLED.getName(), "true");
+        config.setProperty(GroupProperty.BACKPRESSURE_ADAPTIVE_ENABLED.getName(), "true");
+        config.setProperty(GroupProperty.BACKPRESSURE_ADAPTIVE_TARGET_MILLIS.getName(), "5");
+        config.setProperty(GroupProperty.BACKPRESSURE_ADAPTIVE_INTERVAL_MILLIS.getName(), "50");
+        config.setProperty(GroupProperty.PARTITION_OPERATION_THREAD_COUNT.getName(), "1");
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        warmUpPartitions(instances);
+
+        operationService = getOperationService(instances[0]);
+        remotePartitionId = getPartitionId(instances[1]);
+    }
+
+    @Test
+    public void whenRemoteMemberOverloaded_thenInvocationsRejected() throws Exception {
+        long deadline = System.currentTimeMillis() + ASSERT_TRUE_EVENTUALLY_TIMEOUT * 1000L;
+        while (System.currentTimeMillis() < deadline) {
+            // the only partition thread of the remote member gets more work than it can handle, so its queue keeps growing
+            operationService.invokeOnPartition(null, new SlowOperation(10), remotePartitionId);
+            operationService.invokeOnPartition(null, new SlowOperation(10), remotePartitionId);
+
+            InternalCompletableFuture<Object> future
+                    = operationService.invokeOnPartition(null, new SlowOperation(0), remotePartitionId);
+            if (future.isDone()) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    assertInstanceOf(HazelcastOverloadException.class, e.getCause());
+                    return;
+                }
+            }
+            sleepMillis(5);
+        }
+        fail("no invocation has been rejected");
+    }
+
+    @Test
+    public void whenRemoteMemberNotOverloaded_thenInvocationsAllowed() throws Exception {
+        for (int k = 0; k < 100; k++) {
+            Object result = operationService.invokeOnPartition(null, new SlowOperation(0), remotePartitionId).get();
+            assertEquals(Boolean.TRUE, result);
+        }
+    }
+
+    public static class SlowOperation extends AbstractOperation {
+        private int delayMillis;
+
+        public SlowOperation() {
+        }
+
+        public SlowOperation(int delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public void run() throws Exception {
+            sleepMillis(delayMillis);
+        }
+
+        @Override
+        public Object getResponse() {
+            return Boolean.TRUE;
+        }
+
+        @Override
+        protected void writeInternal(ObjectDataOutput out) throws IOException {
+            out.writeInt(delayMillis);
+        }
+
+        @Override
+        protected void readInternal(ObjectDataInput in) throws IOException {
+            delayMillis = in.readInt();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.properties.GroupProperty;
+import com.hazelcast.map.impl.operation.GetOperation;
+import com.hazelcast.map.impl.operation.PutOperation;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class OperationServiceImpl_latencyHistogramsTest extends HazelcastTestSupport {
+
+    @Test
+    public void whenEnabled() {
+        Config config = new Config();
+        config.setProperty(GroupProperty.PERFORMANCE_LATENCY_HISTOGRAMS_ENABLED.getName(), "true");
+        HazelcastInstance hz = createHazelcastInstance(config);
+
+        IMap<Integer, Integer> map = hz.getMap("map");
+        for (int k = 0; k < 100; k++) {
+            map.put(k, k);
+        }
+        map.get(0);
+
+        MetricsRegistry metricsRegistry = getNodeEngineImpl(hz).getMetricsRegistry();
+        assertEquals(100, read(metricsRegistry, "operation.latency[" + PutOperation.class.getName() + "]"));
+        assertEquals(1, read(metricsRegistry, "operation.latency[" + GetOperation.class.getName() + "]"));
+        assertEquals(100, read(metricsRegistry, "operation.invocations.latency[" + PutOperation.class.getName() + "]"));
+        assertEquals(1, read(metricsRegistry, "operation.invocations.latency[" + GetOperation.class.getName() + "]"));
+    }
+
+    @Test
+    public void whenDisabled() {
+        HazelcastInstance hz = createHazelcastInstance();
+
+        hz.getMap("map").put(1, 1);
+
+        MetricsRegistry metricsRegistry = getNodeEngineImpl(hz).getMetricsRegistry();
+        for (String name : metricsRegistry.getNames()) {
+            assertFalse(name, name.startsWith("operation.latency["));
+        }
+        OperationServiceImpl operationService = (OperationServiceImpl) getOperationService(hz);
+        assertTrue(operationService.operationLatencies == null);
+    }
+
+    private static long read(MetricsRegistry metricsRegistry, String name) {
+        return metricsRegistry.newLongGauge(name).read();
+    }
+}
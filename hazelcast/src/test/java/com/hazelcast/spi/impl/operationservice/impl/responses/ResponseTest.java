@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl.responses;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.BufferObjectDataOutput;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ResponseTest extends HazelcastTestSupport {
+
+    private InternalSerializationService serializationService;
+
+    @Before
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+    }
+
+    @Test
+    public void writeData_whenNoQueueSojournTime_thenLayoutWithoutIt() throws IOException {
+        NormalResponse response = new NormalResponse("foo", 10, 2, true);
+
+        BufferObjectDataOutput expected = serializationService.createObjectDataOutput();
+        expected.writeLong(10);
+        expected.writeBoolean(true);
+        expected.writeInt(2);
+        expected.writeBoolean(false);
+        expected.writeObject("foo");
+
+        assertArrayEquals(expected.toByteArray(), write(response));
+    }
+
+    @Test
+    public void whenQueueSojournTimeSet_thenSerialized() throws IOException {
+        NormalResponse response = new NormalResponse("foo", 10, 2, true);
+        response.setQueueSojournMicros(1234);
+
+        NormalResponse copy = serializationService.toObject(serializationService.toData(response));
+
+        assertEquals(1234, copy.getQueueSojournMicros());
+        assertTrue(copy.isUrgent());
+        assertEquals(10, copy.getCallId());
+        assertEquals(2, copy.getBackupCount());
+        assertEquals("foo", copy.getValue());
+    }
+
+    @Test
+    public void whenNoQueueSojournTime_thenDeserializedAsUnknown() {
+        NormalResponse response = new NormalResponse("foo", 10, 2, false);
+
+        NormalResponse copy = serializationService.toObject(serializationService.toData(response));
+
+        assertEquals(-1, copy.getQueueSojournMicros());
+        assertFalse(copy.isUrgent());
+        assertEquals("foo", copy.getValue());
+    }
+
+    private byte[] write(Response response) throws IOException {
+        BufferObjectDataOutput out = serializationService.createObjectDataOutput();
+        response.writeData(out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,222 @@
+package com.hazelcast.spi.impl.timer;
+
+import com.hazelcast.instance.HazelcastThreadGroup;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class TimerWheelTest extends HazelcastTestSupport {
+
+    private HazelcastThreadGroup threadGroup;
+    private ILogger logger;
+    private TimerWheel timerWheel;
+
+    @Before
+    public void setup() {
+        logger = Logger.getLogger(TimerWheelTest.class);
+        threadGroup = new HazelcastThreadGroup("test", logger, getClass().getClassLoader());
+        // a small wheel with short ticks, so the timeouts are cascaded through the levels quickly
+        timerWheel = new TimerWheel(threadGroup, logger, 1, MILLISECONDS, 4);
+        timerWheel.start();
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        timerWheel.shutdown();
+        timerWheel.awaitTermination(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    // ================== construction =====================
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_construct_whenWheelSizeNotPowerOfTwo() {
+        new TimerWheel(threadGroup, logger, 1, MILLISECONDS, 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_construct_whenZeroTickDuration() {
+        new TimerWheel(threadGroup, logger, 0, MILLISECONDS, 4);
+    }
+
+    // ================== schedule =====================
+
+    @Test(expected = NullPointerException.class)
+    public void test_schedule_whenNullTask() {
+        timerWheel.schedule(null, 1, MILLISECONDS);
+    }
+
+    @Test
+    public void test_schedule_whenZeroDelay() {
+        CountingTask task = new CountingTask();
+
+        timerWheel.schedule(task, 0, MILLISECONDS);
+
+        assertRunEventually(task, 1);
+    }
+
+    @Test
+    public void test_schedule_neverRunsEarly() throws InterruptedException {
+        long delayMillis = 300;
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicLong runMillis = new AtomicLong();
+
+        long startMillis = System.currentTimeMillis();
+        TimerWheel.Timeout timeout = timerWheel.schedule(new Runnable() {
+            @Override
+            public void run() {
+                runMillis.set(System.currentTimeMillis());
+                latch.countDown();
+            }
+        }, delayMillis, MILLISECONDS);
+
+        assertOpenEventually(latch);
+        assertTrue(runMillis.get() - startMillis >= delayMillis);
+        assertTrue(timeout.isExpired());
+    }
+
+    @Test
+    public void test_schedule_whenCascaded_thenInOrder() {
+        // with a wheel size of 4, these delays end up in different levels and slots
+        final List<Integer> order = new CopyOnWriteArrayList<Integer>();
+        int[] delays = {150, 3, 70, 20, 5, 300};
+        for (final int delay : delays) {
+            timerWheel.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    order.add(delay);
+                }
+            }, delay, MILLISECONDS);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(6, order.size());
+            }
+        });
+        for (int k = 1; k < order.size(); k++) {
+            assertTrue("wrong order " + order, order.get(k - 1) <= order.get(k));
+        }
+    }
+
+    @Test
+    public void test_schedule_whenBeyondRange() {
+        // a wheel with 4 levels of 4 slots covers 256 ticks
+        CountingTask task = new CountingTask();
+
+        timerWheel.schedule(task, 600, MILLISECONDS);
+
+        assertRunEventually(task, 1);
+    }
+
+    @Test
+    public void test_schedule_whenTaskThrowsException_thenTimerContinues() {
+        timerWheel.schedule(new Runnable() {
+            @Override
+            public void run() {
+                throw new RuntimeException("expected");
+            }
+        }, 0, MILLISECONDS);
+        CountingTask task = new CountingTask();
+
+        timerWheel.schedule(task, 10, MILLISECONDS);
+
+        assertRunEventually(task, 1);
+    }
+
+    @Test
+    public void test_schedule_whenMany() {
+        CountingTask task = new CountingTask();
+        for (int k = 0; k < 10000; k++) {
+            timerWheel.schedule(task, k % 100, MILLISECONDS);
+        }
+
+        assertRunEventually(task, 10000);
+    }
+
+    // ================== cancel =====================
+
+    @Test
+    public void test_cancel() {
+        CountingTask task = new CountingTask();
+        TimerWheel.Timeout timeout = timerWheel.schedule(task, 50, MILLISECONDS);
+
+        assertTrue(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+
+        sleepMillis(200);
+        assertEquals(0, task.count.get());
+        assertFalse(timeout.isExpired());
+    }
+
+    @Test
+    public void test_cancel_whenAlreadyCancelled() {
+        TimerWheel.Timeout timeout = timerWheel.schedule(new CountingTask(), 50, MILLISECONDS);
+        timeout.cancel();
+
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    public void test_cancel_whenExpired() {
+        CountingTask task = new CountingTask();
+        TimerWheel.Timeout timeout = timerWheel.schedule(task, 0, MILLISECONDS);
+        assertRunEventually(task, 1);
+
+        assertFalse(timeout.cancel());
+        assertTrue(timeout.isExpired());
+    }
+
+    @Test
+    public void test_cancel_whenPlacedInWheel() {
+        CountingTask task = new CountingTask();
+        TimerWheel.Timeout timeout = timerWheel.schedule(task, 300, MILLISECONDS);
+        // give the timer thread the time to place the timeout
+        sleepMillis(50);
+
+        timeout.cancel();
+
+        sleepMillis(500);
+        assertEquals(0, task.count.get());
+    }
+
+    private void assertRunEventually(final CountingTask task, final int expected) {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(expected, task.count.get());
+            }
+        });
+    }
+
+    private static final class CountingTask implements Runnable {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public void run() {
+            count.incrementAndGet();
+        }
+    }
+}